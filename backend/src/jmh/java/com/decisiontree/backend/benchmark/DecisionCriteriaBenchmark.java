@@ -0,0 +1,55 @@
+package com.decisiontree.backend.benchmark;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.service.criteria.DecisionCriteriaCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de calcularRanking por modo y tamaño de matriz. La matriz depende solo de la semilla,
+ * así que todos los modos (por ejemplo TOPSIS y VIKOR frente a SAW) se miden sobre los mismos datos.
+ * El modo "todos" mide calcularRankings, la pasada única sobre MODOS_BASICOS.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DecisionCriteriaBenchmark {
+
+    @Param({
+            DecisionModes.RANKING, DecisionModes.VALOR_ESPERADO, DecisionModes.MAXIMIN,
+            DecisionModes.MAXIMAX, DecisionModes.LAPLACE, DecisionModes.HURWICZ,
+            DecisionModes.MINIMAX_REGRET, DecisionModes.TOPSIS, DecisionModes.VIKOR,
+            DecisionModes.PROMETHEE, DecisionModes.PARETO, DecisionModes.TODOS
+    })
+    public String modo;
+
+    @Param({"1000", "50000"})
+    public int alternativas;
+
+    @Param({"10", "40"})
+    public int criterios;
+
+    @Param({"0.5"})
+    public double proporcionCosto;
+
+    private DecisionCriteriaCalculator calculator;
+    private DecisionRequest request;
+    private boolean multiple;
+
+    @Setup
+    public void setup() {
+        calculator = new DecisionCriteriaCalculator();
+        request = SyntheticDecisionRequests.generar(modo, alternativas, criterios, proporcionCosto, 42L);
+        multiple = DecisionModes.isMultiMode(modo, null);
+    }
+
+    @Benchmark
+    public Object calcularRanking() {
+        return multiple ? calculator.calcularRankings(request) : calculator.calcularRanking(request);
+    }
+}
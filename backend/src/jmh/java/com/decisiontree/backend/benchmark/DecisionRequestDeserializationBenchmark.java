@@ -0,0 +1,40 @@
+package com.decisiontree.backend.benchmark;
+
+import com.decisiontree.backend.dto.DecisionRequest;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de deserializar el body JSON a DecisionRequest con Jackson, como lo hace el controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DecisionRequestDeserializationBenchmark {
+
+    @Param({"1000", "50000"})
+    public int alternativas;
+
+    @Param({"10", "40"})
+    public int criterios;
+
+    private JsonMapper mapper;
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        mapper = JsonMapper.builder().build();
+        body = mapper.writeValueAsBytes(
+                SyntheticDecisionRequests.generar("ranking", alternativas, criterios, 0.5, 42L));
+    }
+
+    @Benchmark
+    public DecisionRequest deserializar() {
+        return mapper.readValue(body, DecisionRequest.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.decisiontree.backend.benchmark;
+
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.ingest.DecisionRequestCompiler;
+import com.decisiontree.backend.service.ingest.ValidationLimits;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de validar y compilar a matriz un request correcto (el camino habitual).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RequestValidationBenchmark {
+
+    @Param({"1000", "50000"})
+    public int alternativas;
+
+    @Param({"10", "40"})
+    public int criterios;
+
+    private final DecisionRequestCompiler compiler = new DecisionRequestCompiler(ValidationLimits.SIN_LIMITE);
+    private DecisionRequest request;
+
+    @Setup
+    public void setup() {
+        request = SyntheticDecisionRequests.generar("ranking", alternativas, criterios, 0.5, 42L);
+    }
+
+    @Benchmark
+    public CompiledDecisionRequest compilar() {
+        return compiler.compilar(request);
+    }
+}
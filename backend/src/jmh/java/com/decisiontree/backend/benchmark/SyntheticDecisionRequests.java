@@ -0,0 +1,49 @@
+package com.decisiontree.backend.benchmark;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de requests sintéticos para los benchmarks.
+ * Con la misma semilla produce siempre la misma matriz.
+ */
+public final class SyntheticDecisionRequests {
+
+    private SyntheticDecisionRequests() {
+    }
+
+    /**
+     * @param alternativas    número de alternativas (filas)
+     * @param criterios       número de criterios (columnas)
+     * @param proporcionCosto fracción de criterios de tipo costo (0 a 1)
+     */
+    public static DecisionRequest generar(String modo, int alternativas, int criterios,
+                                          double proporcionCosto, long semilla) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        int cantidadCosto = (int) Math.round(criterios * proporcionCosto);
+
+        List<ConfigDto> configs = new ArrayList<>(criterios);
+        for (int j = 0; j < criterios; j++) {
+            String tipo = (j < cantidadCosto) ? "costo" : "beneficio";
+            configs.add(new ConfigDto("c" + j, 1.0 + random.nextInt(10), tipo));
+        }
+
+        List<AlternativaDto> lista = new ArrayList<>(alternativas);
+        for (int i = 0; i < alternativas; i++) {
+            Map<String, Double> valores = new HashMap<>(criterios * 2);
+            for (int j = 0; j < criterios; j++) {
+                valores.put("c" + j, random.nextDouble(0.0, 1000.0));
+            }
+            lista.add(new AlternativaDto("alt-" + i, valores));
+        }
+
+        return new DecisionRequest(modo, 0.5, lista, configs);
+    }
+}
@@ -0,0 +1,114 @@
+package com.decisiontree.backend.config;
+
+import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.RankingItemDto;
+import com.decisiontree.backend.service.ingest.BinaryDecisionReader;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escribe DecisionResponse en el formato binario (Accept application/vnd.dss.decision), la
+ * contraparte de BinaryDecisionReader. Solo escribe: los requests binarios los lee el lector.
+ *
+ * Formato (little-endian; texto = largo int32 + UTF-8, largo -1 = null):
+ * <pre>
+ * "DSSP" | versión int32 (1)
+ * mensaje texto | totalAlternativas int32 (-1 = sin valor)
+ * rankings int32: 1 con "ranking", uno por modo con "rankings"
+ * por ranking: modo texto (null con "ranking") | ítems int32 | por ítem: alternativa texto | puntaje float64
+ * </pre>
+ */
+public class BinaryDecisionResponseConverter extends AbstractHttpMessageConverter<DecisionResponse> {
+
+    static final int MAGIA = 0x50535344; // "DSSP" leído como int32 little-endian
+    static final int VERSION = 1;
+
+    public BinaryDecisionResponseConverter() {
+        super(MediaType.parseMediaType(BinaryDecisionReader.MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DecisionResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected DecisionResponse readInternal(Class<? extends DecisionResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Solo se escribe DecisionResponse en binario", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(DecisionResponse response, HttpOutputMessage outputMessage) throws IOException {
+        Salida out = new Salida();
+        out.entero(MAGIA);
+        out.entero(VERSION);
+        out.texto(response.getMensaje());
+        out.entero(response.getTotalAlternativas() == null ? -1 : response.getTotalAlternativas());
+
+        Map<String, List<RankingItemDto>> rankings = response.getRankings();
+        if (rankings != null) {
+            out.entero(rankings.size());
+            for (Map.Entry<String, List<RankingItemDto>> e : rankings.entrySet()) {
+                out.texto(e.getKey());
+                ranking(out, e.getValue());
+            }
+        } else if (response.getRanking() != null) {
+            out.entero(1);
+            out.texto(null);
+            ranking(out, response.getRanking());
+        } else {
+            out.entero(0);
+        }
+        out.bytes.writeTo(outputMessage.getBody());
+    }
+
+    private static void ranking(Salida out, List<RankingItemDto> ranking) {
+        out.entero(ranking.size());
+        for (RankingItemDto item : ranking) {
+            out.texto(item.getAlternativa());
+            out.doble(item.getPuntaje() == null ? Double.NaN : item.getPuntaje());
+        }
+    }
+
+    private static final class Salida {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+
+        void entero(int v) {
+            buffer.clear();
+            bytes.write(buffer.putInt(v).array(), 0, 4);
+        }
+
+        void doble(double v) {
+            buffer.clear();
+            bytes.write(buffer.putDouble(v).array(), 0, 8);
+        }
+
+        void texto(String s) {
+            if (s == null) {
+                entero(-1);
+                return;
+            }
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            entero(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+        }
+    }
+}
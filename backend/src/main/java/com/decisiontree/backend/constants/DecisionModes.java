@@ -1,5 +1,7 @@
 package com.decisiontree.backend.constants;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 public final class DecisionModes {
@@ -15,6 +17,17 @@ public final class DecisionModes {
     public static final String LAPLACE = "laplace";
     public static final String HURWICZ = "hurwicz";
     public static final String MINIMAX_REGRET = "minimax_regret";
+    public static final String TOPSIS = "topsis";                 // cercanía relativa al ideal
+    public static final String VIKOR = "vikor";                   // compromiso entre utilidad y arrepentimiento
+    public static final String PROMETHEE = "promethee";           // PROMETHEE II, flujo neto de superación
+    public static final String PARETO = "pareto";                 // frente de Pareto (no dominadas)
+
+    public static final String TODOS = "todos";                   // evalúa MODOS_BASICOS en una pasada
+
+    /** Modos que se evalúan con "todos", en el orden en que se devuelven. */
+    public static final List<String> MODOS_BASICOS = List.of(
+            RANKING, VALOR_ESPERADO, MAXIMIN, MAXIMAX, LAPLACE, HURWICZ, MINIMAX_REGRET
+    );
 
     private DecisionModes() {
     }
@@ -35,4 +48,36 @@ public final class DecisionModes {
         String m = normalize(mode);
         return VALOR_ESPERADO.equals(m) || EXPECTED_VALUE.equals(m);
     }
+
+    /**
+     * Indica si el request pide varios modos a la vez (lista "modos" o modo "todos").
+     */
+    public static boolean isMultiMode(String mode, List<String> modes) {
+        return (modes != null && !modes.isEmpty()) || TODOS.equals(normalize(mode));
+    }
+
+    /**
+     * Lista normalizada y sin repetidos de los modos a evaluar. "todos" se expande a MODOS_BASICOS.
+     */
+    public static List<String> resolve(String mode, List<String> modes) {
+        List<String> resultado = new ArrayList<>();
+        if (modes != null && !modes.isEmpty()) {
+            for (String m : modes) {
+                agregar(resultado, normalize(m));
+            }
+        } else {
+            agregar(resultado, normalize(mode));
+        }
+        return resultado;
+    }
+
+    private static void agregar(List<String> destino, String modo) {
+        if (TODOS.equals(modo)) {
+            for (String m : MODOS_BASICOS) {
+                agregar(destino, m);
+            }
+        } else if (!destino.contains(modo)) {
+            destino.add(modo);
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.decisiontree.backend.constants;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Funciones de preferencia de PROMETHEE por criterio (campo "funcionPreferencia"). Con q =
+ * umbralIndiferencia y p = umbralPreferencia, para una diferencia d > 0 a favor de una
+ * alternativa:
+ * - usual: 1
+ * - v: d / p hasta p, después 1
+ * - lineal: 0 hasta q, (d - q) / (p - q) hasta p, después 1
+ * - gaussiana: 1 - exp(-d² / 2p²)
+ */
+public final class PreferenceFunctions {
+
+    public static final String USUAL = "usual";
+    public static final String V = "v";
+    public static final String LINEAL = "lineal";
+    public static final String GAUSSIANA = "gaussiana";
+
+    public static final List<String> PERMITIDAS = List.of(USUAL, V, LINEAL, GAUSSIANA);
+
+    private PreferenceFunctions() {
+    }
+
+    public static String normalize(String funcion) {
+        if (funcion == null || funcion.trim().isEmpty()) {
+            return USUAL;
+        }
+        return funcion.trim().toLowerCase(Locale.ROOT);
+    }
+}
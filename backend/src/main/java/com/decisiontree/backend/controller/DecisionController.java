@@ -1,18 +1,85 @@
 package com.decisiontree.backend.controller;
 
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.CacheEstadisticasDto;
+import com.decisiontree.backend.dto.DecisionLoteResponse;
 import com.decisiontree.backend.dto.DecisionRequest;
 import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.HurwiczBarridoResponse;
+import com.decisiontree.backend.dto.MatrizAlmacenadaDto;
+import com.decisiontree.backend.dto.SensibilidadSawResponse;
+import com.decisiontree.backend.dto.ProgresoDto;
+import com.decisiontree.backend.dto.SesionDecisionResponse;
+import com.decisiontree.backend.dto.SimulacionPesosResponse;
+import com.decisiontree.backend.dto.TrabajoDto;
+import com.decisiontree.backend.exception.GlobalExceptionHandler;
+import com.decisiontree.backend.service.DecisionBatchService;
 import com.decisiontree.backend.service.DecisionEngineService;
+import com.decisiontree.backend.service.DecisionJobService;
+import com.decisiontree.backend.service.DecisionMatrixStoreService;
+import com.decisiontree.backend.service.DecisionSessionService;
+import com.decisiontree.backend.service.DecisionSimulationService;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import com.decisiontree.backend.service.ingest.BinaryDecisionReader;
+import com.decisiontree.backend.service.ingest.DecisionRequestStreamReader;
+import com.decisiontree.backend.service.criteria.RankingOrdenado;
+import com.decisiontree.backend.service.ingest.ExcelDecisionReader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api")
 public class DecisionController {
 
+    private static final ObjectWriter NDJSON = JsonMapper.shared().writer()
+            .withRootValueSeparator("\n")
+            .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+    private static final int FILAS_POR_ENVIO = 1000;
+
     private final DecisionEngineService service;
+    private final DecisionBatchService batchService;
+    private final DecisionRequestStreamReader streamReader;
+    private final BinaryDecisionReader binaryReader;
+    private final ExcelDecisionReader excelReader;
+    private final DecisionResultCache cache;
+    private final DecisionSessionService sesiones;
+    private final DecisionSimulationService simulaciones;
+    private final DecisionMatrixStoreService almacen;
+    private final DecisionJobService trabajos;
 
-    public DecisionController(DecisionEngineService service) {
+    public DecisionController(DecisionEngineService service, DecisionBatchService batchService,
+                              DecisionRequestStreamReader streamReader, BinaryDecisionReader binaryReader,
+                              ExcelDecisionReader excelReader, DecisionResultCache cache, DecisionSessionService sesiones,
+                              DecisionSimulationService simulaciones, DecisionMatrixStoreService almacen,
+                              DecisionJobService trabajos) {
         this.service = service;
+        this.batchService = batchService;
+        this.streamReader = streamReader;
+        this.binaryReader = binaryReader;
+        this.excelReader = excelReader;
+        this.cache = cache;
+        this.sesiones = sesiones;
+        this.simulaciones = simulaciones;
+        this.almacen = almacen;
+        this.trabajos = trabajos;
     }
 
     @GetMapping("/health")
@@ -20,8 +87,246 @@ public class DecisionController {
         return "Backend DSS funcionando correctamente";
     }
 
-    @PostMapping("/dss/evaluar")
-    public DecisionResponse evaluar(@RequestBody DecisionRequest request) {
-        return service.evaluar(request);
+    // El body se lee en streaming directo a la matriz (sin DTOs por alternativa)
+    @PostMapping(value = "/dss/evaluar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public DecisionResponse evaluar(InputStream body) {
+        return service.evaluar(() -> streamReader.leer(body));
+    }
+
+    // Con Accept: application/x-ndjson el ranking se escribe fila por fila, sin lista de DTOs
+    @PostMapping(value = "/dss/evaluar", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> evaluarNdjson(InputStream body) {
+        // Lectura, validación y ordenamiento antes de responder: los errores salen como 400 normal
+        DecisionEngineService.EvaluacionOrdenada evaluacion = service.evaluarOrdenado(() -> streamReader.leer(body));
+        StreamingResponseBody cuerpo = salida -> escribirNdjson(evaluacion, salida);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
+    // Criterios una vez y valores en bloque denso; la respuesta sigue el Accept (JSON por defecto)
+    @PostMapping(value = "/dss/evaluar", consumes = BinaryDecisionReader.MEDIA_TYPE)
+    public DecisionResponse evaluarBinario(InputStream body) {
+        return service.evaluar(() -> binaryReader.leer(body));
+    }
+
+    // Mismo formato de libro que el parser del frontend (hojas config, criterios, alternativas)
+    @PostMapping(value = "/dss/evaluar-excel", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public DecisionResponse evaluarExcel(@RequestParam("archivo") MultipartFile archivo) {
+        return service.evaluar(() -> excelReader.leer(archivo));
+    }
+
+    // Sensibilidad al alpha de Hurwicz: el alpha del body se ignora
+    @PostMapping(value = "/dss/hurwicz/barrido", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public HurwiczBarridoResponse barrerHurwicz(@RequestParam(defaultValue = "100") int pasos, InputStream body) {
+        return service.barrerHurwicz(service.validar(() -> streamReader.leer(body)), pasos);
+    }
+
+    // Umbrales de peso en los que cambia la ganadora de SAW; top >= 2 agrega los cruces por par
+    @PostMapping(value = "/dss/sensibilidad/saw", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public SensibilidadSawResponse sensibilidadSaw(@RequestParam(defaultValue = "0") int top, InputStream body) {
+        return service.analizarSensibilidadSaw(service.validar(() -> streamReader.leer(body)), top);
+    }
+
+    // Monte Carlo sobre los pesos de SAW; con Accept: text/event-stream informa el progreso
+    @PostMapping(value = "/dss/simulacion/pesos", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public SimulacionPesosResponse simularPesos(@RequestParam(defaultValue = "10000") long muestras,
+                                                @RequestParam(required = false) Long semilla,
+                                                @RequestParam(defaultValue = "3") int rangos,
+                                                InputStream body) {
+        return simulaciones.simular(service.validar(() -> streamReader.leer(body)), muestras, semilla, rangos);
+    }
+
+    @PostMapping(value = "/dss/simulacion/pesos", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter simularPesosConProgreso(@RequestParam(defaultValue = "10000") long muestras,
+                                              @RequestParam(required = false) Long semilla,
+                                              @RequestParam(defaultValue = "3") int rangos,
+                                              InputStream body) {
+        // Lectura y validación antes de abrir el stream: los errores salen como 400 normal
+        DecisionSimulationService.Simulacion simulacion =
+                simulaciones.preparar(service.validar(() -> streamReader.leer(body)), muestras, semilla, rangos);
+        SseEmitter emitter = new SseEmitter(0L);
+        // si el cliente se va, las muestras que quedan no siguen ocupando el pool
+        emitter.onError(ex -> simulacion.cancelar());
+        emitter.onTimeout(simulacion::cancelar);
+        Thread.ofVirtual().start(() -> transmitir(simulacion, emitter));
+        return emitter;
+    }
+
+    /**
+     * Corre la simulación y manda un evento "progreso" cada 250 ms y uno "resultado" al final
+     * (o "error" con el mismo cuerpo que los errores HTTP).
+     */
+    private static void transmitir(DecisionSimulationService.Simulacion simulacion, SseEmitter emitter) {
+        // En un hilo virtual: la simulación en sí corre en el pool del servicio
+        CompletableFuture<SimulacionPesosResponse> corrida =
+                CompletableFuture.supplyAsync(simulacion::correr, tarea -> Thread.ofVirtual().start(tarea));
+        try {
+            while (true) {
+                try {
+                    SimulacionPesosResponse resultado = corrida.get(250, TimeUnit.MILLISECONDS);
+                    emitter.send(SseEmitter.event().name("resultado").data(resultado));
+                    break;
+                } catch (TimeoutException ex) {
+                    emitter.send(SseEmitter.event().name("progreso")
+                            .data(new ProgresoDto(simulacion.completadas(), simulacion.getMuestras())));
+                }
+            }
+            emitter.complete();
+        } catch (IOException ex) {
+            // el cliente cerró la conexión
+            simulacion.cancelar();
+            corrida.cancel(true);
+        } catch (Exception ex) {
+            Exception causa = (ex.getCause() instanceof Exception c) ? c : ex;
+            try {
+                emitter.send(SseEmitter.event().name("error").data(GlobalExceptionHandler.cuerpoError(causa)));
+                emitter.complete();
+            } catch (IOException ignored) {
+                // el cliente ya no está
+            }
+        }
+    }
+
+    /**
+     * Una línea de cabecera (mensaje y, con ranking parcial, totalAlternativas) y una por
+     * posición; con varios modos cada línea indica su modo. Se vacía el buffer cada
+     * FILAS_POR_ENVIO líneas para que el cliente reciba las primeras posiciones enseguida.
+     */
+    private static void escribirNdjson(DecisionEngineService.EvaluacionOrdenada evaluacion, OutputStream salida) {
+        try (JsonGenerator g = NDJSON.createGenerator(salida)) {
+            g.writeStartObject();
+            g.writeStringProperty("mensaje", evaluacion.getMensaje());
+            if (evaluacion.getTotalAlternativas() != null) {
+                g.writeNumberProperty("totalAlternativas", evaluacion.getTotalAlternativas());
+            }
+            g.writeEndObject();
+
+            long filas = 0;
+            for (Map.Entry<String, RankingOrdenado> e : evaluacion.getRankings().entrySet()) {
+                RankingOrdenado ranking = e.getValue();
+                for (int p = ranking.desde(); p < ranking.hasta(); p++) {
+                    g.writeStartObject();
+                    if (evaluacion.isMultiple()) {
+                        g.writeStringProperty("modo", e.getKey());
+                    }
+                    g.writeStringProperty("alternativa", ranking.alternativa(p));
+                    g.writeNumberProperty("puntaje", ranking.puntaje(p));
+                    g.writeEndObject();
+                    if (++filas % FILAS_POR_ENVIO == 0) {
+                        g.flush();
+                    }
+                }
+            }
+            g.writeRaw('\n');
+        }
+    }
+
+    @PostMapping("/dss/evaluar-lote")
+    public DecisionLoteResponse evaluarLote(@RequestBody List<DecisionRequest> lote) {
+        return batchService.evaluarLote(lote);
+    }
+
+    @GetMapping("/dss/cache")
+    public CacheEstadisticasDto estadisticasCache() {
+        return cache.estadisticas();
+    }
+
+    // Sesiones: el problema queda en memoria y se edita alternativa por alternativa
+    @PostMapping(value = "/dss/sesiones", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public SesionDecisionResponse crearSesion(InputStream body) {
+        return sesiones.crear(service.validar(() -> streamReader.leer(body)));
+    }
+
+    @GetMapping("/dss/sesiones/{id}")
+    public SesionDecisionResponse consultarSesion(@PathVariable String id) {
+        return sesiones.consultar(id);
+    }
+
+    @DeleteMapping("/dss/sesiones/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cerrarSesion(@PathVariable String id) {
+        sesiones.cerrar(id);
+    }
+
+    @PostMapping("/dss/sesiones/{id}/alternativas")
+    public SesionDecisionResponse agregarAlternativa(@PathVariable String id,
+                                                     @RequestBody(required = false) AlternativaDto alternativa) {
+        return sesiones.agregarAlternativa(id, alternativa);
+    }
+
+    @PatchMapping("/dss/sesiones/{id}/alternativas/{nombre}")
+    public SesionDecisionResponse modificarAlternativa(@PathVariable String id, @PathVariable String nombre,
+                                                       @RequestBody(required = false) AlternativaDto cambios) {
+        return sesiones.modificarAlternativa(id, nombre, cambios);
+    }
+
+    @DeleteMapping("/dss/sesiones/{id}/alternativas/{nombre}")
+    public SesionDecisionResponse eliminarAlternativa(@PathVariable String id, @PathVariable String nombre) {
+        return sesiones.eliminarAlternativa(id, nombre);
+    }
+
+    // Matrices en disco (formato por columnas), evaluadas sobre el archivo mapeado en memoria
+    @PostMapping(value = "/dss/matrices", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public MatrizAlmacenadaDto subirMatriz(InputStream body) {
+        return almacen.subir(body);
+    }
+
+    @PostMapping("/dss/matrices/registro")
+    @ResponseStatus(HttpStatus.CREATED)
+    public MatrizAlmacenadaDto registrarMatriz(@RequestParam String archivo) {
+        return almacen.registrar(archivo);
+    }
+
+    @GetMapping("/dss/matrices")
+    public List<MatrizAlmacenadaDto> listarMatrices() {
+        return almacen.listar();
+    }
+
+    @GetMapping("/dss/matrices/{id}")
+    public MatrizAlmacenadaDto consultarMatriz(@PathVariable String id) {
+        return almacen.consultar(id);
+    }
+
+    @DeleteMapping("/dss/matrices/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void eliminarMatriz(@PathVariable String id) {
+        almacen.eliminar(id);
+    }
+
+    @PostMapping("/dss/matrices/{id}/evaluar")
+    public DecisionResponse evaluarMatriz(@PathVariable String id,
+                                          @RequestBody(required = false) DecisionRequest parametros) {
+        return almacen.evaluar(id, parametros);
+    }
+
+    // Trabajos: el body se valida al enviarlo y la evaluación corre en el pool de trabajos
+    @PostMapping(value = "/dss/trabajos", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TrabajoDto enviarTrabajo(InputStream body) {
+        return trabajos.enviar(service.validar(() -> streamReader.leer(body)));
+    }
+
+    @GetMapping("/dss/trabajos/{id}")
+    public TrabajoDto consultarTrabajo(@PathVariable String id) {
+        return trabajos.consultar(id);
+    }
+
+    // 200 con el resultado, o 202 con el estado si todavía no terminó
+    @GetMapping("/dss/trabajos/{id}/resultado")
+    public ResponseEntity<?> resultadoTrabajo(@PathVariable String id) {
+        DecisionResponse resultado = trabajos.resultado(id);
+        if (resultado == null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(trabajos.consultar(id));
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
+    @DeleteMapping("/dss/trabajos/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelarTrabajo(@PathVariable String id) {
+        trabajos.cancelar(id);
     }
-}
\ No newline at end of file
+}
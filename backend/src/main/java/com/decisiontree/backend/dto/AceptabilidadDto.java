@@ -0,0 +1,46 @@
+package com.decisiontree.backend.dto;
+
+import java.util.List;
+
+/**
+ * Probabilidad de que la alternativa ocupe cada una de las primeras posiciones del ranking.
+ */
+public class AceptabilidadDto {
+
+    private String alternativa;
+    private List<Double> probabilidades; // índice 0 = primera posición
+    private Double probabilidadTop;      // suma de las anteriores
+
+    public AceptabilidadDto() {
+    }
+
+    public AceptabilidadDto(String alternativa, List<Double> probabilidades, Double probabilidadTop) {
+        this.alternativa = alternativa;
+        this.probabilidades = probabilidades;
+        this.probabilidadTop = probabilidadTop;
+    }
+
+    public String getAlternativa() {
+        return alternativa;
+    }
+
+    public void setAlternativa(String alternativa) {
+        this.alternativa = alternativa;
+    }
+
+    public List<Double> getProbabilidades() {
+        return probabilidades;
+    }
+
+    public void setProbabilidades(List<Double> probabilidades) {
+        this.probabilidades = probabilidades;
+    }
+
+    public Double getProbabilidadTop() {
+        return probabilidadTop;
+    }
+
+    public void setProbabilidadTop(Double probabilidadTop) {
+        this.probabilidadTop = probabilidadTop;
+    }
+}
@@ -0,0 +1,72 @@
+package com.decisiontree.backend.dto;
+
+public class CacheEstadisticasDto {
+
+    private boolean habilitado;
+    private int entradas;
+    private int tamanoMaximo;
+    private long aciertos;
+    private long fallos;
+    private long desalojos; // por tamaño (LRU) o por vencimiento (TTL)
+
+    public CacheEstadisticasDto() {
+    }
+
+    public CacheEstadisticasDto(boolean habilitado, int entradas, int tamanoMaximo,
+                                long aciertos, long fallos, long desalojos) {
+        this.habilitado = habilitado;
+        this.entradas = entradas;
+        this.tamanoMaximo = tamanoMaximo;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public int getEntradas() {
+        return entradas;
+    }
+
+    public void setEntradas(int entradas) {
+        this.entradas = entradas;
+    }
+
+    public int getTamanoMaximo() {
+        return tamanoMaximo;
+    }
+
+    public void setTamanoMaximo(int tamanoMaximo) {
+        this.tamanoMaximo = tamanoMaximo;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public void setAciertos(long aciertos) {
+        this.aciertos = aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public void setFallos(long fallos) {
+        this.fallos = fallos;
+    }
+
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    public void setDesalojos(long desalojos) {
+        this.desalojos = desalojos;
+    }
+}
@@ -0,0 +1,51 @@
+package com.decisiontree.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nodo de una jerarquía AHP: matriz de comparaciones pareadas entre sus elementos.
+ *
+ * matriz[i][j] indica cuánto más importa elementos[i] que elementos[j] (escala de Saaty, 1 a 9);
+ * una celda puede ir en null si su transpuesta viene, y se toma el recíproco. Cada elemento es
+ * un criterio o, si tiene entrada en subcriterios, un grupo que reparte su peso entre los
+ * elementos de ese nodo.
+ */
+public class ComparacionAhpDto {
+
+    private List<String> elementos;
+    private List<List<Double>> matriz;
+    private Map<String, ComparacionAhpDto> subcriterios; // opcional, un nodo por elemento que es grupo
+
+    public ComparacionAhpDto() {
+    }
+
+    public ComparacionAhpDto(List<String> elementos, List<List<Double>> matriz) {
+        this.elementos = elementos;
+        this.matriz = matriz;
+    }
+
+    public List<String> getElementos() {
+        return elementos;
+    }
+
+    public void setElementos(List<String> elementos) {
+        this.elementos = elementos;
+    }
+
+    public List<List<Double>> getMatriz() {
+        return matriz;
+    }
+
+    public void setMatriz(List<List<Double>> matriz) {
+        this.matriz = matriz;
+    }
+
+    public Map<String, ComparacionAhpDto> getSubcriterios() {
+        return subcriterios;
+    }
+
+    public void setSubcriterios(Map<String, ComparacionAhpDto> subcriterios) {
+        this.subcriterios = subcriterios;
+    }
+}
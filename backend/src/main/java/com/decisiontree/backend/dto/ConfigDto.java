@@ -5,6 +5,11 @@ public class ConfigDto {
     private String criterio;
     private Double peso;
     private String tipo; // "beneficio" o "costo"
+    private Double pesoMinimo; // rango opcional del peso, solo para la simulación de pesos
+    private Double pesoMaximo;
+    private String funcionPreferencia; // solo promethee: usual (por defecto), v, lineal o gaussiana
+    private Double umbralIndiferencia; // q de la función lineal
+    private Double umbralPreferencia; // p de las funciones v y lineal, s de la gaussiana
 
     public ConfigDto() {
     }
@@ -38,4 +43,44 @@ public class ConfigDto {
     public void setTipo(String tipo) {
         this.tipo = tipo;
     }
-}
\ No newline at end of file
+
+    public Double getPesoMinimo() {
+        return pesoMinimo;
+    }
+
+    public void setPesoMinimo(Double pesoMinimo) {
+        this.pesoMinimo = pesoMinimo;
+    }
+
+    public Double getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    public void setPesoMaximo(Double pesoMaximo) {
+        this.pesoMaximo = pesoMaximo;
+    }
+
+    public String getFuncionPreferencia() {
+        return funcionPreferencia;
+    }
+
+    public void setFuncionPreferencia(String funcionPreferencia) {
+        this.funcionPreferencia = funcionPreferencia;
+    }
+
+    public Double getUmbralIndiferencia() {
+        return umbralIndiferencia;
+    }
+
+    public void setUmbralIndiferencia(Double umbralIndiferencia) {
+        this.umbralIndiferencia = umbralIndiferencia;
+    }
+
+    public Double getUmbralPreferencia() {
+        return umbralPreferencia;
+    }
+
+    public void setUmbralPreferencia(Double umbralPreferencia) {
+        this.umbralPreferencia = umbralPreferencia;
+    }
+}
@@ -0,0 +1,86 @@
+package com.decisiontree.backend.dto;
+
+/**
+ * Consistencia de un nodo AHP: autovalor principal, índice (CI) y razón de consistencia
+ * (CR = CI / RI). Con CR <= 0.1 las comparaciones se consideran consistentes.
+ */
+public class ConsistenciaAhpDto {
+
+    private String nodo; // "comparaciones" o "comparaciones.subcriterios.<grupo>..."
+    private Double lambdaMax;
+    private Double indiceConsistencia;
+    private Double razonConsistencia;
+    private Boolean consistente;
+    private Integer iteraciones;
+    private Boolean convergio; // false si se alcanzó el máximo de iteraciones
+
+    public ConsistenciaAhpDto() {
+    }
+
+    public ConsistenciaAhpDto(String nodo, Double lambdaMax, Double indiceConsistencia, Double razonConsistencia,
+                              Boolean consistente, Integer iteraciones, Boolean convergio) {
+        this.nodo = nodo;
+        this.lambdaMax = lambdaMax;
+        this.indiceConsistencia = indiceConsistencia;
+        this.razonConsistencia = razonConsistencia;
+        this.consistente = consistente;
+        this.iteraciones = iteraciones;
+        this.convergio = convergio;
+    }
+
+    public String getNodo() {
+        return nodo;
+    }
+
+    public void setNodo(String nodo) {
+        this.nodo = nodo;
+    }
+
+    public Double getLambdaMax() {
+        return lambdaMax;
+    }
+
+    public void setLambdaMax(Double lambdaMax) {
+        this.lambdaMax = lambdaMax;
+    }
+
+    public Double getIndiceConsistencia() {
+        return indiceConsistencia;
+    }
+
+    public void setIndiceConsistencia(Double indiceConsistencia) {
+        this.indiceConsistencia = indiceConsistencia;
+    }
+
+    public Double getRazonConsistencia() {
+        return razonConsistencia;
+    }
+
+    public void setRazonConsistencia(Double razonConsistencia) {
+        this.razonConsistencia = razonConsistencia;
+    }
+
+    public Boolean getConsistente() {
+        return consistente;
+    }
+
+    public void setConsistente(Boolean consistente) {
+        this.consistente = consistente;
+    }
+
+    public Integer getIteraciones() {
+        return iteraciones;
+    }
+
+    public void setIteraciones(Integer iteraciones) {
+        this.iteraciones = iteraciones;
+    }
+
+    public Boolean getConvergio() {
+        return convergio;
+    }
+
+    public void setConvergio(Boolean convergio) {
+        this.convergio = convergio;
+    }
+}
@@ -0,0 +1,64 @@
+package com.decisiontree.backend.dto;
+
+import java.util.List;
+
+public class DecisionLoteResponse {
+
+    private String mensaje;
+    private int total;
+    private int exitosos;
+    private int fallidos;
+    private List<LoteItemResultadoDto> resultados; // en el mismo orden que el lote recibido
+
+    public DecisionLoteResponse() {
+    }
+
+    public DecisionLoteResponse(String mensaje, int total, int exitosos, int fallidos,
+                                List<LoteItemResultadoDto> resultados) {
+        this.mensaje = mensaje;
+        this.total = total;
+        this.exitosos = exitosos;
+        this.fallidos = fallidos;
+        this.resultados = resultados;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getExitosos() {
+        return exitosos;
+    }
+
+    public void setExitosos(int exitosos) {
+        this.exitosos = exitosos;
+    }
+
+    public int getFallidos() {
+        return fallidos;
+    }
+
+    public void setFallidos(int fallidos) {
+        this.fallidos = fallidos;
+    }
+
+    public List<LoteItemResultadoDto> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<LoteItemResultadoDto> resultados) {
+        this.resultados = resultados;
+    }
+}
@@ -5,10 +5,16 @@ import java.util.List;
 
 public class DecisionRequest {
 
-    private String modo; // ranking, valor_esperado, maximin, maximax, laplace, hurwicz, minimax_regret
+    private String modo; // ranking, valor_esperado, maximin, maximax, laplace, hurwicz, minimax_regret, topsis, vikor, promethee, pareto, todos
+    private List<String> modos; // opcional, varios modos en una sola evaluación (tiene prioridad sobre modo)
     private Double alpha; // opcional, usado en hurwicz (0 a 1)
+    private Integer topK; // opcional, devuelve solo las primeras K posiciones del ranking
+    private Integer offset; // opcional, paginación del ranking (posición inicial, desde 0)
+    private Integer limit; // opcional, paginación del ranking (cantidad de posiciones)
+    private Boolean prefiltrarDominadas; // opcional, rankea solo las alternativas no dominadas (frente de Pareto)
     private List<AlternativaDto> alternativas;
     private List<ConfigDto> criterios;
+    private ComparacionAhpDto comparaciones; // opcional, deriva los pesos por AHP en lugar de criterios[].peso
 
     public DecisionRequest() {
     }
@@ -28,6 +34,14 @@ public class DecisionRequest {
         this.modo = modo;
     }
 
+    public List<String> getModos() {
+        return modos;
+    }
+
+    public void setModos(List<String> modos) {
+        this.modos = modos;
+    }
+
     public Double getAlpha() {
         return alpha;
     }
@@ -36,6 +50,38 @@ public class DecisionRequest {
         this.alpha = alpha;
     }
 
+    public Integer getTopK() {
+        return topK;
+    }
+
+    public void setTopK(Integer topK) {
+        this.topK = topK;
+    }
+
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Integer offset) {
+        this.offset = offset;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public Boolean getPrefiltrarDominadas() {
+        return prefiltrarDominadas;
+    }
+
+    public void setPrefiltrarDominadas(Boolean prefiltrarDominadas) {
+        this.prefiltrarDominadas = prefiltrarDominadas;
+    }
+
     public List<AlternativaDto> getAlternativas() {
         return alternativas;
     }
@@ -51,4 +97,12 @@ public class DecisionRequest {
     public void setCriterios(List<ConfigDto> criterios) {
         this.criterios = criterios;
     }
-}
\ No newline at end of file
+
+    public ComparacionAhpDto getComparaciones() {
+        return comparaciones;
+    }
+
+    public void setComparaciones(ComparacionAhpDto comparaciones) {
+        this.comparaciones = comparaciones;
+    }
+}
@@ -1,11 +1,18 @@
 package com.decisiontree.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
+import java.util.Map;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class DecisionResponse {
 
     private String mensaje;
     private List<RankingItemDto> ranking;
+    private Map<String, List<RankingItemDto>> rankings; // un ranking por modo cuando se piden varios
+    private Integer totalAlternativas; // solo cuando el ranking viene recortado (topK u offset/limit)
+    private PesosAhpDto ahp; // solo cuando los pesos se derivaron de comparaciones AHP
 
     public DecisionResponse() {
     }
@@ -15,6 +22,11 @@ public class DecisionResponse {
         this.ranking = ranking;
     }
 
+    public DecisionResponse(String mensaje, Map<String, List<RankingItemDto>> rankings) {
+        this.mensaje = mensaje;
+        this.rankings = rankings;
+    }
+
     public String getMensaje() {
         return mensaje;
     }
@@ -30,4 +42,28 @@ public class DecisionResponse {
     public void setRanking(List<RankingItemDto> ranking) {
         this.ranking = ranking;
     }
-}
\ No newline at end of file
+
+    public Map<String, List<RankingItemDto>> getRankings() {
+        return rankings;
+    }
+
+    public void setRankings(Map<String, List<RankingItemDto>> rankings) {
+        this.rankings = rankings;
+    }
+
+    public Integer getTotalAlternativas() {
+        return totalAlternativas;
+    }
+
+    public void setTotalAlternativas(Integer totalAlternativas) {
+        this.totalAlternativas = totalAlternativas;
+    }
+
+    public PesosAhpDto getAhp() {
+        return ahp;
+    }
+
+    public void setAhp(PesosAhpDto ahp) {
+        this.ahp = ahp;
+    }
+}
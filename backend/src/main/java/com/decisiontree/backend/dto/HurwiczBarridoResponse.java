@@ -0,0 +1,55 @@
+package com.decisiontree.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HurwiczBarridoResponse {
+
+    private String mensaje;
+    private List<HurwiczPuntoDto> puntos;  // ranking en cada alpha del barrido
+    private List<HurwiczTramoDto> tramos;  // ganadora por intervalo de alpha, con cortes exactos
+    private Integer totalAlternativas;     // solo cuando los rankings vienen recortados
+
+    public HurwiczBarridoResponse() {
+    }
+
+    public HurwiczBarridoResponse(String mensaje, List<HurwiczPuntoDto> puntos, List<HurwiczTramoDto> tramos) {
+        this.mensaje = mensaje;
+        this.puntos = puntos;
+        this.tramos = tramos;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public List<HurwiczPuntoDto> getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(List<HurwiczPuntoDto> puntos) {
+        this.puntos = puntos;
+    }
+
+    public List<HurwiczTramoDto> getTramos() {
+        return tramos;
+    }
+
+    public void setTramos(List<HurwiczTramoDto> tramos) {
+        this.tramos = tramos;
+    }
+
+    public Integer getTotalAlternativas() {
+        return totalAlternativas;
+    }
+
+    public void setTotalAlternativas(Integer totalAlternativas) {
+        this.totalAlternativas = totalAlternativas;
+    }
+}
@@ -0,0 +1,33 @@
+package com.decisiontree.backend.dto;
+
+import java.util.List;
+
+public class HurwiczPuntoDto {
+
+    private Double alpha;
+    private List<RankingItemDto> ranking;
+
+    public HurwiczPuntoDto() {
+    }
+
+    public HurwiczPuntoDto(Double alpha, List<RankingItemDto> ranking) {
+        this.alpha = alpha;
+        this.ranking = ranking;
+    }
+
+    public Double getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(Double alpha) {
+        this.alpha = alpha;
+    }
+
+    public List<RankingItemDto> getRanking() {
+        return ranking;
+    }
+
+    public void setRanking(List<RankingItemDto> ranking) {
+        this.ranking = ranking;
+    }
+}
@@ -0,0 +1,44 @@
+package com.decisiontree.backend.dto;
+
+/**
+ * Intervalo de alpha [alphaDesde, alphaHasta] en el que gana una misma alternativa.
+ */
+public class HurwiczTramoDto {
+
+    private Double alphaDesde;
+    private Double alphaHasta;
+    private String alternativa;
+
+    public HurwiczTramoDto() {
+    }
+
+    public HurwiczTramoDto(Double alphaDesde, Double alphaHasta, String alternativa) {
+        this.alphaDesde = alphaDesde;
+        this.alphaHasta = alphaHasta;
+        this.alternativa = alternativa;
+    }
+
+    public Double getAlphaDesde() {
+        return alphaDesde;
+    }
+
+    public void setAlphaDesde(Double alphaDesde) {
+        this.alphaDesde = alphaDesde;
+    }
+
+    public Double getAlphaHasta() {
+        return alphaHasta;
+    }
+
+    public void setAlphaHasta(Double alphaHasta) {
+        this.alphaHasta = alphaHasta;
+    }
+
+    public String getAlternativa() {
+        return alternativa;
+    }
+
+    public void setAlternativa(String alternativa) {
+        this.alternativa = alternativa;
+    }
+}
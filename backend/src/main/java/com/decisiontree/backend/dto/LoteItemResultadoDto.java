@@ -0,0 +1,59 @@
+package com.decisiontree.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoteItemResultadoDto {
+
+    public static final String ESTADO_OK = "OK";
+    public static final String ESTADO_ERROR = "ERROR";
+
+    private int indice;
+    private String estado; // OK o ERROR
+    private DecisionResponse resultado;
+    private Map<String, Object> error; // mismo formato que GlobalExceptionHandler
+
+    public LoteItemResultadoDto() {
+    }
+
+    public LoteItemResultadoDto(int indice, String estado, DecisionResponse resultado, Map<String, Object> error) {
+        this.indice = indice;
+        this.estado = estado;
+        this.resultado = resultado;
+        this.error = error;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public DecisionResponse getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(DecisionResponse resultado) {
+        this.resultado = resultado;
+    }
+
+    public Map<String, Object> getError() {
+        return error;
+    }
+
+    public void setError(Map<String, Object> error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,63 @@
+package com.decisiontree.backend.dto;
+
+import java.util.List;
+
+public class MatrizAlmacenadaDto {
+
+    private String id;
+    private String archivo;
+    private int alternativas;
+    private List<ConfigDto> criterios; // peso tal como está en el archivo, sin normalizar
+    private long bytes;
+
+    public MatrizAlmacenadaDto() {
+    }
+
+    public MatrizAlmacenadaDto(String id, String archivo, int alternativas, List<ConfigDto> criterios, long bytes) {
+        this.id = id;
+        this.archivo = archivo;
+        this.alternativas = alternativas;
+        this.criterios = criterios;
+        this.bytes = bytes;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public int getAlternativas() {
+        return alternativas;
+    }
+
+    public void setAlternativas(int alternativas) {
+        this.alternativas = alternativas;
+    }
+
+    public List<ConfigDto> getCriterios() {
+        return criterios;
+    }
+
+    public void setCriterios(List<ConfigDto> criterios) {
+        this.criterios = criterios;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
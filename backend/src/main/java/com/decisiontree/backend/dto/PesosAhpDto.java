@@ -0,0 +1,38 @@
+package com.decisiontree.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pesos derivados de las comparaciones AHP (globales, por criterio, suman 1) y la
+ * consistencia de cada nodo de la jerarquía.
+ */
+public class PesosAhpDto {
+
+    private Map<String, Double> pesos;
+    private List<ConsistenciaAhpDto> consistencia;
+
+    public PesosAhpDto() {
+    }
+
+    public PesosAhpDto(Map<String, Double> pesos, List<ConsistenciaAhpDto> consistencia) {
+        this.pesos = pesos;
+        this.consistencia = consistencia;
+    }
+
+    public Map<String, Double> getPesos() {
+        return pesos;
+    }
+
+    public void setPesos(Map<String, Double> pesos) {
+        this.pesos = pesos;
+    }
+
+    public List<ConsistenciaAhpDto> getConsistencia() {
+        return consistencia;
+    }
+
+    public void setConsistencia(List<ConsistenciaAhpDto> consistencia) {
+        this.consistencia = consistencia;
+    }
+}
@@ -0,0 +1,31 @@
+package com.decisiontree.backend.dto;
+
+public class ProgresoDto {
+
+    private long completadas;
+    private long total;
+
+    public ProgresoDto() {
+    }
+
+    public ProgresoDto(long completadas, long total) {
+        this.completadas = completadas;
+        this.total = total;
+    }
+
+    public long getCompletadas() {
+        return completadas;
+    }
+
+    public void setCompletadas(long completadas) {
+        this.completadas = completadas;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
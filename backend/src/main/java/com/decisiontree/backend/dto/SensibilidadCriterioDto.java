@@ -0,0 +1,72 @@
+package com.decisiontree.backend.dto;
+
+/**
+ * Intervalo [pesoMinimo, pesoMaximo] del peso normalizado de un criterio en el que la ganadora
+ * de SAW no cambia (los demás pesos se reescalan en proporción). Un extremo en null significa
+ * que la ganadora se mantiene hasta 0 o hasta 1.
+ */
+public class SensibilidadCriterioDto {
+
+    private String criterio;
+    private Double peso;
+    private Double pesoMinimo;
+    private String alternativaAlBajar;  // la que pasa a ganar por debajo de pesoMinimo
+    private Double pesoMaximo;
+    private String alternativaAlSubir;  // la que pasa a ganar por encima de pesoMaximo
+
+    public SensibilidadCriterioDto() {
+    }
+
+    public SensibilidadCriterioDto(String criterio, Double peso) {
+        this.criterio = criterio;
+        this.peso = peso;
+    }
+
+    public String getCriterio() {
+        return criterio;
+    }
+
+    public void setCriterio(String criterio) {
+        this.criterio = criterio;
+    }
+
+    public Double getPeso() {
+        return peso;
+    }
+
+    public void setPeso(Double peso) {
+        this.peso = peso;
+    }
+
+    public Double getPesoMinimo() {
+        return pesoMinimo;
+    }
+
+    public void setPesoMinimo(Double pesoMinimo) {
+        this.pesoMinimo = pesoMinimo;
+    }
+
+    public String getAlternativaAlBajar() {
+        return alternativaAlBajar;
+    }
+
+    public void setAlternativaAlBajar(String alternativaAlBajar) {
+        this.alternativaAlBajar = alternativaAlBajar;
+    }
+
+    public Double getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    public void setPesoMaximo(Double pesoMaximo) {
+        this.pesoMaximo = pesoMaximo;
+    }
+
+    public String getAlternativaAlSubir() {
+        return alternativaAlSubir;
+    }
+
+    public void setAlternativaAlSubir(String alternativaAlSubir) {
+        this.alternativaAlSubir = alternativaAlSubir;
+    }
+}
@@ -0,0 +1,54 @@
+package com.decisiontree.backend.dto;
+
+/**
+ * Peso normalizado del criterio en el que "mejor" y "peor" empatan; pasándolo se invierten.
+ */
+public class SensibilidadParDto {
+
+    private String mejor;
+    private String peor;
+    private String criterio;
+    private Double pesoCritico;
+
+    public SensibilidadParDto() {
+    }
+
+    public SensibilidadParDto(String mejor, String peor, String criterio, Double pesoCritico) {
+        this.mejor = mejor;
+        this.peor = peor;
+        this.criterio = criterio;
+        this.pesoCritico = pesoCritico;
+    }
+
+    public String getMejor() {
+        return mejor;
+    }
+
+    public void setMejor(String mejor) {
+        this.mejor = mejor;
+    }
+
+    public String getPeor() {
+        return peor;
+    }
+
+    public void setPeor(String peor) {
+        this.peor = peor;
+    }
+
+    public String getCriterio() {
+        return criterio;
+    }
+
+    public void setCriterio(String criterio) {
+        this.criterio = criterio;
+    }
+
+    public Double getPesoCritico() {
+        return pesoCritico;
+    }
+
+    public void setPesoCritico(Double pesoCritico) {
+        this.pesoCritico = pesoCritico;
+    }
+}
@@ -0,0 +1,49 @@
+package com.decisiontree.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SensibilidadSawResponse {
+
+    private String mensaje;
+    private String ganadora;
+    private List<SensibilidadCriterioDto> criterios;
+    private List<SensibilidadParDto> pares; // solo si se pidió el análisis por pares del top
+
+    public SensibilidadSawResponse() {
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public String getGanadora() {
+        return ganadora;
+    }
+
+    public void setGanadora(String ganadora) {
+        this.ganadora = ganadora;
+    }
+
+    public List<SensibilidadCriterioDto> getCriterios() {
+        return criterios;
+    }
+
+    public void setCriterios(List<SensibilidadCriterioDto> criterios) {
+        this.criterios = criterios;
+    }
+
+    public List<SensibilidadParDto> getPares() {
+        return pares;
+    }
+
+    public void setPares(List<SensibilidadParDto> pares) {
+        this.pares = pares;
+    }
+}
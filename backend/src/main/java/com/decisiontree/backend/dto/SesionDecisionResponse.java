@@ -0,0 +1,41 @@
+package com.decisiontree.backend.dto;
+
+public class SesionDecisionResponse {
+
+    private String id;
+    private long version; // aumenta con cada cambio de la sesión
+    private DecisionResponse resultado;
+
+    public SesionDecisionResponse() {
+    }
+
+    public SesionDecisionResponse(String id, long version, DecisionResponse resultado) {
+        this.id = id;
+        this.version = version;
+        this.resultado = resultado;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public DecisionResponse getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(DecisionResponse resultado) {
+        this.resultado = resultado;
+    }
+}
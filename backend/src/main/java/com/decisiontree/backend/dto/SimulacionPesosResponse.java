@@ -0,0 +1,64 @@
+package com.decisiontree.backend.dto;
+
+import java.util.List;
+
+public class SimulacionPesosResponse {
+
+    private String mensaje;
+    private long muestras;
+    private long semilla;   // con la misma semilla y el mismo problema el resultado se repite
+    private int rangos;
+    private List<AceptabilidadDto> aceptabilidad; // solo alternativas que llegaron a las primeras posiciones
+
+    public SimulacionPesosResponse() {
+    }
+
+    public SimulacionPesosResponse(String mensaje, long muestras, long semilla, int rangos,
+                                   List<AceptabilidadDto> aceptabilidad) {
+        this.mensaje = mensaje;
+        this.muestras = muestras;
+        this.semilla = semilla;
+        this.rangos = rangos;
+        this.aceptabilidad = aceptabilidad;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    public void setMensaje(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public long getMuestras() {
+        return muestras;
+    }
+
+    public void setMuestras(long muestras) {
+        this.muestras = muestras;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    public int getRangos() {
+        return rangos;
+    }
+
+    public void setRangos(int rangos) {
+        this.rangos = rangos;
+    }
+
+    public List<AceptabilidadDto> getAceptabilidad() {
+        return aceptabilidad;
+    }
+
+    public void setAceptabilidad(List<AceptabilidadDto> aceptabilidad) {
+        this.aceptabilidad = aceptabilidad;
+    }
+}
@@ -0,0 +1,81 @@
+package com.decisiontree.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrabajoDto {
+
+    private String id;
+    private String estado; // en_cola, en_curso, completado o fallido
+    private Integer posicionEnCola; // solo en cola: trabajos que se toman antes que este
+    private int alternativas;
+    private int criterios;
+    private Long esperaMs; // en cola, hasta empezar (o hasta ahora si no empezó)
+    private Long duracionMs; // evaluación, hasta terminar (o hasta ahora si sigue en curso)
+
+    public TrabajoDto() {
+    }
+
+    public TrabajoDto(String id, String estado, int alternativas, int criterios) {
+        this.id = id;
+        this.estado = estado;
+        this.alternativas = alternativas;
+        this.criterios = criterios;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public Integer getPosicionEnCola() {
+        return posicionEnCola;
+    }
+
+    public void setPosicionEnCola(Integer posicionEnCola) {
+        this.posicionEnCola = posicionEnCola;
+    }
+
+    public int getAlternativas() {
+        return alternativas;
+    }
+
+    public void setAlternativas(int alternativas) {
+        this.alternativas = alternativas;
+    }
+
+    public int getCriterios() {
+        return criterios;
+    }
+
+    public void setCriterios(int criterios) {
+        this.criterios = criterios;
+    }
+
+    public Long getEsperaMs() {
+        return esperaMs;
+    }
+
+    public void setEsperaMs(Long esperaMs) {
+        this.esperaMs = esperaMs;
+    }
+
+    public Long getDuracionMs() {
+        return duracionMs;
+    }
+
+    public void setDuracionMs(Long duracionMs) {
+        this.duracionMs = duracionMs;
+    }
+}
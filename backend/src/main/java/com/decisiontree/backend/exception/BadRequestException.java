@@ -3,17 +3,21 @@ package com.decisiontree.backend.exception;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Parámetro inválido detectado al calcular (400). Igual que BusinessValidationException, sin
+ * stack trace.
+ */
 public class BadRequestException extends RuntimeException {
 
     private final List<FieldError> errores;
 
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
         this.errores = Collections.emptyList();
     }
 
     public BadRequestException(String message, List<FieldError> errores) {
-        super(message);
+        super(message, null, false, false);
         this.errores = (errores == null) ? Collections.emptyList() : errores;
     }
 
@@ -3,12 +3,16 @@ package com.decisiontree.backend.exception;
 import java.util.List;
 
 
+/**
+ * Error de validación del request (400). No guarda stack trace: se responde siempre con los
+ * campos y mensajes, y así un flujo de payloads inválidos no paga por recorrer la pila.
+ */
 public class BusinessValidationException extends RuntimeException{
 
     private final List<FieldError> errores;
 
     public BusinessValidationException(String mensaje, List<FieldError> errores) {
-        super(mensaje);
+        super(mensaje, null, false, false);
         this.errores = errores;
     }
 
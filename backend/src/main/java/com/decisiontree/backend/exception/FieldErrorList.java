@@ -0,0 +1,65 @@
+package com.decisiontree.backend.exception;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lista de errores de validación con un tope opcional.
+ *
+ * Los lectores juntan los errores de un request en varias listas (nombres, valores, ...) para
+ * ordenarlos al final; todas comparten el mismo Tope, que cuenta cada error agregado con add.
+ * Al pasar el tope se corta la validación ahí mismo, con los errores vistos hasta ese momento
+ * en el orden en que se encontraron. addAll no vuelve a contar: se usa para juntar listas.
+ */
+public final class FieldErrorList extends ArrayList<BusinessValidationException.FieldError> {
+
+    private final transient Tope tope;
+
+    public FieldErrorList() {
+        this(null);
+    }
+
+    /**
+     * @param tope tope compartido del request, o null para no limitar
+     */
+    public FieldErrorList(Tope tope) {
+        this.tope = tope;
+    }
+
+    @Override
+    public boolean add(BusinessValidationException.FieldError error) {
+        super.add(error);
+        if (tope != null) {
+            tope.contar(error);
+        }
+        return true;
+    }
+
+    /**
+     * Cantidad máxima de errores a reportar para un request. Con failFast se corta en el primero.
+     */
+    public static final class Tope {
+
+        private final int maximo;
+        private final boolean failFast;
+        private final List<BusinessValidationException.FieldError> vistos = new ArrayList<>();
+
+        public Tope(int maximo, boolean failFast) {
+            this.maximo = maximo;
+            this.failFast = failFast;
+        }
+
+        private void contar(BusinessValidationException.FieldError error) {
+            if (failFast) {
+                throw new BusinessValidationException("Request inválido", List.of(error));
+            }
+            if (vistos.size() < maximo) {
+                vistos.add(error);
+                return;
+            }
+            vistos.add(new BusinessValidationException.FieldError("errores",
+                    "Se reportan solo los primeros " + maximo + " errores"));
+            throw new BusinessValidationException("Request inválido", vistos);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.decisiontree.backend.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -13,28 +15,67 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(BusinessValidationException.class)
     public ResponseEntity<Map<String, Object>> handleBusinessValidation(BusinessValidationException ex) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("error", "VALIDATION_ERROR");
-        body.put("mensaje", ex.getMessage());
-        body.put("errores", ex.getErrores());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(cuerpoError(ex));
     }
 
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<Map<String, Object>> handleBadRequest(BadRequestException ex) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("error", "VALIDATION_ERROR");
-        body.put("mensaje", ex.getMessage());
-        body.put("errores", ex.getErrores());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(cuerpoError(ex));
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(NotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(cuerpoError(ex));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarEnSegundos()))
+                .body(cuerpoError(ex));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(cuerpoError(ex));
+    }
+
+    /**
+     * Cuerpo de error con el mismo formato que devuelven los handlers HTTP.
+     * Lo usan también los endpoints que reportan errores por ítem (lote).
+     */
+    public static Map<String, Object> cuerpoError(Exception ex) {
+        if (ex instanceof BusinessValidationException bve) {
+            return cuerpoValidacion(bve.getMessage(), bve.getErrores());
+        }
+        if (ex instanceof BadRequestException bre) {
+            return cuerpoValidacion(bre.getMessage(), bre.getErrores());
+        }
+        if (ex instanceof NotFoundException) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", "NOT_FOUND");
+            body.put("mensaje", ex.getMessage());
+            return body;
+        }
+        if (ex instanceof ServiceUnavailableException) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", "SERVICE_UNAVAILABLE");
+            body.put("mensaje", ex.getMessage());
+            return body;
+        }
+
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("error", "INTERNAL_ERROR");
         body.put("mensaje", "Ocurrió un error interno.");
         body.put("detalle", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+        return body;
+    }
+
+    private static Map<String, Object> cuerpoValidacion(String mensaje, List<?> errores) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "VALIDATION_ERROR");
+        body.put("mensaje", mensaje);
+        body.put("errores", errores);
+        return body;
     }
 }
@@ -0,0 +1,11 @@
+package com.decisiontree.backend.exception;
+
+/**
+ * Recurso inexistente (por ejemplo, una sesión vencida o una alternativa que no está en ella).
+ */
+public class NotFoundException extends RuntimeException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
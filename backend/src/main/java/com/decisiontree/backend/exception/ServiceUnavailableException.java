@@ -0,0 +1,19 @@
+package com.decisiontree.backend.exception;
+
+/**
+ * El servidor no puede tomar más trabajo por ahora (503); el cliente puede reintentar pasados
+ * reintentarEnSegundos.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final int reintentarEnSegundos;
+
+    public ServiceUnavailableException(String message, int reintentarEnSegundos) {
+        super(message, null, false, false);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public int getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
@@ -0,0 +1,107 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.dto.DecisionLoteResponse;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.LoteItemResultadoDto;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.GlobalExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Evalúa lotes de problemas independientes, cada uno en su propio hilo virtual.
+ * El semáforo limita cuántos se calculan a la vez para no saturar CPU ni memoria.
+ */
+@Service
+public class DecisionBatchService {
+
+    private final DecisionEngineService engine;
+    private final int paralelismoMaximo;
+    private final int tamanoMaximo;
+
+    public DecisionBatchService(DecisionEngineService engine,
+                                @Value("${dss.lote.paralelismo-maximo:32}") int paralelismoMaximo,
+                                @Value("${dss.lote.tamano-maximo:10000}") int tamanoMaximo) {
+        this.engine = engine;
+        this.paralelismoMaximo = Math.max(1, paralelismoMaximo);
+        this.tamanoMaximo = tamanoMaximo;
+    }
+
+    public DecisionLoteResponse evaluarLote(List<DecisionRequest> lote) {
+        validarLote(lote);
+
+        Semaphore permisos = new Semaphore(paralelismoMaximo);
+        List<Future<LoteItemResultadoDto>> futuros = new ArrayList<>(lote.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < lote.size(); i++) {
+                int indice = i;
+                DecisionRequest request = lote.get(i);
+                futuros.add(executor.submit(() -> evaluarItem(indice, request, permisos)));
+            }
+        }
+
+        List<LoteItemResultadoDto> resultados = new ArrayList<>(lote.size());
+        int exitosos = 0;
+        for (int i = 0; i < futuros.size(); i++) {
+            LoteItemResultadoDto item = obtener(futuros.get(i), i);
+            if (LoteItemResultadoDto.ESTADO_OK.equals(item.getEstado())) {
+                exitosos++;
+            }
+            resultados.add(item);
+        }
+
+        int fallidos = resultados.size() - exitosos;
+        String mensaje = "Lote evaluado: " + exitosos + " correctos, " + fallidos + " con error.";
+        return new DecisionLoteResponse(mensaje, resultados.size(), exitosos, fallidos, resultados);
+    }
+
+    private LoteItemResultadoDto evaluarItem(int indice, DecisionRequest request, Semaphore permisos)
+            throws InterruptedException {
+        permisos.acquire();
+        try {
+            return new LoteItemResultadoDto(indice, LoteItemResultadoDto.ESTADO_OK, engine.evaluar(request), null);
+        } catch (RuntimeException ex) {
+            // Un ítem inválido no debe tumbar el lote completo
+            return new LoteItemResultadoDto(indice, LoteItemResultadoDto.ESTADO_ERROR, null,
+                    GlobalExceptionHandler.cuerpoError(ex));
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private LoteItemResultadoDto obtener(Future<LoteItemResultadoDto> futuro, int indice) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evaluación del lote interrumpida.", ex);
+        } catch (ExecutionException ex) {
+            Exception causa = (ex.getCause() instanceof Exception e) ? e : ex;
+            return new LoteItemResultadoDto(indice, LoteItemResultadoDto.ESTADO_ERROR, null,
+                    GlobalExceptionHandler.cuerpoError(causa));
+        }
+    }
+
+    private void validarLote(List<DecisionRequest> lote) {
+        if (lote == null || lote.isEmpty()) {
+            throw new BusinessValidationException("Request inválido", List.of(
+                    new BusinessValidationException.FieldError("body", "Debe enviar al menos 1 problema en el lote")
+            ));
+        }
+        if (lote.size() > tamanoMaximo) {
+            throw new BusinessValidationException("Request inválido", List.of(
+                    new BusinessValidationException.FieldError("body",
+                            "El lote no puede superar " + tamanoMaximo + " problemas")
+            ));
+        }
+    }
+}
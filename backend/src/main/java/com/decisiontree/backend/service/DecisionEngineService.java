@@ -3,33 +3,281 @@ package com.decisiontree.backend.service;
 import com.decisiontree.backend.constants.DecisionModes;
 import com.decisiontree.backend.dto.DecisionRequest;
 import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.HurwiczBarridoResponse;
+import com.decisiontree.backend.dto.HurwiczPuntoDto;
+import com.decisiontree.backend.dto.HurwiczTramoDto;
 import com.decisiontree.backend.dto.RankingItemDto;
+import com.decisiontree.backend.dto.SensibilidadSawResponse;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.cache.CanonicalRequestHasher;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
 import com.decisiontree.backend.service.criteria.DecisionCriteriaCalculator;
-import com.decisiontree.backend.utils.RequestValidationUtils;
+import com.decisiontree.backend.service.criteria.DecisionMatrix;
+import com.decisiontree.backend.service.criteria.HurwiczSweep;
+import com.decisiontree.backend.service.criteria.RankingOrdenado;
+import com.decisiontree.backend.service.criteria.SawSensitivityAnalyzer;
+import com.decisiontree.backend.service.ingest.DecisionRequestCompiler;
+import com.decisiontree.backend.service.metrics.DecisionMetrics;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 public class DecisionEngineService {
 
+    static final int PASOS_MAXIMOS_BARRIDO = 1000;
+    static final int TOP_MAXIMO_SENSIBILIDAD = 50;
+
     private final DecisionCriteriaCalculator calculator;
+    private final DecisionResultCache cache;
+    private final SawSensitivityAnalyzer sensibilidad;
+    private final DecisionRequestCompiler compiler;
+    private final DecisionMetrics metricas;
 
-    public DecisionEngineService(DecisionCriteriaCalculator calculator) {
+    public DecisionEngineService(DecisionCriteriaCalculator calculator, DecisionResultCache cache,
+                                 SawSensitivityAnalyzer sensibilidad, DecisionRequestCompiler compiler,
+                                 DecisionMetrics metricas) {
         this.calculator = calculator;
+        this.cache = cache;
+        this.sensibilidad = sensibilidad;
+        this.compiler = compiler;
+        this.metricas = metricas;
     }
 
+    /**
+     * Si el mismo problema ya se evaluó, devuelve la respuesta del caché sin validar ni calcular.
+     */
     public DecisionResponse evaluar(DecisionRequest request) {
-        RequestValidationUtils.validate(request);
+        long inicio = System.nanoTime();
+        metricas.inicio();
+        try {
+            String clave = null;
+            if (request != null && request.getAlternativas() != null && cache.admite(request.getAlternativas().size())) {
+                clave = CanonicalRequestHasher.de(request);
+                DecisionResponse enCache = cache.obtener(clave);
+                if (enCache != null) {
+                    return enCache;
+                }
+            }
+
+            return evaluar(validar(() -> compiler.compilar(request)), clave, inicio);
+        } finally {
+            metricas.fin();
+        }
+    }
+
+    /**
+     * Lee, valida y evalúa (por ejemplo, un body leído en streaming), midiendo también la
+     * lectura como etapa de validación. Si el compilado trae clave, usa el caché de resultados.
+     */
+    public DecisionResponse evaluar(Supplier<CompiledDecisionRequest> lectura) {
+        long inicio = System.nanoTime();
+        metricas.inicio();
+        try {
+            return evaluar(validar(lectura), inicio);
+        } finally {
+            metricas.fin();
+        }
+    }
+
+    /**
+     * Como evaluar(lectura), pero el ranking queda en arreglos primitivos (RankingOrdenado) para
+     * escribirlo fila por fila sin armar la lista de DTOs. Si el problema está en el caché se
+     * usa esa respuesta; el resultado no se guarda en el caché.
+     */
+    public EvaluacionOrdenada evaluarOrdenado(Supplier<CompiledDecisionRequest> lectura) {
+        long inicio = System.nanoTime();
+        metricas.inicio();
+        try {
+            CompiledDecisionRequest compilado = validar(lectura);
+            DecisionRequest parametros = compilado.getParametros();
+            DecisionMatrix matriz = compilado.getMatriz();
+            boolean multiple = DecisionModes.isMultiMode(parametros.getModo(), parametros.getModos());
+            Integer total = DecisionCriteriaCalculator.isRankingParcial(parametros) ? matriz.filas() : null;
+
+            DecisionResponse enCache = (compilado.getClave() == null) ? null : cache.obtener(compilado.getClave());
+            if (enCache != null) {
+                Map<String, RankingOrdenado> rankings = new LinkedHashMap<>();
+                if (multiple) {
+                    enCache.getRankings().forEach((modo, ranking) -> rankings.put(modo, RankingOrdenado.de(ranking)));
+                } else {
+                    rankings.put(null, RankingOrdenado.de(enCache.getRanking()));
+                }
+                return new EvaluacionOrdenada(enCache.getMensaje(), enCache.getTotalAlternativas(), multiple, rankings);
+            }
+
+            int desde = DecisionCriteriaCalculator.desde(parametros);
+            int hasta = DecisionCriteriaCalculator.hasta(parametros, matriz.filas());
+            boolean prefiltrar = Boolean.TRUE.equals(parametros.getPrefiltrarDominadas());
+            EvaluacionOrdenada evaluacion;
+            if (multiple) {
+                List<String> modos = DecisionModes.resolve(parametros.getModo(), parametros.getModos());
+                Map<String, RankingOrdenado> rankings =
+                        calculator.ordenar(matriz, modos, parametros.getAlpha(), desde, hasta, prefiltrar);
+                evaluacion = new EvaluacionOrdenada(construirMensajeMultiple(rankings.keySet(), parametros.getAlpha()),
+                        total, true, rankings);
+            } else {
+                Map<String, RankingOrdenado> rankings = new LinkedHashMap<>();
+                rankings.put(null, calculator.ordenar(matriz, parametros.getModo(), parametros.getAlpha(), desde, hasta,
+                        prefiltrar));
+                evaluacion = new EvaluacionOrdenada(
+                        construirMensaje(DecisionModes.normalize(parametros.getModo()), parametros.getAlpha()),
+                        total, false, rankings);
+            }
+            metricas.evaluacion(DecisionMetrics.modo(parametros), System.nanoTime() - inicio,
+                    matriz.filas(), matriz.columnas());
+            return evaluacion;
+        } finally {
+            metricas.fin();
+        }
+    }
+
+    /**
+     * Evalúa un request ya validado y compilado. Si trae clave, usa el caché de resultados.
+     */
+    public DecisionResponse evaluar(CompiledDecisionRequest compilado) {
+        long inicio = System.nanoTime();
+        metricas.inicio();
+        try {
+            return evaluar(compilado, inicio);
+        } finally {
+            metricas.fin();
+        }
+    }
+
+    /**
+     * Corre la lectura/validación midiendo su duración (etapa "validacion") y, si falla,
+     * contando los errores por campo.
+     */
+    public CompiledDecisionRequest validar(Supplier<CompiledDecisionRequest> lectura) {
+        long inicio = System.nanoTime();
+        try {
+            CompiledDecisionRequest compilado = lectura.get();
+            metricas.etapa(DecisionMetrics.modo(compilado.getParametros()), DecisionMetrics.Etapa.VALIDACION,
+                    System.nanoTime() - inicio);
+            return compilado;
+        } catch (BusinessValidationException ex) {
+            metricas.validacionFallida(ex);
+            throw ex;
+        }
+    }
+
+    private DecisionResponse evaluar(CompiledDecisionRequest compilado, long inicio) {
+        String clave = compilado.getClave();
+        if (clave != null) {
+            DecisionResponse enCache = cache.obtener(clave);
+            if (enCache != null) {
+                return enCache;
+            }
+        }
+        return evaluar(compilado, clave, inicio);
+    }
 
-        String modoNormalizado = DecisionModes.normalize(request.getModo());
-        List<RankingItemDto> ranking = calculator.calcularRanking(request);
+    private DecisionResponse evaluar(CompiledDecisionRequest compilado, String clave, long inicio) {
+        DecisionRequest parametros = compilado.getParametros();
+        DecisionMatrix matriz = compilado.getMatriz();
+        int desde = DecisionCriteriaCalculator.desde(parametros);
+        int hasta = DecisionCriteriaCalculator.hasta(parametros, matriz.filas());
+        boolean prefiltrar = Boolean.TRUE.equals(parametros.getPrefiltrarDominadas());
 
-        String mensaje = construirMensaje(modoNormalizado, request.getAlpha());
-        return new DecisionResponse(mensaje, ranking);
+        DecisionResponse response;
+        if (DecisionModes.isMultiMode(parametros.getModo(), parametros.getModos())) {
+            List<String> modos = DecisionModes.resolve(parametros.getModo(), parametros.getModos());
+            Map<String, List<RankingItemDto>> rankings =
+                    calculator.calcularRankings(matriz, modos, parametros.getAlpha(), desde, hasta, prefiltrar);
+            response = new DecisionResponse(construirMensajeMultiple(rankings.keySet(), parametros.getAlpha()), rankings);
+        } else {
+            String modoNormalizado = DecisionModes.normalize(parametros.getModo());
+            List<RankingItemDto> ranking = calculator.calcularRanking(matriz, parametros.getModo(),
+                    parametros.getAlpha(), desde, hasta, prefiltrar);
+            response = new DecisionResponse(construirMensaje(modoNormalizado, parametros.getAlpha()), ranking);
+        }
+
+        if (DecisionCriteriaCalculator.isRankingParcial(parametros)) {
+            response.setTotalAlternativas(matriz.filas());
+        }
+        response.setAhp(compilado.getAhp());
+        if (clave != null) {
+            cache.guardar(clave, response);
+        }
+        metricas.evaluacion(DecisionMetrics.modo(parametros), System.nanoTime() - inicio,
+                matriz.filas(), matriz.columnas());
+        return response;
     }
 
-    private String construirMensaje(String modo, Double alpha) {
+    /**
+     * Ranking de Hurwicz en alpha = 0, 1/pasos, ..., 1 y tramos de alpha con la misma ganadora.
+     * La matriz se recorre una vez; cada alpha cuesta O(n log k) con la ventana del request.
+     */
+    public HurwiczBarridoResponse barrerHurwicz(CompiledDecisionRequest compilado, int pasos) {
+        if (pasos < 1 || pasos > PASOS_MAXIMOS_BARRIDO) {
+            throw new BusinessValidationException("Request inválido", List.of(
+                    new BusinessValidationException.FieldError("pasos",
+                            "Debe estar entre 1 y " + PASOS_MAXIMOS_BARRIDO)
+            ));
+        }
+
+        DecisionRequest parametros = compilado.getParametros();
+        DecisionMatrix matriz = compilado.getMatriz();
+        int desde = DecisionCriteriaCalculator.desde(parametros);
+        int hasta = DecisionCriteriaCalculator.hasta(parametros, matriz.filas());
+
+        HurwiczSweep barrido = HurwiczSweep.calcular(matriz);
+        double[] puntajes = new double[matriz.filas()];
+        List<HurwiczPuntoDto> puntos = new ArrayList<>(pasos + 1);
+        for (int k = 0; k <= pasos; k++) {
+            // k / pasos es el double más cercano, igual que escribir ese alpha en el request
+            double alpha = (double) k / pasos;
+            puntos.add(new HurwiczPuntoDto(alpha,
+                    calculator.calcularRanking(matriz, barrido.puntajes(alpha, puntajes), desde, hasta)));
+        }
+
+        List<HurwiczTramoDto> tramos = new ArrayList<>(barrido.tramos());
+        for (int k = 0; k < barrido.tramos(); k++) {
+            tramos.add(new HurwiczTramoDto(barrido.desde(k), barrido.hasta(k),
+                    matriz.alternativa(barrido.ganador(k))));
+        }
+
+        HurwiczBarridoResponse response = new HurwiczBarridoResponse(
+                "Barrido de Hurwicz realizado correctamente (" + (pasos + 1) + " valores de alpha).", puntos, tramos);
+        if (DecisionCriteriaCalculator.isRankingParcial(parametros)) {
+            response.setTotalAlternativas(matriz.filas());
+        }
+        return response;
+    }
+
+    /**
+     * Umbrales de peso por criterio en los que cambia la ganadora de SAW y, si top >= 2, los
+     * pesos en los que se invierte cada par de las top primeras.
+     */
+    public SensibilidadSawResponse analizarSensibilidadSaw(CompiledDecisionRequest compilado, int top) {
+        if (top < 0 || top > TOP_MAXIMO_SENSIBILIDAD) {
+            throw new BusinessValidationException("Request inválido", List.of(
+                    new BusinessValidationException.FieldError("top",
+                            "Debe estar entre 0 y " + TOP_MAXIMO_SENSIBILIDAD)
+            ));
+        }
+
+        SensibilidadSawResponse response = sensibilidad.analizar(compilado.getMatriz(), top);
+        response.setMensaje("Análisis de sensibilidad de pesos (SAW) realizado correctamente.");
+        return response;
+    }
+
+    static String construirMensajeMultiple(Iterable<String> modos, Double alpha) {
+        String lista = String.join(", ", modos);
+        String mensaje = "Evaluación DSS realizada correctamente con los criterios: " + lista;
+        if (lista.contains(DecisionModes.HURWICZ)) {
+            mensaje += " (alpha=" + (alpha == null ? 0.5 : alpha) + ")";
+        }
+        return mensaje + ".";
+    }
+
+    static String construirMensaje(String modo, Double alpha) {
         if (DecisionModes.isRankingMode(modo)) {
             return "Evaluación DSS realizada correctamente con método de ranking ponderado (SAW).";
         }
@@ -50,8 +298,52 @@ public class DecisionEngineService {
                         + (alpha == null ? 0.5 : alpha) + ").";
             case DecisionModes.MINIMAX_REGRET:
                 return "Evaluación DSS realizada correctamente con criterio Minimax Regret.";
+            case DecisionModes.TOPSIS:
+                return "Evaluación DSS realizada correctamente con método TOPSIS (cercanía al ideal).";
+            case DecisionModes.VIKOR:
+                return "Evaluación DSS realizada correctamente con método VIKOR (v=0.5).";
+            case DecisionModes.PROMETHEE:
+                return "Evaluación DSS realizada correctamente con método PROMETHEE II (flujo neto).";
+            case DecisionModes.PARETO:
+                return "Evaluación DSS realizada correctamente con frente de Pareto (alternativas no dominadas).";
             default:
                 return "Evaluación DSS realizada correctamente.";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Resultado de evaluarOrdenado: mensaje, total (solo con ranking parcial) y un ranking por
+     * modo, o uno solo con clave null si se pidió un único modo.
+     */
+    public static final class EvaluacionOrdenada {
+
+        private final String mensaje;
+        private final Integer totalAlternativas;
+        private final boolean multiple;
+        private final Map<String, RankingOrdenado> rankings;
+
+        EvaluacionOrdenada(String mensaje, Integer totalAlternativas, boolean multiple,
+                           Map<String, RankingOrdenado> rankings) {
+            this.mensaje = mensaje;
+            this.totalAlternativas = totalAlternativas;
+            this.multiple = multiple;
+            this.rankings = rankings;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+
+        public Integer getTotalAlternativas() {
+            return totalAlternativas;
+        }
+
+        public boolean isMultiple() {
+            return multiple;
+        }
+
+        public Map<String, RankingOrdenado> getRankings() {
+            return rankings;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.TrabajoDto;
+import com.decisiontree.backend.exception.NotFoundException;
+import com.decisiontree.backend.exception.ServiceUnavailableException;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Evaluaciones en segundo plano: el request se lee y valida al enviarlo (los errores siguen
+ * siendo un 400 inmediato) y la evaluación corre en un pool propio de tamaño fijo con una cola
+ * acotada, así los problemas grandes no ocupan hilos de Tomcat ni compiten con /dss/evaluar.
+ *
+ * Con la cola llena (o el máximo de trabajos guardados) se rechaza con 503 y Retry-After. Los
+ * resultados quedan disponibles durante la retención después de terminar.
+ */
+@Service
+public class DecisionJobService {
+
+    static final String EN_COLA = "en_cola";
+    static final String EN_CURSO = "en_curso";
+    static final String COMPLETADO = "completado";
+    static final String FALLIDO = "fallido";
+
+    static final int REINTENTAR_EN_SEGUNDOS = 5;
+
+    private final Function<CompiledDecisionRequest, DecisionResponse> evaluador;
+    private final int maximo;
+    private final long retencionNanos;
+    private final LongSupplier reloj;
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentHashMap<String, Trabajo> trabajos = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DecisionJobService(DecisionEngineService service,
+                              @Value("${dss.trabajos.hilos:2}") int hilos,
+                              @Value("${dss.trabajos.cola:100}") int cola,
+                              @Value("${dss.trabajos.maximo:1000}") int maximo,
+                              @Value("${dss.trabajos.retencion:10m}") Duration retencion) {
+        this(service::evaluar, hilos, cola, maximo, retencion, System::nanoTime);
+    }
+
+    DecisionJobService(Function<CompiledDecisionRequest, DecisionResponse> evaluador, int hilos, int cola,
+                       int maximo, Duration retencion, LongSupplier reloj) {
+        this.evaluador = evaluador;
+        this.maximo = maximo;
+        this.retencionNanos = retencion.toNanos();
+        this.reloj = reloj;
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), Thread.ofPlatform().name("dss-trabajo-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void detener() {
+        executor.shutdownNow();
+    }
+
+    public TrabajoDto enviar(CompiledDecisionRequest compilado) {
+        purgarVencidos();
+        if (trabajos.size() >= maximo) {
+            throw ocupado("Se alcanzó el máximo de " + maximo + " trabajos guardados");
+        }
+
+        Trabajo trabajo = new Trabajo(UUID.randomUUID().toString(), compilado, reloj.getAsLong());
+        trabajo.tarea = () -> correr(trabajo);
+        trabajos.put(trabajo.id, trabajo);
+        try {
+            executor.execute(trabajo.tarea);
+        } catch (RejectedExecutionException ex) {
+            trabajos.remove(trabajo.id);
+            throw ocupado("La cola de trabajos está llena");
+        }
+        return consultar(trabajo.id);
+    }
+
+    public TrabajoDto consultar(String id) {
+        Trabajo trabajo = trabajo(id);
+        long ahora = reloj.getAsLong();
+        synchronized (trabajo) {
+            TrabajoDto dto = new TrabajoDto(trabajo.id, trabajo.estado, trabajo.alternativas, trabajo.criterios);
+            if (EN_COLA.equals(trabajo.estado)) {
+                dto.setPosicionEnCola(posicionEnCola(trabajo));
+                dto.setEsperaMs(milis(ahora - trabajo.creado));
+            } else {
+                dto.setEsperaMs(milis(trabajo.iniciado - trabajo.creado));
+                dto.setDuracionMs(milis((EN_CURSO.equals(trabajo.estado) ? ahora : trabajo.terminado) - trabajo.iniciado));
+            }
+            return dto;
+        }
+    }
+
+    /**
+     * Resultado del trabajo, o null si todavía no terminó. Si la evaluación falló se relanza su
+     * error (mismo status y cuerpo que en /dss/evaluar).
+     */
+    public DecisionResponse resultado(String id) {
+        Trabajo trabajo = trabajo(id);
+        synchronized (trabajo) {
+            if (trabajo.error != null) {
+                throw trabajo.error;
+            }
+            return trabajo.respuesta;
+        }
+    }
+
+    /**
+     * Cancela y olvida el trabajo. Si estaba en cola sale de la cola; si ya estaba corriendo la
+     * evaluación termina igual, pero su resultado se descarta.
+     */
+    public void cancelar(String id) {
+        Trabajo trabajo = trabajos.remove(id);
+        if (trabajo == null) {
+            throw trabajoInexistente(id);
+        }
+        synchronized (trabajo) {
+            trabajo.cancelado = true;
+            trabajo.compilado = null;
+        }
+        executor.remove(trabajo.tarea);
+    }
+
+    // =======================
+    // internos
+    // =======================
+    private void correr(Trabajo trabajo) {
+        CompiledDecisionRequest compilado;
+        synchronized (trabajo) {
+            if (trabajo.cancelado) {
+                return;
+            }
+            compilado = trabajo.compilado;
+            trabajo.compilado = null; // la matriz se libera con el trabajo terminado
+            trabajo.estado = EN_CURSO;
+            trabajo.iniciado = reloj.getAsLong();
+        }
+
+        DecisionResponse respuesta = null;
+        RuntimeException error = null;
+        Error fatal = null;
+        try {
+            respuesta = evaluador.apply(compilado);
+        } catch (RuntimeException ex) {
+            error = ex;
+        } catch (Error ex) {
+            // Por ejemplo OutOfMemoryError con una matriz grande: el trabajo falla con un 500 en
+            // vez de quedar en curso (y ocupando un lugar del máximo) para siempre
+            error = new IllegalStateException("La evaluación terminó con un error interno: " + ex, ex);
+            fatal = ex;
+        }
+
+        synchronized (trabajo) {
+            trabajo.respuesta = respuesta;
+            trabajo.error = error;
+            trabajo.estado = (error == null) ? COMPLETADO : FALLIDO;
+            trabajo.terminado = reloj.getAsLong();
+        }
+        if (fatal != null) {
+            throw fatal; // el pool reemplaza el hilo y el error queda en el log
+        }
+    }
+
+    private int posicionEnCola(Trabajo trabajo) {
+        int posicion = 0;
+        for (Runnable tarea : executor.getQueue()) {
+            if (tarea == trabajo.tarea) {
+                return posicion;
+            }
+            posicion++;
+        }
+        return posicion; // lo acaba de tomar un hilo
+    }
+
+    private void purgarVencidos() {
+        long ahora = reloj.getAsLong();
+        trabajos.values().removeIf(t -> vencido(t, ahora));
+    }
+
+    private boolean vencido(Trabajo trabajo, long ahora) {
+        synchronized (trabajo) {
+            boolean terminado = COMPLETADO.equals(trabajo.estado) || FALLIDO.equals(trabajo.estado);
+            return terminado && ahora - trabajo.terminado > retencionNanos;
+        }
+    }
+
+    private Trabajo trabajo(String id) {
+        Trabajo trabajo = trabajos.get(id);
+        if (trabajo == null || vencido(trabajo, reloj.getAsLong())) {
+            throw trabajoInexistente(id);
+        }
+        return trabajo;
+    }
+
+    private static long milis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static ServiceUnavailableException ocupado(String mensaje) {
+        return new ServiceUnavailableException(mensaje + "; reintentar más tarde", REINTENTAR_EN_SEGUNDOS);
+    }
+
+    private static NotFoundException trabajoInexistente(String id) {
+        return new NotFoundException("Trabajo no encontrado o vencido: " + id);
+    }
+
+    private static final class Trabajo {
+
+        final String id;
+        final int alternativas;
+        final int criterios;
+        final long creado;
+        Runnable tarea;
+
+        // protegidos por el monitor del trabajo
+        CompiledDecisionRequest compilado;
+        String estado = EN_COLA;
+        boolean cancelado;
+        long iniciado;
+        long terminado;
+        DecisionResponse respuesta;
+        RuntimeException error;
+
+        Trabajo(String id, CompiledDecisionRequest compilado, long creado) {
+            this.id = id;
+            this.compilado = compilado;
+            this.alternativas = compilado.getMatriz().filas();
+            this.criterios = compilado.getMatriz().columnas();
+            this.creado = creado;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.MatrizAlmacenadaDto;
+import com.decisiontree.backend.dto.RankingItemDto;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.NotFoundException;
+import com.decisiontree.backend.service.criteria.ColumnarMatrix;
+import com.decisiontree.backend.service.criteria.DecisionCriteriaCalculator;
+import com.decisiontree.backend.service.metrics.DecisionMetrics;
+import com.decisiontree.backend.service.store.ColumnarMatrixFile;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matrices de decisión guardadas en disco en el formato por columnas de ColumnarMatrixFile.
+ * Se suben (el archivo queda en el directorio del almacén) o se registran si ya están en ese
+ * directorio, y se evalúan sobre el archivo mapeado en memoria: el heap solo guarda los
+ * puntajes y el ranking pedido, no la matriz.
+ */
+@Service
+public class DecisionMatrixStoreService {
+
+    static final String EXTENSION = ".dssm";
+
+    private final Path directorio;
+    private final int maximo;
+    private final long tamanoMaximo;
+    private final DecisionCriteriaCalculator calculator;
+    private final DecisionMetrics metricas;
+
+    private final ConcurrentHashMap<String, Almacenada> matrices = new ConcurrentHashMap<>();
+
+    public DecisionMatrixStoreService(@Value("${dss.almacen.directorio:${java.io.tmpdir}/dss-matrices}") Path directorio,
+                                      @Value("${dss.almacen.maximo:20}") int maximo,
+                                      @Value("${dss.almacen.tamano-maximo:4294967296}") long tamanoMaximo,
+                                      DecisionCriteriaCalculator calculator, DecisionMetrics metricas) {
+        this.directorio = directorio.toAbsolutePath().normalize();
+        this.maximo = maximo;
+        this.tamanoMaximo = tamanoMaximo;
+        this.calculator = calculator;
+        this.metricas = metricas;
+        try {
+            Files.createDirectories(this.directorio);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Guarda el contenido en el directorio del almacén y lo abre. Si el formato es inválido o el
+     * contenido supera dss.almacen.tamano-maximo bytes, el archivo se borra y se responde 400.
+     */
+    public MatrizAlmacenadaDto subir(InputStream contenido) {
+        verificarCapacidad();
+        String id = UUID.randomUUID().toString();
+        Path archivo = directorio.resolve(id + EXTENSION);
+        try {
+            copiar(contenido, archivo);
+            return guardar(id, archivo, true);
+        } catch (IOException | RuntimeException ex) {
+            borrar(archivo);
+            if (ex instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            }
+            throw (RuntimeException) ex;
+        }
+    }
+
+    /**
+     * Registra un archivo que ya está en el directorio del almacén (por ejemplo, copiado por
+     * otro proceso), sin copiarlo. Al eliminarlo del almacén el archivo no se borra.
+     */
+    public MatrizAlmacenadaDto registrar(String nombreArchivo) {
+        if (RequestValidationUtils.isBlank(nombreArchivo)) {
+            throw error("archivo", "Es obligatorio");
+        }
+        Path archivo = directorio.resolve(nombreArchivo).normalize();
+        if (!directorio.equals(archivo.getParent())) {
+            throw error("archivo", "Debe ser un archivo del directorio del almacén");
+        }
+        if (!Files.isRegularFile(archivo)) {
+            throw new NotFoundException("Archivo de matriz no encontrado: '" + nombreArchivo + "'");
+        }
+        verificarCapacidad();
+        try {
+            return guardar(UUID.randomUUID().toString(), archivo, false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public List<MatrizAlmacenadaDto> listar() {
+        List<MatrizAlmacenadaDto> lista = new ArrayList<>(matrices.size());
+        for (Almacenada a : matrices.values()) {
+            lista.add(a.dto);
+        }
+        return lista;
+    }
+
+    public MatrizAlmacenadaDto consultar(String id) {
+        return matriz(id).dto;
+    }
+
+    /** Quita la matriz del almacén; si se subió por la API también borra el archivo. */
+    public void eliminar(String id) {
+        Almacenada a = matrices.remove(id);
+        if (a == null) {
+            throw matrizInexistente(id);
+        }
+        if (a.subida) {
+            // El mapeo se libera cuando el GC recoge los buffers; en Linux el borrado no lo invalida
+            borrar(a.archivo);
+        }
+    }
+
+    /**
+     * Evalúa la matriz con los parámetros del request (modo o modos, alpha y ventana del
+     * ranking); criterios y alternativas del body se ignoran. Con varios modos cada uno es un
+     * recorrido del archivo.
+     */
+    public DecisionResponse evaluar(String id, DecisionRequest parametros) {
+        if (parametros == null) {
+            throw RequestValidationUtils.bodyNulo();
+        }
+        ColumnarMatrix matriz = matriz(id).matriz;
+
+        List<BusinessValidationException.FieldError> errores = new ArrayList<>();
+        RequestValidationUtils.validarModos(parametros, errores);
+        boolean multiple = DecisionModes.isMultiMode(parametros.getModo(), parametros.getModos());
+        List<String> modos = errores.isEmpty()
+                ? (multiple ? DecisionModes.resolve(parametros.getModo(), parametros.getModos())
+                            : List.of(DecisionModes.normalize(parametros.getModo())))
+                : List.of();
+        RequestValidationUtils.validarParametros(parametros, modos, errores);
+        if (!errores.isEmpty()) {
+            BusinessValidationException ex = new BusinessValidationException("Request inválido", errores);
+            metricas.validacionFallida(ex);
+            throw ex;
+        }
+
+        long inicio = System.nanoTime();
+        metricas.inicio();
+        try {
+            int desde = DecisionCriteriaCalculator.desde(parametros);
+            int hasta = DecisionCriteriaCalculator.hasta(parametros, matriz.filas());
+
+            DecisionResponse response;
+            if (multiple) {
+                Map<String, List<RankingItemDto>> rankings = new LinkedHashMap<>();
+                for (String modo : modos) {
+                    rankings.put(modo, calculator.calcularRanking(matriz, modo, parametros.getAlpha(), desde, hasta));
+                }
+                response = new DecisionResponse(
+                        DecisionEngineService.construirMensajeMultiple(rankings.keySet(), parametros.getAlpha()), rankings);
+            } else {
+                String modo = modos.get(0);
+                response = new DecisionResponse(DecisionEngineService.construirMensaje(modo, parametros.getAlpha()),
+                        calculator.calcularRanking(matriz, modo, parametros.getAlpha(), desde, hasta));
+            }
+            response.setTotalAlternativas(matriz.filas());
+
+            metricas.evaluacion(DecisionMetrics.modo(parametros), System.nanoTime() - inicio,
+                    matriz.filas(), matriz.columnas());
+            return response;
+        } finally {
+            metricas.fin();
+        }
+    }
+
+    // =======================
+    // internos
+    // =======================
+    private MatrizAlmacenadaDto guardar(String id, Path archivo, boolean subida) throws IOException {
+        ColumnarMatrixFile abierto = ColumnarMatrixFile.abrir(archivo);
+        MatrizAlmacenadaDto dto = new MatrizAlmacenadaDto(id, archivo.getFileName().toString(),
+                abierto.matriz().filas(), abierto.criterios(), abierto.tamano());
+        matrices.put(id, new Almacenada(dto, archivo, abierto.matriz(), subida));
+        return dto;
+    }
+
+    /** Copia el contenido al archivo cortando apenas pasa de tamanoMaximo bytes. */
+    private void copiar(InputStream contenido, Path archivo) throws IOException {
+        byte[] buffer = new byte[1 << 16];
+        long copiados = 0;
+        try (OutputStream salida = Files.newOutputStream(archivo, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            int leidos;
+            while ((leidos = contenido.read(buffer)) != -1) {
+                copiados += leidos;
+                if (copiados > tamanoMaximo) {
+                    throw error("body", "El contenido no puede superar " + tamanoMaximo + " bytes");
+                }
+                salida.write(buffer, 0, leidos);
+            }
+        }
+    }
+
+    private void verificarCapacidad() {
+        if (matrices.size() >= maximo) {
+            throw error("matrices", "Se alcanzó el máximo de " + maximo + " matrices almacenadas");
+        }
+    }
+
+    private Almacenada matriz(String id) {
+        Almacenada a = matrices.get(id);
+        if (a == null) {
+            throw matrizInexistente(id);
+        }
+        return a;
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException ignored) {
+            // queda en el directorio; no afecta al almacén
+        }
+    }
+
+    private static BusinessValidationException error(String campo, String mensaje) {
+        return new BusinessValidationException("Request inválido", List.of(
+                new BusinessValidationException.FieldError(campo, mensaje)
+        ));
+    }
+
+    private static NotFoundException matrizInexistente(String id) {
+        return new NotFoundException("Matriz almacenada no encontrada: " + id);
+    }
+
+    private static final class Almacenada {
+
+        final MatrizAlmacenadaDto dto;
+        final Path archivo;
+        final ColumnarMatrix matriz;
+        final boolean subida; // subida por la API (el archivo es del almacén) o registrada
+
+        Almacenada(MatrizAlmacenadaDto dto, Path archivo, ColumnarMatrix matriz, boolean subida) {
+            this.dto = dto;
+            this.archivo = archivo;
+            this.matriz = matriz;
+            this.subida = subida;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.RankingItemDto;
+import com.decisiontree.backend.dto.SesionDecisionResponse;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.NotFoundException;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.criteria.DecisionCriteriaCalculator;
+import com.decisiontree.backend.service.criteria.IncrementalRanking;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Sesiones de decisión en memoria: el problema se compila una vez y después se agregan,
+ * modifican o quitan alternativas sin reenviar la matriz. Cada cambio actualiza los rankings
+ * de forma incremental (IncrementalRanking) y devuelve el mismo resultado que /dss/evaluar
+ * con la matriz actual.
+ *
+ * Las sesiones vencen tras un tiempo sin uso; los cambios sobre una misma sesión se serializan.
+ */
+@Service
+public class DecisionSessionService {
+
+    private final int maximo;
+    private final long inactividadNanos;
+    private final LongSupplier reloj;
+
+    private final ConcurrentHashMap<String, Sesion> sesiones = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DecisionSessionService(@Value("${dss.sesiones.maximo:100}") int maximo,
+                                  @Value("${dss.sesiones.inactividad:30m}") Duration inactividad) {
+        this(maximo, inactividad, System::nanoTime);
+    }
+
+    DecisionSessionService(int maximo, Duration inactividad, LongSupplier reloj) {
+        this.maximo = maximo;
+        this.inactividadNanos = inactividad.toNanos();
+        this.reloj = reloj;
+    }
+
+    public SesionDecisionResponse crear(CompiledDecisionRequest compilado) {
+        purgarVencidas();
+        if (sesiones.size() >= maximo) {
+            throw error("sesiones", "Se alcanzó el máximo de " + maximo + " sesiones abiertas");
+        }
+
+        DecisionRequest parametros = compilado.getParametros();
+        boolean multiple = DecisionModes.isMultiMode(parametros.getModo(), parametros.getModos());
+        List<String> modos = multiple
+                ? DecisionModes.resolve(parametros.getModo(), parametros.getModos())
+                : List.of(DecisionModes.normalize(parametros.getModo()));
+
+        Sesion sesion = new Sesion(UUID.randomUUID().toString(), parametros, modos, multiple,
+                new IncrementalRanking(compilado.getMatriz(), modos, parametros.getAlpha()), reloj.getAsLong());
+        sesiones.put(sesion.id, sesion);
+        synchronized (sesion) {
+            return respuesta(sesion);
+        }
+    }
+
+    public SesionDecisionResponse consultar(String id) {
+        Sesion sesion = sesion(id);
+        synchronized (sesion) {
+            return respuesta(sesion);
+        }
+    }
+
+    public void cerrar(String id) {
+        if (sesiones.remove(id) == null) {
+            throw sesionInexistente(id);
+        }
+    }
+
+    public SesionDecisionResponse agregarAlternativa(String id, AlternativaDto alternativa) {
+        if (alternativa == null) {
+            throw RequestValidationUtils.bodyNulo();
+        }
+        Sesion sesion = sesion(id);
+        synchronized (sesion) {
+            IncrementalRanking ranking = sesion.ranking;
+            List<BusinessValidationException.FieldError> errores = new ArrayList<>();
+
+            String nombre = alternativa.getNombre();
+            if (RequestValidationUtils.isBlank(nombre)) {
+                errores.add(new BusinessValidationException.FieldError("nombre", "No puede ser vacío"));
+            } else if (ranking.contiene(nombre)) {
+                errores.add(duplicado(nombre));
+            }
+
+            double[] valores = new double[ranking.columnas()];
+            Map<String, Double> recibidos = alternativa.getValores();
+            if (recibidos == null || recibidos.isEmpty()) {
+                errores.add(new BusinessValidationException.FieldError("valores", "Debe incluir valores por criterio"));
+            } else {
+                for (int j = 0; j < ranking.columnas(); j++) {
+                    String criterio = ranking.criterio(j);
+                    if (!recibidos.containsKey(criterio)) {
+                        errores.add(new BusinessValidationException.FieldError("valores",
+                                "Falta valor para criterio: " + criterio));
+                    } else if (recibidos.get(criterio) == null) {
+                        errores.add(valorNulo(criterio));
+                    } else if (!Double.isFinite(recibidos.get(criterio))) {
+                        errores.add(valorNoFinito(criterio));
+                    } else {
+                        valores[j] = recibidos.get(criterio);
+                    }
+                }
+                agregarExtras(ranking, recibidos, errores);
+            }
+
+            if (!errores.isEmpty()) {
+                throw new BusinessValidationException("Request inválido", errores);
+            }
+            ranking.agregar(nombre.trim(), valores);
+            return cambio(sesion);
+        }
+    }
+
+    /**
+     * Cambia el nombre y/o algunos valores de una alternativa; los criterios que no vienen en
+     * "valores" se conservan.
+     */
+    public SesionDecisionResponse modificarAlternativa(String id, String nombre, AlternativaDto cambios) {
+        if (cambios == null) {
+            throw RequestValidationUtils.bodyNulo();
+        }
+        Sesion sesion = sesion(id);
+        synchronized (sesion) {
+            IncrementalRanking ranking = sesion.ranking;
+            if (!ranking.contiene(nombre)) {
+                throw alternativaInexistente(nombre);
+            }
+            List<BusinessValidationException.FieldError> errores = new ArrayList<>();
+
+            String nuevoNombre = cambios.getNombre();
+            Map<String, Double> recibidos = cambios.getValores();
+            boolean sinValores = recibidos == null || recibidos.isEmpty();
+            if (nuevoNombre == null && sinValores) {
+                errores.add(new BusinessValidationException.FieldError("body", "Debe enviar nombre o valores"));
+            }
+            if (nuevoNombre != null) {
+                if (RequestValidationUtils.isBlank(nuevoNombre)) {
+                    errores.add(new BusinessValidationException.FieldError("nombre", "No puede ser vacío"));
+                } else if (!mismaClave(nombre, nuevoNombre) && ranking.contiene(nuevoNombre)) {
+                    errores.add(duplicado(nuevoNombre));
+                }
+            }
+
+            int[] columnas = new int[0];
+            double[] valores = new double[0];
+            if (!sinValores) {
+                columnas = new int[recibidos.size()];
+                valores = new double[recibidos.size()];
+                int k = 0;
+                for (Map.Entry<String, Double> e : recibidos.entrySet()) {
+                    int j = ranking.columna(e.getKey());
+                    if (j < 0) {
+                        continue;
+                    }
+                    if (e.getValue() == null) {
+                        errores.add(valorNulo(e.getKey()));
+                        continue;
+                    }
+                    if (!Double.isFinite(e.getValue())) {
+                        // un infinito llevaría el mínimo o máximo de la columna a ±Infinity y SAW a NaN
+                        errores.add(valorNoFinito(e.getKey()));
+                        continue;
+                    }
+                    columnas[k] = j;
+                    valores[k++] = e.getValue();
+                }
+                agregarExtras(ranking, recibidos, errores);
+                columnas = Arrays.copyOf(columnas, k);
+                valores = Arrays.copyOf(valores, k);
+            }
+
+            if (!errores.isEmpty()) {
+                throw new BusinessValidationException("Request inválido", errores);
+            }
+            ranking.actualizar(nombre, (nuevoNombre == null) ? null : nuevoNombre.trim(), columnas, valores);
+            return cambio(sesion);
+        }
+    }
+
+    public SesionDecisionResponse eliminarAlternativa(String id, String nombre) {
+        Sesion sesion = sesion(id);
+        synchronized (sesion) {
+            IncrementalRanking ranking = sesion.ranking;
+            if (!ranking.contiene(nombre)) {
+                throw alternativaInexistente(nombre);
+            }
+            if (ranking.filas() == 1) {
+                throw error("alternativas", "Debe quedar al menos 1 alternativa");
+            }
+            ranking.eliminar(nombre);
+            return cambio(sesion);
+        }
+    }
+
+    // =======================
+    // internos
+    // =======================
+    private Sesion sesion(String id) {
+        Sesion sesion = sesiones.get(id);
+        long ahora = reloj.getAsLong();
+        if (sesion == null || vencida(sesion, ahora)) {
+            if (sesion != null) {
+                sesiones.remove(id, sesion);
+            }
+            throw sesionInexistente(id);
+        }
+        sesion.ultimoAcceso = ahora;
+        return sesion;
+    }
+
+    private boolean vencida(Sesion sesion, long ahora) {
+        return ahora - sesion.ultimoAcceso >= inactividadNanos;
+    }
+
+    private void purgarVencidas() {
+        long ahora = reloj.getAsLong();
+        sesiones.values().removeIf(s -> vencida(s, ahora));
+    }
+
+    private SesionDecisionResponse cambio(Sesion sesion) {
+        sesion.version++;
+        return respuesta(sesion);
+    }
+
+    private SesionDecisionResponse respuesta(Sesion sesion) {
+        DecisionRequest parametros = sesion.parametros;
+        int n = sesion.ranking.filas();
+        int desde = DecisionCriteriaCalculator.desde(parametros);
+        int hasta = DecisionCriteriaCalculator.hasta(parametros, n);
+
+        DecisionResponse resultado;
+        if (sesion.multiple) {
+            Map<String, List<RankingItemDto>> rankings = new LinkedHashMap<>();
+            for (String modo : sesion.modos) {
+                rankings.put(modo, sesion.ranking.ranking(modo, desde, hasta));
+            }
+            resultado = new DecisionResponse(
+                    DecisionEngineService.construirMensajeMultiple(rankings.keySet(), parametros.getAlpha()), rankings);
+        } else {
+            String modo = sesion.modos.get(0);
+            resultado = new DecisionResponse(DecisionEngineService.construirMensaje(modo, parametros.getAlpha()),
+                    sesion.ranking.ranking(modo, desde, hasta));
+        }
+        resultado.setTotalAlternativas(n);
+        return new SesionDecisionResponse(sesion.id, sesion.version, resultado);
+    }
+
+    private static void agregarExtras(IncrementalRanking ranking, Map<String, Double> recibidos,
+                                      List<BusinessValidationException.FieldError> errores) {
+        for (String clave : recibidos.keySet()) {
+            if (ranking.columna(clave) < 0) {
+                errores.add(new BusinessValidationException.FieldError("valores",
+                        "Criterio extra no definido: " + clave));
+            }
+        }
+    }
+
+    private static boolean mismaClave(String a, String b) {
+        return a.trim().equalsIgnoreCase(b.trim());
+    }
+
+    private static BusinessValidationException.FieldError duplicado(String nombre) {
+        return new BusinessValidationException.FieldError("nombre",
+                "Duplicado encontrado: '" + nombre.trim().toLowerCase(Locale.ROOT) + "'");
+    }
+
+    private static BusinessValidationException.FieldError valorNulo(String criterio) {
+        return new BusinessValidationException.FieldError("valores." + criterio, "No puede ser null");
+    }
+
+    private static BusinessValidationException.FieldError valorNoFinito(String criterio) {
+        return new BusinessValidationException.FieldError("valores." + criterio, "Debe ser un número finito");
+    }
+
+    private static BusinessValidationException error(String campo, String mensaje) {
+        return new BusinessValidationException("Request inválido", List.of(
+                new BusinessValidationException.FieldError(campo, mensaje)
+        ));
+    }
+
+    private static NotFoundException sesionInexistente(String id) {
+        return new NotFoundException("Sesión no encontrada o vencida: " + id);
+    }
+
+    private static NotFoundException alternativaInexistente(String nombre) {
+        return new NotFoundException("Alternativa no encontrada: '" + nombre + "'");
+    }
+
+    private static final class Sesion {
+
+        final String id;
+        final DecisionRequest parametros;
+        final List<String> modos;
+        final boolean multiple;
+        final IncrementalRanking ranking;
+        long version;
+        volatile long ultimoAcceso;
+
+        Sesion(String id, DecisionRequest parametros, List<String> modos, boolean multiple,
+               IncrementalRanking ranking, long ultimoAcceso) {
+            this.id = id;
+            this.parametros = parametros;
+            this.modos = modos;
+            this.multiple = multiple;
+            this.ranking = ranking;
+            this.ultimoAcceso = ultimoAcceso;
+        }
+    }
+}
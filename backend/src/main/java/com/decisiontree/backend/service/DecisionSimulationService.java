@@ -0,0 +1,233 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.dto.AceptabilidadDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.SimulacionPesosResponse;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.ServiceUnavailableException;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.criteria.DecisionMatrix;
+import com.decisiontree.backend.service.criteria.WeightSimulation;
+import com.decisiontree.backend.util.DecisionMathUtils;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulación de incertidumbre en los pesos de SAW: probabilidad de cada alternativa de quedar
+ * en cada una de las primeras posiciones. Si algún criterio trae pesoMinimo/pesoMaximo se
+ * sortea cada peso en su rango (los demás quedan fijos en su peso); si no, los pesos se sortean
+ * uniformes sobre el simplex.
+ *
+ * Las simulaciones corren en un pool fork/join propio (dss.simulacion.hilos), así no ocupan el
+ * pool común que usan la evaluación paralela y el análisis de sensibilidad, y a lo sumo
+ * dss.simulacion.simultaneas corren a la vez; las demás se rechazan con 503 y Retry-After.
+ */
+@Service
+public class DecisionSimulationService {
+
+    static final int REINTENTAR_EN_SEGUNDOS = 5;
+
+    private final long muestrasMaximas;
+    private final int rangosMaximos;
+    private final long conteosMaximos;
+    private final int simultaneas;
+    private final ForkJoinPool pool;
+    private final Semaphore permisos;
+
+    public DecisionSimulationService(@Value("${dss.simulacion.muestras-maximas:1000000}") long muestrasMaximas,
+                                     @Value("${dss.simulacion.rangos-maximos:100}") int rangosMaximos,
+                                     @Value("${dss.simulacion.conteos-maximos:4000000}") long conteosMaximos,
+                                     @Value("${dss.simulacion.hilos:0}") int hilos,
+                                     @Value("${dss.simulacion.simultaneas:2}") int simultaneas) {
+        this.muestrasMaximas = muestrasMaximas;
+        this.rangosMaximos = rangosMaximos;
+        this.conteosMaximos = conteosMaximos;
+        this.simultaneas = Math.max(1, simultaneas);
+        // 0: un hilo por procesador disponible
+        this.pool = new ForkJoinPool((hilos > 0) ? hilos : Runtime.getRuntime().availableProcessors());
+        this.permisos = new Semaphore(this.simultaneas);
+    }
+
+    @PreDestroy
+    void detener() {
+        pool.shutdownNow();
+    }
+
+    public SimulacionPesosResponse simular(CompiledDecisionRequest compilado, long muestras, Long semilla, int rangos) {
+        return preparar(compilado, muestras, semilla, rangos).correr();
+    }
+
+    /**
+     * Valida los parámetros y arma la simulación sin correrla, para poder seguir su progreso.
+     */
+    public Simulacion preparar(CompiledDecisionRequest compilado, long muestras, Long semilla, int rangos) {
+        List<BusinessValidationException.FieldError> errores = new ArrayList<>();
+        if (muestras < 1 || muestras > muestrasMaximas) {
+            errores.add(new BusinessValidationException.FieldError("muestras",
+                    "Debe estar entre 1 y " + muestrasMaximas));
+        }
+        if (rangos < 1 || rangos > rangosMaximos) {
+            errores.add(new BusinessValidationException.FieldError("rangos",
+                    "Debe estar entre 1 y " + rangosMaximos));
+        }
+
+        DecisionMatrix matriz = compilado.getMatriz();
+        // Conteos de n * rangos longs por simulación en curso (ver WeightSimulation)
+        long conteos = (long) matriz.filas() * Math.min(Math.max(rangos, 0), matriz.filas());
+        if (conteos > conteosMaximos) {
+            errores.add(new BusinessValidationException.FieldError("rangos",
+                    "Alternativas por rangos no puede superar " + conteosMaximos + " (hay " + matriz.filas()
+                            + " alternativas)"));
+        }
+        double[] pesoMinimo = new double[matriz.columnas()];
+        double[] pesoMaximo = new double[matriz.columnas()];
+        boolean conRangos = leerRangos(compilado.getParametros().getCriterios(), pesoMinimo, pesoMaximo, errores);
+
+        if (!errores.isEmpty()) {
+            throw new BusinessValidationException("Request inválido", errores);
+        }
+
+        long semillaFinal = (semilla == null) ? ThreadLocalRandom.current().nextLong() : semilla;
+        WeightSimulation simulacion = conRangos
+                ? new WeightSimulation(matriz, pesoMinimo, pesoMaximo, rangos)
+                : new WeightSimulation(matriz, null, null, rangos);
+        return new Simulacion(this, matriz, simulacion, muestras, semillaFinal);
+    }
+
+    /**
+     * Rango crudo de cada columna (en el orden de la matriz: criterios sin repetir).
+     *
+     * @return true si al menos un criterio trae rango
+     */
+    private static boolean leerRangos(List<ConfigDto> criterios, double[] pesoMinimo, double[] pesoMaximo,
+                                      List<BusinessValidationException.FieldError> errores) {
+        boolean conRangos = false;
+        Set<String> vistos = new HashSet<>();
+        int j = 0;
+        for (int k = 0; k < criterios.size(); k++) {
+            ConfigDto c = criterios.get(k);
+            if (!vistos.add(c.getCriterio().trim())) {
+                continue; // duplicado: la columna es la de la primera aparición
+            }
+            String path = "criterios[" + k + "]";
+            double peso = (c.getPeso() == null) ? 0.0 : c.getPeso();
+            double min = (c.getPesoMinimo() == null) ? peso : c.getPesoMinimo();
+            double max = (c.getPesoMaximo() == null) ? peso : c.getPesoMaximo();
+            conRangos |= c.getPesoMinimo() != null || c.getPesoMaximo() != null;
+
+            if (min < 0) {
+                errores.add(new BusinessValidationException.FieldError(path + ".pesoMinimo", "No puede ser negativo"));
+            }
+            if (max < min) {
+                errores.add(new BusinessValidationException.FieldError(path + ".pesoMaximo",
+                        "Debe ser mayor o igual a pesoMinimo"));
+            }
+            pesoMinimo[j] = min;
+            pesoMaximo[j] = max;
+            j++;
+        }
+        return conRangos;
+    }
+
+    /**
+     * Simulación lista para correr; completadas() se puede consultar desde otro hilo mientras corre.
+     */
+    public static final class Simulacion {
+
+        private final DecisionSimulationService servicio;
+        private final DecisionMatrix matriz;
+        private final WeightSimulation simulacion;
+        private final long muestras;
+        private final long semilla;
+
+        private Simulacion(DecisionSimulationService servicio, DecisionMatrix matriz, WeightSimulation simulacion,
+                           long muestras, long semilla) {
+            this.servicio = servicio;
+            this.matriz = matriz;
+            this.simulacion = simulacion;
+            this.muestras = muestras;
+            this.semilla = semilla;
+        }
+
+        public long getMuestras() {
+            return muestras;
+        }
+
+        public long completadas() {
+            return simulacion.completadas();
+        }
+
+        /** Corta la corrida en curso; correr() termina con CancellationException. */
+        public void cancelar() {
+            simulacion.cancelar();
+        }
+
+        /**
+         * Corre la simulación en el pool del servicio.
+         *
+         * @throws ServiceUnavailableException si ya corren dss.simulacion.simultaneas simulaciones
+         */
+        public SimulacionPesosResponse correr() {
+            if (!servicio.permisos.tryAcquire()) {
+                throw new ServiceUnavailableException("Se alcanzó el máximo de " + servicio.simultaneas
+                        + " simulaciones simultáneas; reintentar más tarde", REINTENTAR_EN_SEGUNDOS);
+            }
+            try {
+                simulacion.simular(servicio.pool, muestras, semilla);
+                return resultado();
+            } finally {
+                servicio.permisos.release();
+            }
+        }
+
+        private SimulacionPesosResponse resultado() {
+            int n = matriz.filas();
+            int rangos = simulacion.rangos();
+            List<Integer> presentes = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                for (int r = 0; r < rangos; r++) {
+                    if (simulacion.conteo(i, r) > 0) {
+                        presentes.add(i);
+                        break;
+                    }
+                }
+            }
+
+            // Más veces primera; a igualdad, más veces segunda, etc.; después orden de la matriz
+            presentes.sort((a, b) -> {
+                for (int r = 0; r < rangos; r++) {
+                    int c = Long.compare(simulacion.conteo(b, r), simulacion.conteo(a, r));
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return Integer.compare(a, b);
+            });
+
+            List<AceptabilidadDto> aceptabilidad = new ArrayList<>(presentes.size());
+            for (int i : presentes) {
+                List<Double> probabilidades = new ArrayList<>(rangos);
+                long total = 0;
+                for (int r = 0; r < rangos; r++) {
+                    long conteo = simulacion.conteo(i, r);
+                    total += conteo;
+                    probabilidades.add(DecisionMathUtils.round((double) conteo / muestras, 6));
+                }
+                aceptabilidad.add(new AceptabilidadDto(matriz.alternativa(i), probabilidades,
+                        DecisionMathUtils.round((double) total / muestras, 6)));
+            }
+
+            return new SimulacionPesosResponse("Simulación de pesos realizada correctamente.",
+                    muestras, semilla, rangos, aceptabilidad);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.decisiontree.backend.service.cache;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ComparacionAhpDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Huella SHA-256 canónica de un problema de decisión, usada como clave del caché de resultados.
+ *
+ * Dos requests con el mismo contenido dan la misma clave aunque cambie el orden de las claves
+ * dentro de "valores" o el de los campos del JSON. El orden de criterios y alternativas sí
+ * cuenta (define columnas y desempates). Cada valor se escribe con marca de tipo y largo, así
+ * que contenidos distintos no se pueden confundir.
+ *
+ * Las alternativas se acumulan en su propio digest porque en streaming pueden llegar antes
+ * que los criterios; al cerrar se combinan con los parámetros y criterios. No es thread-safe.
+ */
+public final class CanonicalRequestHasher {
+
+    private static final byte NULO = 0;
+    private static final byte PRESENTE = 1;
+
+    private final MessageDigest alternativas = sha256();
+    private final byte[] scratch = new byte[8];
+
+    /**
+     * Clave de un request DTO, sin validarlo (tolera listas, alternativas y valores en null).
+     */
+    public static String de(DecisionRequest request) {
+        CanonicalRequestHasher hasher = new CanonicalRequestHasher();
+        if (request.getAlternativas() != null) {
+            for (AlternativaDto a : request.getAlternativas()) {
+                if (a == null) {
+                    hasher.alternativaNula();
+                    continue;
+                }
+                Map<String, Double> valores = a.getValores();
+                if (valores == null) {
+                    hasher.alternativa(a.getNombre(), -1);
+                    continue;
+                }
+                String[] claves = valores.keySet().toArray(new String[0]);
+                Arrays.sort(claves);
+                hasher.alternativa(a.getNombre(), claves.length);
+                for (String clave : claves) {
+                    hasher.valor(clave, valores.get(clave));
+                }
+            }
+        }
+        return hasher.clave(request, request.getCriterios());
+    }
+
+    public void alternativaNula() {
+        alternativas.update(NULO);
+    }
+
+    /**
+     * Abre una alternativa con cantidadValores valores (-1 si "valores" es null), que deben
+     * seguir con valor(...) ordenados por clave.
+     */
+    public void alternativa(String nombre, int cantidadValores) {
+        alternativas.update(PRESENTE);
+        texto(alternativas, nombre);
+        entero(alternativas, cantidadValores);
+    }
+
+    public void valor(String clave, Double valor) {
+        texto(alternativas, clave);
+        numero(alternativas, valor);
+    }
+
+    /**
+     * Cierra la huella con los parámetros escalares y los criterios. El hasher no se puede
+     * seguir usando después.
+     */
+    public String clave(DecisionRequest parametros, List<ConfigDto> criterios) {
+        MessageDigest cabecera = sha256();
+
+        texto(cabecera, DecisionModes.normalize(parametros.getModo()));
+        List<String> modos = parametros.getModos();
+        entero(cabecera, (modos == null) ? -1 : modos.size());
+        if (modos != null) {
+            for (String m : modos) {
+                texto(cabecera, DecisionModes.normalize(m));
+            }
+        }
+        numero(cabecera, parametros.getAlpha());
+        numero(cabecera, parametros.getTopK() == null ? null : parametros.getTopK().doubleValue());
+        numero(cabecera, parametros.getOffset() == null ? null : parametros.getOffset().doubleValue());
+        numero(cabecera, parametros.getLimit() == null ? null : parametros.getLimit().doubleValue());
+        // null y false evalúan igual
+        cabecera.update(Boolean.TRUE.equals(parametros.getPrefiltrarDominadas()) ? PRESENTE : NULO);
+
+        entero(cabecera, (criterios == null) ? -1 : criterios.size());
+        if (criterios != null) {
+            for (ConfigDto c : criterios) {
+                if (c == null) {
+                    cabecera.update(NULO);
+                    continue;
+                }
+                cabecera.update(PRESENTE);
+                texto(cabecera, c.getCriterio());
+                numero(cabecera, c.getPeso());
+                texto(cabecera, c.getTipo());
+                texto(cabecera, c.getFuncionPreferencia());
+                numero(cabecera, c.getUmbralIndiferencia());
+                numero(cabecera, c.getUmbralPreferencia());
+            }
+        }
+        comparacion(cabecera, parametros.getComparaciones());
+
+        cabecera.update(alternativas.digest());
+        return HexFormat.of().formatHex(cabecera.digest());
+    }
+
+    /** Nodo AHP con sus subcriterios ordenados por nombre (el orden de las claves JSON no cuenta). */
+    private void comparacion(MessageDigest md, ComparacionAhpDto nodo) {
+        if (nodo == null) {
+            md.update(NULO);
+            return;
+        }
+        md.update(PRESENTE);
+        List<String> elementos = nodo.getElementos();
+        entero(md, (elementos == null) ? -1 : elementos.size());
+        if (elementos != null) {
+            for (String e : elementos) {
+                texto(md, e);
+            }
+        }
+        List<List<Double>> matriz = nodo.getMatriz();
+        entero(md, (matriz == null) ? -1 : matriz.size());
+        if (matriz != null) {
+            for (List<Double> fila : matriz) {
+                entero(md, (fila == null) ? -1 : fila.size());
+                if (fila != null) {
+                    for (Double v : fila) {
+                        numero(md, v);
+                    }
+                }
+            }
+        }
+        Map<String, ComparacionAhpDto> grupos = nodo.getSubcriterios();
+        entero(md, (grupos == null) ? -1 : grupos.size());
+        if (grupos != null) {
+            String[] nombres = grupos.keySet().toArray(new String[0]);
+            Arrays.sort(nombres);
+            for (String g : nombres) {
+                texto(md, g);
+                comparacion(md, grupos.get(g));
+            }
+        }
+    }
+
+    private void texto(MessageDigest md, String s) {
+        if (s == null) {
+            md.update(NULO);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        md.update(PRESENTE);
+        entero(md, bytes.length);
+        md.update(bytes);
+    }
+
+    private void numero(MessageDigest md, Double v) {
+        if (v == null) {
+            md.update(NULO);
+            return;
+        }
+        md.update(PRESENTE);
+        long bits = Double.doubleToLongBits(v);
+        for (int k = 0; k < 8; k++) {
+            scratch[k] = (byte) (bits >>> (56 - 8 * k));
+        }
+        md.update(scratch, 0, 8);
+    }
+
+    private void entero(MessageDigest md, int v) {
+        for (int k = 0; k < 4; k++) {
+            scratch[k] = (byte) (v >>> (24 - 8 * k));
+        }
+        md.update(scratch, 0, 4);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.decisiontree.backend.service.cache;
+
+import com.decisiontree.backend.dto.CacheEstadisticasDto;
+import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.RankingItemDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché en memoria de respuestas por clave canónica (CanonicalRequestHasher).
+ *
+ * LRU acotado por cantidad de entradas y por el total de alternativas en los rankings guardados
+ * (lo que de verdad ocupa memoria: unos 100 bytes por ítem más el nombre), con vencimiento (TTL)
+ * desde que se guarda cada respuesta. Las respuestas guardadas se comparten entre requests y no
+ * deben modificarse. Los problemas con más de alternativasMaximas alternativas no se cachean: la
+ * respuesta ocuparía demasiado y calcular la huella costaría casi lo mismo que evaluar.
+ */
+@Component
+public class DecisionResultCache {
+
+    private final boolean habilitado;
+    private final int tamanoMaximo;
+    private final long ttlNanos;
+    private final int alternativasMaximas;
+    private final long alternativasTotales;
+    private final LongSupplier reloj;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    private final LinkedHashMap<String, Entrada> entradas;
+    private long alternativasGuardadas; // suma de Entrada.peso, protegida por entradas
+
+    @Autowired
+    public DecisionResultCache(@Value("${dss.cache.habilitado:true}") boolean habilitado,
+                               @Value("${dss.cache.tamano-maximo:1000}") int tamanoMaximo,
+                               @Value("${dss.cache.ttl:10m}") Duration ttl,
+                               @Value("${dss.cache.alternativas-maximas:10000}") int alternativasMaximas,
+                               @Value("${dss.cache.alternativas-totales:200000}") long alternativasTotales) {
+        this(habilitado, tamanoMaximo, ttl, alternativasMaximas, alternativasTotales, System::nanoTime);
+    }
+
+    DecisionResultCache(boolean habilitado, int tamanoMaximo, Duration ttl, int alternativasMaximas,
+                        long alternativasTotales, LongSupplier reloj) {
+        this.habilitado = habilitado && tamanoMaximo > 0;
+        this.tamanoMaximo = Math.max(0, tamanoMaximo);
+        this.ttlNanos = ttl.toNanos();
+        this.alternativasMaximas = alternativasMaximas;
+        this.alternativasTotales = alternativasTotales;
+        this.reloj = reloj;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                if (size() > DecisionResultCache.this.tamanoMaximo) {
+                    desalojos.increment();
+                    alternativasGuardadas -= eldest.getValue().peso();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Indica si vale la pena calcular la clave para un problema con esa cantidad de alternativas.
+     */
+    public boolean admite(int alternativas) {
+        return habilitado && alternativas <= alternativasMaximas;
+    }
+
+    /**
+     * Respuesta guardada para la clave, o null si no está o ya venció.
+     */
+    public DecisionResponse obtener(String clave) {
+        long ahora = reloj.getAsLong();
+        synchronized (entradas) {
+            Entrada e = entradas.get(clave);
+            if (e != null && ahora - e.guardadaEn < ttlNanos) {
+                aciertos.increment();
+                return e.respuesta;
+            }
+            if (e != null) {
+                entradas.remove(clave);
+                alternativasGuardadas -= e.peso();
+                desalojos.increment();
+            }
+        }
+        fallos.increment();
+        return null;
+    }
+
+    /**
+     * Guarda la respuesta y desaloja las menos usadas hasta volver a entrar en el total de
+     * alternativas. Una respuesta que sola supera ese total no se guarda.
+     */
+    public void guardar(String clave, DecisionResponse respuesta) {
+        Entrada e = new Entrada(respuesta, reloj.getAsLong(), peso(respuesta));
+        if (e.peso() > alternativasTotales) {
+            return;
+        }
+        synchronized (entradas) {
+            Entrada anterior = entradas.put(clave, e);
+            alternativasGuardadas += e.peso() - ((anterior == null) ? 0 : anterior.peso());
+            Iterator<Entrada> menosUsadas = entradas.values().iterator();
+            while (alternativasGuardadas > alternativasTotales) {
+                alternativasGuardadas -= menosUsadas.next().peso();
+                menosUsadas.remove();
+                desalojos.increment();
+            }
+        }
+    }
+
+    public void limpiar() {
+        synchronized (entradas) {
+            entradas.clear();
+            alternativasGuardadas = 0;
+        }
+    }
+
+    public CacheEstadisticasDto estadisticas() {
+        int tamano;
+        synchronized (entradas) {
+            tamano = entradas.size();
+        }
+        return new CacheEstadisticasDto(habilitado, tamano, tamanoMaximo,
+                aciertos.sum(), fallos.sum(), desalojos.sum());
+    }
+
+    /** Ítems de ranking que retiene la respuesta (uno por modo y alternativa devuelta). */
+    private static long peso(DecisionResponse respuesta) {
+        long peso = (respuesta.getRanking() == null) ? 0 : respuesta.getRanking().size();
+        if (respuesta.getRankings() != null) {
+            for (List<RankingItemDto> ranking : respuesta.getRankings().values()) {
+                peso += ranking.size();
+            }
+        }
+        return peso;
+    }
+
+    private record Entrada(DecisionResponse respuesta, long guardadaEn, long peso) {
+    }
+}
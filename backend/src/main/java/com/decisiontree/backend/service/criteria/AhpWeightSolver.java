@@ -0,0 +1,233 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.ComparacionAhpDto;
+import com.decisiontree.backend.dto.ConsistenciaAhpDto;
+import com.decisiontree.backend.dto.PesosAhpDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pesos por AHP: el autovector principal de cada matriz de comparaciones, por el método de la
+ * potencia (hasta que ningún componente cambia más que la tolerancia, o hasta el máximo de
+ * iteraciones), y su razón de consistencia. En una jerarquía, el peso global de un criterio es
+ * el producto de los pesos locales en el camino desde la raíz.
+ *
+ * El resultado de cada matriz queda en un caché LRU por huella SHA-256 de su contenido, así que
+ * las mismas comparaciones (requests repetidos o nodos iguales) se resuelven una sola vez. La
+ * jerarquía ya viene validada (RequestValidationUtils.validarComparaciones).
+ */
+@Component
+public class AhpWeightSolver {
+
+    // Índices aleatorios de Saaty para 1..15 elementos; con más, la aproximación de Alonso y Lamata
+    private static final double[] INDICE_ALEATORIO = {
+            0.0, 0.0, 0.58, 0.90, 1.12, 1.24, 1.32, 1.41, 1.45, 1.49, 1.51, 1.48, 1.56, 1.57, 1.59
+    };
+
+    static final double RAZON_MAXIMA = 0.1;
+
+    private final double tolerancia;
+    private final int iteracionesMaximas;
+    private final int tamanoCache;
+    private final LinkedHashMap<String, Prioridades> cache;
+    private final LongAdder calculadas = new LongAdder();
+
+    public AhpWeightSolver() {
+        this(1e-12, 1000, 256);
+    }
+
+    @Autowired
+    public AhpWeightSolver(@Value("${dss.ahp.tolerancia:1e-12}") double tolerancia,
+                           @Value("${dss.ahp.iteraciones-maximas:1000}") int iteracionesMaximas,
+                           @Value("${dss.ahp.cache.tamano-maximo:256}") int tamanoCache) {
+        this.tolerancia = tolerancia;
+        this.iteracionesMaximas = Math.max(1, iteracionesMaximas);
+        this.tamanoCache = Math.max(0, tamanoCache);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Prioridades> eldest) {
+                return size() > AhpWeightSolver.this.tamanoCache;
+            }
+        };
+    }
+
+    /**
+     * Si el request trae comparaciones, devuelve el compilado con los pesos derivados en la
+     * matriz y el detalle AHP; si no, el mismo compilado.
+     */
+    public CompiledDecisionRequest aplicar(CompiledDecisionRequest compilado) {
+        ComparacionAhpDto comparaciones = compilado.getParametros().getComparaciones();
+        if (comparaciones == null) {
+            return compilado;
+        }
+        PesosAhpDto ahp = derivar(comparaciones);
+        return new CompiledDecisionRequest(compilado.getParametros(), compilado.getMatriz().conPesos(ahp.getPesos()),
+                compilado.getClave(), ahp);
+    }
+
+    /**
+     * Pesos globales por criterio (suman 1) y la consistencia de cada nodo, en preorden.
+     */
+    public PesosAhpDto derivar(ComparacionAhpDto raiz) {
+        Map<String, Double> pesos = new LinkedHashMap<>();
+        List<ConsistenciaAhpDto> consistencia = new ArrayList<>();
+        recorrer(raiz, "comparaciones", 1.0, pesos, consistencia);
+        return new PesosAhpDto(pesos, consistencia);
+    }
+
+    /** Matrices resueltas con el método de la potencia (las que no salieron del caché). */
+    long calculadas() {
+        return calculadas.sum();
+    }
+
+    private void recorrer(ComparacionAhpDto nodo, String campo, double pesoNodo, Map<String, Double> pesos,
+                          List<ConsistenciaAhpDto> consistencia) {
+        Prioridades p = prioridades(nodo.getMatriz());
+        consistencia.add(new ConsistenciaAhpDto(campo, p.lambdaMax, p.indiceConsistencia, p.razonConsistencia,
+                p.razonConsistencia <= RAZON_MAXIMA, p.iteraciones, p.convergio));
+
+        Map<String, ComparacionAhpDto> grupos = (nodo.getSubcriterios() == null) ? Map.of() : nodo.getSubcriterios();
+        List<String> elementos = nodo.getElementos();
+        for (int i = 0; i < elementos.size(); i++) {
+            String elemento = elementos.get(i).trim();
+            double peso = pesoNodo * p.vector[i];
+            ComparacionAhpDto grupo = grupos.get(elemento);
+            if (grupo != null) {
+                recorrer(grupo, campo + ".subcriterios." + elemento, peso, pesos, consistencia);
+            } else {
+                pesos.put(elemento, peso);
+            }
+        }
+    }
+
+    private Prioridades prioridades(List<List<Double>> matriz) {
+        int k = matriz.size();
+        double[] a = new double[k * k];
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                Double valor = matriz.get(i).get(j);
+                // celda en null: recíproco de la transpuesta (la diagonal es 1)
+                a[i * k + j] = (valor != null) ? valor : (i == j) ? 1.0 : 1.0 / matriz.get(j).get(i);
+            }
+        }
+
+        String clave = (tamanoCache > 0) ? huella(a, k) : null;
+        if (clave != null) {
+            synchronized (cache) {
+                Prioridades guardadas = cache.get(clave);
+                if (guardadas != null) {
+                    return guardadas;
+                }
+            }
+        }
+
+        Prioridades p = potencia(a, k);
+        calculadas.increment();
+        if (clave != null) {
+            synchronized (cache) {
+                cache.put(clave, p);
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Método de la potencia desde el vector uniforme. Con w normalizado a suma 1, la suma de
+     * A·w converge al autovalor principal.
+     */
+    private Prioridades potencia(double[] a, int k) {
+        double[] w = new double[k];
+        double[] siguiente = new double[k];
+        Arrays.fill(w, 1.0 / k);
+
+        double lambda = k;
+        int iteraciones = 0;
+        boolean convergio = false;
+        while (iteraciones < iteracionesMaximas) {
+            iteraciones++;
+            double suma = 0.0;
+            for (int i = 0; i < k; i++) {
+                int base = i * k;
+                double s = 0.0;
+                for (int j = 0; j < k; j++) {
+                    s += a[base + j] * w[j];
+                }
+                siguiente[i] = s;
+                suma += s;
+            }
+            lambda = suma;
+
+            double cambio = 0.0;
+            for (int i = 0; i < k; i++) {
+                siguiente[i] /= suma;
+                cambio = Math.max(cambio, Math.abs(siguiente[i] - w[i]));
+            }
+            double[] t = w;
+            w = siguiente;
+            siguiente = t;
+            if (cambio <= tolerancia) {
+                convergio = true;
+                break;
+            }
+        }
+
+        double ci = (k > 1) ? Math.max(0.0, (lambda - k) / (k - 1)) : 0.0;
+        double ri = indiceAleatorio(k);
+        double cr = (ri > 0.0) ? ci / ri : 0.0;
+        return new Prioridades(w, lambda, ci, cr, iteraciones, convergio);
+    }
+
+    static double indiceAleatorio(int k) {
+        if (k <= INDICE_ALEATORIO.length) {
+            return INDICE_ALEATORIO[k - 1];
+        }
+        return (1.7699 * k - 4.3513) / (k - 1);
+    }
+
+    private static String huella(double[] a, int k) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(4 + 8 * a.length);
+            buffer.putInt(k);
+            for (double v : a) {
+                buffer.putLong(Double.doubleToLongBits(v));
+            }
+            return HexFormat.of().formatHex(md.digest(buffer.array()));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+
+    /** Autovector (suma 1) y consistencia de una matriz; se comparte desde el caché, no modificar. */
+    private static final class Prioridades {
+
+        final double[] vector;
+        final double lambdaMax;
+        final double indiceConsistencia;
+        final double razonConsistencia;
+        final int iteraciones;
+        final boolean convergio;
+
+        Prioridades(double[] vector, double lambdaMax, double indiceConsistencia, double razonConsistencia,
+                    int iteraciones, boolean convergio) {
+            this.vector = vector;
+            this.lambdaMax = lambdaMax;
+            this.indiceConsistencia = indiceConsistencia;
+            this.razonConsistencia = razonConsistencia;
+            this.iteraciones = iteraciones;
+            this.convergio = convergio;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.decisiontree.backend.service.criteria;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas por columna de la matriz orientada, en un solo recorrido: mínimo (anti-ideal),
+ * máximo (ideal) y norma euclídea. Las comparten TOPSIS y VIKOR.
+ *
+ * Las sumas de cuadrados se acumulan por tramos fijos de filas y los tramos se suman en orden,
+ * igual en el camino secuencial que en el paralelo, así que la norma es idéntica bit a bit en
+ * ambos. Los extremos se combinan como en ParallelRows.
+ */
+final class ColumnStatistics {
+
+    static final int FILAS_POR_TRAMO = 1024;
+
+    final double[] minimo;
+    final double[] maximo;
+    final double[] norma;
+
+    private ColumnStatistics(int m) {
+        minimo = new double[m];
+        maximo = new double[m];
+        norma = new double[m];
+    }
+
+    static ColumnStatistics calcular(DecisionMatrix matriz, boolean paralelo) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+
+        int tramos = Math.max(1, (n + FILAS_POR_TRAMO - 1) / FILAS_POR_TRAMO);
+        double[][] mins = new double[tramos][];
+        double[][] maxs = new double[tramos][];
+        double[][] cuadrados = new double[tramos][];
+        if (paralelo) {
+            ParallelRows.recorrer(tramos, Math.min(tramos, ParallelRows.bloques(n)), (b, desde, hasta) -> {
+                for (int t = desde; t < hasta; t++) {
+                    tramo(v, n, m, t, mins, maxs, cuadrados);
+                }
+            });
+        } else {
+            for (int t = 0; t < tramos; t++) {
+                tramo(v, n, m, t, mins, maxs, cuadrados);
+            }
+        }
+
+        ColumnStatistics c = new ColumnStatistics(m);
+        Arrays.fill(c.minimo, Double.POSITIVE_INFINITY);
+        Arrays.fill(c.maximo, Double.NEGATIVE_INFINITY);
+        ParallelRows.combinar(mins, maxs, c.minimo, c.maximo, m);
+        for (double[] parcial : cuadrados) {
+            for (int j = 0; j < m; j++) {
+                c.norma[j] += parcial[j];
+            }
+        }
+        for (int j = 0; j < m; j++) {
+            c.norma[j] = Math.sqrt(c.norma[j]);
+        }
+        return c;
+    }
+
+    private static void tramo(double[] v, int n, int m, int t, double[][] mins, double[][] maxs,
+                              double[][] cuadrados) {
+        double[] min = mins[t] = new double[m];
+        double[] max = maxs[t] = new double[m];
+        double[] suma = cuadrados[t] = new double[m];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+
+        int hasta = (int) Math.min(n, (long) (t + 1) * FILAS_POR_TRAMO);
+        for (int i = t * FILAS_POR_TRAMO; i < hasta; i++) {
+            int base = i * m;
+            for (int j = 0; j < m; j++) {
+                double valor = v[base + j];
+                if (valor < min[j]) {
+                    min[j] = valor;
+                }
+                if (valor > max[j]) {
+                    max[j] = valor;
+                }
+                suma[j] += valor * valor;
+            }
+        }
+    }
+}
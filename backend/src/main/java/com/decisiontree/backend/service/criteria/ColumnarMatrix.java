@@ -0,0 +1,79 @@
+package com.decisiontree.backend.service.criteria;
+
+/**
+ * Matriz de decisión guardada por columnas fuera del heap (por ejemplo, un archivo mapeado en
+ * memoria). Solo los metadatos de los criterios viven en el heap; los valores se leen por
+ * tramos de una columna y los nombres de alternativa de a uno, así que evaluarla ocupa
+ * memoria proporcional a las alternativas (los puntajes) y no a la matriz.
+ *
+ * Los valores se guardan crudos; la orientación (costo negado) se aplica al leer, igual que
+ * al compilar una DecisionMatrix.
+ */
+public final class ColumnarMatrix {
+
+    /** Origen de los datos de la matriz. Las lecturas pueden ser concurrentes. */
+    public interface Columnas {
+
+        /** Copia en destino[0, cantidad) los valores crudos del criterio j desde la fila desde. */
+        void leer(int j, int desde, double[] destino, int cantidad);
+
+        String alternativa(int i);
+    }
+
+    private final int filas;
+    private final String[] criterios;
+    private final double[] pesos;
+    private final boolean[] costo;
+    private final Columnas columnas;
+
+    /**
+     * @param pesosCrudos pesos tal como vienen; se normalizan igual que en DecisionMatrix
+     */
+    public ColumnarMatrix(int filas, String[] criterios, double[] pesosCrudos, boolean[] costo, Columnas columnas) {
+        this.filas = filas;
+        this.criterios = criterios;
+        this.pesos = DecisionMatrix.normalizarPesos(pesosCrudos);
+        this.costo = costo;
+        this.columnas = columnas;
+    }
+
+    public int filas() {
+        return filas;
+    }
+
+    public int columnas() {
+        return criterios.length;
+    }
+
+    public String criterio(int j) {
+        return criterios[j];
+    }
+
+    /** Peso normalizado del criterio j. */
+    public double peso(int j) {
+        return pesos[j];
+    }
+
+    public boolean esCosto(int j) {
+        return costo[j];
+    }
+
+    public String alternativa(int i) {
+        return columnas.alternativa(i);
+    }
+
+    /** Como Columnas.leer, pero con los valores orientados (costo negado). */
+    void leerOrientados(int j, int desde, double[] destino, int cantidad) {
+        columnas.leer(j, desde, destino, cantidad);
+        if (costo[j]) {
+            for (int k = 0; k < cantidad; k++) {
+                destino[k] = -destino[k];
+            }
+        }
+    }
+
+    /** Pesos normalizados; no deben modificarse. */
+    double[] pesos() {
+        return pesos;
+    }
+}
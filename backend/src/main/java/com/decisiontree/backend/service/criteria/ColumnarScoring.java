@@ -0,0 +1,190 @@
+package com.decisiontree.backend.service.criteria;
+
+import java.util.Arrays;
+
+/**
+ * Puntuación de una ColumnarMatrix por tramos de filas: para cada tramo se leen sus valores
+ * criterio por criterio y se acumulan en los puntajes de esas filas. Cada fila recibe las
+ * mismas operaciones, en el mismo orden de criterios, que en los núcleos por fila, así que los
+ * puntajes son idénticos bit a bit a los de evaluar la misma matriz en memoria.
+ *
+ * Fuera de los puntajes solo se usan buffers de un tramo (y uno por criterio para los extremos).
+ */
+final class ColumnarScoring {
+
+    static final int SAW = 0;
+    static final int VALOR_ESPERADO = 1;
+    static final int MAXIMIN = 2;
+    static final int MAXIMAX = 3;
+    static final int LAPLACE = 4;
+    static final int HURWICZ = 5;
+    static final int MINIMAX_REGRET = 6;
+
+    static final int FILAS_POR_TRAMO = 4096;
+
+    private ColumnarScoring() {
+    }
+
+    static double[] calcular(ColumnarMatrix matriz, int tipo, double alpha, double[] puntajes, boolean paralelo) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+
+        // SAW normaliza con min y max por criterio; Minimax Regret usa el máximo
+        double[] mins = (tipo == SAW) ? new double[m] : null;
+        double[] maxs = (tipo == SAW || tipo == MINIMAX_REGRET) ? new double[m] : null;
+        if (maxs != null) {
+            extremosPorColumna(matriz, mins, maxs, paralelo);
+        }
+
+        if (paralelo) {
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    puntuar(matriz, tipo, alpha, mins, maxs, puntajes, desde, hasta));
+        } else {
+            puntuar(matriz, tipo, alpha, mins, maxs, puntajes, 0, n);
+        }
+        return puntajes;
+    }
+
+    private static void extremosPorColumna(ColumnarMatrix matriz, double[] mins, double[] maxs, boolean paralelo) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        if (mins != null) {
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        }
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+
+        if (!paralelo) {
+            extremos(matriz, mins, maxs, 0, n);
+            return;
+        }
+
+        int bloques = ParallelRows.bloques(n);
+        double[][] minsBloque = (mins == null) ? null : new double[bloques][];
+        double[][] maxsBloque = new double[bloques][];
+        ParallelRows.recorrer(n, bloques, (b, desde, hasta) -> {
+            double[] bMin = null;
+            if (minsBloque != null) {
+                bMin = minsBloque[b] = new double[m];
+                Arrays.fill(bMin, Double.POSITIVE_INFINITY);
+            }
+            double[] bMax = maxsBloque[b] = new double[m];
+            Arrays.fill(bMax, Double.NEGATIVE_INFINITY);
+            extremos(matriz, bMin, bMax, desde, hasta);
+        });
+        ParallelRows.combinar(minsBloque, maxsBloque, mins, maxs, m);
+    }
+
+    private static void extremos(ColumnarMatrix matriz, double[] mins, double[] maxs, int desde, int hasta) {
+        double[] tramo = new double[Math.min(FILAS_POR_TRAMO, hasta - desde)];
+        for (int d = desde; d < hasta; d += FILAS_POR_TRAMO) {
+            int c = Math.min(FILAS_POR_TRAMO, hasta - d);
+            for (int j = 0; j < matriz.columnas(); j++) {
+                matriz.leerOrientados(j, d, tramo, c);
+                for (int k = 0; k < c; k++) {
+                    if (mins != null && tramo[k] < mins[j]) {
+                        mins[j] = tramo[k];
+                    }
+                    if (tramo[k] > maxs[j]) {
+                        maxs[j] = tramo[k];
+                    }
+                }
+            }
+        }
+    }
+
+    private static void puntuar(ColumnarMatrix matriz, int tipo, double alpha, double[] mins, double[] maxs,
+                                double[] puntajes, int desde, int hasta) {
+        int m = matriz.columnas();
+        double[] pesos = matriz.pesos();
+        double[] tramo = new double[Math.min(FILAS_POR_TRAMO, hasta - desde)];
+        // Hurwicz acumula el máximo aparte; el mínimo va en los puntajes
+        double[] maximos = (tipo == HURWICZ) ? new double[tramo.length] : null;
+
+        for (int d = desde; d < hasta; d += FILAS_POR_TRAMO) {
+            int c = Math.min(FILAS_POR_TRAMO, hasta - d);
+            Arrays.fill(puntajes, d, d + c, inicial(tipo));
+            if (maximos != null) {
+                Arrays.fill(maximos, 0, c, Double.NEGATIVE_INFINITY);
+            }
+
+            for (int j = 0; j < m; j++) {
+                matriz.leerOrientados(j, d, tramo, c);
+                switch (tipo) {
+                    case SAW:
+                        double min = mins[j];
+                        double max = maxs[j];
+                        for (int k = 0; k < c; k++) {
+                            double normalizado = (Double.compare(max, min) == 0) ? 1.0 : (tramo[k] - min) / (max - min);
+                            puntajes[d + k] += (pesos[j] * normalizado);
+                        }
+                        break;
+                    case VALOR_ESPERADO:
+                        for (int k = 0; k < c; k++) {
+                            puntajes[d + k] += pesos[j] * tramo[k];
+                        }
+                        break;
+                    case MAXIMIN:
+                        for (int k = 0; k < c; k++) {
+                            if (tramo[k] < puntajes[d + k]) {
+                                puntajes[d + k] = tramo[k];
+                            }
+                        }
+                        break;
+                    case MAXIMAX:
+                        for (int k = 0; k < c; k++) {
+                            if (tramo[k] > puntajes[d + k]) {
+                                puntajes[d + k] = tramo[k];
+                            }
+                        }
+                        break;
+                    case LAPLACE:
+                        for (int k = 0; k < c; k++) {
+                            puntajes[d + k] += tramo[k];
+                        }
+                        break;
+                    case HURWICZ:
+                        for (int k = 0; k < c; k++) {
+                            if (tramo[k] < puntajes[d + k]) {
+                                puntajes[d + k] = tramo[k];
+                            }
+                            if (tramo[k] > maximos[k]) {
+                                maximos[k] = tramo[k];
+                            }
+                        }
+                        break;
+                    default:
+                        for (int k = 0; k < c; k++) {
+                            double arrepentimiento = maxs[j] - tramo[k];
+                            if (arrepentimiento > puntajes[d + k]) {
+                                puntajes[d + k] = arrepentimiento;
+                            }
+                        }
+                        break;
+                }
+            }
+
+            for (int k = 0; k < c; k++) {
+                if (tipo == LAPLACE) {
+                    puntajes[d + k] = puntajes[d + k] / m;
+                } else if (tipo == HURWICZ) {
+                    puntajes[d + k] = (alpha * maximos[k]) + ((1 - alpha) * puntajes[d + k]);
+                } else if (tipo == MINIMAX_REGRET) {
+                    puntajes[d + k] = -puntajes[d + k]; // mayor puntaje = mejor
+                }
+            }
+        }
+    }
+
+    private static double inicial(int tipo) {
+        switch (tipo) {
+            case MAXIMIN:
+            case HURWICZ:
+                return Double.POSITIVE_INFINITY;
+            case MAXIMAX:
+            case MINIMAX_REGRET:
+                return Double.NEGATIVE_INFINITY;
+            default:
+                return 0.0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.PesosAhpDto;
+
+/**
+ * Request ya validado y compilado: la matriz primitiva más los parámetros escalares
+ * (modo, modos, alpha, topK, offset, limit) y los criterios tal como llegaron. En parametros
+ * la lista de alternativas puede venir en null, porque ya está dentro de la matriz.
+ *
+ * clave es la huella canónica para el caché de resultados, o null si no se calculó. ahp trae
+ * los pesos derivados y la consistencia cuando el request usa comparaciones AHP.
+ */
+public final class CompiledDecisionRequest {
+
+    private final DecisionRequest parametros;
+    private final DecisionMatrix matriz;
+    private final String clave;
+    private final PesosAhpDto ahp;
+
+    public CompiledDecisionRequest(DecisionRequest parametros, DecisionMatrix matriz) {
+        this(parametros, matriz, null);
+    }
+
+    public CompiledDecisionRequest(DecisionRequest parametros, DecisionMatrix matriz, String clave) {
+        this(parametros, matriz, clave, null);
+    }
+
+    public CompiledDecisionRequest(DecisionRequest parametros, DecisionMatrix matriz, String clave, PesosAhpDto ahp) {
+        this.parametros = parametros;
+        this.matriz = matriz;
+        this.clave = clave;
+        this.ahp = ahp;
+    }
+
+    public DecisionRequest getParametros() {
+        return parametros;
+    }
+
+    public DecisionMatrix getMatriz() {
+        return matriz;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    public PesosAhpDto getAhp() {
+        return ahp;
+    }
+}
@@ -1,317 +1,811 @@
 package com.decisiontree.backend.service.criteria;
 
 import com.decisiontree.backend.constants.DecisionModes;
-import com.decisiontree.backend.dto.AlternativaDto;
-import com.decisiontree.backend.dto.ConfigDto;
 import com.decisiontree.backend.dto.DecisionRequest;
 import com.decisiontree.backend.dto.RankingItemDto;
 import com.decisiontree.backend.exception.BadRequestException;
+import com.decisiontree.backend.service.metrics.DecisionMetrics;
 import com.decisiontree.backend.util.DecisionMathUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
 
 @Component
 public class DecisionCriteriaCalculator {
 
+    static final long UMBRAL_PARALELO_POR_DEFECTO = 2_000_000;
+
+    // Peso de la utilidad de grupo (S) frente al arrepentimiento individual (R) en VIKOR
+    static final double V_VIKOR = 0.5;
+
+    // Celdas (filas * criterios) desde las que la matriz se reparte entre hilos
+    private final long umbralParalelo;
+
+    private final DecisionMetrics metricas;
+
+    public DecisionCriteriaCalculator() {
+        this(UMBRAL_PARALELO_POR_DEFECTO);
+    }
+
+    public DecisionCriteriaCalculator(long umbralParalelo) {
+        this(umbralParalelo, DecisionMetrics.SIN_REGISTRO);
+    }
+
+    @Autowired
+    public DecisionCriteriaCalculator(@Value("${dss.paralelo.umbral-celdas:2000000}") long umbralParalelo,
+                                      DecisionMetrics metricas) {
+        this.umbralParalelo = umbralParalelo;
+        this.metricas = metricas;
+    }
+
     public List<RankingItemDto> calcularRanking(DecisionRequest request) {
-        String modo = DecisionModes.normalize(request.getModo());
+        DecisionMatrix matriz = DecisionMatrix.compile(request);
+        return calcularRanking(matriz, request.getModo(), request.getAlpha(),
+                desde(request), hasta(request, matriz.filas()));
+    }
 
-        Map<String, ConfigDto> criteriosMap = request.getCriterios().stream()
-                .collect(Collectors.toMap(
-                        c -> c.getCriterio().trim(),
-                        c -> c,
-                        (a, b) -> a,
-                        LinkedHashMap::new
-                ));
+    /**
+     * Camino de puntuación sin basura: puntajes, redondeo y selección trabajan sobre buffers
+     * por hilo (ScoringScratch), así que en régimen estable solo se asigna la lista de DTOs
+     * de las posiciones [desde, hasta) que se devuelven.
+     */
+    public List<RankingItemDto> calcularRanking(DecisionMatrix matriz, String modo, Double alpha,
+                                                int desde, int hasta) {
+        return calcularRanking(matriz, modo, alpha, desde, hasta, false);
+    }
 
-        Map<String, Double> puntajes;
+    /**
+     * Con prefiltrar, solo entran al ranking las alternativas no dominadas (ParetoSkyline). Los
+     * puntajes se calculan igual sobre toda la matriz, así que cada alternativa conserva el
+     * mismo puntaje que sin el prefiltro. En ningún modo una alternativa dominada supera a la
+     * que la domina, así que el primer puesto es siempre una no dominada (salvo empates).
+     */
+    public List<RankingItemDto> calcularRanking(DecisionMatrix matriz, String modo, Double alpha,
+                                                int desde, int hasta, boolean prefiltrar) {
+        ScoringScratch scratch = ScoringScratch.actual();
+        double[] puntajes = scratch.puntajes(matriz.filas());
+        long inicio = System.nanoTime();
+        int[] frente = frente(matriz, modo, prefiltrar);
+        puntuar(matriz, modo, alpha, puntajes, frente);
+        long puntuado = System.nanoTime();
+        List<RankingItemDto> ranking = construirRanking(matriz.filas(), esParalelo(matriz), matriz::alternativa,
+                puntajes, frente, desde, hasta, scratch);
+
+        String etiqueta = DecisionMetrics.modo(modo);
+        metricas.etapa(etiqueta, DecisionMetrics.Etapa.PUNTUACION, puntuado - inicio);
+        metricas.etapa(etiqueta, DecisionMetrics.Etapa.ORDENAMIENTO, System.nanoTime() - puntuado);
+        return ranking;
+    }
 
-        if (DecisionModes.isRankingMode(modo)) {
-            puntajes = calcularSawNormalizado(request.getAlternativas(), request.getCriterios(), criteriosMap);
-        } else if (DecisionModes.isExpectedValueMode(modo)) {
-            puntajes = calcularValorEsperado(request.getAlternativas(), request.getCriterios(), criteriosMap);
-        } else {
-            switch (modo) {
-                case DecisionModes.MAXIMIN:
-                    puntajes = calcularMaximin(request.getAlternativas(), criteriosMap);
-                    break;
-                case DecisionModes.MAXIMAX:
-                    puntajes = calcularMaximax(request.getAlternativas(), criteriosMap);
-                    break;
-                case DecisionModes.LAPLACE:
-                    puntajes = calcularLaplace(request.getAlternativas(), criteriosMap);
-                    break;
-                case DecisionModes.HURWICZ:
-                    puntajes = calcularHurwicz(request.getAlternativas(), criteriosMap, request.getAlpha());
-                    break;
-                case DecisionModes.MINIMAX_REGRET:
-                    puntajes = calcularMinimaxRegret(request.getAlternativas(), criteriosMap);
-                    break;
-                default:
-                    throw new BadRequestException("Modo no soportado: '" + request.getModo() + "'.");
-            }
+    /**
+     * Un ranking por cada modo pedido (lista "modos" o modo "todos"), compilando la matriz una vez.
+     */
+    public Map<String, List<RankingItemDto>> calcularRankings(DecisionRequest request) {
+        DecisionMatrix matriz = DecisionMatrix.compile(request);
+        List<String> modos = DecisionModes.resolve(request.getModo(), request.getModos());
+        return calcularRankings(matriz, modos, request.getAlpha(), desde(request), hasta(request, matriz.filas()));
+    }
+
+    public Map<String, List<RankingItemDto>> calcularRankings(DecisionMatrix matriz, List<String> modos, Double alpha,
+                                                              int desde, int hasta) {
+        return calcularRankings(matriz, modos, alpha, desde, hasta, false);
+    }
+
+    /** Como calcularRankings; el frente de Pareto se calcula una vez para todos los modos. */
+    public Map<String, List<RankingItemDto>> calcularRankings(DecisionMatrix matriz, List<String> modos, Double alpha,
+                                                              int desde, int hasta, boolean prefiltrar) {
+        ScoringScratch scratch = ScoringScratch.actual();
+
+        // La puntuación es una sola pasada para todos los modos; el ordenamiento se mide junto
+        long inicio = System.nanoTime();
+        int[] frente = frente(matriz, modos, prefiltrar);
+        Map<String, double[]> puntajes = calcularPuntajes(matriz, modos, alpha, frente);
+        long puntuado = System.nanoTime();
+        Map<String, List<RankingItemDto>> rankings = new LinkedHashMap<>();
+        for (Map.Entry<String, double[]> e : puntajes.entrySet()) {
+            rankings.put(e.getKey(), construirRanking(matriz.filas(), esParalelo(matriz), matriz::alternativa,
+                    e.getValue(), frenteDelModo(e.getKey(), frente, prefiltrar), desde, hasta, scratch));
         }
 
-        List<RankingItemDto> ranking = new ArrayList<>();
-        for (Map.Entry<String, Double> e : puntajes.entrySet()) {
-            ranking.add(new RankingItemDto(e.getKey(), DecisionMathUtils.round(e.getValue(), 6)));
+        metricas.etapa(DecisionMetrics.MODO_MULTIPLE, DecisionMetrics.Etapa.PUNTUACION, puntuado - inicio);
+        metricas.etapa(DecisionMetrics.MODO_MULTIPLE, DecisionMetrics.Etapa.ORDENAMIENTO, System.nanoTime() - puntuado);
+        return rankings;
+    }
+
+    /**
+     * Igual que calcularRanking, pero sin DTOs: puntajes y orden quedan en arreglos propios (no
+     * en los buffers del hilo), así el ranking se puede escribir fila por fila después.
+     */
+    public RankingOrdenado ordenar(DecisionMatrix matriz, String modo, Double alpha, int desde, int hasta,
+                                   boolean prefiltrar) {
+        int n = matriz.filas();
+        double[] puntajes = new double[n];
+        long inicio = System.nanoTime();
+        int[] frente = frente(matriz, modo, prefiltrar);
+        puntuar(matriz, modo, alpha, puntajes, frente);
+        long puntuado = System.nanoTime();
+        int[] orden = new int[Math.min(hasta, n)];
+        // el redondeo se hace sobre los mismos puntajes: no se vuelven a usar sin redondear
+        int fin = seleccionar(n, esParalelo(matriz), puntajes, puntajes, frente, orden, desde, hasta);
+
+        String etiqueta = DecisionMetrics.modo(modo);
+        metricas.etapa(etiqueta, DecisionMetrics.Etapa.PUNTUACION, puntuado - inicio);
+        metricas.etapa(etiqueta, DecisionMetrics.Etapa.ORDENAMIENTO, System.nanoTime() - puntuado);
+        return new RankingOrdenado(matriz::alternativa, puntajes, orden, Math.min(desde, fin), fin);
+    }
+
+    /**
+     * Un RankingOrdenado por modo, con la misma pasada fusionada que calcularRankings.
+     */
+    public Map<String, RankingOrdenado> ordenar(DecisionMatrix matriz, List<String> modos, Double alpha,
+                                                int desde, int hasta, boolean prefiltrar) {
+        int n = matriz.filas();
+        long inicio = System.nanoTime();
+        int[] frente = frente(matriz, modos, prefiltrar);
+        Map<String, double[]> puntajes = calcularPuntajes(matriz, modos, alpha, frente);
+        long puntuado = System.nanoTime();
+        Map<String, RankingOrdenado> rankings = new LinkedHashMap<>();
+        for (Map.Entry<String, double[]> e : puntajes.entrySet()) {
+            double[] redondeados = new double[n];
+            int[] orden = new int[Math.min(hasta, n)];
+            int fin = seleccionar(n, esParalelo(matriz), e.getValue(), redondeados,
+                    frenteDelModo(e.getKey(), frente, prefiltrar), orden, desde, hasta);
+            rankings.put(e.getKey(), new RankingOrdenado(matriz::alternativa, redondeados, orden, Math.min(desde, fin), fin));
         }
 
-        ranking.sort(Comparator.comparing(
-                RankingItemDto::getPuntaje,
-                Comparator.nullsLast(Comparator.reverseOrder())
-        ));
+        metricas.etapa(DecisionMetrics.MODO_MULTIPLE, DecisionMetrics.Etapa.PUNTUACION, puntuado - inicio);
+        metricas.etapa(DecisionMetrics.MODO_MULTIPLE, DecisionMetrics.Etapa.ORDENAMIENTO, System.nanoTime() - puntuado);
+        return rankings;
+    }
+
+    /**
+     * Ranking [desde, hasta) a partir de puntajes sin redondear ya calculados (uno por fila).
+     */
+    public List<RankingItemDto> calcularRanking(DecisionMatrix matriz, double[] puntajes, int desde, int hasta) {
+        return construirRanking(matriz.filas(), esParalelo(matriz), matriz::alternativa, puntajes, null, desde, hasta,
+                ScoringScratch.actual());
+    }
 
+    /**
+     * Ranking de una matriz por columnas (por ejemplo, mapeada desde disco). Se recorre por
+     * tramos de filas, sin copiarla al heap; los puntajes son los mismos que con la matriz
+     * en memoria.
+     */
+    public List<RankingItemDto> calcularRanking(ColumnarMatrix matriz, String modo, Double alpha,
+                                                int desde, int hasta) {
+        ScoringScratch scratch = ScoringScratch.actual();
+        double[] puntajes = scratch.puntajes(matriz.filas());
+        long inicio = System.nanoTime();
+        calcularPuntajes(matriz, modo, alpha, puntajes);
+        long puntuado = System.nanoTime();
+        List<RankingItemDto> ranking = construirRanking(matriz.filas(), esParalelo(matriz.filas(), matriz.columnas()),
+                matriz::alternativa, puntajes, null, desde, hasta, scratch);
+
+        String etiqueta = DecisionMetrics.modo(modo);
+        metricas.etapa(etiqueta, DecisionMetrics.Etapa.PUNTUACION, puntuado - inicio);
+        metricas.etapa(etiqueta, DecisionMetrics.Etapa.ORDENAMIENTO, System.nanoTime() - puntuado);
         return ranking;
     }
 
-    // =======================
-    // MODO RANKING / SAW
-    // =======================
-    private Map<String, Double> calcularSawNormalizado(List<AlternativaDto> alternativas,
-                                                       List<ConfigDto> criterios,
-                                                       Map<String, ConfigDto> criteriosMap) {
+    /**
+     * Puntaje sin redondear de cada alternativa de una matriz por columnas, escrito en destino
+     * (largo >= filas).
+     */
+    public double[] calcularPuntajes(ColumnarMatrix matriz, String modoRequest, Double alpha, double[] destino) {
+        String modo = DecisionModes.normalize(modoRequest);
+        boolean paralelo = esParalelo(matriz.filas(), matriz.columnas());
+
+        if (DecisionModes.isRankingMode(modo)) {
+            return ColumnarScoring.calcular(matriz, ColumnarScoring.SAW, 0.0, destino, paralelo);
+        }
+        if (DecisionModes.isExpectedValueMode(modo)) {
+            return ColumnarScoring.calcular(matriz, ColumnarScoring.VALOR_ESPERADO, 0.0, destino, paralelo);
+        }
+
+        switch (modo) {
+            case DecisionModes.MAXIMIN:
+                return ColumnarScoring.calcular(matriz, ColumnarScoring.MAXIMIN, 0.0, destino, paralelo);
+            case DecisionModes.MAXIMAX:
+                return ColumnarScoring.calcular(matriz, ColumnarScoring.MAXIMAX, 0.0, destino, paralelo);
+            case DecisionModes.LAPLACE:
+                return ColumnarScoring.calcular(matriz, ColumnarScoring.LAPLACE, 0.0, destino, paralelo);
+            case DecisionModes.HURWICZ:
+                return ColumnarScoring.calcular(matriz, ColumnarScoring.HURWICZ, alphaHurwicz(alpha), destino, paralelo);
+            case DecisionModes.MINIMAX_REGRET:
+                return ColumnarScoring.calcular(matriz, ColumnarScoring.MINIMAX_REGRET, 0.0, destino, paralelo);
+            default:
+                throw new BadRequestException("Modo no soportado: '" + modoRequest + "'.");
+        }
+    }
+
+    /**
+     * Indica si el request pide solo una parte del ranking (topK u offset/limit).
+     */
+    public static boolean isRankingParcial(DecisionRequest request) {
+        return request.getTopK() != null || request.getOffset() != null || request.getLimit() != null;
+    }
+
+    /** Primera posición del ranking pedida (0 si no hay paginación). */
+    public static int desde(DecisionRequest request) {
+        return (request.getTopK() == null && request.getOffset() != null) ? request.getOffset() : 0;
+    }
 
-        Map<String, Double> pesos = normalizarPesos(criterios);
+    /** Posición siguiente a la última pedida, acotada al número de alternativas. */
+    public static int hasta(DecisionRequest request, int n) {
+        if (request.getTopK() != null) {
+            return Math.min(request.getTopK(), n);
+        }
+        if (request.getLimit() != null) {
+            return (int) Math.min((long) desde(request) + request.getLimit(), n);
+        }
+        return n;
+    }
 
-        // min y max por criterio
-        Map<String, Double> mins = new HashMap<>();
-        Map<String, Double> maxs = new HashMap<>();
+    /**
+     * Arma los DTOs solo de las posiciones pedidas. El orden se decide con el puntaje ya
+     * redondeado a 6 decimales, igual que el ranking completo. Si frente no es null, solo
+     * entran esas alternativas.
+     */
+    private List<RankingItemDto> construirRanking(int n, boolean paralelo, IntFunction<String> alternativa,
+                                                  double[] puntajes, int[] frente, int desde, int hasta,
+                                                  ScoringScratch scratch) {
+        double[] redondeados = scratch.redondeados(n);
+        int[] orden = scratch.indices(Math.min(hasta, n));
+        int fin = seleccionar(n, paralelo, puntajes, redondeados, frente, orden, desde, hasta);
+
+        List<RankingItemDto> ranking = new ArrayList<>(Math.max(0, fin - desde));
+        for (int p = desde; p < fin; p++) {
+            int i = orden[p];
+            ranking.add(new RankingItemDto(alternativa.apply(i), redondeados[i]));
+        }
 
-        for (ConfigDto c : criterios) {
-            String criterio = c.getCriterio().trim();
-            List<Double> valoresCriterio = new ArrayList<>();
+        return ranking;
+    }
 
-            for (AlternativaDto a : alternativas) {
-                valoresCriterio.add(a.getValores().get(criterio));
+    /**
+     * Redondea los puntajes (redondeados puede ser el mismo arreglo) y deja en orden las
+     * posiciones [desde, fin); devuelve fin. Con frente, el ranking es solo entre esas filas.
+     */
+    private static int seleccionar(int n, boolean paralelo, double[] puntajes, double[] redondeados, int[] frente,
+                                   int[] orden, int desde, int hasta) {
+        if (frente != null) {
+            for (int i : frente) {
+                redondeados[i] = DecisionMathUtils.round(puntajes[i], 6);
             }
+            return RankingSelector.seleccionarEntre(redondeados, frente, frente.length, desde, hasta, orden);
+        }
+        if (paralelo) {
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, inicio, limite) ->
+                    redondear(puntajes, redondeados, inicio, limite));
+            return RankingSelector.seleccionarEnParalelo(redondeados, n, desde, hasta, orden);
+        }
+        redondear(puntajes, redondeados, 0, n);
+        return RankingSelector.seleccionar(redondeados, n, desde, hasta, orden);
+    }
 
-            mins.put(criterio, DecisionMathUtils.min(valoresCriterio));
-            maxs.put(criterio, DecisionMathUtils.max(valoresCriterio));
+    private static void redondear(double[] puntajes, double[] redondeados, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            redondeados[i] = DecisionMathUtils.round(puntajes[i], 6);
         }
+    }
 
-        Map<String, Double> puntajes = new LinkedHashMap<>();
+    /**
+     * Puntaje sin redondear de cada alternativa, en el orden de la matriz.
+     */
+    public double[] calcularPuntajes(DecisionMatrix matriz, String modo, Double alpha) {
+        return calcularPuntajes(matriz, modo, alpha, new double[matriz.filas()]);
+    }
 
-        for (AlternativaDto a : alternativas) {
-            double score = 0.0;
+    /**
+     * Igual que calcularPuntajes, pero escribe en destino (largo >= filas) sin asignar memoria.
+     */
+    public double[] calcularPuntajes(DecisionMatrix matriz, String modoRequest, Double alpha, double[] destino) {
+        String modo = DecisionModes.normalize(modoRequest);
 
-            for (ConfigDto c : criterios) {
-                String criterio = c.getCriterio().trim();
-                double valor = a.getValores().get(criterio);
-                double min = mins.get(criterio);
-                double max = maxs.get(criterio);
-
-                double normalizado;
-                if (Double.compare(max, min) == 0) {
-                    normalizado = 1.0; // todos iguales en ese criterio
-                } else if (DecisionMathUtils.isTipoCosto(criteriosMap.get(criterio).getTipo())) {
-                    // menor es mejor
-                    normalizado = (max - valor) / (max - min);
-                } else {
-                    // beneficio (mayor es mejor)
-                    normalizado = (valor - min) / (max - min);
-                }
+        if (DecisionModes.isRankingMode(modo)) {
+            return calcularSawNormalizado(matriz, destino);
+        }
+        if (DecisionModes.isExpectedValueMode(modo)) {
+            return calcularValorEsperado(matriz, destino);
+        }
 
-                score += (pesos.get(criterio) * normalizado);
-            }
+        switch (modo) {
+            case DecisionModes.MAXIMIN:
+                return calcularPorFila(matriz, MAXIMIN, 0.0, destino);
+            case DecisionModes.MAXIMAX:
+                return calcularPorFila(matriz, MAXIMAX, 0.0, destino);
+            case DecisionModes.LAPLACE:
+                return calcularPorFila(matriz, LAPLACE, 0.0, destino);
+            case DecisionModes.HURWICZ:
+                return calcularHurwicz(matriz, alpha, destino);
+            case DecisionModes.MINIMAX_REGRET:
+                return calcularMinimaxRegret(matriz, destino);
+            case DecisionModes.TOPSIS:
+                return calcularTopsis(matriz, ColumnStatistics.calcular(matriz, esParalelo(matriz)), destino);
+            case DecisionModes.VIKOR:
+                return calcularVikor(matriz, ColumnStatistics.calcular(matriz, esParalelo(matriz)), destino);
+            case DecisionModes.PROMETHEE:
+                return PrometheeFlows.calcular(matriz, esParalelo(matriz), destino);
+            case DecisionModes.PARETO:
+                return frenteDePareto(ParetoSkyline.calcular(matriz, esParalelo(matriz)), matriz.filas(), destino);
+            default:
+                throw new BadRequestException("Modo no soportado: '" + modoRequest + "'.");
+        }
+    }
 
-            puntajes.put(a.getNombre(), score);
+    /** Como calcularPuntajes, pero en modo pareto usa el frente ya calculado si lo hay. */
+    private void puntuar(DecisionMatrix matriz, String modo, Double alpha, double[] destino, int[] frente) {
+        if (frente != null && DecisionModes.PARETO.equals(DecisionModes.normalize(modo))) {
+            frenteDePareto(frente, matriz.filas(), destino);
+        } else {
+            calcularPuntajes(matriz, modo, alpha, destino);
         }
+    }
 
-        return puntajes;
+    /** Frente de Pareto si el modo es pareto o se pide prefiltrar; si no, null. */
+    private int[] frente(DecisionMatrix matriz, String modo, boolean prefiltrar) {
+        if (prefiltrar || DecisionModes.PARETO.equals(DecisionModes.normalize(modo))) {
+            return ParetoSkyline.calcular(matriz, esParalelo(matriz));
+        }
+        return null;
     }
 
-    // =======================
-    // VALOR ESPERADO
-    // =======================
-    private Map<String, Double> calcularValorEsperado(List<AlternativaDto> alternativas,
-                                                      List<ConfigDto> criterios,
-                                                      Map<String, ConfigDto> criteriosMap) {
+    private int[] frente(DecisionMatrix matriz, List<String> modos, boolean prefiltrar) {
+        if (prefiltrar || modos.contains(DecisionModes.PARETO)) {
+            return ParetoSkyline.calcular(matriz, esParalelo(matriz));
+        }
+        return null;
+    }
 
-        Map<String, Double> pesos = normalizarPesos(criterios);
-        Map<String, Double> puntajes = new LinkedHashMap<>();
+    private static int[] frenteDelModo(String modo, int[] frente, boolean prefiltrar) {
+        return (prefiltrar || DecisionModes.PARETO.equals(modo)) ? frente : null;
+    }
 
-        for (AlternativaDto a : alternativas) {
-            double score = 0.0;
+    /**
+     * Evalúa varios modos en una pasada fusionada: las estadísticas por fila (min, max, suma, suma
+     * ponderada) y por columna (min, max) se calculan una sola vez y se comparten; SAW y Minimax
+     * Regret, que dependen de las columnas, comparten una segunda pasada.
+     */
+    public Map<String, double[]> calcularPuntajes(DecisionMatrix matriz, List<String> modos, Double alphaRequest) {
+        return calcularPuntajes(matriz, modos, alphaRequest, null);
+    }
+
+    private Map<String, double[]> calcularPuntajes(DecisionMatrix matriz, List<String> modos, Double alphaRequest,
+                                                  int[] frente) {
+        boolean paralelo = esParalelo(matriz);
+        MatrixStatistics e = MatrixStatistics.calcular(matriz, paralelo);
+        int n = matriz.filas();
+        int m = matriz.columnas();
+
+        boolean saw = false;
+        boolean regret = false;
+        for (String modo : modos) {
+            saw |= DecisionModes.isRankingMode(modo);
+            regret |= DecisionModes.MINIMAX_REGRET.equals(modo);
+        }
 
-            for (ConfigDto c : criterios) {
-                String criterio = c.getCriterio().trim();
-                double valor = a.getValores().get(criterio);
-                double orientado = orientar(valor, criteriosMap.get(criterio).getTipo());
-                score += pesos.get(criterio) * orientado;
+        double[] sawPuntajes = saw ? new double[n] : null;
+        double[] regretPuntajes = regret ? new double[n] : null;
+        if (saw || regret) {
+            double[] v = matriz.valores();
+            double[] pesos = matriz.pesos();
+            if (paralelo) {
+                ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                        sawYRegret(v, m, pesos, e.columnaMin, e.columnaMax, sawPuntajes, regretPuntajes, desde, hasta));
+            } else {
+                sawYRegret(v, m, pesos, e.columnaMin, e.columnaMax, sawPuntajes, regretPuntajes, 0, n);
             }
+        }
 
-            puntajes.put(a.getNombre(), score);
+        // TOPSIS y VIKOR comparten un recorrido por columnas
+        ColumnStatistics columnas = null;
+
+        Map<String, double[]> resultado = new LinkedHashMap<>();
+        for (String modo : modos) {
+            double[] puntajes;
+            if (DecisionModes.isRankingMode(modo)) {
+                puntajes = sawPuntajes;
+            } else if (DecisionModes.isExpectedValueMode(modo)) {
+                puntajes = e.filaPonderada;
+            } else {
+                switch (modo) {
+                    case DecisionModes.MAXIMIN:
+                        puntajes = e.filaMin;
+                        break;
+                    case DecisionModes.MAXIMAX:
+                        puntajes = e.filaMax;
+                        break;
+                    case DecisionModes.LAPLACE:
+                        puntajes = new double[n];
+                        for (int i = 0; i < n; i++) {
+                            puntajes[i] = e.filaSuma[i] / m;
+                        }
+                        break;
+                    case DecisionModes.HURWICZ:
+                        double alpha = (alphaRequest == null) ? 0.5 : alphaRequest;
+                        if (alpha < 0.0 || alpha > 1.0) {
+                            throw new BadRequestException("El alpha de Hurwicz debe estar entre 0 y 1.");
+                        }
+                        puntajes = new double[n];
+                        for (int i = 0; i < n; i++) {
+                            puntajes[i] = (alpha * e.filaMax[i]) + ((1 - alpha) * e.filaMin[i]);
+                        }
+                        break;
+                    case DecisionModes.MINIMAX_REGRET:
+                        puntajes = regretPuntajes;
+                        break;
+                    case DecisionModes.TOPSIS:
+                        if (columnas == null) {
+                            columnas = ColumnStatistics.calcular(matriz, paralelo);
+                        }
+                        puntajes = calcularTopsis(matriz, columnas, new double[n]);
+                        break;
+                    case DecisionModes.VIKOR:
+                        if (columnas == null) {
+                            columnas = ColumnStatistics.calcular(matriz, paralelo);
+                        }
+                        puntajes = calcularVikor(matriz, columnas, new double[n]);
+                        break;
+                    case DecisionModes.PROMETHEE:
+                        puntajes = PrometheeFlows.calcular(matriz, paralelo, new double[n]);
+                        break;
+                    case DecisionModes.PARETO:
+                        puntajes = frenteDePareto((frente != null) ? frente : ParetoSkyline.calcular(matriz, paralelo),
+                                n, new double[n]);
+                        break;
+                    default:
+                        throw new BadRequestException("Modo no soportado: '" + modo + "'.");
+                }
+            }
+            resultado.put(modo, puntajes);
         }
 
-        return puntajes;
+        return resultado;
     }
 
-    // =======================
-    // MAXIMIN
-    // =======================
-    private Map<String, Double> calcularMaximin(List<AlternativaDto> alternativas,
-                                                Map<String, ConfigDto> criteriosMap) {
+    /** Puntaje del modo pareto: 1 para las alternativas no dominadas, 0 para el resto. */
+    private static double[] frenteDePareto(int[] frente, int n, double[] destino) {
+        Arrays.fill(destino, 0, n, 0.0);
+        for (int i : frente) {
+            destino[i] = 1.0;
+        }
+        return destino;
+    }
+
+    /** Segunda pasada compartida de la evaluación múltiple (cualquiera de los destinos puede ser null). */
+    private static void sawYRegret(double[] v, int m, double[] pesos, double[] columnaMin, double[] columnaMax,
+                                   double[] sawPuntajes, double[] regretPuntajes, int desde, int hasta) {
+        boolean saw = sawPuntajes != null;
+        boolean regret = regretPuntajes != null;
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double score = 0.0;
+            double peorArrepentimiento = Double.NEGATIVE_INFINITY;
 
-        Map<String, Double> puntajes = new LinkedHashMap<>();
+            for (int j = 0; j < m; j++) {
+                double valor = v[base + j];
+                double min = columnaMin[j];
+                double max = columnaMax[j];
 
-        for (AlternativaDto a : alternativas) {
-            List<Double> orientados = obtenerValoresOrientados(a, criteriosMap);
-            double peorCaso = DecisionMathUtils.min(orientados);
-            puntajes.put(a.getNombre(), peorCaso);
+                if (saw) {
+                    double normalizado = (Double.compare(max, min) == 0) ? 1.0 : (valor - min) / (max - min);
+                    score += (pesos[j] * normalizado);
+                }
+                if (regret && (max - valor) > peorArrepentimiento) {
+                    peorArrepentimiento = max - valor;
+                }
+            }
+
+            if (saw) {
+                sawPuntajes[i] = score;
+            }
+            if (regret) {
+                regretPuntajes[i] = -peorArrepentimiento;
+            }
         }
+    }
 
-        return puntajes;
+    /**
+     * true si la matriz es lo bastante grande para repartir las filas entre los hilos del pool
+     * común. Los resultados son los mismos en ambos caminos.
+     */
+    boolean esParalelo(DecisionMatrix matriz) {
+        return esParalelo(matriz.filas(), matriz.columnas());
+    }
+
+    private boolean esParalelo(int filas, int columnas) {
+        return (long) filas * columnas >= umbralParalelo && filas > 1;
     }
 
     // =======================
-    // MAXIMAX
+    // MODO RANKING / SAW
     // =======================
-    private Map<String, Double> calcularMaximax(List<AlternativaDto> alternativas,
-                                                Map<String, ConfigDto> criteriosMap) {
-
-        Map<String, Double> puntajes = new LinkedHashMap<>();
+    private double[] calcularSawNormalizado(DecisionMatrix matriz, double[] puntajes) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] pesos = matriz.pesos();
+
+        // min y max orientados por criterio, en un solo recorrido de la matriz
+        ScoringScratch scratch = ScoringScratch.actual();
+        double[] mins = scratch.columnaA(m);
+        double[] maxs = scratch.columnaB(m);
+
+        if (esParalelo(matriz)) {
+            ParallelRows.extremosPorColumna(v, n, m, mins, maxs);
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    RowKernels.saw(v, m, pesos, mins, maxs, puntajes, desde, hasta));
+            return puntajes;
+        }
 
-        for (AlternativaDto a : alternativas) {
-            List<Double> orientados = obtenerValoresOrientados(a, criteriosMap);
-            double mejorCaso = DecisionMathUtils.max(orientados);
-            puntajes.put(a.getNombre(), mejorCaso);
+        Arrays.fill(mins, 0, m, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, 0, m, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < n; i++) {
+            int base = i * m;
+            for (int j = 0; j < m; j++) {
+                double valor = v[base + j];
+                if (valor < mins[j]) {
+                    mins[j] = valor;
+                }
+                if (valor > maxs[j]) {
+                    maxs[j] = valor;
+                }
+            }
         }
 
+        RowKernels.saw(v, m, pesos, mins, maxs, puntajes, 0, n);
         return puntajes;
     }
 
     // =======================
-    // LAPLACE
+    // VALOR ESPERADO
     // =======================
-    private Map<String, Double> calcularLaplace(List<AlternativaDto> alternativas,
-                                                Map<String, ConfigDto> criteriosMap) {
-
-        Map<String, Double> puntajes = new LinkedHashMap<>();
-
-        for (AlternativaDto a : alternativas) {
-            List<Double> orientados = obtenerValoresOrientados(a, criteriosMap);
-            double promedio = DecisionMathUtils.average(orientados);
-            puntajes.put(a.getNombre(), promedio);
+    private double[] calcularValorEsperado(DecisionMatrix matriz, double[] puntajes) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] pesos = matriz.pesos();
+
+        if (esParalelo(matriz)) {
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    RowKernels.valorEsperado(v, m, pesos, puntajes, desde, hasta));
+        } else {
+            RowKernels.valorEsperado(v, m, pesos, puntajes, 0, n);
         }
-
         return puntajes;
     }
 
     // =======================
-    // HURWICZ
+    // MAXIMIN / MAXIMAX / LAPLACE / HURWICZ
     // =======================
-    private Map<String, Double> calcularHurwicz(List<AlternativaDto> alternativas,
-                                                Map<String, ConfigDto> criteriosMap,
-                                                Double alphaRequest) {
+    private double[] calcularPorFila(DecisionMatrix matriz, int tipo, double alpha, double[] puntajes) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+
+        if (esParalelo(matriz)) {
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    porFila(v, m, tipo, alpha, puntajes, desde, hasta));
+        } else {
+            porFila(v, m, tipo, alpha, puntajes, 0, n);
+        }
+        return puntajes;
+    }
+
+    private static final int MAXIMIN = 0;
+    private static final int MAXIMAX = 1;
+    private static final int LAPLACE = 2;
+    private static final int HURWICZ = 3;
+
+    private void porFila(double[] v, int m, int tipo, double alpha, double[] puntajes, int desde, int hasta) {
+        switch (tipo) {
+            case MAXIMIN:
+                RowKernels.minimo(v, m, puntajes, desde, hasta); // peor caso
+                break;
+            case MAXIMAX:
+                RowKernels.maximo(v, m, puntajes, desde, hasta); // mejor caso
+                break;
+            case LAPLACE:
+                RowKernels.promedio(v, m, puntajes, desde, hasta);
+                break;
+            default:
+                RowKernels.hurwicz(v, m, alpha, puntajes, desde, hasta);
+        }
+    }
+
+    private double[] calcularHurwicz(DecisionMatrix matriz, Double alphaRequest, double[] puntajes) {
+        return calcularPorFila(matriz, HURWICZ, alphaHurwicz(alphaRequest), puntajes);
+    }
 
+    private static double alphaHurwicz(Double alphaRequest) {
         double alpha = (alphaRequest == null) ? 0.5 : alphaRequest;
         if (alpha < 0.0 || alpha > 1.0) {
             throw new BadRequestException("El alpha de Hurwicz debe estar entre 0 y 1.");
         }
+        return alpha;
+    }
 
-        Map<String, Double> puntajes = new LinkedHashMap<>();
-
-        for (AlternativaDto a : alternativas) {
-            List<Double> orientados = obtenerValoresOrientados(a, criteriosMap);
-            double min = DecisionMathUtils.min(orientados);
-            double max = DecisionMathUtils.max(orientados);
-
-            double score = (alpha * max) + ((1 - alpha) * min);
-            puntajes.put(a.getNombre(), score);
+    // =======================
+    // TOPSIS
+    // =======================
+    /**
+     * Normalización vectorial ponderada (peso * valor / norma de la columna) y cercanía relativa
+     * D- / (D+ + D-), con D+ y D- las distancias euclídeas a la alternativa ideal (máximo por
+     * criterio) y a la anti-ideal (mínimo). Si todas las columnas son constantes, todas valen 1.
+     */
+    private double[] calcularTopsis(DecisionMatrix matriz, ColumnStatistics c, double[] puntajes) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] pesos = matriz.pesos();
+
+        // el escalado es monótono, así que ideal y anti-ideal salen de los extremos sin normalizar
+        double[] escala = new double[m];
+        double[] ideal = new double[m];
+        double[] antiIdeal = new double[m];
+        for (int j = 0; j < m; j++) {
+            escala[j] = (c.norma[j] > 0.0) ? pesos[j] / c.norma[j] : 0.0;
+            ideal[j] = c.maximo[j] * escala[j];
+            antiIdeal[j] = c.minimo[j] * escala[j];
         }
 
+        if (esParalelo(matriz)) {
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    topsis(v, m, escala, ideal, antiIdeal, puntajes, desde, hasta));
+        } else {
+            topsis(v, m, escala, ideal, antiIdeal, puntajes, 0, n);
+        }
         return puntajes;
     }
 
-    // =======================
-    // MINIMAX REGRET
-    // =======================
-    private Map<String, Double> calcularMinimaxRegret(List<AlternativaDto> alternativas,
-                                                      Map<String, ConfigDto> criteriosMap) {
-
-        // Mejor valor orientado por criterio
-        Map<String, Double> mejorPorCriterio = new HashMap<>();
-
-        for (String criterio : criteriosMap.keySet()) {
-            double mejor = Double.NEGATIVE_INFINITY;
-            for (AlternativaDto a : alternativas) {
-                double valor = a.getValores().get(criterio);
-                double orientado = orientar(valor, criteriosMap.get(criterio).getTipo());
-                if (orientado > mejor) {
-                    mejor = orientado;
-                }
+    private static void topsis(double[] v, int m, double[] escala, double[] ideal, double[] antiIdeal,
+                               double[] puntajes, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double alIdeal = 0.0;
+            double alAntiIdeal = 0.0;
+
+            for (int j = 0; j < m; j++) {
+                double ponderado = v[base + j] * escala[j];
+                double dIdeal = ponderado - ideal[j];
+                double dAntiIdeal = ponderado - antiIdeal[j];
+                alIdeal += dIdeal * dIdeal;
+                alAntiIdeal += dAntiIdeal * dAntiIdeal;
             }
-            mejorPorCriterio.put(criterio, mejor);
+
+            double positiva = Math.sqrt(alIdeal);
+            double negativa = Math.sqrt(alAntiIdeal);
+            double total = positiva + negativa;
+            puntajes[i] = (total == 0.0) ? 1.0 : negativa / total;
         }
+    }
 
-        Map<String, Double> puntajes = new LinkedHashMap<>();
+    // =======================
+    // VIKOR
+    // =======================
+    /**
+     * Utilidad de grupo S (suma ponderada de distancias normalizadas al ideal) y arrepentimiento
+     * individual R (la mayor de esas distancias) por fila; Q = v·(S - S*)/(S- - S*) +
+     * (1 - v)·(R - R*)/(R- - R*) con v = 0.5. Menor Q es mejor, así que el puntaje es 1 - Q.
+     */
+    private double[] calcularVikor(DecisionMatrix matriz, ColumnStatistics c, double[] puntajes) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] pesos = matriz.pesos();
+
+        double[] escala = new double[m];
+        for (int j = 0; j < m; j++) {
+            double rango = c.maximo[j] - c.minimo[j];
+            escala[j] = (rango > 0.0) ? pesos[j] / rango : 0.0;
+        }
 
-        for (AlternativaDto a : alternativas) {
-            double peorArrepentimiento = Double.NEGATIVE_INFINITY;
+        // S queda en puntajes hasta el cálculo de Q
+        double[] arrepentimiento = new double[n];
+        if (esParalelo(matriz)) {
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    vikor(v, m, escala, c.maximo, puntajes, arrepentimiento, desde, hasta));
+        } else {
+            vikor(v, m, escala, c.maximo, puntajes, arrepentimiento, 0, n);
+        }
 
-            for (String criterio : criteriosMap.keySet()) {
-                double valor = a.getValores().get(criterio);
-                double orientado = orientar(valor, criteriosMap.get(criterio).getTipo());
+        double sMin = Double.POSITIVE_INFINITY;
+        double sMax = Double.NEGATIVE_INFINITY;
+        double rMin = Double.POSITIVE_INFINITY;
+        double rMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            sMin = Math.min(sMin, puntajes[i]);
+            sMax = Math.max(sMax, puntajes[i]);
+            rMin = Math.min(rMin, arrepentimiento[i]);
+            rMax = Math.max(rMax, arrepentimiento[i]);
+        }
 
-                double mejor = mejorPorCriterio.get(criterio);
-                double arrepentimiento = mejor - orientado; // >= 0 si está bien orientado
+        double sRango = sMax - sMin;
+        double rRango = rMax - rMin;
+        for (int i = 0; i < n; i++) {
+            double q = 0.0;
+            if (sRango > 0.0) {
+                q += V_VIKOR * (puntajes[i] - sMin) / sRango;
+            }
+            if (rRango > 0.0) {
+                q += (1 - V_VIKOR) * (arrepentimiento[i] - rMin) / rRango;
+            }
+            puntajes[i] = 1.0 - q;
+        }
+        return puntajes;
+    }
 
-                if (arrepentimiento > peorArrepentimiento) {
-                    peorArrepentimiento = arrepentimiento;
+    private static void vikor(double[] v, int m, double[] escala, double[] ideal, double[] utilidad,
+                              double[] arrepentimiento, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double s = 0.0;
+            double r = 0.0;
+
+            for (int j = 0; j < m; j++) {
+                double distancia = escala[j] * (ideal[j] - v[base + j]);
+                s += distancia;
+                if (distancia > r) {
+                    r = distancia;
                 }
             }
 
-            // Para mantener "mayor puntaje = mejor", invertimos el signo
-            puntajes.put(a.getNombre(), -peorArrepentimiento);
+            utilidad[i] = s;
+            arrepentimiento[i] = r;
         }
-
-        return puntajes;
     }
 
     // =======================
-    // Helpers internos
+    // MINIMAX REGRET
     // =======================
-    private List<Double> obtenerValoresOrientados(AlternativaDto alternativa,
-                                                  Map<String, ConfigDto> criteriosMap) {
-        List<Double> lista = new ArrayList<>();
+    private double[] calcularMinimaxRegret(DecisionMatrix matriz, double[] puntajes) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
 
-        for (String criterio : criteriosMap.keySet()) {
-            double valor = alternativa.getValores().get(criterio);
-            String tipo = criteriosMap.get(criterio).getTipo();
-            lista.add(orientar(valor, tipo));
+        // Mejor valor orientado por criterio
+        double[] mejorPorCriterio = ScoringScratch.actual().columnaA(m);
+
+        if (esParalelo(matriz)) {
+            ParallelRows.extremosPorColumna(v, n, m, null, mejorPorCriterio);
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    minimaxRegret(v, m, mejorPorCriterio, puntajes, desde, hasta));
+            return puntajes;
         }
 
-        return lista;
-    }
+        Arrays.fill(mejorPorCriterio, 0, m, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < n; i++) {
+            int base = i * m;
+            for (int j = 0; j < m; j++) {
+                if (v[base + j] > mejorPorCriterio[j]) {
+                    mejorPorCriterio[j] = v[base + j];
+                }
+            }
+        }
 
-    private double orientar(double valor, String tipo) {
-        return DecisionMathUtils.isTipoCosto(tipo) ? -valor : valor;
+        minimaxRegret(v, m, mejorPorCriterio, puntajes, 0, n);
+        return puntajes;
     }
 
-    private Map<String, Double> normalizarPesos(List<ConfigDto> criterios) {
-        Map<String, Double> pesos = new LinkedHashMap<>();
-        double suma = 0.0;
+    private static void minimaxRegret(double[] v, int m, double[] mejorPorCriterio, double[] puntajes,
+                                      int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double peorArrepentimiento = Double.NEGATIVE_INFINITY;
 
-        for (ConfigDto c : criterios) {
-            suma += (c.getPeso() == null ? 0.0 : c.getPeso());
-        }
+            for (int j = 0; j < m; j++) {
+                double arrepentimiento = mejorPorCriterio[j] - v[base + j]; // >= 0 si está bien orientado
 
-        if (suma <= 0.0) {
-            // Si todos vienen en 0, repartir igual
-            double uniforme = 1.0 / criterios.size();
-            for (ConfigDto c : criterios) {
-                pesos.put(c.getCriterio().trim(), uniforme);
+                if (arrepentimiento > peorArrepentimiento) {
+                    peorArrepentimiento = arrepentimiento;
+                }
             }
-            return pesos;
-        }
 
-        for (ConfigDto c : criterios) {
-            pesos.put(c.getCriterio().trim(), c.getPeso() / suma);
+            // Para mantener "mayor puntaje = mejor", invertimos el signo
+            puntajes[i] = -peorArrepentimiento;
         }
-
-        return pesos;
     }
 }
@@ -0,0 +1,232 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.PreferenceFunctions;
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BadRequestException;
+import com.decisiontree.backend.util.DecisionMathUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matriz de decisión compilada a primitivos.
+ *
+ * Los valores se guardan en un único double[] fila por fila (alternativa i, criterio j
+ * en la posición i * columnas + j) y ya orientados: los criterios de costo se niegan una
+ * sola vez al compilar, de modo que en todos los modos "mayor es mejor".
+ */
+public final class DecisionMatrix {
+
+    private final String[] alternativas;
+    private final String[] criterios;
+    private final double[] pesos;
+    private final boolean[] costo;
+    private final double[] valores;
+
+    // PROMETHEE: función de preferencia y umbrales por criterio (null: usual en todos)
+    private final String[] funcionesPreferencia;
+    private final double[] umbralesIndiferencia;
+    private final double[] umbralesPreferencia;
+
+    public DecisionMatrix(String[] alternativas, String[] criterios, double[] pesos,
+                          boolean[] costo, double[] valores) {
+        this(alternativas, criterios, pesos, costo, valores, null, null, null);
+    }
+
+    DecisionMatrix(String[] alternativas, String[] criterios, double[] pesos, boolean[] costo, double[] valores,
+                   String[] funcionesPreferencia, double[] umbralesIndiferencia, double[] umbralesPreferencia) {
+        this.alternativas = alternativas;
+        this.criterios = criterios;
+        this.pesos = pesos;
+        this.costo = costo;
+        this.valores = valores;
+        this.funcionesPreferencia = funcionesPreferencia;
+        this.umbralesIndiferencia = umbralesIndiferencia;
+        this.umbralesPreferencia = umbralesPreferencia;
+    }
+
+    /**
+     * Compila un request ya validado. Los criterios duplicados conservan la primera aparición,
+     * igual que el mapa de criterios que usaba el calculador.
+     */
+    public static DecisionMatrix compile(DecisionRequest request) {
+        List<ConfigDto> criterios = criteriosUnicos(request.getCriterios());
+        int m = criterios.size();
+        String[] nombresCriterio = new String[m];
+        boolean[] costo = new boolean[m];
+        for (int j = 0; j < m; j++) {
+            nombresCriterio[j] = criterios.get(j).getCriterio().trim();
+            costo[j] = DecisionMathUtils.isTipoCosto(criterios.get(j).getTipo());
+        }
+
+        List<AlternativaDto> lista = request.getAlternativas();
+        int n = lista.size();
+        double[] valores = new double[celdas(n, m)];
+        String[] alternativas = new String[n];
+
+        for (int i = 0; i < n; i++) {
+            AlternativaDto a = lista.get(i);
+            alternativas[i] = a.getNombre();
+            Map<String, Double> valoresAlt = a.getValores();
+            int base = i * m;
+            for (int k = 0; k < m; k++) {
+                double valor = valoresAlt.get(nombresCriterio[k]);
+                valores[base + k] = costo[k] ? -valor : valor;
+            }
+        }
+
+        return desdeValoresOrientados(alternativas, criterios, valores);
+    }
+
+    /**
+     * Cantidad de valores (n * m) de una matriz de n filas y m columnas. Si no entra en un
+     * double[], la matriz se rechaza con 400; con n * m acotado, i * m + j tampoco desborda.
+     */
+    public static int celdas(int n, int m) {
+        try {
+            return Math.multiplyExact(n, m);
+        } catch (ArithmeticException ex) {
+            throw new BadRequestException("La matriz de " + n + " alternativas por " + m
+                    + " criterios supera el máximo de " + Integer.MAX_VALUE + " valores.");
+        }
+    }
+
+    /**
+     * Criterios sin repetir (por nombre recortado, se queda la primera aparición), en el orden
+     * de las columnas de la matriz.
+     */
+    public static List<ConfigDto> criteriosUnicos(List<ConfigDto> criterios) {
+        Map<String, ConfigDto> criteriosMap = new LinkedHashMap<>();
+        for (ConfigDto c : criterios) {
+            criteriosMap.putIfAbsent(c.getCriterio().trim(), c);
+        }
+        return new ArrayList<>(criteriosMap.values());
+    }
+
+    /**
+     * Arma la matriz a partir de valores ya orientados (costo negado), fila por fila, con una
+     * columna por cada criterio de criteriosUnicos. valores puede tener capacidad de sobra.
+     */
+    public static DecisionMatrix desdeValoresOrientados(String[] alternativas, List<ConfigDto> criteriosUnicos,
+                                                        double[] valores) {
+        int m = criteriosUnicos.size();
+        String[] criterios = new String[m];
+        boolean[] costo = new boolean[m];
+        double[] pesosCrudos = new double[m];
+        String[] funciones = new String[m];
+        double[] indiferencia = new double[m];
+        double[] preferencia = new double[m];
+
+        for (int j = 0; j < m; j++) {
+            ConfigDto c = criteriosUnicos.get(j);
+            criterios[j] = c.getCriterio().trim();
+            costo[j] = DecisionMathUtils.isTipoCosto(c.getTipo());
+            pesosCrudos[j] = (c.getPeso() == null) ? 0.0 : c.getPeso();
+            funciones[j] = PreferenceFunctions.normalize(c.getFuncionPreferencia());
+            indiferencia[j] = (c.getUmbralIndiferencia() == null) ? 0.0 : c.getUmbralIndiferencia();
+            preferencia[j] = (c.getUmbralPreferencia() == null) ? 0.0 : c.getUmbralPreferencia();
+        }
+
+        return new DecisionMatrix(alternativas, criterios, normalizarPesos(pesosCrudos), costo, valores,
+                funciones, indiferencia, preferencia);
+    }
+
+    /**
+     * La misma matriz (comparte valores y umbrales) con los pesos dados por nombre de criterio,
+     * reescalados para que sumen 1. Los criterios que no aparecen quedan con peso 0.
+     */
+    public DecisionMatrix conPesos(Map<String, Double> pesosPorCriterio) {
+        double[] pesosCrudos = new double[criterios.length];
+        for (int j = 0; j < criterios.length; j++) {
+            Double peso = pesosPorCriterio.get(criterios[j]);
+            pesosCrudos[j] = (peso == null) ? 0.0 : peso;
+        }
+        return new DecisionMatrix(alternativas, criterios, normalizarPesos(pesosCrudos), costo, valores,
+                funcionesPreferencia, umbralesIndiferencia, umbralesPreferencia);
+    }
+
+    /**
+     * Reescala los pesos para que sumen 1. Si todos vienen en 0 se reparte igual.
+     */
+    static double[] normalizarPesos(double[] pesosCrudos) {
+        int m = pesosCrudos.length;
+        double[] pesos = new double[m];
+        double suma = 0.0;
+
+        for (double p : pesosCrudos) {
+            suma += p;
+        }
+
+        if (suma <= 0.0) {
+            double uniforme = 1.0 / m;
+            for (int j = 0; j < m; j++) {
+                pesos[j] = uniforme;
+            }
+            return pesos;
+        }
+
+        for (int j = 0; j < m; j++) {
+            pesos[j] = pesosCrudos[j] / suma;
+        }
+        return pesos;
+    }
+
+    public int filas() {
+        return alternativas.length;
+    }
+
+    public int columnas() {
+        return criterios.length;
+    }
+
+    public String alternativa(int i) {
+        return alternativas[i];
+    }
+
+    public String criterio(int j) {
+        return criterios[j];
+    }
+
+    /** Peso normalizado del criterio j. */
+    public double peso(int j) {
+        return pesos[j];
+    }
+
+    public boolean esCosto(int j) {
+        return costo[j];
+    }
+
+    /** Valor orientado (costo negado) de la alternativa i en el criterio j. */
+    public double valor(int i, int j) {
+        return valores[i * criterios.length + j];
+    }
+
+    /** Arreglo plano fila por fila de valores orientados; no debe modificarse. */
+    double[] valores() {
+        return valores;
+    }
+
+    /** Pesos normalizados; no deben modificarse. */
+    double[] pesos() {
+        return pesos;
+    }
+
+    /** Función de preferencia de PROMETHEE del criterio j (PreferenceFunctions). */
+    String funcionPreferencia(int j) {
+        return (funcionesPreferencia == null) ? PreferenceFunctions.USUAL : funcionesPreferencia[j];
+    }
+
+    /** Umbral de indiferencia q del criterio j (0 si no vino). */
+    double umbralIndiferencia(int j) {
+        return (umbralesIndiferencia == null) ? 0.0 : umbralesIndiferencia[j];
+    }
+
+    /** Umbral de preferencia p (o s en la gaussiana) del criterio j (0 si no vino). */
+    double umbralPreferencia(int j) {
+        return (umbralesPreferencia == null) ? 0.0 : umbralesPreferencia[j];
+    }
+}
@@ -0,0 +1,146 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.util.DecisionMathUtils;
+
+import java.util.Arrays;
+
+/**
+ * Barrido del alpha de Hurwicz sobre una matriz.
+ *
+ * El puntaje de cada alternativa es la recta alpha * max + (1 - alpha) * min, así que con el
+ * min y max por fila (un recorrido de la matriz) se obtiene el puntaje para cualquier alpha
+ * sin volver a leerla. La ganadora en cada alpha es la recta más alta: la envolvente superior
+ * de las n rectas (ordenar por pendiente y armar el casco, O(n log n)) da los tramos de alpha
+ * en [0, 1] y los cortes exactos donde cambia la ganadora, sin muestrear.
+ *
+ * En un corte las dos alternativas empatan; el tramo empieza con la que gana a partir de ahí.
+ */
+public final class HurwiczSweep {
+
+    private final double[] filaMin;
+    private final double[] filaMax;
+
+    private final int[] ganadores;
+    private final double[] desde;
+    private final double[] hasta;
+
+    private HurwiczSweep(double[] filaMin, double[] filaMax, int[] ganadores, double[] desde, double[] hasta) {
+        this.filaMin = filaMin;
+        this.filaMax = filaMax;
+        this.ganadores = ganadores;
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    public static HurwiczSweep calcular(DecisionMatrix matriz) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+
+        double[] filaMin = new double[n];
+        double[] filaMax = new double[n];
+        for (int i = 0; i < n; i++) {
+            filaMin[i] = DecisionMathUtils.min(v, i * m, (i + 1) * m);
+            filaMax[i] = DecisionMathUtils.max(v, i * m, (i + 1) * m);
+        }
+
+        // Recta i: y = filaMin[i] + alpha * pendiente[i]
+        double[] pendiente = new double[n];
+        for (int i = 0; i < n; i++) {
+            pendiente[i] = filaMax[i] - filaMin[i];
+        }
+
+        // Por pendiente creciente; a igual pendiente queda primero la más alta (y, si empatan,
+        // la que aparece antes en la matriz, como en el ranking)
+        Integer[] orden = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (a, b) -> {
+            int c = Double.compare(pendiente[a], pendiente[b]);
+            if (c != 0) {
+                return c;
+            }
+            c = Double.compare(filaMin[b], filaMin[a]);
+            return (c != 0) ? c : Integer.compare(a, b);
+        });
+
+        int[] casco = new int[n];
+        int h = 0;
+        for (int k = 0; k < n; k++) {
+            int c = orden[k];
+            if (h > 0 && Double.compare(pendiente[casco[h - 1]], pendiente[c]) == 0) {
+                continue; // paralela por debajo (o igual y posterior)
+            }
+            while (h >= 2 && sobra(casco[h - 2], casco[h - 1], c, filaMin, pendiente)) {
+                h--;
+            }
+            casco[h++] = c;
+        }
+
+        // Cada recta del casco gana entre su corte con la anterior y con la siguiente;
+        // se recortan los tramos a [0, 1]
+        int[] ganadores = new int[h];
+        double[] desde = new double[h];
+        double[] hasta = new double[h];
+        int tramos = 0;
+        double inicio = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < h; k++) {
+            double fin = (k == h - 1) ? Double.POSITIVE_INFINITY : corte(casco[k], casco[k + 1], filaMin, pendiente);
+            double a = Math.max(0.0, inicio);
+            double b = Math.min(1.0, fin);
+            if (b > a) {
+                ganadores[tramos] = casco[k];
+                desde[tramos] = a;
+                hasta[tramos] = b;
+                tramos++;
+            }
+            inicio = fin;
+        }
+
+        return new HurwiczSweep(filaMin, filaMax, Arrays.copyOf(ganadores, tramos),
+                Arrays.copyOf(desde, tramos), Arrays.copyOf(hasta, tramos));
+    }
+
+    /**
+     * Puntajes sin redondear para un alpha, con la misma fórmula que el modo hurwicz.
+     */
+    public double[] puntajes(double alpha, double[] destino) {
+        for (int i = 0; i < filaMin.length; i++) {
+            destino[i] = (alpha * filaMax[i]) + ((1 - alpha) * filaMin[i]);
+        }
+        return destino;
+    }
+
+    /** Cantidad de tramos de alpha con una misma ganadora, de izquierda a derecha. */
+    public int tramos() {
+        return ganadores.length;
+    }
+
+    /** Fila de la matriz que gana en el tramo k. */
+    public int ganador(int k) {
+        return ganadores[k];
+    }
+
+    public double desde(int k) {
+        return desde[k];
+    }
+
+    public double hasta(int k) {
+        return hasta[k];
+    }
+
+    /** alpha donde la recta b alcanza a la a (pendiente de b mayor). */
+    private static double corte(int a, int b, double[] ordenada, double[] pendiente) {
+        return (ordenada[a] - ordenada[b]) / (pendiente[b] - pendiente[a]);
+    }
+
+    /**
+     * true si la recta b (pendiente entre a y c) nunca queda por encima de las otras dos:
+     * c alcanza a la a antes (o en el mismo punto) que b.
+     */
+    private static boolean sobra(int a, int b, int c, double[] ordenada, double[] pendiente) {
+        return (ordenada[a] - ordenada[c]) * (pendiente[b] - pendiente[a])
+                <= (ordenada[a] - ordenada[b]) * (pendiente[c] - pendiente[a]);
+    }
+}
@@ -0,0 +1,474 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.RankingItemDto;
+import com.decisiontree.backend.exception.BadRequestException;
+import com.decisiontree.backend.util.DecisionMathUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Matriz de decisión editable con rankings que se mantienen al agregar, modificar o quitar
+ * alternativas, para las sesiones interactivas.
+ *
+ * El min y max orientado de cada columna se actualizan en O(1) por valor; solo cuando sale de
+ * la columna el valor que era el extremo se vuelve a recorrer esa columna. Si ningún extremo
+ * cambia, se recalcula únicamente la fila editada (O(m)) y se reubica en el orden de cada
+ * modo (O(log n)). Si cambia alguno, SAW y Minimax Regret (que dependen de las columnas) se
+ * recalculan completos; los demás modos solo dependen de su fila.
+ *
+ * Los puntajes usan las mismas operaciones y en el mismo orden que DecisionCriteriaCalculator,
+ * así que el ranking es idéntico al de evaluar la matriz completa. Los empates se rompen por
+ * orden de llegada de la alternativa (como su posición en la lista). No es thread-safe.
+ */
+public final class IncrementalRanking {
+
+    private static final int SAW = 0;
+    private static final int VALOR_ESPERADO = 1;
+    private static final int MAXIMIN = 2;
+    private static final int MAXIMAX = 3;
+    private static final int LAPLACE = 4;
+    private static final int HURWICZ = 5;
+    private static final int MINIMAX_REGRET = 6;
+
+    private final int m;
+    private final String[] criterios;
+    private final double[] pesos;
+    private final boolean[] costo;
+    private final Map<String, Integer> columnaPorNombre = new HashMap<>();
+    private final double alpha;
+
+    private int n;
+    private double[] valores;
+    private String[] nombres;
+    private long[] secuencia;
+    private long siguienteSecuencia;
+    private final Map<String, Integer> filaPorNombre = new HashMap<>();
+
+    private final double[] columnaMin;
+    private final double[] columnaMax;
+
+    private final Map<String, Modo> modos = new LinkedHashMap<>();
+    private final boolean dependeDeColumnas;
+
+    public IncrementalRanking(DecisionMatrix matriz, List<String> modosRequest, Double alphaRequest) {
+        this.m = matriz.columnas();
+        this.criterios = new String[m];
+        this.costo = new boolean[m];
+        this.pesos = matriz.pesos().clone();
+        for (int j = 0; j < m; j++) {
+            criterios[j] = matriz.criterio(j);
+            costo[j] = matriz.esCosto(j);
+            columnaPorNombre.put(criterios[j], j);
+        }
+
+        this.alpha = (alphaRequest == null) ? 0.5 : alphaRequest;
+        if (alpha < 0.0 || alpha > 1.0) {
+            throw new BadRequestException("El alpha de Hurwicz debe estar entre 0 y 1.");
+        }
+
+        this.n = matriz.filas();
+        int capacidad = Math.max(16, n);
+        this.valores = Arrays.copyOf(matriz.valores(), capacidad * m);
+        this.nombres = new String[capacidad];
+        this.secuencia = new long[capacidad];
+        for (int i = 0; i < n; i++) {
+            nombres[i] = matriz.alternativa(i);
+            secuencia[i] = siguienteSecuencia++;
+            filaPorNombre.put(clave(nombres[i]), i);
+        }
+
+        this.columnaMin = new double[m];
+        this.columnaMax = new double[m];
+        for (int j = 0; j < m; j++) {
+            reescanearColumna(j);
+        }
+
+        boolean columnas = false;
+        for (String modo : modosRequest) {
+            Modo estado = new Modo(tipo(modo), capacidad);
+            modos.put(modo, estado);
+            columnas |= estado.dependeDeColumnas();
+        }
+        this.dependeDeColumnas = columnas;
+
+        for (Modo modo : modos.values()) {
+            recalcularCompleto(modo);
+        }
+    }
+
+    // =======================
+    // consultas
+    // =======================
+    public int filas() {
+        return n;
+    }
+
+    public int columnas() {
+        return m;
+    }
+
+    public String criterio(int j) {
+        return criterios[j];
+    }
+
+    public boolean esCosto(int j) {
+        return costo[j];
+    }
+
+    /** Columna del criterio (nombre recortado), o -1 si no existe. */
+    public int columna(String criterio) {
+        Integer j = columnaPorNombre.get(criterio);
+        return (j == null) ? -1 : j;
+    }
+
+    /** true si ya hay una alternativa con ese nombre (sin distinguir mayúsculas ni espacios). */
+    public boolean contiene(String nombre) {
+        return filaPorNombre.containsKey(clave(nombre));
+    }
+
+    /**
+     * Posiciones [desde, hasta) del ranking del modo, en orden.
+     */
+    public List<RankingItemDto> ranking(String modo, int desde, int hasta) {
+        Modo estado = modos.get(modo);
+        int fin = Math.min(hasta, n);
+        List<RankingItemDto> ranking = new ArrayList<>(Math.max(0, fin - desde));
+
+        Iterator<Integer> it = estado.orden.iterator();
+        for (int p = 0; p < fin && it.hasNext(); p++) {
+            int i = it.next();
+            if (p >= desde) {
+                ranking.add(new RankingItemDto(nombres[i], estado.redondeados[i]));
+            }
+        }
+        return ranking;
+    }
+
+    // =======================
+    // ediciones
+    // =======================
+
+    /**
+     * Agrega una alternativa al final. valoresOriginales va en el orden de las columnas y sin
+     * orientar (como vienen en el request).
+     */
+    public void agregar(String nombre, double[] valoresOriginales) {
+        asegurarCapacidad(n + 1);
+        int i = n++;
+        nombres[i] = nombre;
+        secuencia[i] = siguienteSecuencia++;
+        filaPorNombre.put(clave(nombre), i);
+
+        boolean cambioColumnas = false;
+        int base = i * m;
+        for (int j = 0; j < m; j++) {
+            double v = orientar(j, valoresOriginales[j]);
+            valores[base + j] = v;
+            if (v < columnaMin[j]) {
+                columnaMin[j] = v;
+                cambioColumnas = true;
+            }
+            if (v > columnaMax[j]) {
+                columnaMax[j] = v;
+                cambioColumnas = true;
+            }
+        }
+
+        reubicar(i, cambioColumnas);
+    }
+
+    /**
+     * Cambia algunos valores (columnas[k] = valoresOriginales[k]) y, si nuevoNombre no es null,
+     * el nombre de la alternativa.
+     */
+    public void actualizar(String nombre, String nuevoNombre, int[] columnas, double[] valoresOriginales) {
+        int i = fila(nombre);
+        sacarDelOrden(i);
+
+        if (nuevoNombre != null) {
+            filaPorNombre.remove(clave(nombres[i]));
+            nombres[i] = nuevoNombre;
+            filaPorNombre.put(clave(nuevoNombre), i);
+        }
+
+        boolean cambioColumnas = false;
+        int base = i * m;
+        for (int k = 0; k < columnas.length; k++) {
+            int j = columnas[k];
+            double anterior = valores[base + j];
+            double v = orientar(j, valoresOriginales[k]);
+            valores[base + j] = v;
+            cambioColumnas |= ajustarColumna(j, anterior, v);
+        }
+
+        reubicar(i, cambioColumnas);
+    }
+
+    public void eliminar(String nombre) {
+        int i = fila(nombre);
+        sacarDelOrden(i);
+        filaPorNombre.remove(clave(nombres[i]));
+
+        // Guarda qué columnas tenían su extremo en la fila que se va
+        boolean[] reescanear = new boolean[m];
+        int base = i * m;
+        for (int j = 0; j < m; j++) {
+            double v = valores[base + j];
+            reescanear[j] = (v == columnaMin[j] || v == columnaMax[j]);
+        }
+
+        // La última fila ocupa el lugar de la eliminada; su secuencia mantiene el desempate
+        int ultima = n - 1;
+        if (i != ultima) {
+            sacarDelOrden(ultima);
+            System.arraycopy(valores, ultima * m, valores, base, m);
+            nombres[i] = nombres[ultima];
+            secuencia[i] = secuencia[ultima];
+            filaPorNombre.put(clave(nombres[i]), i);
+            for (Modo modo : modos.values()) {
+                modo.puntajes[i] = modo.puntajes[ultima];
+                modo.redondeados[i] = modo.redondeados[ultima];
+                modo.orden.add(i);
+            }
+        }
+        nombres[ultima] = null;
+        n--;
+
+        boolean cambioColumnas = false;
+        for (int j = 0; j < m; j++) {
+            if (reescanear[j]) {
+                cambioColumnas |= reescanearColumna(j);
+            }
+        }
+        if (cambioColumnas && dependeDeColumnas) {
+            for (Modo modo : modos.values()) {
+                if (modo.dependeDeColumnas()) {
+                    recalcularCompleto(modo);
+                }
+            }
+        }
+    }
+
+    // =======================
+    // internos
+    // =======================
+    private int fila(String nombre) {
+        Integer i = filaPorNombre.get(clave(nombre));
+        if (i == null) {
+            throw new IllegalArgumentException("Alternativa inexistente: " + nombre);
+        }
+        return i;
+    }
+
+    private static String clave(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private double orientar(int j, double valor) {
+        return costo[j] ? -valor : valor;
+    }
+
+    /**
+     * Actualiza min y max de la columna j cuando un valor pasa de anterior a nuevo. Solo si el
+     * anterior era el extremo y el nuevo no lo alcanza se recorre la columna.
+     *
+     * @return true si el min o el max de la columna cambió
+     */
+    private boolean ajustarColumna(int j, double anterior, double nuevo) {
+        if (nuevo == anterior) {
+            return false;
+        }
+        boolean cambio = false;
+        boolean reescanear = false;
+
+        if (nuevo < columnaMin[j]) {
+            columnaMin[j] = nuevo;
+            cambio = true;
+        } else if (anterior == columnaMin[j]) {
+            reescanear = true;
+        }
+        if (nuevo > columnaMax[j]) {
+            columnaMax[j] = nuevo;
+            cambio = true;
+        } else if (anterior == columnaMax[j]) {
+            reescanear = true;
+        }
+
+        if (reescanear) {
+            cambio |= reescanearColumna(j);
+        }
+        return cambio;
+    }
+
+    /** Recorre la columna j completa. @return true si su min o max cambió */
+    private boolean reescanearColumna(int j) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double v = valores[i * m + j];
+            if (v < min) {
+                min = v;
+            }
+            if (v > max) {
+                max = v;
+            }
+        }
+        boolean cambio = Double.compare(min, columnaMin[j]) != 0 || Double.compare(max, columnaMax[j]) != 0;
+        columnaMin[j] = min;
+        columnaMax[j] = max;
+        return cambio;
+    }
+
+    private void sacarDelOrden(int i) {
+        for (Modo modo : modos.values()) {
+            modo.orden.remove(i);
+        }
+    }
+
+    /**
+     * Recalcula la fila i (que no debe estar en el orden) en todos los modos y la vuelve a
+     * ubicar; si cambiaron los extremos de alguna columna, los modos que dependen de ellos se
+     * recalculan completos.
+     */
+    private void reubicar(int i, boolean cambioColumnas) {
+        for (Modo modo : modos.values()) {
+            if (cambioColumnas && modo.dependeDeColumnas()) {
+                recalcularCompleto(modo);
+                continue;
+            }
+            puntuar(modo, i);
+            modo.orden.add(i);
+        }
+    }
+
+    private void recalcularCompleto(Modo modo) {
+        modo.orden.clear();
+        for (int i = 0; i < n; i++) {
+            puntuar(modo, i);
+            modo.orden.add(i);
+        }
+    }
+
+    private void puntuar(Modo modo, int i) {
+        double p = puntaje(modo.tipo, i);
+        modo.puntajes[i] = p;
+        modo.redondeados[i] = DecisionMathUtils.round(p, 6);
+    }
+
+    /** Mismas operaciones y orden que los modos de DecisionCriteriaCalculator. */
+    private double puntaje(int tipo, int i) {
+        int base = i * m;
+        switch (tipo) {
+            case SAW: {
+                double score = 0.0;
+                for (int j = 0; j < m; j++) {
+                    double min = columnaMin[j];
+                    double max = columnaMax[j];
+                    double normalizado = (Double.compare(max, min) == 0) ? 1.0 : (valores[base + j] - min) / (max - min);
+                    score += (pesos[j] * normalizado);
+                }
+                return score;
+            }
+            case VALOR_ESPERADO: {
+                double score = 0.0;
+                for (int j = 0; j < m; j++) {
+                    score += pesos[j] * valores[base + j];
+                }
+                return score;
+            }
+            case MAXIMIN:
+                return DecisionMathUtils.min(valores, base, base + m);
+            case MAXIMAX:
+                return DecisionMathUtils.max(valores, base, base + m);
+            case LAPLACE:
+                return DecisionMathUtils.average(valores, base, base + m);
+            case HURWICZ: {
+                double min = DecisionMathUtils.min(valores, base, base + m);
+                double max = DecisionMathUtils.max(valores, base, base + m);
+                return (alpha * max) + ((1 - alpha) * min);
+            }
+            default: {
+                double peorArrepentimiento = Double.NEGATIVE_INFINITY;
+                for (int j = 0; j < m; j++) {
+                    double arrepentimiento = columnaMax[j] - valores[base + j];
+                    if (arrepentimiento > peorArrepentimiento) {
+                        peorArrepentimiento = arrepentimiento;
+                    }
+                }
+                return -peorArrepentimiento;
+            }
+        }
+    }
+
+    private void asegurarCapacidad(int filas) {
+        if (filas <= nombres.length) {
+            return;
+        }
+        int capacidad = Math.max(filas, nombres.length + (nombres.length >> 1));
+        valores = Arrays.copyOf(valores, capacidad * m);
+        nombres = Arrays.copyOf(nombres, capacidad);
+        secuencia = Arrays.copyOf(secuencia, capacidad);
+        for (Modo modo : modos.values()) {
+            modo.puntajes = Arrays.copyOf(modo.puntajes, capacidad);
+            modo.redondeados = Arrays.copyOf(modo.redondeados, capacidad);
+        }
+    }
+
+    private static int tipo(String modo) {
+        if (DecisionModes.isRankingMode(modo)) {
+            return SAW;
+        }
+        if (DecisionModes.isExpectedValueMode(modo)) {
+            return VALOR_ESPERADO;
+        }
+        switch (DecisionModes.normalize(modo)) {
+            case DecisionModes.MAXIMIN:
+                return MAXIMIN;
+            case DecisionModes.MAXIMAX:
+                return MAXIMAX;
+            case DecisionModes.LAPLACE:
+                return LAPLACE;
+            case DecisionModes.HURWICZ:
+                return HURWICZ;
+            case DecisionModes.MINIMAX_REGRET:
+                return MINIMAX_REGRET;
+            default:
+                throw new BadRequestException("Modo no soportado: '" + modo + "'.");
+        }
+    }
+
+    /**
+     * Puntajes de un modo y sus filas ordenadas como en el ranking: puntaje redondeado
+     * descendente y, a igual puntaje, la alternativa que llegó antes.
+     */
+    private final class Modo {
+
+        final int tipo;
+        double[] puntajes;
+        double[] redondeados;
+        final TreeSet<Integer> orden;
+
+        Modo(int tipo, int capacidad) {
+            this.tipo = tipo;
+            this.puntajes = new double[capacidad];
+            this.redondeados = new double[capacidad];
+            this.orden = new TreeSet<>((a, b) -> {
+                int c = Double.compare(redondeados[b], redondeados[a]);
+                return (c != 0) ? c : Long.compare(secuencia[a], secuencia[b]);
+            });
+        }
+
+        boolean dependeDeColumnas() {
+            return tipo == SAW || tipo == MINIMAX_REGRET;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.decisiontree.backend.service.criteria;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas por fila y por columna de una matriz orientada, calculadas en un solo recorrido.
+ *
+ * Las sumas se acumulan en el mismo orden que en los modos individuales, así que los puntajes
+ * derivados de aquí son idénticos bit a bit a los de evaluar cada modo por separado.
+ */
+final class MatrixStatistics {
+
+    final double[] filaMin;
+    final double[] filaMax;
+    final double[] filaSuma;
+    final double[] filaPonderada;   // suma de peso * valor (valor esperado)
+    final double[] columnaMin;
+    final double[] columnaMax;      // también es el mejor valor por criterio (minimax regret)
+
+    private MatrixStatistics(int n, int m) {
+        filaMin = new double[n];
+        filaMax = new double[n];
+        filaSuma = new double[n];
+        filaPonderada = new double[n];
+        columnaMin = new double[m];
+        columnaMax = new double[m];
+    }
+
+    static MatrixStatistics calcular(DecisionMatrix matriz) {
+        return calcular(matriz, false);
+    }
+
+    /**
+     * Con paralelo, las filas se reparten en bloques (ParallelRows); cada bloque acumula sus
+     * propios extremos por columna y se combinan en orden de bloque al final.
+     */
+    static MatrixStatistics calcular(DecisionMatrix matriz, boolean paralelo) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] pesos = matriz.pesos();
+
+        MatrixStatistics e = new MatrixStatistics(n, m);
+        Arrays.fill(e.columnaMin, Double.POSITIVE_INFINITY);
+        Arrays.fill(e.columnaMax, Double.NEGATIVE_INFINITY);
+
+        if (!paralelo) {
+            recorrer(v, m, pesos, e, e.columnaMin, e.columnaMax, 0, n);
+            return e;
+        }
+
+        int bloques = ParallelRows.bloques(n);
+        double[][] minsBloque = new double[bloques][];
+        double[][] maxsBloque = new double[bloques][];
+        ParallelRows.recorrer(n, bloques, (b, desde, hasta) -> {
+            double[] mins = minsBloque[b] = new double[m];
+            double[] maxs = maxsBloque[b] = new double[m];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+            recorrer(v, m, pesos, e, mins, maxs, desde, hasta);
+        });
+        ParallelRows.combinar(minsBloque, maxsBloque, e.columnaMin, e.columnaMax, m);
+        return e;
+    }
+
+    private static void recorrer(double[] v, int m, double[] pesos, MatrixStatistics e,
+                                 double[] columnaMin, double[] columnaMax, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double suma = 0.0;
+            double ponderada = 0.0;
+
+            for (int j = 0; j < m; j++) {
+                double valor = v[base + j];
+                if (valor < min) {
+                    min = valor;
+                }
+                if (valor > max) {
+                    max = valor;
+                }
+                suma += valor;
+                ponderada += pesos[j] * valor;
+
+                if (valor < columnaMin[j]) {
+                    columnaMin[j] = valor;
+                }
+                if (valor > columnaMax[j]) {
+                    columnaMax[j] = valor;
+                }
+            }
+
+            e.filaMin[i] = min;
+            e.filaMax[i] = max;
+            e.filaSuma[i] = suma;
+            e.filaPonderada[i] = ponderada;
+        }
+    }
+}
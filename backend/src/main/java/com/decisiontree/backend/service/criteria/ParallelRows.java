@@ -0,0 +1,101 @@
+package com.decisiontree.backend.service.criteria;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Reparto de las filas de la matriz en bloques contiguos para el camino paralelo del calculador.
+ *
+ * Cada fila se puntúa con las mismas operaciones sin importar en qué bloque cae, así que los
+ * puntajes son idénticos bit a bit a los del recorrido secuencial. Las reducciones por columna
+ * (min y max) se calculan por bloque y se combinan en orden de bloque con las mismas
+ * comparaciones estrictas, con lo que ante empates (por ejemplo 0.0 y -0.0) queda el mismo
+ * valor que en una sola pasada.
+ */
+final class ParallelRows {
+
+    private static final int FILAS_MINIMAS_POR_BLOQUE = 1024;
+
+    @FunctionalInterface
+    interface Bloque {
+        void recorrer(int bloque, int desde, int hasta);
+    }
+
+    private ParallelRows() {
+    }
+
+    /** Cantidad de bloques para n filas: algunos por hilo del pool, sin bajar de un mínimo de filas. */
+    static int bloques(int n) {
+        int porFilas = (n + FILAS_MINIMAS_POR_BLOQUE - 1) / FILAS_MINIMAS_POR_BLOQUE;
+        return Math.max(1, Math.min(porFilas, ForkJoinPool.getCommonPoolParallelism() * 4));
+    }
+
+    /** Recorre [0, n) en "bloques" rangos contiguos en el pool común. */
+    static void recorrer(int n, int bloques, Bloque tarea) {
+        IntStream.range(0, bloques).parallel().forEach(b -> tarea.recorrer(b, inicio(n, bloques, b),
+                inicio(n, bloques, b + 1)));
+    }
+
+    static int inicio(int n, int bloques, int b) {
+        return (int) ((long) n * b / bloques);
+    }
+
+    /**
+     * Min y/o max por columna de la matriz orientada (mins o maxs pueden ser null si no se
+     * necesitan), como reducción paralela por bloques.
+     */
+    static void extremosPorColumna(double[] v, int n, int m, double[] mins, double[] maxs) {
+        if (mins != null) {
+            Arrays.fill(mins, 0, m, Double.POSITIVE_INFINITY);
+        }
+        if (maxs != null) {
+            Arrays.fill(maxs, 0, m, Double.NEGATIVE_INFINITY);
+        }
+        int bloques = bloques(n);
+        double[][] minsBloque = (mins == null) ? null : new double[bloques][];
+        double[][] maxsBloque = (maxs == null) ? null : new double[bloques][];
+
+        recorrer(n, bloques, (b, desde, hasta) -> {
+            double[] bMin = null;
+            double[] bMax = null;
+            if (minsBloque != null) {
+                bMin = minsBloque[b] = new double[m];
+                Arrays.fill(bMin, Double.POSITIVE_INFINITY);
+            }
+            if (maxsBloque != null) {
+                bMax = maxsBloque[b] = new double[m];
+                Arrays.fill(bMax, Double.NEGATIVE_INFINITY);
+            }
+            for (int i = desde; i < hasta; i++) {
+                int base = i * m;
+                for (int j = 0; j < m; j++) {
+                    double valor = v[base + j];
+                    if (bMin != null && valor < bMin[j]) {
+                        bMin[j] = valor;
+                    }
+                    if (bMax != null && valor > bMax[j]) {
+                        bMax[j] = valor;
+                    }
+                }
+            }
+        });
+
+        combinar(minsBloque, maxsBloque, mins, maxs, m);
+    }
+
+    /** Combina los extremos de cada bloque, en orden, en mins y maxs (ya inicializados). */
+    static void combinar(double[][] minsBloque, double[][] maxsBloque, double[] mins, double[] maxs, int m) {
+        int bloques = (minsBloque != null) ? minsBloque.length : maxsBloque.length;
+        for (int b = 0; b < bloques; b++) {
+            for (int j = 0; j < m; j++) {
+                if (minsBloque != null && minsBloque[b][j] < mins[j]) {
+                    mins[j] = minsBloque[b][j];
+                }
+                if (maxsBloque != null && maxsBloque[b][j] > maxs[j]) {
+                    maxs[j] = maxsBloque[b][j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.decisiontree.backend.service.criteria;
+
+import java.util.Arrays;
+
+/**
+ * Frente de Pareto (alternativas no dominadas) de la matriz orientada. Como los criterios de
+ * costo ya vienen negados (DecisionMathUtils.isTipoCosto), en todas las columnas más es mejor:
+ * a domina a b si no es peor en ningún criterio y es mejor en al menos uno.
+ *
+ * Sort-Filter-Skyline: las filas se recorren de mayor a menor suma de valores normalizados
+ * (min-max por columna). Si a domina a b su suma es mayor o igual, así que cada fila se compara
+ * solo contra la ventana de no dominadas encontradas hasta ese momento: O(n·s·m), con s el
+ * tamaño del frente, en lugar de comparar todos los pares. Con matrices grandes cada bloque de
+ * filas calcula su propio frente en paralelo y el filtro final corre sobre la unión (una fila
+ * no dominada en el total tampoco lo está en su bloque).
+ */
+final class ParetoSkyline {
+
+    private ParetoSkyline() {
+    }
+
+    /** Índices de las alternativas no dominadas, en el orden de la matriz. */
+    static int[] calcular(DecisionMatrix matriz, boolean paralelo) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] clave = clave(v, n, m, paralelo);
+
+        int[] frente;
+        int tamano;
+        int bloques = paralelo ? ParallelRows.bloques(n) : 1;
+        if (bloques == 1) {
+            frente = new int[n];
+            for (int i = 0; i < n; i++) {
+                frente[i] = i;
+            }
+            tamano = filtrar(v, m, clave, frente, n);
+        } else {
+            int[][] parciales = new int[bloques][];
+            int[] tamanos = new int[bloques];
+            ParallelRows.recorrer(n, bloques, (b, inicio, fin) -> {
+                int[] filas = new int[fin - inicio];
+                for (int i = inicio; i < fin; i++) {
+                    filas[i - inicio] = i;
+                }
+                parciales[b] = filas;
+                tamanos[b] = filtrar(v, m, clave, filas, filas.length);
+            });
+
+            int total = 0;
+            for (int t : tamanos) {
+                total += t;
+            }
+            frente = new int[total];
+            int p = 0;
+            for (int b = 0; b < bloques; b++) {
+                System.arraycopy(parciales[b], 0, frente, p, tamanos[b]);
+                p += tamanos[b];
+            }
+            tamano = filtrar(v, m, clave, frente, total);
+        }
+
+        int[] resultado = Arrays.copyOf(frente, tamano);
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    /**
+     * Deja en filas[0, tamaño) las no dominadas entre filas[0, cantidad) y devuelve el tamaño.
+     */
+    private static int filtrar(double[] v, int m, double[] clave, int[] filas, int cantidad) {
+        int[] orden = new int[cantidad];
+        RankingSelector.seleccionarEntre(clave, filas, cantidad, 0, cantidad, orden);
+
+        // el recorrido es sobre la copia ordenada, así que la ventana se guarda sobre filas
+        int tamano = 0;
+        for (int p = 0; p < cantidad; p++) {
+            int i = orden[p];
+            int quedan = 0;
+            boolean dominada = false;
+            for (int w = 0; w < tamano; w++) {
+                int c = comparar(v, m, filas[w], i);
+                if (c > 0) {
+                    dominada = true;
+                    break;
+                }
+                // Con sumas empatadas (redondeo) puede llegar después una fila que domina a
+                // otra de la ventana; esa sale. Nada de la ventana se domina entre sí, así que
+                // si i resulta dominada no se sacó ninguna antes.
+                if (c == 0) {
+                    filas[quedan++] = filas[w];
+                }
+            }
+            if (!dominada) {
+                filas[quedan++] = i;
+                tamano = quedan;
+            }
+        }
+        return tamano;
+    }
+
+    /** 1 si la fila a domina a la b, -1 si b domina a a, 0 si ninguna (o son iguales). */
+    static int comparar(double[] v, int m, int a, int b) {
+        int baseA = a * m;
+        int baseB = b * m;
+        boolean aMejor = false;
+        boolean bMejor = false;
+        for (int j = 0; j < m; j++) {
+            double x = v[baseA + j];
+            double y = v[baseB + j];
+            if (x > y) {
+                if (bMejor) {
+                    return 0;
+                }
+                aMejor = true;
+            } else if (x < y) {
+                if (aMejor) {
+                    return 0;
+                }
+                bMejor = true;
+            }
+        }
+        return aMejor ? 1 : (bMejor ? -1 : 0);
+    }
+
+    /** Suma de los valores normalizados min-max de cada fila (las columnas constantes no suman). */
+    private static double[] clave(double[] v, int n, int m, boolean paralelo) {
+        double[] mins = new double[m];
+        double[] maxs = new double[m];
+        double[] clave = new double[n];
+        if (paralelo) {
+            ParallelRows.extremosPorColumna(v, n, m, mins, maxs);
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    sumarNormalizados(v, m, mins, maxs, clave, desde, hasta));
+            return clave;
+        }
+
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < n; i++) {
+            int base = i * m;
+            for (int j = 0; j < m; j++) {
+                double valor = v[base + j];
+                if (valor < mins[j]) {
+                    mins[j] = valor;
+                }
+                if (valor > maxs[j]) {
+                    maxs[j] = valor;
+                }
+            }
+        }
+        sumarNormalizados(v, m, mins, maxs, clave, 0, n);
+        return clave;
+    }
+
+    private static void sumarNormalizados(double[] v, int m, double[] mins, double[] maxs, double[] clave,
+                                          int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double suma = 0.0;
+            for (int j = 0; j < m; j++) {
+                double rango = maxs[j] - mins[j];
+                if (rango > 0.0) {
+                    suma += (v[base + j] - mins[j]) / rango;
+                }
+            }
+            clave[i] = suma;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.PreferenceFunctions;
+import com.decisiontree.backend.exception.BadRequestException;
+
+import java.util.Arrays;
+
+/**
+ * Flujo neto de PROMETHEE II: phi(a) = sum_j w_j sum_b [P_j(a - b) - P_j(b - a)] / (n - 1), con las
+ * diferencias sobre la matriz orientada (en los criterios de costo ya negados, más es mejor).
+ *
+ * Las funciones usual, v y lineal son constantes o lineales por tramos en la diferencia, así que
+ * la suma sobre b sale de la columna ordenada: con búsquedas binarias se cuentan las b en cada
+ * tramo y con prefijos de la columna se suman sus valores, O(n log n) por criterio en lugar de
+ * comparar todos los pares. La gaussiana no se descompone así y se calcula comparando todos los
+ * pares, por bloques de filas en paralelo y tramos fijos de alternativas (O(n²), con un tope de filas).
+ *
+ * Cada fila acumula los criterios en el mismo orden en ambos caminos, así que el resultado
+ * paralelo es idéntico bit a bit al secuencial.
+ */
+final class PrometheeFlows {
+
+    static final int FILAS_MAXIMAS_POR_PARES = 20_000;
+
+    // Alternativas que se comparan juntas contra cada bloque de filas en el cálculo por pares
+    private static final int ALTERNATIVAS_POR_TRAMO = 512;
+
+    private PrometheeFlows() {
+    }
+
+    static double[] calcular(DecisionMatrix matriz, boolean paralelo, double[] flujos) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] pesos = matriz.pesos();
+        Arrays.fill(flujos, 0, n, 0.0);
+        if (n < 2) {
+            return flujos;
+        }
+
+        double[] ordenados = new double[n];
+        double[] prefijos = new double[n + 1];
+        int gaussianas = 0;
+        for (int j = 0; j < m; j++) {
+            if (pesos[j] == 0.0) {
+                continue;
+            }
+            String funcion = matriz.funcionPreferencia(j);
+            if (PreferenceFunctions.GAUSSIANA.equals(funcion)) {
+                gaussianas++;
+                continue;
+            }
+
+            for (int i = 0; i < n; i++) {
+                ordenados[i] = v[i * m + j];
+            }
+            if (paralelo) {
+                Arrays.parallelSort(ordenados);
+            } else {
+                Arrays.sort(ordenados);
+            }
+            // prefijos desplazados al mínimo: sumas más chicas, menos cancelación al restarlas
+            double base = ordenados[0];
+            for (int k = 0; k < n; k++) {
+                prefijos[k + 1] = prefijos[k] + (ordenados[k] - base);
+            }
+
+            Criterio c = new Criterio(j, pesos[j], funcion, matriz.umbralIndiferencia(j), matriz.umbralPreferencia(j));
+            if (paralelo) {
+                ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                        porOrden(v, m, c, ordenados, prefijos, flujos, desde, hasta));
+            } else {
+                porOrden(v, m, c, ordenados, prefijos, flujos, 0, n);
+            }
+        }
+
+        if (gaussianas > 0) {
+            porPares(matriz, gaussianas, paralelo, flujos);
+        }
+
+        for (int i = 0; i < n; i++) {
+            flujos[i] /= (n - 1);
+        }
+        return flujos;
+    }
+
+    /** Suma sobre b a partir de la columna ordenada (usual, v y lineal). */
+    private static void porOrden(double[] v, int m, Criterio c, double[] ordenados, double[] prefijos,
+                                 double[] flujos, int desde, int hasta) {
+        int n = ordenados.length;
+        double base = ordenados[0];
+        for (int i = desde; i < hasta; i++) {
+            double x = v[i * m + c.columna];
+            double neto;
+            if (c.usual) {
+                // las que a supera menos las que superan a a (los empates no suman)
+                neto = primeroMayorOIgual(ordenados, x) - (n - primeroMayor(ordenados, x));
+            } else {
+                double q = c.indiferencia;
+                double p = c.preferencia;
+                double rango = p - q;
+
+                // b con x - b >= p: preferencia 1; con q < x - b < p: (x - b - q) / (p - q)
+                int llenas = primeroMayor(ordenados, x - p);
+                int parciales = primeroMayorOIgual(ordenados, x - q);
+                double aFavor = llenas + ((parciales - llenas) * ((x - base) - q)
+                        - (prefijos[parciales] - prefijos[llenas])) / rango;
+
+                // b con b - x >= p: preferencia 1; con q < b - x < p: (b - x - q) / (p - q)
+                int desdeParcial = primeroMayor(ordenados, x + q);
+                int desdeLlena = primeroMayorOIgual(ordenados, x + p);
+                double enContra = (n - desdeLlena) + ((prefijos[desdeLlena] - prefijos[desdeParcial])
+                        - (desdeLlena - desdeParcial) * ((x - base) + q)) / rango;
+
+                neto = aFavor - enContra;
+            }
+            flujos[i] += c.peso * neto;
+        }
+    }
+
+    /**
+     * Criterios gaussianos: cada fila se compara con todas, por bloques de filas (en paralelo) y
+     * tramos de alternativas, con los valores de cada criterio copiados en un arreglo contiguo.
+     */
+    private static void porPares(DecisionMatrix matriz, int gaussianas, boolean paralelo, double[] flujos) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        if (n > FILAS_MAXIMAS_POR_PARES) {
+            throw new BadRequestException("La función de preferencia gaussiana compara todos los pares de "
+                    + "alternativas; se admite hasta " + FILAS_MAXIMAS_POR_PARES + " alternativas.");
+        }
+
+        double[] v = matriz.valores();
+        double[][] columnas = new double[gaussianas][n];
+        double[] pesos = new double[gaussianas];
+        double[] dosSCuadrado = new double[gaussianas];
+        int g = 0;
+        for (int j = 0; j < m; j++) {
+            if (matriz.peso(j) == 0.0 || !PreferenceFunctions.GAUSSIANA.equals(matriz.funcionPreferencia(j))) {
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                columnas[g][i] = v[i * m + j];
+            }
+            pesos[g] = matriz.peso(j);
+            double s = matriz.umbralPreferencia(j);
+            dosSCuadrado[g] = 2 * s * s;
+            g++;
+        }
+
+        if (paralelo) {
+            ParallelRows.recorrer(n, ParallelRows.bloques(n), (b, desde, hasta) ->
+                    gaussiana(columnas, pesos, dosSCuadrado, flujos, desde, hasta));
+        } else {
+            gaussiana(columnas, pesos, dosSCuadrado, flujos, 0, n);
+        }
+    }
+
+    private static void gaussiana(double[][] columnas, double[] pesos, double[] dosSCuadrado, double[] flujos,
+                                  int desde, int hasta) {
+        int n = columnas[0].length;
+        for (int inicio = 0; inicio < n; inicio += ALTERNATIVAS_POR_TRAMO) {
+            int fin = Math.min(n, inicio + ALTERNATIVAS_POR_TRAMO);
+            for (int g = 0; g < columnas.length; g++) {
+                double[] columna = columnas[g];
+                double divisor = dosSCuadrado[g];
+                for (int i = desde; i < hasta; i++) {
+                    double x = columna[i];
+                    double neto = 0.0;
+                    for (int b = inicio; b < fin; b++) {
+                        double d = x - columna[b];
+                        if (d > 0) {
+                            neto += 1.0 - Math.exp(-(d * d) / divisor);
+                        } else if (d < 0) {
+                            neto -= 1.0 - Math.exp(-(d * d) / divisor);
+                        }
+                    }
+                    flujos[i] += pesos[g] * neto;
+                }
+            }
+        }
+    }
+
+    /** Primera posición con valor >= x (cuántos son menores que x). */
+    private static int primeroMayorOIgual(double[] ordenados, double x) {
+        int bajo = 0;
+        int alto = ordenados.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (ordenados[medio] < x) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /** Primera posición con valor > x (cuántos son menores o iguales a x). */
+    private static int primeroMayor(double[] ordenados, double x) {
+        int bajo = 0;
+        int alto = ordenados.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (ordenados[medio] <= x) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /** Parámetros de un criterio descomponible; v es la lineal con q = 0. */
+    private static final class Criterio {
+
+        final int columna;
+        final double peso;
+        final boolean usual;
+        final double indiferencia;
+        final double preferencia;
+
+        Criterio(int columna, double peso, String funcion, double indiferencia, double preferencia) {
+            this.columna = columna;
+            this.peso = peso;
+            this.usual = PreferenceFunctions.USUAL.equals(funcion);
+            this.indiferencia = PreferenceFunctions.LINEAL.equals(funcion) ? indiferencia : 0.0;
+            this.preferencia = preferencia;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.RankingItemDto;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Posiciones [desde, hasta) de un ranking sin armar DTOs: el orden y los puntajes redondeados
+ * quedan en arreglos primitivos y cada posición se lee al escribirla (por ejemplo, en NDJSON).
+ */
+public final class RankingOrdenado {
+
+    private final IntFunction<String> alternativa;
+    private final double[] redondeados;
+    private final int[] orden;
+    private final int desde;
+    private final int hasta;
+
+    RankingOrdenado(IntFunction<String> alternativa, double[] redondeados, int[] orden, int desde, int hasta) {
+        this.alternativa = alternativa;
+        this.redondeados = redondeados;
+        this.orden = orden;
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    /** Ranking ya armado (por ejemplo, del caché de resultados). */
+    public static RankingOrdenado de(List<RankingItemDto> ranking) {
+        int n = ranking.size();
+        String[] nombres = new String[n];
+        double[] puntajes = new double[n];
+        int[] orden = new int[n];
+        for (int p = 0; p < n; p++) {
+            nombres[p] = ranking.get(p).getAlternativa();
+            puntajes[p] = ranking.get(p).getPuntaje();
+            orden[p] = p;
+        }
+        return new RankingOrdenado(i -> nombres[i], puntajes, orden, 0, n);
+    }
+
+    public int desde() {
+        return desde;
+    }
+
+    public int hasta() {
+        return hasta;
+    }
+
+    public String alternativa(int posicion) {
+        return alternativa.apply(orden[posicion]);
+    }
+
+    public double puntaje(int posicion) {
+        return redondeados[orden[posicion]];
+    }
+}
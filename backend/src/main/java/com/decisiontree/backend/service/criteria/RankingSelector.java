@@ -0,0 +1,165 @@
+package com.decisiontree.backend.service.criteria;
+
+import java.util.Arrays;
+
+/**
+ * Selección parcial del ranking sobre índices primitivos.
+ *
+ * El orden es el del ranking: mayor puntaje primero y, a igual puntaje, la alternativa que
+ * aparece antes en la matriz (lo mismo que daba el sort estable de los DTOs). Como ese orden
+ * es total, un heap acotado a las primeras "hasta" posiciones da el mismo resultado que
+ * ordenar todo, en O(n log k).
+ */
+public final class RankingSelector {
+
+    private RankingSelector() {
+    }
+
+    /**
+     * Índices de las alternativas que ocupan las posiciones [desde, hasta) del ranking, en orden.
+     */
+    public static int[] seleccionar(double[] puntajes, int desde, int hasta) {
+        int n = puntajes.length;
+        int[] heap = new int[Math.max(0, Math.min(hasta, n))];
+        int fin = seleccionar(puntajes, n, desde, hasta, heap);
+        if (desde >= fin) {
+            return new int[0];
+        }
+        return (desde == 0) ? heap : Arrays.copyOfRange(heap, desde, fin);
+    }
+
+    /**
+     * Variante sin asignaciones: deja en heap[0, fin) las primeras posiciones del ranking de
+     * las n primeras entradas de puntajes, en orden, y devuelve fin = min(hasta, n).
+     * Las posiciones pedidas quedan en heap[desde, fin). heap debe tener largo >= fin.
+     */
+    public static int seleccionar(double[] puntajes, int n, int desde, int hasta, int[] heap) {
+        int k = Math.min(hasta, n);
+        if (desde >= k) {
+            return Math.max(k, 0);
+        }
+
+        return seleccionar(puntajes, null, 0, n, k, heap);
+    }
+
+    /**
+     * Como seleccionar, pero el ranking es solo entre las filas candidatos[0, cantidad) (por
+     * ejemplo, las no dominadas): deja en heap[0, fin) sus primeras posiciones, en orden, y
+     * devuelve fin = min(hasta, cantidad).
+     */
+    public static int seleccionarEntre(double[] puntajes, int[] candidatos, int cantidad, int desde, int hasta,
+                                       int[] heap) {
+        int k = Math.min(hasta, cantidad);
+        if (desde >= k) {
+            return Math.max(k, 0);
+        }
+
+        return seleccionar(puntajes, candidatos, 0, cantidad, k, heap);
+    }
+
+    /**
+     * Igual que seleccionar, pero con matrices grandes cada bloque de filas (ParallelRows)
+     * elige en paralelo sus propias primeras k y después se elige entre esos candidatos. Como
+     * el orden es total, las primeras k del total están entre las de algún bloque y el
+     * resultado es el mismo que en el recorrido secuencial, empates incluidos.
+     */
+    static int seleccionarEnParalelo(double[] puntajes, int n, int desde, int hasta, int[] heap) {
+        int k = Math.min(hasta, n);
+        int bloques = ParallelRows.bloques(n);
+        // Con k grande los candidatos serían casi todas las filas: no conviene la segunda pasada
+        if (desde >= k || bloques == 1 || (long) k * bloques > n / 2) {
+            return seleccionar(puntajes, n, desde, hasta, heap);
+        }
+
+        int[][] parciales = new int[bloques][];
+        int[] tamanos = new int[bloques];
+        ParallelRows.recorrer(n, bloques, (b, inicio, fin) -> {
+            parciales[b] = new int[Math.min(k, fin - inicio)];
+            tamanos[b] = seleccionar(puntajes, null, inicio, fin, k, parciales[b]);
+        });
+
+        int total = 0;
+        for (int t : tamanos) {
+            total += t;
+        }
+        int[] candidatos = new int[total];
+        int p = 0;
+        for (int b = 0; b < bloques; b++) {
+            System.arraycopy(parciales[b], 0, candidatos, p, tamanos[b]);
+            p += tamanos[b];
+        }
+        seleccionar(puntajes, candidatos, 0, total, k, heap);
+        return k;
+    }
+
+    /**
+     * Primeras k (como mucho) del ranking entre las filas [inicio, fin), o entre
+     * candidatos[inicio, fin) si candidatos no es null. Devuelve cuántas quedaron en heap.
+     */
+    private static int seleccionar(double[] puntajes, int[] candidatos, int inicio, int fin, int k, int[] heap) {
+        // Heap con la peor alternativa seleccionada en la raíz
+        int tamano = 0;
+
+        for (int p = inicio; p < fin; p++) {
+            int i = (candidatos == null) ? p : candidatos[p];
+            if (tamano < k) {
+                heap[tamano] = i;
+                subir(heap, tamano, puntajes);
+                tamano++;
+            } else if (mejor(i, heap[0], puntajes)) {
+                heap[0] = i;
+                bajar(heap, 0, tamano, puntajes);
+            }
+        }
+
+        // Extraer la peor cada vez y dejarla al final deja el arreglo ordenado de mejor a peor
+        int resultado = tamano;
+        while (tamano > 1) {
+            tamano--;
+            int peor = heap[0];
+            heap[0] = heap[tamano];
+            heap[tamano] = peor;
+            bajar(heap, 0, tamano, puntajes);
+        }
+
+        return resultado;
+    }
+
+    /** true si la alternativa a va antes que b en el ranking. */
+    static boolean mejor(int a, int b, double[] puntajes) {
+        int c = Double.compare(puntajes[a], puntajes[b]);
+        return c > 0 || (c == 0 && a < b);
+    }
+
+    private static void subir(int[] heap, int pos, double[] puntajes) {
+        int elemento = heap[pos];
+        while (pos > 0) {
+            int padre = (pos - 1) >>> 1;
+            if (!mejor(heap[padre], elemento, puntajes)) {
+                break;
+            }
+            heap[pos] = heap[padre];
+            pos = padre;
+        }
+        heap[pos] = elemento;
+    }
+
+    private static void bajar(int[] heap, int pos, int tamano, double[] puntajes) {
+        int elemento = heap[pos];
+        while (true) {
+            int hijo = 2 * pos + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && mejor(heap[hijo], heap[hijo + 1], puntajes)) {
+                hijo++;
+            }
+            if (!mejor(elemento, heap[hijo], puntajes)) {
+                break;
+            }
+            heap[pos] = heap[hijo];
+            pos = hijo;
+        }
+        heap[pos] = elemento;
+    }
+}
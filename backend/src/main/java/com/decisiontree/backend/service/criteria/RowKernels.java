@@ -0,0 +1,77 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.util.DecisionMathUtils;
+
+/**
+ * Núcleos por fila de los modos SAW, valor esperado, Maximin, Maximax, Laplace y Hurwicz
+ * sobre el rango de filas [desde, hasta) de la matriz orientada. Los comparten el camino
+ * secuencial y el paralelo, así que ambos hacen las mismas operaciones en el mismo orden.
+ */
+final class RowKernels {
+
+    private RowKernels() {
+    }
+
+    static void saw(double[] v, int m, double[] pesos, double[] mins, double[] maxs,
+                    double[] puntajes, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double score = 0.0;
+
+            for (int j = 0; j < m; j++) {
+                double min = mins[j];
+                double max = maxs[j];
+
+                // Con el valor orientado, (valor - min) / (max - min) equivale a
+                // (max - x) / (max - min) sobre el valor original de un criterio de costo.
+                double normalizado;
+                if (Double.compare(max, min) == 0) {
+                    normalizado = 1.0; // todos iguales en ese criterio
+                } else {
+                    normalizado = (v[base + j] - min) / (max - min);
+                }
+
+                score += (pesos[j] * normalizado);
+            }
+
+            puntajes[i] = score;
+        }
+    }
+
+    static void valorEsperado(double[] v, int m, double[] pesos, double[] puntajes, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            int base = i * m;
+            double score = 0.0;
+            for (int j = 0; j < m; j++) {
+                score += pesos[j] * v[base + j];
+            }
+            puntajes[i] = score;
+        }
+    }
+
+    static void minimo(double[] v, int m, double[] puntajes, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            puntajes[i] = DecisionMathUtils.min(v, i * m, (i + 1) * m);
+        }
+    }
+
+    static void maximo(double[] v, int m, double[] puntajes, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            puntajes[i] = DecisionMathUtils.max(v, i * m, (i + 1) * m);
+        }
+    }
+
+    static void promedio(double[] v, int m, double[] puntajes, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            puntajes[i] = DecisionMathUtils.average(v, i * m, (i + 1) * m);
+        }
+    }
+
+    static void hurwicz(double[] v, int m, double alpha, double[] puntajes, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            double min = DecisionMathUtils.min(v, i * m, (i + 1) * m);
+            double max = DecisionMathUtils.max(v, i * m, (i + 1) * m);
+            puntajes[i] = (alpha * max) + ((1 - alpha) * min);
+        }
+    }
+}
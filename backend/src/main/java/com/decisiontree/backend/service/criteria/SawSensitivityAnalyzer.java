@@ -0,0 +1,176 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.SensibilidadCriterioDto;
+import com.decisiontree.backend.dto.SensibilidadParDto;
+import com.decisiontree.backend.dto.SensibilidadSawResponse;
+import com.decisiontree.backend.util.DecisionMathUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Sensibilidad del ranking SAW al peso de cada criterio.
+ *
+ * Al mover el peso normalizado de un criterio c a x, los demás se reescalan en proporción para
+ * seguir sumando 1 (es lo mismo que cambiar solo el peso crudo de c). Así el puntaje de cada
+ * alternativa es lineal en x y la diferencia entre la ganadora t y otra alternativa i vale
+ *
+ *   dif(x) = dif(w_c) + (x - w_c) * (N_tc - N_ic - dif(w_c)) / (1 - w_c)
+ *
+ * con N la matriz normalizada de SAW. El cruce (x donde dif = 0) sale en O(1) por alternativa,
+ * sin volver a evaluar: en total O(n * m), repartido por criterio entre los hilos disponibles.
+ * Los umbrales son el peso exacto en el que las dos alternativas empatan.
+ */
+@Component
+public class SawSensitivityAnalyzer {
+
+    private final DecisionCriteriaCalculator calculator;
+
+    public SawSensitivityAnalyzer(DecisionCriteriaCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    public SensibilidadSawResponse analizar(DecisionMatrix matriz, int topPares) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        double[] v = matriz.valores();
+        double[] pesos = matriz.pesos();
+
+        double[] puntajes = calculator.calcularPuntajes(matriz, "saw", null);
+        double[] redondeados = new double[n];
+        for (int i = 0; i < n; i++) {
+            redondeados[i] = DecisionMathUtils.round(puntajes[i], 6);
+        }
+        int[] top = RankingSelector.seleccionar(redondeados, 0, Math.max(1, topPares));
+        int ganadora = top[0];
+        if (topPares < 2) {
+            top = new int[0];
+        }
+
+        MatrixStatistics e = MatrixStatistics.calcular(matriz);
+
+        SensibilidadCriterioDto[] criterios = new SensibilidadCriterioDto[m];
+        @SuppressWarnings("unchecked")
+        List<SensibilidadParDto>[] pares = new List[m];
+        int[] topFinal = top;
+
+        // Cada criterio recorre su columna de forma independiente
+        IntStream.range(0, m).parallel().forEach(c -> {
+            double min = e.columnaMin[c];
+            double max = e.columnaMax[c];
+            double w = pesos[c];
+            criterios[c] = analizarCriterio(matriz, c, ganadora, puntajes, v, min, max, w);
+            pares[c] = analizarPares(matriz, c, topFinal, puntajes, v, min, max, w);
+        });
+
+        // Por par del top (en orden de ranking) y dentro de cada par por criterio
+        List<SensibilidadParDto> todosLosPares = new ArrayList<>();
+        int totalPares = top.length * (top.length - 1) / 2;
+        for (int k = 0; k < totalPares; k++) {
+            for (int c = 0; c < m; c++) {
+                SensibilidadParDto par = pares[c].get(k);
+                if (par != null) {
+                    todosLosPares.add(par);
+                }
+            }
+        }
+
+        SensibilidadSawResponse response = new SensibilidadSawResponse();
+        response.setGanadora(matriz.alternativa(ganadora));
+        response.setCriterios(Arrays.asList(criterios));
+        if (topPares >= 2) {
+            response.setPares(todosLosPares);
+        }
+        return response;
+    }
+
+    private static SensibilidadCriterioDto analizarCriterio(DecisionMatrix matriz, int c, int t, double[] puntajes,
+                                                            double[] v, double min, double max, double w) {
+        int n = matriz.filas();
+        int m = matriz.columnas();
+        SensibilidadCriterioDto dto = new SensibilidadCriterioDto(matriz.criterio(c), DecisionMathUtils.round(w, 6));
+        if (w >= 1.0) {
+            return dto; // los demás pesos son 0: no hay cómo reescalarlos
+        }
+
+        double normalizadoT = normalizado(v[t * m + c], min, max);
+        double pesoMinimo = Double.NEGATIVE_INFINITY;
+        double pesoMaximo = Double.POSITIVE_INFINITY;
+        int alBajar = -1;
+        int alSubir = -1;
+
+        for (int i = 0; i < n; i++) {
+            if (i == t) {
+                continue;
+            }
+            double d = diferencia(puntajes[t], puntajes[i]);
+            double pendiente = pendiente(d, normalizadoT - normalizado(v[i * m + c], min, max), w);
+            if (pendiente > 0.0) {
+                // la ventaja crece con el peso: i pasa adelante al bajarlo
+                double cruce = w - d / pendiente;
+                if (cruce >= 0.0 && cruce > pesoMinimo) {
+                    pesoMinimo = cruce;
+                    alBajar = i;
+                }
+            } else if (pendiente < 0.0) {
+                double cruce = w - d / pendiente;
+                if (cruce <= 1.0 && cruce < pesoMaximo) {
+                    pesoMaximo = cruce;
+                    alSubir = i;
+                }
+            }
+        }
+
+        if (alBajar >= 0) {
+            dto.setPesoMinimo(DecisionMathUtils.round(pesoMinimo, 6));
+            dto.setAlternativaAlBajar(matriz.alternativa(alBajar));
+        }
+        if (alSubir >= 0) {
+            dto.setPesoMaximo(DecisionMathUtils.round(pesoMaximo, 6));
+            dto.setAlternativaAlSubir(matriz.alternativa(alSubir));
+        }
+        return dto;
+    }
+
+    /** Un elemento por par (p, q) del top, en orden; null si no se cruzan en [0, 1]. */
+    private static List<SensibilidadParDto> analizarPares(DecisionMatrix matriz, int c, int[] top, double[] puntajes,
+                                                          double[] v, double min, double max, double w) {
+        int k = top.length;
+        int m = matriz.columnas();
+        List<SensibilidadParDto> pares = new ArrayList<>(k * (k - 1) / 2);
+        for (int p = 0; p < k; p++) {
+            for (int q = p + 1; q < k; q++) {
+                int a = top[p];
+                int b = top[q];
+                double d = diferencia(puntajes[a], puntajes[b]);
+                double pendiente = (w >= 1.0) ? 0.0 : pendiente(d,
+                        normalizado(v[a * m + c], min, max) - normalizado(v[b * m + c], min, max), w);
+                double cruce = (pendiente == 0.0) ? Double.NaN : w - d / pendiente;
+                pares.add((Double.isNaN(cruce) || cruce < 0.0 || cruce > 1.0) ? null
+                        : new SensibilidadParDto(matriz.alternativa(a), matriz.alternativa(b), matriz.criterio(c),
+                        DecisionMathUtils.round(cruce, 6)));
+            }
+        }
+        return pares;
+    }
+
+    /** Ventaja de la mejor sobre la otra; un empate redondeado ya lo decidió el orden. */
+    private static double diferencia(double mejor, double otra) {
+        return Math.max(0.0, mejor - otra);
+    }
+
+    /**
+     * Cuánto cambia la ventaja d por unidad de peso del criterio c, si diferenciaEnC es la
+     * ventaja solo en c (normalizado) y w el peso actual de c.
+     */
+    private static double pendiente(double d, double diferenciaEnC, double w) {
+        return (diferenciaEnC - d) / (1.0 - w);
+    }
+
+    private static double normalizado(double valor, double min, double max) {
+        return (Double.compare(max, min) == 0) ? 1.0 : (valor - min) / (max - min);
+    }
+}
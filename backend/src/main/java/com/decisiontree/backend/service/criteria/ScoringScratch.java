@@ -0,0 +1,91 @@
+package com.decisiontree.backend.service.criteria;
+
+/**
+ * Buffers de trabajo por hilo para el camino de puntuación, reutilizados entre evaluaciones
+ * para que en régimen estable no se asigne memoria fuera de la respuesta final.
+ *
+ * Los arreglos solo crecen; por encima de MAX_RETENIDO elementos se asignan sin guardarse,
+ * así un request gigante puntual no deja memoria retenida en cada hilo del servidor. En el
+ * peor caso cada hilo retiene ~1,25 MB (puntajes y redondeados de 512 KB, índices de
+ * 256 KB) más 1 MB en los buffers por criterio si alguna matriz llega al tope de columnas;
+ * con los 200 hilos por defecto de Tomcat eso acota el total en ~450 MB.
+ *
+ * Los hilos virtuales de /evaluar-lote viven lo que una evaluación y no reutilizarían nada:
+ * para ellos se entrega una instancia nueva sin registrarla en el ThreadLocal.
+ */
+final class ScoringScratch {
+
+    static final int MAX_RETENIDO = 1 << 16;
+
+    private static final ThreadLocal<ScoringScratch> POR_HILO = ThreadLocal.withInitial(ScoringScratch::new);
+
+    private double[] puntajes = new double[0];
+    private double[] redondeados = new double[0];
+    private double[] columnaA = new double[0];
+    private double[] columnaB = new double[0];
+    private int[] indices = new int[0];
+
+    private ScoringScratch() {
+    }
+
+    static ScoringScratch actual() {
+        return Thread.currentThread().isVirtual() ? new ScoringScratch() : POR_HILO.get();
+    }
+
+    double[] puntajes(int n) {
+        if (puntajes.length >= n) {
+            return puntajes;
+        }
+        double[] nuevo = new double[n];
+        if (n <= MAX_RETENIDO) {
+            puntajes = nuevo;
+        }
+        return nuevo;
+    }
+
+    double[] redondeados(int n) {
+        if (redondeados.length >= n) {
+            return redondeados;
+        }
+        double[] nuevo = new double[n];
+        if (n <= MAX_RETENIDO) {
+            redondeados = nuevo;
+        }
+        return nuevo;
+    }
+
+    /** Primer buffer por criterio (por ejemplo, mínimos por columna). */
+    double[] columnaA(int m) {
+        if (columnaA.length >= m) {
+            return columnaA;
+        }
+        double[] nuevo = new double[m];
+        if (m <= MAX_RETENIDO) {
+            columnaA = nuevo;
+        }
+        return nuevo;
+    }
+
+    /** Segundo buffer por criterio (por ejemplo, máximos por columna). */
+    double[] columnaB(int m) {
+        if (columnaB.length >= m) {
+            return columnaB;
+        }
+        double[] nuevo = new double[m];
+        if (m <= MAX_RETENIDO) {
+            columnaB = nuevo;
+        }
+        return nuevo;
+    }
+
+    int[] indices(int k) {
+        if (indices.length >= k) {
+            return indices;
+        }
+        int[] nuevo = new int[k];
+        if (k <= MAX_RETENIDO) {
+            indices = nuevo;
+        }
+        return nuevo;
+    }
+}
@@ -0,0 +1,194 @@
+package com.decisiontree.backend.service.criteria;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulación Monte Carlo de pesos sobre SAW (índices de aceptabilidad de rango, como SMAA).
+ *
+ * La matriz normalizada de SAW no depende de los pesos, así que se calcula una vez; cada
+ * muestra solo sortea un vector de pesos, puntúa las n filas (n * m multiplicaciones) y cuenta
+ * qué alternativa quedó en cada una de las primeras "rangos" posiciones con RankingSelector.
+ *
+ * Las muestras se reparten en bloques fijos de fork/join; cada bloque usa un SplittableRandom
+ * derivado del de su padre con split(). Como el árbol de bloques depende solo de la cantidad
+ * de muestras, el resultado para una semilla es el mismo sin importar cuántos hilos haya.
+ *
+ * Memoria: los conteos son un solo arreglo de n * rangos longs (8 * n * rangos bytes, tope en
+ * DecisionSimulationService con dss.simulacion.conteos-maximos), reservado al empezar a
+ * simular. Cada bloque guarda las posiciones de hasta MUESTRAS_POR_VOLCADO muestras (unos
+ * KB) y las suma al arreglo compartido bajo un lock, así que el pico no crece con los hilos.
+ *
+ * cancelar() corta la corrida desde otro hilo: cada bloque deja de sortear en la muestra
+ * siguiente y simular termina con CancellationException.
+ */
+public final class WeightSimulation {
+
+    private static final int MUESTRAS_POR_BLOQUE = 8192;
+    private static final int MUESTRAS_POR_VOLCADO = 256;
+
+    private final int n;
+    private final int m;
+    private final double[] normalizada;
+    private final double[] pesoMinimo;  // null: pesos uniformes sobre el simplex
+    private final double[] pesoMaximo;
+    private final int rangos;
+
+    private final int celdas;
+    private long[] conteos;             // conteos[i * rangos + r]: veces que i quedó en la posición r
+    private final AtomicLong completadas = new AtomicLong();
+    private volatile boolean cancelada;
+
+    /**
+     * @param pesoMinimo rango crudo de cada peso por columna (se normaliza en cada muestra), o
+     *                   null para sortear pesos uniformes sobre el simplex
+     */
+    public WeightSimulation(DecisionMatrix matriz, double[] pesoMinimo, double[] pesoMaximo, int rangos) {
+        this.n = matriz.filas();
+        this.m = matriz.columnas();
+        this.pesoMinimo = pesoMinimo;
+        this.pesoMaximo = pesoMaximo;
+        this.rangos = Math.min(rangos, n);
+        long celdas = (long) n * this.rangos;
+        if (celdas > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Demasiados conteos: " + celdas);
+        }
+        this.celdas = (int) celdas;
+
+        // Misma normalización que calcularSawNormalizado
+        MatrixStatistics e = MatrixStatistics.calcular(matriz);
+        double[] v = matriz.valores();
+        this.normalizada = new double[DecisionMatrix.celdas(n, m)];
+        for (int i = 0; i < n; i++) {
+            int base = i * m;
+            for (int j = 0; j < m; j++) {
+                double min = e.columnaMin[j];
+                double max = e.columnaMax[j];
+                normalizada[base + j] = (Double.compare(max, min) == 0) ? 1.0 : (v[base + j] - min) / (max - min);
+            }
+        }
+    }
+
+    /**
+     * Corre las muestras en el pool indicado; se puede llamar una sola vez.
+     *
+     * @throws CancellationException si se llamó a cancelar() antes de terminar
+     */
+    public void simular(ForkJoinPool pool, long muestras, long semilla) {
+        conteos = new long[celdas];
+        pool.invoke(new Bloque(0, muestras, new SplittableRandom(semilla)));
+        if (cancelada) {
+            conteos = null;
+            throw new CancellationException("Simulación cancelada");
+        }
+    }
+
+    /** Pide cortar la corrida (por ejemplo, si el cliente se desconectó); se puede llamar desde otro hilo. */
+    public void cancelar() {
+        cancelada = true;
+    }
+
+    /** Muestras terminadas hasta ahora (para informar progreso desde otro hilo). */
+    public long completadas() {
+        return completadas.get();
+    }
+
+    public int rangos() {
+        return rangos;
+    }
+
+    /** Veces que la fila i quedó en la posición r (0 = primera). */
+    public long conteo(int i, int r) {
+        return conteos[i * rangos + r];
+    }
+
+    private void sortearPesos(SplittableRandom random, double[] pesos) {
+        double suma = 0.0;
+        if (pesoMinimo == null) {
+            // Exponenciales normalizadas: Dirichlet(1, ..., 1), uniforme sobre el simplex
+            for (int j = 0; j < m; j++) {
+                pesos[j] = -Math.log(1.0 - random.nextDouble());
+                suma += pesos[j];
+            }
+        } else {
+            for (int j = 0; j < m; j++) {
+                pesos[j] = pesoMinimo[j] + (pesoMaximo[j] - pesoMinimo[j]) * random.nextDouble();
+                suma += pesos[j];
+            }
+        }
+
+        // Igual que normalizarPesos: si todos quedan en 0 se reparte igual
+        for (int j = 0; j < m; j++) {
+            pesos[j] = (suma <= 0.0) ? 1.0 / m : pesos[j] / suma;
+        }
+    }
+
+    private final class Bloque extends RecursiveAction {
+
+        private final long desde;
+        private final long hasta;
+        private final SplittableRandom random;
+
+        Bloque(long desde, long hasta, SplittableRandom random) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelada) {
+                return;
+            }
+            if (hasta - desde > MUESTRAS_POR_BLOQUE) {
+                long medio = desde + (hasta - desde) / 2;
+                Bloque izquierdo = new Bloque(desde, medio, random.split());
+                Bloque derecho = new Bloque(medio, hasta, random);
+                invokeAll(izquierdo, derecho);
+                return;
+            }
+
+            double[] pesos = new double[m];
+            double[] puntajes = new double[n];
+            int[] heap = new int[rangos];
+            int[] posiciones = new int[(int) Math.min(hasta - desde, MUESTRAS_POR_VOLCADO) * rangos];
+            int pendientes = 0;
+
+            long s = desde;
+            for (; s < hasta && !cancelada; s++) {
+                sortearPesos(random, pesos);
+                for (int i = 0; i < n; i++) {
+                    int base = i * m;
+                    double score = 0.0;
+                    for (int j = 0; j < m; j++) {
+                        score += pesos[j] * normalizada[base + j];
+                    }
+                    puntajes[i] = score;
+                }
+                RankingSelector.seleccionar(puntajes, n, 0, rangos, heap);
+                System.arraycopy(heap, 0, posiciones, pendientes * rangos, rangos);
+                if (++pendientes * rangos == posiciones.length) {
+                    volcar(posiciones, pendientes);
+                    pendientes = 0;
+                }
+            }
+            volcar(posiciones, pendientes);
+
+            completadas.addAndGet(s - desde);
+        }
+
+        /** Suma las posiciones de las muestras pendientes; los enteros no dependen del orden. */
+        private void volcar(int[] posiciones, int muestras) {
+            synchronized (conteos) {
+                for (int k = 0, base = 0; k < muestras; k++, base += rangos) {
+                    for (int r = 0; r < rangos; r++) {
+                        conteos[posiciones[base + r] * rangos + r]++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.FieldErrorList;
+import com.decisiontree.backend.service.cache.CanonicalRequestHasher;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lee el formato binario de /api/dss/evaluar (Content-Type application/vnd.dss.decision): los
+ * criterios van una sola vez en la cabecera y los valores en un bloque denso fila por fila, sin
+ * repetir el nombre del criterio en cada alternativa.
+ *
+ * Formato (little-endian; texto = largo int32 + UTF-8, largo -1 = null):
+ * <pre>
+ * "DSSQ" | versión int32 (1)
+ * modo texto | modos: cantidad int32 (-1 = sin lista) + textos
+ * alpha float64 (NaN = sin alpha) | topK, offset, limit int32 (-1 = sin valor)
+ * filas int32 | criterios int32
+ * por criterio: nombre texto | peso float64 (NaN = sin peso) | tipo texto
+ * nombres de alternativa: filas textos
+ * valores: filas * criterios float64, fila por fila en el orden de los criterios (NaN = null)
+ * </pre>
+ *
+ * Los valores van directo a la matriz orientada con OrientedMatrixBuilder y la validación es la
+ * misma (campos, textos y orden) que la del JSON. Con el caché habilitado la clave es la misma
+ * que la del request JSON equivalente, así que ambos formatos comparten respuestas.
+ */
+@Component
+public class BinaryDecisionReader {
+
+    public static final String MEDIA_TYPE = "application/vnd.dss.decision";
+
+    static final int MAGIA = 0x51535344; // "DSSQ" leído como int32 little-endian
+    static final int VERSION = 1;
+
+    private static final int TEXTO_MAXIMO = 1 << 20;
+    private static final int FILAS_INICIALES_MAXIMAS = 1 << 16;
+    private static final int CRITERIOS_INICIALES_MAXIMOS = 1024;
+    private static final int VALORES_INICIALES_MAXIMOS = 1 << 16;
+
+    private final DecisionResultCache cache;
+    private final ValidationLimits limites;
+
+    public BinaryDecisionReader(DecisionResultCache cache) {
+        this(cache, ValidationLimits.SIN_LIMITE);
+    }
+
+    @Autowired
+    public BinaryDecisionReader(DecisionResultCache cache, ValidationLimits limites) {
+        this.cache = cache;
+        this.limites = limites;
+    }
+
+    public CompiledDecisionRequest leer(InputStream body) {
+        Entrada in = new Entrada(body);
+        try {
+            return leer(in, limites.nuevoTope());
+        } catch (EOFException ex) {
+            throw formato("El contenido binario está incompleto");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private CompiledDecisionRequest leer(Entrada in, FieldErrorList.Tope tope) throws IOException {
+        if (in.vacia()) {
+            throw RequestValidationUtils.bodyNulo();
+        }
+        if (in.entero() != MAGIA) {
+            throw formato("No es un request binario DSS");
+        }
+        int version = in.entero();
+        if (version != VERSION) {
+            throw formato("Versión " + version + " no soportada");
+        }
+
+        DecisionRequest parametros = new DecisionRequest();
+        parametros.setModo(in.texto());
+        int cantidadModos = in.entero();
+        if (cantidadModos >= 0) {
+            List<String> modos = new ArrayList<>(Math.min(cantidadModos, 16));
+            for (int k = 0; k < cantidadModos; k++) {
+                modos.add(in.texto());
+            }
+            parametros.setModos(modos);
+        }
+        double alpha = in.doble();
+        parametros.setAlpha(Double.isNaN(alpha) ? null : alpha);
+        parametros.setTopK(opcional(in.entero()));
+        parametros.setOffset(opcional(in.entero()));
+        parametros.setLimit(opcional(in.entero()));
+
+        int n = in.entero();
+        int m = in.entero();
+        if (n < 0 || m < 0) {
+            throw formato("La cantidad de alternativas y de criterios no puede ser negativa");
+        }
+
+        // n y m vienen del body: los arreglos crecen a medida que se leen, no se reservan de entrada
+        List<ConfigDto> criterios = new ArrayList<>(Math.min(m, CRITERIOS_INICIALES_MAXIMOS));
+        String[] claves = new String[Math.min(m, CRITERIOS_INICIALES_MAXIMOS)];
+        for (int j = 0; j < m; j++) {
+            if (j == claves.length) {
+                claves = Arrays.copyOf(claves, (int) Math.min(m, 2L * claves.length));
+            }
+            String nombre = in.texto();
+            double peso = in.doble();
+            criterios.add(new ConfigDto(nombre, Double.isNaN(peso) ? null : peso, in.texto()));
+            claves[j] = nombre;
+        }
+
+        String[] nombres = new String[Math.min(n, FILAS_INICIALES_MAXIMAS)];
+        List<String> recortados = new ArrayList<>(nombres.length);
+        List<BusinessValidationException.FieldError> erroresNombre = new FieldErrorList(tope);
+        List<BusinessValidationException.FieldError> erroresValores = new FieldErrorList(tope);
+        for (int i = 0; i < n; i++) {
+            if (i == nombres.length) {
+                nombres = Arrays.copyOf(nombres, (int) Math.min(n, 2L * nombres.length));
+            }
+            nombres[i] = in.texto();
+            if (RequestValidationUtils.isBlank(nombres[i])) {
+                erroresNombre.add(RequestValidationUtils.nombreVacio(i));
+            } else {
+                recortados.add(nombres[i].trim());
+            }
+        }
+
+        if (m == 0 || n == 0) {
+            in.finCompleto();
+            RequestValidationUtils.validarLectura(parametros, criterios, n, List.of(), List.of(), List.of(), tope);
+        }
+
+        // La reserva inicial se acota en celdas (no en filas): con muchos criterios, n filas de
+        // entrada ya serían n * m doubles antes de leer un solo valor
+        OrientedMatrixBuilder matriz = new OrientedMatrixBuilder(criterios,
+                Math.min(n, VALORES_INICIALES_MAXIMOS / Math.max(m, 1)));
+        // Columna de la matriz de cada criterio del bloque (-1 si el criterio no es válido)
+        int[] columna = new int[m];
+        for (int j = 0; j < m; j++) {
+            columna[j] = (claves[j] == null) ? -1 : matriz.columna(claves[j].trim());
+        }
+        Huella huella = cache.admite(n) ? Huella.de(claves) : null;
+
+        for (int i = 0; i < n; i++) {
+            matriz.abrirFila();
+            if (huella != null) {
+                huella.alternativa(nombres[i]);
+            }
+            for (int j = 0; j < m; j++) {
+                double valor = in.doble();
+                if (huella != null) {
+                    huella.valor(j, valor);
+                }
+                if (columna[j] < 0) {
+                    continue;
+                }
+                if (Double.isNaN(valor)) {
+                    matriz.nulo(columna[j]);
+                    continue;
+                }
+                matriz.valor(columna[j], valor);
+            }
+            matriz.cerrarFila(erroresValores);
+            if (huella != null) {
+                huella.cerrar();
+            }
+        }
+        in.finCompleto();
+
+        RequestValidationUtils.validarLectura(parametros, criterios, n, erroresNombre, recortados,
+                erroresValores, tope);
+        String clave = (huella == null) ? null : huella.hasher.clave(parametros, criterios);
+        return new CompiledDecisionRequest(parametros, matriz.construir(Arrays.copyOf(nombres, n)), clave);
+    }
+
+    private static Integer opcional(int valor) {
+        return (valor == -1) ? null : valor;
+    }
+
+    private static BusinessValidationException formato(String mensaje) {
+        return new BusinessValidationException("Request inválido", List.of(
+                new BusinessValidationException.FieldError("body", mensaje)
+        ));
+    }
+
+    /**
+     * Pasa cada alternativa al hasher con sus valores ordenados por clave, igual que el lector
+     * JSON. Como todas las filas tienen las mismas claves, el orden se calcula una vez.
+     */
+    private static final class Huella {
+
+        private final CanonicalRequestHasher hasher = new CanonicalRequestHasher();
+        private final String[] claves;
+        private final Integer[] orden;
+        private final double[] fila;
+
+        private Huella(String[] claves) {
+            this.claves = claves;
+            this.fila = new double[claves.length];
+            this.orden = new Integer[claves.length];
+            for (int j = 0; j < claves.length; j++) {
+                orden[j] = j;
+            }
+            Arrays.sort(orden, (x, y) -> claves[x].compareTo(claves[y]));
+        }
+
+        /** null si algún criterio no tiene nombre (el request no pasa la validación). */
+        static Huella de(String[] claves) {
+            for (String clave : claves) {
+                if (clave == null) {
+                    return null;
+                }
+            }
+            return new Huella(claves);
+        }
+
+        void alternativa(String nombre) {
+            hasher.alternativa(nombre, claves.length);
+        }
+
+        void valor(int j, double valor) {
+            fila[j] = valor;
+        }
+
+        void cerrar() {
+            for (int j : orden) {
+                hasher.valor(claves[j], Double.isNaN(fila[j]) ? null : fila[j]);
+            }
+        }
+    }
+
+    /**
+     * Lectura little-endian con buffer propio sobre el body.
+     */
+    private static final class Entrada {
+
+        private final InputStream in;
+        private final byte[] bytes = new byte[1 << 16];
+        private final ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        private int posicion;
+        private int limite;
+
+        Entrada(InputStream in) {
+            this.in = in;
+        }
+
+        boolean vacia() throws IOException {
+            return !disponible(1);
+        }
+
+        int entero() throws IOException {
+            exigir(4);
+            int v = buffer.getInt(posicion);
+            posicion += 4;
+            return v;
+        }
+
+        double doble() throws IOException {
+            exigir(8);
+            double v = buffer.getDouble(posicion);
+            posicion += 8;
+            return v;
+        }
+
+        String texto() throws IOException {
+            int largo = entero();
+            if (largo == -1) {
+                return null;
+            }
+            if (largo < 0 || largo > TEXTO_MAXIMO) {
+                throw formato("Texto con largo inválido: " + largo);
+            }
+            if (largo <= bytes.length) {
+                exigir(largo);
+                String s = new String(bytes, posicion, largo, StandardCharsets.UTF_8);
+                posicion += largo;
+                return s;
+            }
+            byte[] largos = new byte[largo];
+            for (int k = 0; k < largo; ) {
+                exigir(1);
+                int parte = Math.min(largo - k, limite - posicion);
+                System.arraycopy(bytes, posicion, largos, k, parte);
+                posicion += parte;
+                k += parte;
+            }
+            return new String(largos, StandardCharsets.UTF_8);
+        }
+
+        /** Verifica que no queden bytes después del request. */
+        void finCompleto() throws IOException {
+            if (disponible(1)) {
+                throw formato("Hay datos de más después del request");
+            }
+        }
+
+        private void exigir(int cantidad) throws IOException {
+            if (!disponible(cantidad)) {
+                throw new EOFException();
+            }
+        }
+
+        /** Deja al menos cantidad bytes (<= bytes.length) en el buffer; false si el body termina antes. */
+        private boolean disponible(int cantidad) throws IOException {
+            if (limite - posicion >= cantidad) {
+                return true;
+            }
+            System.arraycopy(bytes, posicion, bytes, 0, limite - posicion);
+            limite -= posicion;
+            posicion = 0;
+            while (limite < cantidad) {
+                int leidos = in.read(bytes, limite, bytes.length - limite);
+                if (leidos < 0) {
+                    return false;
+                }
+                limite += leidos;
+            }
+            return true;
+        }
+    }
+}
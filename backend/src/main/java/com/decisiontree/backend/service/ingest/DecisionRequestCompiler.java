@@ -0,0 +1,99 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.FieldErrorList;
+import com.decisiontree.backend.service.criteria.AhpWeightSolver;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Valida un DecisionRequest ya deserializado y arma su matriz en el mismo recorrido: cada
+ * alternativa se revisa (nombre, faltantes, nulos, extras) mientras sus valores se escriben en
+ * la celda final ya orientados. Los errores, su orden y la matriz son los mismos que dan los
+ * lectores en streaming, con los que comparte OrientedMatrixBuilder y validarLectura.
+ */
+@Component
+public class DecisionRequestCompiler {
+
+    private final ValidationLimits limites;
+    private final AhpWeightSolver ahp;
+
+    public DecisionRequestCompiler(ValidationLimits limites) {
+        this(limites, new AhpWeightSolver());
+    }
+
+    @Autowired
+    public DecisionRequestCompiler(ValidationLimits limites, AhpWeightSolver ahp) {
+        this.limites = limites;
+        this.ahp = ahp;
+    }
+
+    public CompiledDecisionRequest compilar(DecisionRequest request) {
+        return compilar(request, null);
+    }
+
+    /**
+     * @param clave huella canónica para el caché, o null
+     */
+    public CompiledDecisionRequest compilar(DecisionRequest request, String clave) {
+        if (request == null) {
+            throw RequestValidationUtils.bodyNulo();
+        }
+        FieldErrorList.Tope tope = limites.nuevoTope();
+        List<AlternativaDto> lista = request.getAlternativas();
+        int n = (lista == null) ? 0 : lista.size();
+        if (request.getCriterios() == null || request.getCriterios().isEmpty() || n == 0) {
+            // faltan listas básicas: validarLectura corta antes de mirar las alternativas
+            RequestValidationUtils.validarLectura(request, request.getCriterios(), n,
+                    List.of(), List.of(), List.of(), tope);
+        }
+
+        OrientedMatrixBuilder matriz = new OrientedMatrixBuilder(request.getCriterios(), n);
+        String[] nombres = new String[n];
+        List<String> recortados = new ArrayList<>(n);
+        List<BusinessValidationException.FieldError> erroresNombre = new FieldErrorList(tope);
+        List<BusinessValidationException.FieldError> erroresValores = new FieldErrorList(tope);
+
+        for (int i = 0; i < n; i++) {
+            AlternativaDto a = lista.get(i);
+            matriz.abrirFila();
+            if (a == null) {
+                erroresNombre.add(RequestValidationUtils.alternativaNula(i));
+                continue;
+            }
+
+            nombres[i] = a.getNombre();
+            if (RequestValidationUtils.isBlank(a.getNombre())) {
+                erroresNombre.add(RequestValidationUtils.nombreVacio(i));
+            } else {
+                recortados.add(a.getNombre().trim());
+            }
+
+            Map<String, Double> valores = a.getValores();
+            if (valores == null || valores.isEmpty()) {
+                erroresValores.add(RequestValidationUtils.valoresVacios(i));
+                continue;
+            }
+            for (Map.Entry<String, Double> e : valores.entrySet()) {
+                if (e.getValue() == null) {
+                    matriz.nulo(e.getKey());
+                } else {
+                    matriz.valor(e.getKey(), e.getValue());
+                }
+            }
+            matriz.cerrarFila(erroresValores);
+        }
+
+        RequestValidationUtils.validarLectura(request, request.getCriterios(), n,
+                erroresNombre, recortados, erroresValores, tope);
+        return ahp.aplicar(new CompiledDecisionRequest(request, matriz.construir(nombres), clave));
+    }
+}
@@ -0,0 +1,630 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.ComparacionAhpDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.FieldErrorList;
+import com.decisiontree.backend.service.cache.CanonicalRequestHasher;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import com.decisiontree.backend.service.criteria.AhpWeightSolver;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lee el JSON de /api/dss/evaluar token a token y lo compila directo a una DecisionMatrix,
+ * sin materializar AlternativaDto ni un HashMap por alternativa.
+ *
+ * Si "criterios" llega antes que "alternativas" (lo habitual), cada valor se escribe en su
+ * celda final ya orientado. Si llega después, las celdas se guardan como (clave, valor) en
+ * arreglos primitivos y se ubican al final. En ambos casos la memoria es proporcional a la
+ * matriz. Los errores son los mismos (campos, textos y orden) que da RequestValidationUtils.
+ *
+ * Con el caché habilitado, de paso calcula la clave canónica del problema para que el servicio
+ * pueda devolver una respuesta ya calculada sin evaluar.
+ */
+@Component
+public class DecisionRequestStreamReader {
+
+    private final JsonFactory jsonFactory = JsonFactory.builder().build();
+    private final DecisionResultCache cache;
+    private final ValidationLimits limites;
+    private final AhpWeightSolver ahp;
+
+    public DecisionRequestStreamReader(DecisionResultCache cache) {
+        this(cache, ValidationLimits.SIN_LIMITE);
+    }
+
+    public DecisionRequestStreamReader(DecisionResultCache cache, ValidationLimits limites) {
+        this(cache, limites, new AhpWeightSolver());
+    }
+
+    @Autowired
+    public DecisionRequestStreamReader(DecisionResultCache cache, ValidationLimits limites, AhpWeightSolver ahp) {
+        this.cache = cache;
+        this.limites = limites;
+        this.ahp = ahp;
+    }
+
+    public CompiledDecisionRequest leer(InputStream body) {
+        try (JsonParser parser = jsonFactory.createParser(ObjectReadContext.empty(), body)) {
+            return ahp.aplicar(new Lectura(parser, cache, limites.nuevoTope()).leer());
+        } catch (JacksonException ex) {
+            throw new BusinessValidationException("Request inválido", List.of(
+                    new BusinessValidationException.FieldError("body", "JSON inválido: " + ex.getOriginalMessage())
+            ));
+        }
+    }
+
+    /**
+     * Estado de la lectura de un request.
+     */
+    private static final class Lectura {
+
+        private final JsonParser p;
+        private final DecisionResultCache cache;
+        private final FieldErrorList.Tope tope;
+        private final DecisionRequest parametros = new DecisionRequest();
+        private final List<BusinessValidationException.FieldError> erroresFormato;
+
+        private List<ConfigDto> criterios;
+        private boolean alternativasLeidas;
+
+        // alternativas
+        private int n;
+        private String[] nombres = new String[16];
+        private final List<String> nombresRecortados = new ArrayList<>();
+        private final List<BusinessValidationException.FieldError> erroresNombre;
+        private final List<BusinessValidationException.FieldError> erroresValores;
+
+        // escritura directa (criterios conocidos)
+        private OrientedMatrixBuilder matriz;
+
+        // escritura diferida (criterios después de alternativas)
+        private Map<String, Integer> claves;
+        private List<String> nombresClave;
+        private int[] inicioFila;
+        private int celdas;
+        private int[] claveCelda;      // -(id + 1) si el valor es null
+        private double[] valorCelda;
+        private byte[] tipoFila;       // FILA_OK, FILA_NULA o FILA_SIN_VALORES
+
+        private static final byte FILA_OK = 0;
+        private static final byte FILA_NULA = 1;
+        private static final byte FILA_SIN_VALORES = 2;
+
+        // clave de caché: pares (clave, valor) de la alternativa actual, se ordenan al cerrarla
+        private CanonicalRequestHasher hasher;
+        private String[] clavesHuella = new String[16];
+        private double[] valoresHuella = new double[16];
+        private boolean[] nulosHuella = new boolean[16];
+        private int paresHuella;
+
+        Lectura(JsonParser p, DecisionResultCache cache, FieldErrorList.Tope tope) {
+            this.p = p;
+            this.cache = cache;
+            this.tope = tope;
+            this.erroresFormato = new FieldErrorList(tope);
+            this.erroresNombre = new FieldErrorList(tope);
+            this.erroresValores = new FieldErrorList(tope);
+            this.hasher = cache.admite(0) ? new CanonicalRequestHasher() : null;
+        }
+
+        CompiledDecisionRequest leer() {
+            JsonToken t = p.nextToken();
+            if (t == null || t == JsonToken.VALUE_NULL) {
+                throw RequestValidationUtils.bodyNulo();
+            }
+            if (t != JsonToken.START_OBJECT) {
+                throw new BusinessValidationException("Request inválido", List.of(
+                        new BusinessValidationException.FieldError("body", "Debe ser un objeto JSON")
+                ));
+            }
+
+            while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                String campo = p.currentName();
+                JsonToken valor = p.nextToken();
+                switch (campo) {
+                    case "modo" -> parametros.setModo(texto("modo", valor));
+                    case "modos" -> parametros.setModos(listaTexto("modos", valor));
+                    case "alpha" -> parametros.setAlpha(numero("alpha", valor));
+                    case "topK" -> parametros.setTopK(entero("topK", valor));
+                    case "offset" -> parametros.setOffset(entero("offset", valor));
+                    case "limit" -> parametros.setLimit(entero("limit", valor));
+                    case "prefiltrarDominadas" -> parametros.setPrefiltrarDominadas(booleano("prefiltrarDominadas", valor));
+                    case "comparaciones" -> parametros.setComparaciones(comparacion("comparaciones", valor));
+                    case "criterios" -> leerCriterios(valor);
+                    case "alternativas" -> leerAlternativas(valor);
+                    default -> p.skipChildren();
+                }
+            }
+
+            if (!erroresFormato.isEmpty()) {
+                throw new BusinessValidationException("Request inválido", erroresFormato);
+            }
+            if (matriz == null && n > 0 && criterios != null) {
+                ubicarCeldasDiferidas();
+            }
+
+            RequestValidationUtils.validarLectura(parametros, criterios, n, erroresNombre, nombresRecortados,
+                    erroresValores, tope);
+            String clave = (hasher == null) ? null : hasher.clave(parametros, criterios);
+            return new CompiledDecisionRequest(parametros, matriz.construir(Arrays.copyOf(nombres, n)), clave);
+        }
+
+        // =======================
+        // criterios
+        // =======================
+        private void leerCriterios(JsonToken t) {
+            if (criterios != null) {
+                erroresFormato.add(new BusinessValidationException.FieldError("criterios", "Debe aparecer una sola vez"));
+                p.skipChildren();
+                return;
+            }
+            criterios = new ArrayList<>();
+            if (t == JsonToken.VALUE_NULL) {
+                return;
+            }
+            if (t != JsonToken.START_ARRAY) {
+                erroresFormato.add(new BusinessValidationException.FieldError("criterios", "Debe ser una lista"));
+                p.skipChildren();
+                return;
+            }
+
+            int i = 0;
+            for (JsonToken e = p.nextToken(); e != JsonToken.END_ARRAY; e = p.nextToken(), i++) {
+                String path = "criterios[" + i + "]";
+                if (e == JsonToken.VALUE_NULL) {
+                    criterios.add(null);
+                    continue;
+                }
+                if (e != JsonToken.START_OBJECT) {
+                    erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser un objeto"));
+                    p.skipChildren();
+                    continue;
+                }
+                ConfigDto c = new ConfigDto();
+                while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                    String campo = p.currentName();
+                    JsonToken valor = p.nextToken();
+                    switch (campo) {
+                        case "criterio" -> c.setCriterio(texto(path + ".criterio", valor));
+                        case "peso" -> c.setPeso(numero(path + ".peso", valor));
+                        case "tipo" -> c.setTipo(texto(path + ".tipo", valor));
+                        case "pesoMinimo" -> c.setPesoMinimo(numero(path + ".pesoMinimo", valor));
+                        case "pesoMaximo" -> c.setPesoMaximo(numero(path + ".pesoMaximo", valor));
+                        case "funcionPreferencia" -> c.setFuncionPreferencia(texto(path + ".funcionPreferencia", valor));
+                        case "umbralIndiferencia" -> c.setUmbralIndiferencia(numero(path + ".umbralIndiferencia", valor));
+                        case "umbralPreferencia" -> c.setUmbralPreferencia(numero(path + ".umbralPreferencia", valor));
+                        default -> p.skipChildren();
+                    }
+                }
+                criterios.add(c);
+            }
+        }
+
+        // =======================
+        // comparaciones AHP
+        // =======================
+        private ComparacionAhpDto comparacion(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t != JsonToken.START_OBJECT) {
+                erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser un objeto"));
+                p.skipChildren();
+                return null;
+            }
+            ComparacionAhpDto nodo = new ComparacionAhpDto();
+            while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                String campo = p.currentName();
+                JsonToken valor = p.nextToken();
+                switch (campo) {
+                    case "elementos" -> nodo.setElementos(listaTexto(path + ".elementos", valor));
+                    case "matriz" -> nodo.setMatriz(matrizNumeros(path + ".matriz", valor));
+                    case "subcriterios" -> nodo.setSubcriterios(subcriterios(path + ".subcriterios", valor));
+                    default -> p.skipChildren();
+                }
+            }
+            return nodo;
+        }
+
+        private Map<String, ComparacionAhpDto> subcriterios(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t != JsonToken.START_OBJECT) {
+                erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser un objeto"));
+                p.skipChildren();
+                return null;
+            }
+            Map<String, ComparacionAhpDto> grupos = new LinkedHashMap<>();
+            while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                String grupo = p.currentName();
+                grupos.put(grupo, comparacion(path + "." + grupo, p.nextToken()));
+            }
+            return grupos;
+        }
+
+        private List<List<Double>> matrizNumeros(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t != JsonToken.START_ARRAY) {
+                erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser una lista"));
+                p.skipChildren();
+                return null;
+            }
+            List<List<Double>> filas = new ArrayList<>();
+            int i = 0;
+            for (JsonToken e = p.nextToken(); e != JsonToken.END_ARRAY; e = p.nextToken(), i++) {
+                String fila = path + "[" + i + "]";
+                if (e == JsonToken.VALUE_NULL) {
+                    filas.add(null);
+                    continue;
+                }
+                if (e != JsonToken.START_ARRAY) {
+                    erroresFormato.add(new BusinessValidationException.FieldError(fila, "Debe ser una lista"));
+                    p.skipChildren();
+                    filas.add(null);
+                    continue;
+                }
+                List<Double> valores = new ArrayList<>();
+                int j = 0;
+                for (JsonToken v = p.nextToken(); v != JsonToken.END_ARRAY; v = p.nextToken(), j++) {
+                    valores.add(numero(fila + "[" + j + "]", v));
+                }
+                filas.add(valores);
+            }
+            return filas;
+        }
+
+        // =======================
+        // alternativas
+        // =======================
+        private void leerAlternativas(JsonToken t) {
+            if (alternativasLeidas) {
+                erroresFormato.add(new BusinessValidationException.FieldError("alternativas", "Debe aparecer una sola vez"));
+                p.skipChildren();
+                return;
+            }
+            alternativasLeidas = true;
+            if (t == JsonToken.VALUE_NULL) {
+                return;
+            }
+            if (t != JsonToken.START_ARRAY) {
+                erroresFormato.add(new BusinessValidationException.FieldError("alternativas", "Debe ser una lista"));
+                p.skipChildren();
+                return;
+            }
+
+            boolean directo = (criterios != null);
+            if (directo) {
+                matriz = new OrientedMatrixBuilder(criterios);
+            } else {
+                claves = new HashMap<>();
+                nombresClave = new ArrayList<>();
+                inicioFila = new int[17];
+                claveCelda = new int[256];
+                valorCelda = new double[256];
+                tipoFila = new byte[16];
+            }
+
+            for (JsonToken e = p.nextToken(); e != JsonToken.END_ARRAY; e = p.nextToken()) {
+                int i = n++;
+                if (i >= nombres.length) {
+                    nombres = Arrays.copyOf(nombres, crecer(nombres.length));
+                }
+                if (directo) {
+                    matriz.abrirFila();
+                } else {
+                    abrirFilaDiferida(i);
+                }
+                if (hasher != null && !cache.admite(n)) {
+                    hasher = null;
+                }
+                paresHuella = 0;
+
+                if (e == JsonToken.VALUE_NULL) {
+                    if (hasher != null) {
+                        hasher.alternativaNula();
+                    }
+                    erroresNombre.add(RequestValidationUtils.alternativaNula(i));
+                    cerrarFila(i, directo, FILA_NULA);
+                    continue;
+                }
+                if (e != JsonToken.START_OBJECT) {
+                    erroresFormato.add(new BusinessValidationException.FieldError("alternativas[" + i + "]",
+                            "Debe ser un objeto"));
+                    p.skipChildren();
+                    cerrarFila(i, directo, FILA_NULA);
+                    continue;
+                }
+
+                String nombre = null;
+                boolean conValores = false;
+                boolean valoresNulos = true;
+                while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                    String campo = p.currentName();
+                    JsonToken valor = p.nextToken();
+                    switch (campo) {
+                        case "nombre" -> nombre = texto("alternativas[" + i + "].nombre", valor);
+                        case "valores" -> {
+                            valoresNulos = (valor == JsonToken.VALUE_NULL);
+                            conValores = leerValores(i, valor, directo);
+                        }
+                        default -> p.skipChildren();
+                    }
+                }
+                if (hasher != null) {
+                    huellaAlternativa(nombre, valoresNulos);
+                }
+
+                nombres[i] = nombre;
+                if (RequestValidationUtils.isBlank(nombre)) {
+                    erroresNombre.add(RequestValidationUtils.nombreVacio(i));
+                } else {
+                    nombresRecortados.add(nombre.trim());
+                }
+                cerrarFila(i, directo, conValores ? FILA_OK : FILA_SIN_VALORES);
+            }
+        }
+
+        /**
+         * Lee el objeto "valores" de la alternativa i. Devuelve false si es null o vacío.
+         */
+        private boolean leerValores(int i, JsonToken t, boolean directo) {
+            if (t == JsonToken.VALUE_NULL) {
+                return false;
+            }
+            String path = "alternativas[" + i + "].valores";
+            if (t != JsonToken.START_OBJECT) {
+                erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser un objeto"));
+                p.skipChildren();
+                return false;
+            }
+
+            boolean alguno = false;
+            while (p.nextToken() == JsonToken.PROPERTY_NAME) {
+                String clave = p.currentName();
+                JsonToken valor = p.nextToken();
+                alguno = true;
+
+                boolean nulo = (valor == JsonToken.VALUE_NULL);
+                double numero = 0.0;
+                if (!nulo) {
+                    Double leido = numero(path + "." + clave, valor);
+                    if (leido == null) {
+                        continue; // ya quedó el error de formato
+                    }
+                    numero = leido;
+                }
+                if (hasher != null) {
+                    agregarParHuella(clave, nulo, numero);
+                }
+
+                if (directo) {
+                    if (nulo) {
+                        matriz.nulo(clave);
+                    } else {
+                        matriz.valor(clave, numero);
+                    }
+                } else {
+                    Integer id = claves.get(clave);
+                    if (id == null) {
+                        id = nombresClave.size();
+                        claves.put(clave, id);
+                        nombresClave.add(clave);
+                    }
+                    agregarCelda(nulo ? -(id + 1) : id, numero);
+                }
+            }
+            return alguno;
+        }
+
+        private void agregarParHuella(String clave, boolean nulo, double valor) {
+            if (paresHuella == clavesHuella.length) {
+                int capacidad = crecer(paresHuella);
+                clavesHuella = Arrays.copyOf(clavesHuella, capacidad);
+                valoresHuella = Arrays.copyOf(valoresHuella, capacidad);
+                nulosHuella = Arrays.copyOf(nulosHuella, capacidad);
+            }
+            clavesHuella[paresHuella] = clave;
+            valoresHuella[paresHuella] = valor;
+            nulosHuella[paresHuella] = nulo;
+            paresHuella++;
+        }
+
+        /**
+         * Pasa la alternativa al hasher con sus valores ordenados por clave. Las filas angostas
+         * se ordenan por inserción en los mismos buffers; las anchas, con un índice.
+         */
+        private void huellaAlternativa(String nombre, boolean valoresNulos) {
+            hasher.alternativa(nombre, valoresNulos ? -1 : paresHuella);
+
+            if (paresHuella > 32) {
+                Integer[] orden = new Integer[paresHuella];
+                for (int a = 0; a < paresHuella; a++) {
+                    orden[a] = a;
+                }
+                Arrays.sort(orden, (x, y) -> clavesHuella[x].compareTo(clavesHuella[y]));
+                for (int k : orden) {
+                    hasher.valor(clavesHuella[k], nulosHuella[k] ? null : valoresHuella[k]);
+                }
+                return;
+            }
+
+            for (int a = 1; a < paresHuella; a++) {
+                String clave = clavesHuella[a];
+                double valor = valoresHuella[a];
+                boolean nulo = nulosHuella[a];
+                int b = a - 1;
+                while (b >= 0 && clavesHuella[b].compareTo(clave) > 0) {
+                    clavesHuella[b + 1] = clavesHuella[b];
+                    valoresHuella[b + 1] = valoresHuella[b];
+                    nulosHuella[b + 1] = nulosHuella[b];
+                    b--;
+                }
+                clavesHuella[b + 1] = clave;
+                valoresHuella[b + 1] = valor;
+                nulosHuella[b + 1] = nulo;
+            }
+            for (int a = 0; a < paresHuella; a++) {
+                hasher.valor(clavesHuella[a], nulosHuella[a] ? null : valoresHuella[a]);
+            }
+        }
+
+        private void cerrarFila(int i, boolean directo, byte tipo) {
+            if (!directo) {
+                tipoFila[i] = tipo;
+                inicioFila[i + 1] = celdas;
+            } else if (tipo == FILA_SIN_VALORES) {
+                erroresValores.add(RequestValidationUtils.valoresVacios(i));
+            } else if (tipo == FILA_OK) {
+                matriz.cerrarFila(erroresValores);
+            }
+        }
+
+        private void abrirFilaDiferida(int i) {
+            if (i + 1 >= inicioFila.length) {
+                inicioFila = Arrays.copyOf(inicioFila, crecer(inicioFila.length));
+            }
+            if (i >= tipoFila.length) {
+                tipoFila = Arrays.copyOf(tipoFila, crecer(tipoFila.length));
+            }
+            inicioFila[i] = celdas;
+        }
+
+        private void agregarCelda(int clave, double valor) {
+            if (celdas == claveCelda.length) {
+                claveCelda = Arrays.copyOf(claveCelda, crecer(celdas));
+                valorCelda = Arrays.copyOf(valorCelda, claveCelda.length);
+            }
+            claveCelda[celdas] = clave;
+            valorCelda[celdas] = valor;
+            celdas++;
+        }
+
+        private static int crecer(int actual) {
+            return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16L, actual + (actual >> 1)));
+        }
+
+        /**
+         * Con los criterios ya conocidos, pasa las celdas (clave, valor) a la matriz final en el
+         * mismo orden en que llegaron, como si se hubieran leído en modo directo.
+         */
+        private void ubicarCeldasDiferidas() {
+            matriz = new OrientedMatrixBuilder(criterios);
+            for (int i = 0; i < n; i++) {
+                matriz.abrirFila();
+                if (tipoFila[i] == FILA_OK) {
+                    for (int c = inicioFila[i]; c < inicioFila[i + 1]; c++) {
+                        int clave = claveCelda[c];
+                        if (clave < 0) {
+                            matriz.nulo(nombresClave.get(-clave - 1));
+                        } else {
+                            matriz.valor(nombresClave.get(clave), valorCelda[c]);
+                        }
+                    }
+                }
+                cerrarFila(i, true, tipoFila[i]);
+            }
+            claveCelda = null;
+            valorCelda = null;
+        }
+
+        // =======================
+        // escalares
+        // =======================
+        private String texto(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t == JsonToken.VALUE_STRING || t == JsonToken.VALUE_NUMBER_INT || t == JsonToken.VALUE_NUMBER_FLOAT
+                    || t == JsonToken.VALUE_TRUE || t == JsonToken.VALUE_FALSE) {
+                return p.getString();
+            }
+            erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser texto"));
+            p.skipChildren();
+            return null;
+        }
+
+        private Double numero(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t == JsonToken.VALUE_NUMBER_INT || t == JsonToken.VALUE_NUMBER_FLOAT) {
+                return p.getDoubleValue();
+            }
+            if (t == JsonToken.VALUE_STRING) {
+                try {
+                    return Double.parseDouble(p.getString().trim());
+                } catch (NumberFormatException ex) {
+                    // cae al error de formato
+                }
+            }
+            erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser numérico"));
+            p.skipChildren();
+            return null;
+        }
+
+        private Integer entero(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t == JsonToken.VALUE_NUMBER_INT) {
+                long v = p.getLongValue();
+                if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE) {
+                    return (int) v;
+                }
+            }
+            erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser un entero"));
+            p.skipChildren();
+            return null;
+        }
+
+        private Boolean booleano(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t == JsonToken.VALUE_TRUE || t == JsonToken.VALUE_FALSE) {
+                return t == JsonToken.VALUE_TRUE;
+            }
+            erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser true o false"));
+            p.skipChildren();
+            return null;
+        }
+
+        private List<String> listaTexto(String path, JsonToken t) {
+            if (t == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (t != JsonToken.START_ARRAY) {
+                erroresFormato.add(new BusinessValidationException.FieldError(path, "Debe ser una lista"));
+                p.skipChildren();
+                return null;
+            }
+            List<String> lista = new ArrayList<>();
+            int i = 0;
+            for (JsonToken e = p.nextToken(); e != JsonToken.END_ARRAY; e = p.nextToken(), i++) {
+                lista.add(texto(path + "[" + i + "]", e));
+            }
+            return lista;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.FieldErrorList;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lee un .xlsx con las hojas config, criterios y alternativas (el mismo formato que
+ * frontend/src/parseDecisionExcel.js) con la API de eventos de POI: cada hoja se recorre con
+ * SAX fila por fila y las alternativas se escriben directo en la matriz, sin cargar el libro.
+ *
+ * Los errores de formato del libro son los mismos textos que lanza el parser del frontend;
+ * después se aplica la validación normal del request, como cuando el frontend lo envía.
+ */
+@Component
+public class ExcelDecisionReader {
+
+    static final String HOJA_CONFIG = "config";
+    static final String HOJA_CRITERIOS = "criterios";
+    static final String HOJA_ALTERNATIVAS = "alternativas";
+
+    // Prefijo numérico que acepta parseFloat de JavaScript
+    private static final Pattern PREFIJO_NUMERICO =
+            Pattern.compile("[+-]?(Infinity|(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?)");
+
+    private final ValidationLimits limites;
+
+    public ExcelDecisionReader() {
+        this(ValidationLimits.SIN_LIMITE);
+    }
+
+    @Autowired
+    public ExcelDecisionReader(ValidationLimits limites) {
+        this.limites = limites;
+    }
+
+    public CompiledDecisionRequest leer(MultipartFile archivo) {
+        Path temporal = null;
+        try {
+            // POI lee el zip con acceso aleatorio desde disco; desde un stream lo cargaría entero
+            temporal = Files.createTempFile("dss-", ".xlsx");
+            archivo.transferTo(temporal);
+            return leer(temporal);
+        } catch (IOException ex) {
+            throw error("archivo", "No se pudo leer el archivo.");
+        } finally {
+            if (temporal != null) {
+                try {
+                    Files.deleteIfExists(temporal);
+                } catch (IOException ignored) {
+                    // el temporal queda para el limpiador del sistema
+                }
+            }
+        }
+    }
+
+    public CompiledDecisionRequest leer(Path archivo) {
+        try (OPCPackage paquete = OPCPackage.open(archivo.toFile(), PackageAccess.READ)) {
+            XSSFReader xssf = new XSSFReader(paquete);
+
+            Map<String, PackagePart> hojas = new HashMap<>();
+            XSSFReader.SheetIterator it = (XSSFReader.SheetIterator) xssf.getSheetsData();
+            while (it.hasNext()) {
+                it.next().close();
+                hojas.putIfAbsent(it.getSheetName(), it.getSheetPart());
+            }
+            for (String hoja : List.of(HOJA_CONFIG, HOJA_CRITERIOS, HOJA_ALTERNATIVAS)) {
+                if (!hojas.containsKey(hoja)) {
+                    throw error("archivo", "Falta la hoja \"" + hoja + "\". Se requieren: config, criterios, alternativas.");
+                }
+            }
+
+            SharedStrings textos = new ReadOnlySharedStringsTable(paquete);
+
+            HojaConfig config = new HojaConfig();
+            recorrer(hojas.get(HOJA_CONFIG), textos, config);
+            DecisionRequest parametros = config.terminar();
+
+            HojaCriterios criterios = new HojaCriterios();
+            recorrer(hojas.get(HOJA_CRITERIOS), textos, criterios);
+            criterios.terminar();
+
+            FieldErrorList.Tope tope = limites.nuevoTope();
+            HojaAlternativas alternativas = new HojaAlternativas(criterios.criterios, tope);
+            recorrer(hojas.get(HOJA_ALTERNATIVAS), textos, alternativas);
+            alternativas.terminar();
+
+            RequestValidationUtils.validarLectura(parametros, criterios.criterios, alternativas.nombres.size(),
+                    List.of(), alternativas.nombres, alternativas.erroresValores, tope);
+
+            return new CompiledDecisionRequest(parametros,
+                    alternativas.matriz.construir(alternativas.nombres.toArray(new String[0])));
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException
+                 | POIXMLException | UnsupportedFileFormatException | InvalidOperationException ex) {
+            throw error("archivo", "No se pudo leer el archivo.");
+        }
+    }
+
+    private static void recorrer(PackagePart hoja, SharedStrings textos, Hoja destino)
+            throws IOException, SAXException, ParserConfigurationException {
+        // Sin estilos los números llegan tal como están guardados (sin formato de celda)
+        XMLReader xml = XMLHelper.newXMLReader();
+        xml.setContentHandler(new XSSFSheetXMLHandler(null, textos, destino, false));
+        try (InputStream in = hoja.getInputStream()) {
+            xml.parse(new InputSource(in));
+        }
+    }
+
+    private static BusinessValidationException error(String campo, String mensaje) {
+        return new BusinessValidationException("Excel inválido", List.of(
+                new BusinessValidationException.FieldError(campo, mensaje)
+        ));
+    }
+
+    /**
+     * parseFloat de JavaScript: toma el prefijo numérico del texto. NaN o infinito quedan en
+     * null, que es como llegaban al backend después de JSON.stringify.
+     */
+    static Double parseFloatJs(String texto) {
+        Matcher m = PREFIJO_NUMERICO.matcher(texto.strip());
+        if (!m.lookingAt()) {
+            return null;
+        }
+        double valor = Double.parseDouble(m.group());
+        return Double.isFinite(valor) ? valor : null;
+    }
+
+    /** Celda "truthy" en JS: existe y no es texto vacío. */
+    private static boolean tieneValor(String celda) {
+        return celda != null && !celda.isEmpty();
+    }
+
+    /**
+     * Hoja recorrida fila por fila; las celdas de la fila actual quedan por columna (null si
+     * no existe). Cuenta las filas como sheet_to_json con header: 1 (incluye filas en blanco).
+     */
+    private abstract static class Hoja implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        int filas;
+        String[] celdas = new String[8];
+        int ancho;
+
+        @Override
+        public void startRow(int fila) {
+            Arrays.fill(celdas, 0, ancho, null);
+            ancho = 0;
+            filas = Math.max(filas, fila + 1);
+        }
+
+        @Override
+        public void endRow(int fila) {
+            fila(fila);
+        }
+
+        @Override
+        public void cell(String referencia, String valor, XSSFComment comentario) {
+            int columna = columna(referencia);
+            if (columna >= celdas.length) {
+                celdas = Arrays.copyOf(celdas, Math.max(columna + 1, celdas.length * 2));
+            }
+            celdas[columna] = valor;
+            ancho = Math.max(ancho, columna + 1);
+        }
+
+        String celda(int columna) {
+            return (columna < ancho) ? celdas[columna] : null;
+        }
+
+        abstract void fila(int fila);
+
+        private static int columna(String referencia) {
+            int columna = 0;
+            for (int k = 0; k < referencia.length(); k++) {
+                char c = referencia.charAt(k);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                columna = columna * 26 + (c - 'A' + 1);
+            }
+            return columna - 1;
+        }
+    }
+
+    private static final class HojaConfig extends Hoja {
+
+        String modo = "";
+        Double alpha;
+
+        @Override
+        void fila(int fila) {
+            if (fila != 1) {
+                return;
+            }
+            modo = tieneValor(celda(0)) ? celda(0).trim().toLowerCase(Locale.ROOT) : "";
+            alpha = tieneValor(celda(1)) ? parseFloatJs(celda(1)) : null;
+        }
+
+        DecisionRequest terminar() {
+            if (filas < 2) {
+                throw error(HOJA_CONFIG, "La hoja \"config\" esta vacia.");
+            }
+            if (modo.isEmpty()) {
+                throw error(HOJA_CONFIG, "El campo \"modo\" esta vacio en la hoja config.");
+            }
+            DecisionRequest parametros = new DecisionRequest();
+            parametros.setModo(modo);
+            parametros.setAlpha(alpha);
+            return parametros;
+        }
+    }
+
+    private static final class HojaCriterios extends Hoja {
+
+        final List<ConfigDto> criterios = new ArrayList<>();
+
+        @Override
+        void fila(int fila) {
+            if (fila == 0 || !tieneValor(celda(0))) {
+                return;
+            }
+            String criterio = celda(0).trim();
+            if (criterio.isEmpty()) {
+                return;
+            }
+            Double peso = tieneValor(celda(1)) ? parseFloatJs(celda(1)) : Double.valueOf(0.0);
+            String tipo = (tieneValor(celda(2)) ? celda(2) : "beneficio").trim().toLowerCase(Locale.ROOT);
+            criterios.add(new ConfigDto(criterio, peso, tipo));
+        }
+
+        void terminar() {
+            if (filas < 2) {
+                throw error(HOJA_CRITERIOS, "La hoja \"criterios\" esta vacia.");
+            }
+            if (criterios.isEmpty()) {
+                throw error(HOJA_CRITERIOS, "No se encontraron criterios validos.");
+            }
+        }
+    }
+
+    private static final class HojaAlternativas extends Hoja {
+
+        final OrientedMatrixBuilder matriz;
+        final List<String> nombres = new ArrayList<>();
+        final List<BusinessValidationException.FieldError> erroresValores;
+        String[] encabezados = new String[0];
+
+        HojaAlternativas(List<ConfigDto> criterios, FieldErrorList.Tope tope) {
+            this.matriz = new OrientedMatrixBuilder(criterios);
+            this.erroresValores = new FieldErrorList(tope);
+        }
+
+        @Override
+        void fila(int fila) {
+            if (fila == 0) {
+                encabezados = new String[ancho];
+                for (int j = 0; j < ancho; j++) {
+                    encabezados[j] = (celdas[j] == null) ? null : celdas[j].trim();
+                }
+                return;
+            }
+            if (!tieneValor(celda(0))) {
+                return;
+            }
+            String nombre = celda(0).trim();
+            if (nombre.isEmpty()) {
+                return;
+            }
+
+            int i = matriz.abrirFila();
+            nombres.add(nombre);
+            boolean conValores = false;
+            for (int j = 1; j < encabezados.length; j++) {
+                String criterio = encabezados[j];
+                String valor = celda(j);
+                if (!tieneValor(criterio) || !tieneValor(valor)) {
+                    continue;
+                }
+                conValores = true;
+                Double numero = parseFloatJs(valor);
+                if (numero == null) {
+                    matriz.nulo(criterio);
+                } else {
+                    matriz.valor(criterio, numero);
+                }
+            }
+
+            if (conValores) {
+                matriz.cerrarFila(erroresValores);
+            } else {
+                erroresValores.add(RequestValidationUtils.valoresVacios(i));
+            }
+        }
+
+        void terminar() {
+            if (filas < 2) {
+                throw error(HOJA_ALTERNATIVAS, "La hoja \"alternativas\" esta vacia.");
+            }
+            if (nombres.isEmpty()) {
+                throw error(HOJA_ALTERNATIVAS, "No se encontraron alternativas validas.");
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.criteria.DecisionMatrix;
+import com.decisiontree.backend.util.DecisionMathUtils;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arma la matriz orientada fila por fila a medida que llegan los valores (clave, número),
+ * para los lectores en streaming.
+ *
+ * Cada valor se escribe directo en su celda (costo negado). Al cerrar la fila se reportan
+ * faltantes, nulos, no finitos (NaN o infinito, por ejemplo 1e400 en el JSON) y extras con los
+ * mismos campos y textos que RequestValidationUtils. Todos los lectores pasan por acá, así que
+ * ninguno deja llegar un valor no finito a los puntajes.
+ * También lo usa DecisionRequestCompiler para el DTO ya deserializado.
+ */
+final class OrientedMatrixBuilder {
+
+    private static final byte FALTA = 0;
+    private static final byte PRESENTE = 1;
+    private static final byte NULO = 2;
+    private static final byte NO_FINITO = 3;
+
+    private final List<ConfigDto> unicos;
+    private final String[] nombres;
+    private final Map<String, Integer> columnas;
+    private final boolean[] costo;
+    private final byte[] estadoFila;
+    private final List<String> extrasFila = new ArrayList<>();
+
+    private double[] valores;
+    private int filas;
+
+    /**
+     * @param criterios criterios tal como llegaron; los null o sin nombre se omiten igual que en
+     *                  el validador (que los reporta aparte)
+     */
+    OrientedMatrixBuilder(List<ConfigDto> criterios) {
+        this(criterios, 16);
+    }
+
+    /**
+     * @param filasEsperadas capacidad inicial en filas (crece si llegan más)
+     */
+    OrientedMatrixBuilder(List<ConfigDto> criterios, int filasEsperadas) {
+        List<ConfigDto> validos = new ArrayList<>();
+        for (ConfigDto c : criterios) {
+            if (c != null && !RequestValidationUtils.isBlank(c.getCriterio())) {
+                validos.add(c);
+            }
+        }
+        unicos = DecisionMatrix.criteriosUnicos(validos);
+
+        int m = unicos.size();
+        nombres = new String[m];
+        columnas = new HashMap<>(m * 2);
+        costo = new boolean[m];
+        for (int j = 0; j < m; j++) {
+            nombres[j] = unicos.get(j).getCriterio().trim();
+            columnas.put(nombres[j], j);
+            costo[j] = DecisionMathUtils.isTipoCosto(unicos.get(j).getTipo());
+        }
+        estadoFila = new byte[m];
+        valores = new double[(int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) filasEsperadas * m, 16))];
+    }
+
+    /**
+     * Abre la fila siguiente (también para alternativas inválidas, así el índice coincide con
+     * la posición en la lista) y devuelve su índice.
+     */
+    int abrirFila() {
+        int i = filas++;
+        long necesario = (long) filas * nombres.length;
+        if (necesario > valores.length) {
+            valores = Arrays.copyOf(valores, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(necesario, valores.length + (valores.length >> 1))));
+        }
+        Arrays.fill(estadoFila, FALTA);
+        extrasFila.clear();
+        return i;
+    }
+
+    /** Valor de la fila abierta; si la clave se repite queda el último. */
+    void valor(String clave, double valor) {
+        Integer j = columnas.get(clave);
+        if (j == null) {
+            extra(clave);
+            return;
+        }
+        escribir(j, valor);
+    }
+
+    /** Valor null en la fila abierta. */
+    void nulo(String clave) {
+        Integer j = columnas.get(clave);
+        if (j == null) {
+            extra(clave);
+            return;
+        }
+        estadoFila[j] = NULO;
+    }
+
+    /** Columna de la matriz para la clave, o -1 si no es un criterio. */
+    int columna(String clave) {
+        Integer j = columnas.get(clave);
+        return (j == null) ? -1 : j;
+    }
+
+    /** Valor de la fila abierta en una columna ya resuelta con columna(clave). */
+    void valor(int j, double valor) {
+        escribir(j, valor);
+    }
+
+    /** Valor null de la fila abierta en una columna ya resuelta con columna(clave). */
+    void nulo(int j) {
+        estadoFila[j] = NULO;
+    }
+
+    private void escribir(int j, double valor) {
+        if (!Double.isFinite(valor)) {
+            estadoFila[j] = NO_FINITO;
+            return;
+        }
+        valores[(filas - 1) * nombres.length + j] = costo[j] ? -valor : valor;
+        estadoFila[j] = PRESENTE;
+    }
+
+    private void extra(String clave) {
+        if (!extrasFila.contains(clave)) {
+            extrasFila.add(clave);
+        }
+    }
+
+    /**
+     * Cierra la fila abierta (que tenía al menos un valor) y agrega sus errores: faltantes,
+     * nulos y no finitos en el orden de los criterios, después los extras.
+     */
+    void cerrarFila(List<BusinessValidationException.FieldError> errores) {
+        int i = filas - 1;
+        for (int j = 0; j < nombres.length; j++) {
+            if (estadoFila[j] == FALTA) {
+                errores.add(RequestValidationUtils.faltaValor(i, nombres[j]));
+            } else if (estadoFila[j] == NULO) {
+                errores.add(RequestValidationUtils.valorNulo(i, nombres[j]));
+            } else if (estadoFila[j] == NO_FINITO) {
+                errores.add(RequestValidationUtils.valorNoFinito(i, nombres[j]));
+            }
+        }
+        for (String extra : extrasFila) {
+            errores.add(RequestValidationUtils.criterioExtra(i, extra));
+        }
+    }
+
+    int filas() {
+        return filas;
+    }
+
+    DecisionMatrix construir(String[] alternativas) {
+        return DecisionMatrix.desdeValoresOrientados(alternativas, unicos, valores);
+    }
+}
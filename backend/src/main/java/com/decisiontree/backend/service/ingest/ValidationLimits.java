@@ -0,0 +1,32 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.exception.FieldErrorList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuántos errores de validación se juntan por request antes de cortar (0 = sin límite) y si
+ * se corta en el primero (fail-fast). Lo comparten el compilador del DTO y los lectores.
+ */
+@Component
+public class ValidationLimits {
+
+    public static final ValidationLimits SIN_LIMITE = new ValidationLimits(0, false);
+
+    private final int erroresMaximos;
+    private final boolean failFast;
+
+    public ValidationLimits(@Value("${dss.validacion.errores-maximos:100}") int erroresMaximos,
+                            @Value("${dss.validacion.fail-fast:false}") boolean failFast) {
+        this.erroresMaximos = erroresMaximos;
+        this.failFast = failFast;
+    }
+
+    /** Tope nuevo para un request, o null si no hay límite. */
+    FieldErrorList.Tope nuevoTope() {
+        if (!failFast && erroresMaximos <= 0) {
+            return null;
+        }
+        return new FieldErrorList.Tope(erroresMaximos, failFast);
+    }
+}
@@ -0,0 +1,207 @@
+package com.decisiontree.backend.service.metrics;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas del motor, expuestas en /actuator/prometheus:
+ *
+ * - dss.evaluacion (timer, modo): evaluación completa, de la validación a la respuesta
+ * - dss.evaluacion.etapa (timer, modo, etapa): validacion, puntuacion y ordenamiento
+ * - dss.evaluacion.alternativas y dss.evaluacion.criterios: tamaño de cada matriz evaluada
+ * - dss.validacion.errores (contador, campo): errores de validación por campo, sin índices
+ * - dss.evaluaciones.activas (gauge): evaluaciones en curso
+ * - dss.cache.aciertos, dss.cache.fallos y dss.cache.desalojos: contadores del caché de resultados
+ *
+ * Los timers se guardan por modo para no buscarlos en el registro en cada evaluación. Sin
+ * registro (SIN_REGISTRO, para el calculador creado a mano) todas las operaciones no hacen nada.
+ */
+@Component
+public class DecisionMetrics {
+
+    public static final DecisionMetrics SIN_REGISTRO = new DecisionMetrics(null, null);
+
+    /** Modo usado como etiqueta cuando se piden varios a la vez. */
+    public static final String MODO_MULTIPLE = "multiple";
+    private static final String MODO_OTRO = "otro";
+
+    public enum Etapa {
+        VALIDACION("validacion"),
+        PUNTUACION("puntuacion"),
+        ORDENAMIENTO("ordenamiento");
+
+        private final String etiqueta;
+
+        Etapa(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+    }
+
+    private static final List<String> MODOS_CONOCIDOS = List.of(
+            DecisionModes.RANKING, DecisionModes.SAW, DecisionModes.VALOR_ESPERADO, DecisionModes.EXPECTED_VALUE,
+            DecisionModes.MAXIMIN, DecisionModes.MAXIMAX, DecisionModes.LAPLACE, DecisionModes.HURWICZ,
+            DecisionModes.MINIMAX_REGRET, DecisionModes.TOPSIS, DecisionModes.VIKOR,
+            DecisionModes.PROMETHEE, DecisionModes.PARETO
+    );
+
+    private final MeterRegistry registry;
+    private final AtomicInteger activas = new AtomicInteger();
+    private final DistributionSummary alternativas;
+    private final DistributionSummary criterios;
+
+    // modo -> [evaluación, validación, puntuación, ordenamiento]
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> erroresPorCampo = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DecisionMetrics(MeterRegistry registry, DecisionResultCache cache) {
+        this.registry = registry;
+        if (registry == null) {
+            alternativas = null;
+            criterios = null;
+            return;
+        }
+
+        alternativas = DistributionSummary.builder("dss.evaluacion.alternativas")
+                .description("Alternativas por evaluación")
+                .publishPercentileHistogram()
+                .register(registry);
+        criterios = DistributionSummary.builder("dss.evaluacion.criterios")
+                .description("Criterios por evaluación")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("dss.evaluaciones.activas", activas, AtomicInteger::get)
+                .description("Evaluaciones en curso")
+                .register(registry);
+
+        FunctionCounter.builder("dss.cache.aciertos", cache, c -> c.estadisticas().getAciertos()).register(registry);
+        FunctionCounter.builder("dss.cache.fallos", cache, c -> c.estadisticas().getFallos()).register(registry);
+        FunctionCounter.builder("dss.cache.desalojos", cache, c -> c.estadisticas().getDesalojos()).register(registry);
+    }
+
+    /**
+     * Etiqueta de modo de un request: el modo normalizado, "multiple" si pide varios u "otro"
+     * si no es un modo conocido (así un modo inválido no crea series nuevas).
+     */
+    public static String modo(DecisionRequest parametros) {
+        if (parametros == null) {
+            return MODO_OTRO;
+        }
+        if (DecisionModes.isMultiMode(parametros.getModo(), parametros.getModos())) {
+            return MODO_MULTIPLE;
+        }
+        return modo(parametros.getModo());
+    }
+
+    public static String modo(String modo) {
+        String normalizado = DecisionModes.normalize(modo);
+        return MODOS_CONOCIDOS.contains(normalizado) ? normalizado : MODO_OTRO;
+    }
+
+    public void inicio() {
+        activas.incrementAndGet();
+    }
+
+    public void fin() {
+        activas.decrementAndGet();
+    }
+
+    public void evaluacion(String modo, long nanos, int filas, int columnas) {
+        if (registry == null) {
+            return;
+        }
+        timers(modo)[0].record(nanos, TimeUnit.NANOSECONDS);
+        alternativas.record(filas);
+        criterios.record(columnas);
+    }
+
+    public void etapa(String modo, Etapa etapa, long nanos) {
+        if (registry == null) {
+            return;
+        }
+        timers(modo)[etapa.ordinal() + 1].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Cuenta cada error de la excepción por su campo, con los índices quitados. */
+    public void validacionFallida(BusinessValidationException ex) {
+        if (registry == null || ex.getErrores() == null) {
+            return;
+        }
+        for (BusinessValidationException.FieldError error : ex.getErrores()) {
+            String campo = campo(error.getCampo());
+            erroresPorCampo.computeIfAbsent(campo, c -> Counter.builder("dss.validacion.errores")
+                    .description("Errores de validación por campo")
+                    .tag("campo", c)
+                    .register(registry)).increment();
+        }
+    }
+
+    /**
+     * Campo sin índices ni nombres de criterio, para acotar las series:
+     * "alternativas[3].valores.precio" queda "alternativas[].valores".
+     */
+    static String campo(String campo) {
+        if (campo == null) {
+            return "desconocido";
+        }
+        StringBuilder sb = new StringBuilder(campo.length());
+        int puntos = 0;
+        for (int k = 0; k < campo.length(); k++) {
+            char c = campo.charAt(k);
+            if (c == '[') {
+                sb.append("[]");
+                int cierre = campo.indexOf(']', k);
+                k = (cierre < 0) ? campo.length() : cierre;
+                continue;
+            }
+            if (c == '.' && ++puntos == 2) {
+                break; // lo que sigue es un nombre de criterio enviado por el cliente
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private Timer[] timers(String modo) {
+        Timer[] t = timers.get(modo);
+        if (t == null) {
+            t = timers.computeIfAbsent(modo, this::crearTimers);
+        }
+        return t;
+    }
+
+    private Timer[] crearTimers(String modo) {
+        Etapa[] etapas = Etapa.values();
+        Timer[] t = new Timer[etapas.length + 1];
+        t[0] = Timer.builder("dss.evaluacion")
+                .description("Evaluación completa por modo")
+                .tag("modo", modo)
+                .publishPercentileHistogram()
+                .register(registry);
+        for (Etapa etapa : etapas) {
+            t[etapa.ordinal() + 1] = Timer.builder("dss.evaluacion.etapa")
+                    .description("Duración de cada etapa de la evaluación por modo")
+                    .tag("modo", modo)
+                    .tag("etapa", etapa.etiqueta)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        return t;
+    }
+}
@@ -0,0 +1,346 @@
+package com.decisiontree.backend.service.store;
+
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.exception.BadRequestException;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.criteria.ColumnarMatrix;
+import com.decisiontree.backend.util.DecisionMathUtils;
+import com.decisiontree.backend.utils.RequestValidationUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Archivo binario de una matriz de decisión guardada por columnas, leído con FileChannel.map.
+ *
+ * Formato (little-endian, posiciones de las secciones alineadas a 8 bytes):
+ * <pre>
+ * "DSSM" | versión int32 (1) | filas int32 | criterios int32
+ * por criterio: largo uint16 + nombre UTF-8 | peso float64 | tipo uint8 (0 beneficio, 1 costo)
+ * índice de nombres: filas + 1 int64, desplazamientos desde el inicio de los nombres
+ * nombres de alternativa UTF-8, uno tras otro
+ * valores: criterio por criterio, filas float64 cada uno, crudos (sin negar los de costo)
+ * </pre>
+ *
+ * El archivo se mapea en tramos de 1 GiB (un MappedByteBuffer se indexa con int). Los
+ * valores y el índice quedan alineados, así que un float64 nunca cae entre dos tramos.
+ */
+public final class ColumnarMatrixFile implements ColumnarMatrix.Columnas {
+
+    static final int MAGIA = 0x4D535344; // "DSSM" leído como int32 little-endian
+    static final int VERSION = 1;
+
+    private static final int BITS_TRAMO = 30;
+    private static final long TAMANO_TRAMO = 1L << BITS_TRAMO;
+    private static final int CABECERA = 16;
+    private static final int FILAS_POR_LECTURA = 8192;
+
+    private final ByteBuffer[] tramos;
+    private final DoubleBuffer[] tramosDouble;
+    private final int filas;
+    private final long indice;
+    private final long nombres;
+    private final long datos;
+    private final long tamano;
+    private final List<ConfigDto> criterios;
+    private final ColumnarMatrix matriz;
+
+    private ColumnarMatrixFile(ByteBuffer[] tramos, long tamano) {
+        this.tramos = tramos;
+        this.tamano = tamano;
+        this.tramosDouble = new DoubleBuffer[tramos.length];
+        for (int t = 0; t < tramos.length; t++) {
+            tramosDouble[t] = tramos[t].asDoubleBuffer();
+        }
+
+        if (tamano < CABECERA || entero(0) != MAGIA) {
+            throw invalido("no es un archivo de matriz DSS");
+        }
+        if (entero(4) != VERSION) {
+            throw invalido("versión " + entero(4) + " no soportada");
+        }
+        filas = entero(8);
+        int m = entero(12);
+        if (filas < 1 || filas > Integer.MAX_VALUE - 8) {
+            throw invalido("debe tener al menos 1 alternativa");
+        }
+        if (m < 1) {
+            throw invalido("debe tener al menos 1 criterio");
+        }
+        requerir(CABECERA + 11L * m); // cada criterio ocupa al menos 11 bytes
+
+        criterios = new ArrayList<>(m);
+        String[] nombresCriterio = new String[m];
+        double[] pesos = new double[m];
+        boolean[] costo = new boolean[m];
+        Set<String> vistos = new HashSet<>();
+        long p = CABECERA;
+        for (int j = 0; j < m; j++) {
+            int largo = (byteEn(p) & 0xFF) | ((byteEn(p + 1) & 0xFF) << 8);
+            requerir(p + 2 + largo + 9);
+            nombresCriterio[j] = texto(p + 2, largo);
+            p += 2 + largo;
+            pesos[j] = doble(p);
+            byte tipo = byteEn(p + 8);
+            p += 9;
+
+            if (nombresCriterio[j].isBlank()) {
+                throw invalido("el criterio " + j + " no tiene nombre");
+            }
+            if (!vistos.add(nombresCriterio[j].trim().toLowerCase(Locale.ROOT))) {
+                throw invalido("el criterio '" + nombresCriterio[j] + "' está repetido");
+            }
+            if (!Double.isFinite(pesos[j]) || pesos[j] < 0) {
+                throw invalido("el peso del criterio '" + nombresCriterio[j] + "' debe ser un número no negativo");
+            }
+            if (tipo != 0 && tipo != 1) {
+                throw invalido("el tipo del criterio '" + nombresCriterio[j] + "' debe ser 0 (beneficio) o 1 (costo)");
+            }
+            costo[j] = tipo == 1;
+            criterios.add(new ConfigDto(nombresCriterio[j], pesos[j], costo[j] ? "costo" : "beneficio"));
+        }
+
+        indice = alinear(p);
+        nombres = indice + 8L * (filas + 1);
+        requerir(nombres);
+        long largoNombres = largo(filas);
+        if (largo(0) != 0 || largoNombres < 0) {
+            throw invalido("índice de nombres inconsistente");
+        }
+        datos = alinear(nombres + largoNombres);
+        if (tamano != datos + 8L * filas * m) {
+            throw invalido("se esperaban " + (datos + 8L * filas * m) + " bytes y tiene " + tamano);
+        }
+
+        validarValores(nombresCriterio);
+        matriz = new ColumnarMatrix(filas, nombresCriterio, pesos, costo, this);
+    }
+
+    /**
+     * Recorre los valores una vez: NaN o infinito se rechazan con el mismo error que en el
+     * body (el primero que aparece, criterio por criterio).
+     */
+    private void validarValores(String[] nombresCriterio) {
+        double[] tramo = new double[Math.min(filas, FILAS_POR_LECTURA)];
+        for (int j = 0; j < nombresCriterio.length; j++) {
+            for (int desde = 0; desde < filas; desde += tramo.length) {
+                int cantidad = Math.min(tramo.length, filas - desde);
+                leer(j, desde, tramo, cantidad);
+                for (int k = 0; k < cantidad; k++) {
+                    if (!Double.isFinite(tramo[k])) {
+                        throw new BusinessValidationException("Request inválido", List.of(
+                                RequestValidationUtils.valorNoFinito(desde + k, nombresCriterio[j].trim())));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Mapea el archivo (solo lectura) y valida la cabecera y los valores. Si el formato no es
+     * válido lanza BadRequestException; un valor NaN o infinito, BusinessValidationException.
+     */
+    public static ColumnarMatrixFile abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            int cantidad = (int) Math.max(1, (tamano + TAMANO_TRAMO - 1) >>> BITS_TRAMO);
+            ByteBuffer[] tramos = new ByteBuffer[cantidad];
+            for (int t = 0; t < cantidad; t++) {
+                long inicio = (long) t << BITS_TRAMO;
+                // El mapeo sigue vigente después de cerrar el canal
+                tramos[t] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(TAMANO_TRAMO, tamano - inicio))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new ColumnarMatrixFile(tramos, tamano);
+        }
+    }
+
+    /**
+     * Escribe una matriz en este formato a partir de valores crudos fila por fila (alternativa
+     * i, criterio j en i * criterios + j).
+     */
+    public static void escribir(Path archivo, String[] alternativas, List<ConfigDto> criterios,
+                                double[] valoresPorFila) throws IOException {
+        int n = alternativas.length;
+        int m = criterios.size();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            long escritos = 0;
+
+            buffer.putInt(MAGIA).putInt(VERSION).putInt(n).putInt(m);
+            for (ConfigDto c : criterios) {
+                byte[] nombre = c.getCriterio().trim().getBytes(StandardCharsets.UTF_8);
+                escritos += vaciarSiFalta(canal, buffer, 2 + nombre.length + 9);
+                buffer.putShort((short) nombre.length).put(nombre)
+                        .putDouble(c.getPeso() == null ? 0.0 : c.getPeso())
+                        .put((byte) (DecisionMathUtils.isTipoCosto(c.getTipo()) ? 1 : 0));
+            }
+            escritos += rellenar(canal, buffer, escritos);
+
+            byte[][] nombres = new byte[n][];
+            long desplazamiento = 0;
+            for (int i = 0; i < n; i++) {
+                nombres[i] = alternativas[i].getBytes(StandardCharsets.UTF_8);
+                escritos += vaciarSiFalta(canal, buffer, 8);
+                buffer.putLong(desplazamiento);
+                desplazamiento += nombres[i].length;
+            }
+            escritos += vaciarSiFalta(canal, buffer, 8);
+            buffer.putLong(desplazamiento);
+            for (byte[] nombre : nombres) {
+                for (int k = 0; k < nombre.length; ) {
+                    escritos += vaciarSiFalta(canal, buffer, 1);
+                    int parte = Math.min(buffer.remaining(), nombre.length - k);
+                    buffer.put(nombre, k, parte);
+                    k += parte;
+                }
+            }
+            escritos += rellenar(canal, buffer, escritos);
+
+            for (int j = 0; j < m; j++) {
+                for (int i = 0; i < n; i++) {
+                    escritos += vaciarSiFalta(canal, buffer, 8);
+                    buffer.putDouble(valoresPorFila[i * m + j]);
+                }
+            }
+            vaciar(canal, buffer);
+        }
+    }
+
+    public ColumnarMatrix matriz() {
+        return matriz;
+    }
+
+    /** Criterios de la cabecera, con el peso sin normalizar. */
+    public List<ConfigDto> criterios() {
+        return criterios;
+    }
+
+    public long tamano() {
+        return tamano;
+    }
+
+    @Override
+    public void leer(int j, int desde, double[] destino, int cantidad) {
+        long p = datos + 8L * ((long) j * filas + desde);
+        int k = 0;
+        while (k < cantidad) {
+            int t = (int) (p >>> BITS_TRAMO);
+            int posicion = posicion(p);
+            int parte = Math.min(cantidad - k, (tramos[t].limit() - posicion) >>> 3);
+            tramosDouble[t].get(posicion >>> 3, destino, k, parte);
+            k += parte;
+            p += 8L * parte;
+        }
+    }
+
+    @Override
+    public String alternativa(int i) {
+        long inicio = largo(i);
+        long fin = largo(i + 1);
+        if (inicio < 0 || fin < inicio || fin - inicio > Integer.MAX_VALUE || nombres + fin > datos) {
+            throw invalido("índice de nombres inconsistente en la alternativa " + i);
+        }
+        return texto(nombres + inicio, (int) (fin - inicio));
+    }
+
+    // =======================
+    // lectura por posición absoluta
+    // =======================
+    private ByteBuffer tramo(long p) {
+        return tramos[(int) (p >>> BITS_TRAMO)];
+    }
+
+    private static int posicion(long p) {
+        return (int) (p & (TAMANO_TRAMO - 1));
+    }
+
+    private byte byteEn(long p) {
+        return tramo(p).get(posicion(p));
+    }
+
+    private int entero(long p) {
+        return tramo(p).getInt(posicion(p));
+    }
+
+    private double doble(long p) {
+        // La cabecera no está alineada: se arma byte a byte por si cruza de tramo
+        long bits = 0;
+        for (int k = 7; k >= 0; k--) {
+            bits = (bits << 8) | (byteEn(p + k) & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /** Entrada i del índice de nombres (alineada, no cruza de tramo). */
+    private long largo(int i) {
+        long p = indice + 8L * i;
+        return tramo(p).getLong(posicion(p));
+    }
+
+    private String texto(long p, int largo) {
+        byte[] bytes = new byte[largo];
+        int k = 0;
+        while (k < largo) {
+            ByteBuffer t = tramo(p + k);
+            int posicion = posicion(p + k);
+            int parte = Math.min(largo - k, t.limit() - posicion);
+            t.get(posicion, bytes, k, parte);
+            k += parte;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void requerir(long bytes) {
+        if (bytes > tamano) {
+            throw invalido("el archivo está truncado");
+        }
+    }
+
+    private static long alinear(long p) {
+        return (p + 7) & ~7L;
+    }
+
+    private static BadRequestException invalido(String detalle) {
+        return new BadRequestException("Archivo de matriz inválido: " + detalle + ".");
+    }
+
+    // =======================
+    // escritura
+    // =======================
+    private static long vaciarSiFalta(FileChannel canal, ByteBuffer buffer, int bytes) throws IOException {
+        return (buffer.remaining() < bytes) ? vaciar(canal, buffer) : 0;
+    }
+
+    private static long vaciar(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        long escritos = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+        return escritos;
+    }
+
+    /** Completa con ceros hasta que lo escrito (en canal y buffer) sea múltiplo de 8. */
+    private static long rellenar(FileChannel canal, ByteBuffer buffer, long escritos) throws IOException {
+        long vaciados = 0;
+        while ((escritos + vaciados + buffer.position()) % 8 != 0) {
+            vaciados += vaciarSiFalta(canal, buffer, 1);
+            buffer.put((byte) 0);
+        }
+        return vaciados;
+    }
+}
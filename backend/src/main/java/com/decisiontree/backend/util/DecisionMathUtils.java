@@ -8,6 +8,12 @@ import java.util.Locale;
 
 public final class DecisionMathUtils {
 
+    private static final double[] POTENCIAS_10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private static final double LIMITE_ENTERO_EXACTO = 0x1p52;
+
     private DecisionMathUtils() {
     }
 
@@ -46,7 +52,64 @@ public final class DecisionMathUtils {
         return count == 0 ? 0.0 : (sum / count);
     }
 
+    public static double min(double[] values, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            if (values[i] < min) {
+                min = values[i];
+            }
+        }
+        return min;
+    }
+
+    public static double max(double[] values, int from, int to) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    public static double average(double[] values, int from, int to) {
+        if (to <= from) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+
+    /**
+     * Redondeo HALF_UP con el mismo resultado que BigDecimal.valueOf(value).setScale(decimals),
+     * pero sin asignar memoria en el caso común. Solo cuando el valor escalado cae a pocos ulps
+     * de un empate (x.5), o es demasiado grande para un long exacto, se delega en BigDecimal.
+     */
     public static double round(double value, int decimals) {
+        if (decimals >= 0 && decimals < POTENCIAS_10.length && Double.isFinite(value)) {
+            double escala = POTENCIAS_10[decimals];
+            double escalado = Math.abs(value) * escala;
+
+            if (escalado < LIMITE_ENTERO_EXACTO) {
+                double base = Math.floor(escalado);
+                double fraccion = escalado - base;
+                // margen para el error de la multiplicación y la diferencia con Double.toString(value)
+                double margen = 4 * Math.ulp(escalado);
+
+                if (Math.abs(fraccion - 0.5) > margen) {
+                    double r = ((fraccion > 0.5) ? base + 1 : base) / escala;
+                    // BigDecimal no tiene -0.0
+                    return (r == 0.0) ? 0.0 : Math.copySign(r, value);
+                }
+            }
+        }
+        return roundExacto(value, decimals);
+    }
+
+    private static double roundExacto(double value, int decimals) {
         return BigDecimal.valueOf(value)
                 .setScale(decimals, RoundingMode.HALF_UP)
                 .doubleValue();
@@ -1,115 +1,123 @@
 package com.decisiontree.backend.utils;
 import com.decisiontree.backend.constants.DecisionModes;
-import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.constants.PreferenceFunctions;
+import com.decisiontree.backend.dto.ComparacionAhpDto;
 import com.decisiontree.backend.dto.ConfigDto;
 import com.decisiontree.backend.dto.DecisionRequest;
 import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.exception.FieldErrorList;
+import com.decisiontree.backend.util.DecisionMathUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * Reglas y mensajes de validación de requests del DSS.
+ *
+ * El recorrido lo hacen DecisionRequestCompiler (DTO) y los lectores en streaming, que validan
+ * y arman la matriz a la vez; aquí quedan los pasos sobre los parámetros y criterios y los
+ * mensajes por alternativa, para que todos reporten exactamente los mismos campos y textos.
+ * Los textos de campo se arman solo cuando hay un error.
+ */
 public final class RequestValidationUtils {
 
-    private RequestValidationUtils() {}
-
-    public static void validate(DecisionRequest request) {
-        List<BusinessValidationException.FieldError> errores = new ArrayList<>();
+    private static final Set<String> MODOS_PERMITIDOS = Set.of(
+            DecisionModes.RANKING, DecisionModes.SAW,
+            DecisionModes.VALOR_ESPERADO, DecisionModes.EXPECTED_VALUE,
+            DecisionModes.MAXIMIN, DecisionModes.MAXIMAX, DecisionModes.LAPLACE,
+            DecisionModes.HURWICZ, DecisionModes.MINIMAX_REGRET, DecisionModes.TOPSIS, DecisionModes.VIKOR,
+            DecisionModes.PROMETHEE, DecisionModes.PARETO
+    );
 
-        //1. Request null
-        if (request == null) {
-            throw new BusinessValidationException("Request inválido", List.of(
-                    new BusinessValidationException.FieldError("body", "El body no puede ser null")
-            ));
-        }
+    private RequestValidationUtils() {}
 
-        // 2. modo permitido
+    /**
+     * Modo (o lista de modos) soportado.
+     */
+    public static void validarModos(DecisionRequest request, List<BusinessValidationException.FieldError> errores) {
         String modo = DecisionModes.normalize(request.getModo());
-        Set<String> modosPermitidos = Set.of(
-                DecisionModes.RANKING, DecisionModes.SAW,
-                DecisionModes.VALOR_ESPERADO, DecisionModes.EXPECTED_VALUE,
-                DecisionModes.MAXIMIN, DecisionModes.MAXIMAX, DecisionModes.LAPLACE,
-                DecisionModes.HURWICZ, DecisionModes.MINIMAX_REGRET
-        );
-
-        if (!modosPermitidos.contains(modo)) {
-            errores.add(new BusinessValidationException.FieldError("modo",
-                    "Modo no soportado: '" + request.getModo() + "'. Permitidos: " + modosPermitidos));
-        }
+        List<String> modosRequest = request.getModos();
 
-        // 3. criterios presentes y no vacíos
-        if (request.getCriterios() == null || request.getCriterios().isEmpty()) {
-            errores.add(new BusinessValidationException.FieldError("criterios",
-                    "Debe enviar al menos 1 criterio"));
-        }
-
-        // 4. alternativas presentes y no vacías
-        if (request.getAlternativas() == null || request.getAlternativas().isEmpty()) {
-            errores.add(new BusinessValidationException.FieldError("alternativas",
-                    "Debe enviar al menos 1 alternativa"));
+        if (modosRequest != null && !modosRequest.isEmpty()) {
+            for (int i = 0; i < modosRequest.size(); i++) {
+                String m = DecisionModes.normalize(modosRequest.get(i));
+                if (!MODOS_PERMITIDOS.contains(m) && !DecisionModes.TODOS.equals(m)) {
+                    errores.add(new BusinessValidationException.FieldError("modos[" + i + "]",
+                            "Modo no soportado: '" + modosRequest.get(i) + "'. Permitidos: " + MODOS_PERMITIDOS));
+                }
+            }
+        } else if (!MODOS_PERMITIDOS.contains(modo) && !DecisionModes.TODOS.equals(modo)) {
+            errores.add(new BusinessValidationException.FieldError("modo",
+                    "Modo no soportado: '" + request.getModo() + "'. Permitidos: " + MODOS_PERMITIDOS));
         }
+    }
 
-        // Si faltan listas basicas, corta para evitar NullPointer en validaciones mas profundas
-        if (!errores.isEmpty()) {
-            throw new BusinessValidationException("Request inválido", errores);
+    /**
+     * Nombre, peso y tipo de cada criterio, más duplicados.
+     *
+     * @param pesosAhp si los pesos salen de comparaciones AHP (entonces peso no se acepta)
+     * @return nombres de criterio recortados, en orden (incluye duplicados)
+     */
+    public static List<String> validarCriterios(List<ConfigDto> lista, List<String> modosEvaluados, boolean pesosAhp,
+                                                List<BusinessValidationException.FieldError> errores) {
+        boolean requierePeso = false;
+        for (String m : modosEvaluados) {
+            requierePeso |= DecisionModes.isRankingMode(m) || DecisionModes.isExpectedValueMode(m)
+                    || DecisionModes.TOPSIS.equals(m) || DecisionModes.VIKOR.equals(m)
+                    || DecisionModes.PROMETHEE.equals(m);
         }
+        boolean promethee = modosEvaluados.contains(DecisionModes.PROMETHEE);
 
-        // 5. Validar duplicados en nombres de criterios (por campo criterio) y que no esten vacios
-        List<String> criterios = new ArrayList<>();
-        for (int i = 0; i < request.getCriterios().size(); i++) {
-            ConfigDto c = request.getCriterios().get(i);
-            String path = "criterios[" + i + "]";
+        List<String> criterios = new ArrayList<>(lista.size());
+        for (int i = 0; i < lista.size(); i++) {
+            ConfigDto c = lista.get(i);
             if (c == null) {
-                errores.add(new BusinessValidationException.FieldError(path, "No puede ser null"));
+                errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ""), "No puede ser null"));
                 continue;
             }
             if (isBlank(c.getCriterio())) {
-                errores.add(new BusinessValidationException.FieldError(path + ".criterio", "No puede ser vacío"));
+                errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".criterio"), "No puede ser vacío"));
             } else {
                 criterios.add(c.getCriterio().trim());
             }
 
-            // peso (solo obligatorio en ranking/saw/valor, en criterios tipo maximin puede ignorarse)
-            if (DecisionModes.isRankingMode(modo) || DecisionModes.isExpectedValueMode(modo)) {
+            // peso (solo obligatorio en ranking/saw/valor/topsis/vikor/promethee, en criterios tipo maximin puede ignorarse)
+            if (pesosAhp) {
+                if (c.getPeso() != null) {
+                    errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".peso"),
+                            "No se puede combinar con comparaciones"));
+                }
+            } else if (requierePeso) {
                 if (c.getPeso() == null) {
-                    errores.add(new BusinessValidationException.FieldError(path + ".peso", "Es obligatorio en modo " + modo));
+                    errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".peso"),
+                            "Es obligatorio en modo " + String.join(", ", modosEvaluados)));
                 } else if (c.getPeso() < 0) {
-                    errores.add(new BusinessValidationException.FieldError(path + ".peso", "No puede ser negativo"));
+                    errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".peso"), "No puede ser negativo"));
                 }
             }
 
             // tipo obligatorio (beneficio/costo)
             if (isBlank(c.getTipo())) {
-                errores.add(new BusinessValidationException.FieldError(path + ".tipo", "Es obligatorio (beneficio|costo)"));
-            } else {
-                String t = c.getTipo().trim().toLowerCase(Locale.ROOT);
-                if (!t.equals("beneficio") && !t.equals("costo")) {
-                    errores.add(new BusinessValidationException.FieldError(path + ".tipo", "Debe ser 'beneficio' o 'costo'"));
-                }
+                errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".tipo"), "Es obligatorio (beneficio|costo)"));
+            } else if (!DecisionMathUtils.isTipoBeneficio(c.getTipo()) && !DecisionMathUtils.isTipoCosto(c.getTipo())) {
+                errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".tipo"), "Debe ser 'beneficio' o 'costo'"));
+            }
+
+            if (promethee) {
+                validarPreferencia(c, i, errores);
             }
         }
 
         // duplicados criterios
         addDuplicateErrors("criterios", criterios, errores);
+        return criterios;
+    }
 
-        // 6. validar duplicados en nombres de alternativas y nombre no vacio
-        List<String> nombresAlt = new ArrayList<>();
-        for (int i = 0; i < request.getAlternativas().size(); i++) {
-            AlternativaDto a = request.getAlternativas().get(i);
-            String path = "alternativas[" + i + "]";
-            if (a == null) {
-                errores.add(new BusinessValidationException.FieldError(path, "No puede ser null"));
-                continue;
-            }
-            if (isBlank(a.getNombre())) {
-                errores.add(new BusinessValidationException.FieldError(path + ".nombre", "No puede ser vacío"));
-            } else {
-                nombresAlt.add(a.getNombre().trim());
-            }
-        }
-        addDuplicateErrors("alternativas.nombre", nombresAlt, errores);
-
-        // 7. Validar alpha Hurwicz (0..1) cuando aplique
-        if (DecisionModes.HURWICZ.equals(modo)) {
+    /**
+     * Alpha de Hurwicz (0..1) cuando aplique y ventana del ranking (topK u offset/limit).
+     */
+    public static void validarParametros(DecisionRequest request, List<String> modosEvaluados,
+                                         List<BusinessValidationException.FieldError> errores) {
+        if (modosEvaluados.contains(DecisionModes.HURWICZ)) {
             Double alpha = request.getAlpha();
             if (alpha == null) {
                 // permitido (en el calculo usan 0.5)
@@ -119,57 +127,274 @@ public final class RequestValidationUtils {
             }
         }
 
-        // 8. Verificar que cada alternativa tenga payoff para todos los criterios y que no tenga extras
-        Set<String> criteriosSet = new LinkedHashSet<>(criterios);
-        for (int i = 0; i < request.getAlternativas().size(); i++) {
-            AlternativaDto a = request.getAlternativas().get(i);
-            if (a == null) continue;
+        if (request.getTopK() != null) {
+            if (request.getTopK() < 1) {
+                errores.add(new BusinessValidationException.FieldError("topK", "Debe ser mayor o igual a 1"));
+            }
+            if (request.getOffset() != null || request.getLimit() != null) {
+                errores.add(new BusinessValidationException.FieldError("topK", "No se puede combinar con offset/limit"));
+            }
+        }
+        if (request.getOffset() != null && request.getOffset() < 0) {
+            errores.add(new BusinessValidationException.FieldError("offset", "No puede ser negativo"));
+        }
+        if (request.getLimit() != null && request.getLimit() < 1) {
+            errores.add(new BusinessValidationException.FieldError("limit", "Debe ser mayor o igual a 1"));
+        }
+    }
+
+    /**
+     * Validación final compartida por DecisionRequestCompiler y los lectores en streaming (JSON,
+     * binario y Excel): mismas reglas y orden en todos, con los errores de nombres y valores ya
+     * juntados al armar la matriz.
+     *
+     * @param tope tope de errores del request (el mismo de las listas recibidas), o null
+     */
+    public static void validarLectura(DecisionRequest parametros, List<ConfigDto> criterios, int alternativas,
+                                      List<BusinessValidationException.FieldError> erroresNombre,
+                                      List<String> nombresRecortados,
+                                      List<BusinessValidationException.FieldError> erroresValores,
+                                      FieldErrorList.Tope tope) {
+        List<BusinessValidationException.FieldError> errores = new FieldErrorList(tope);
+        validarModos(parametros, errores);
+        if (criterios == null || criterios.isEmpty()) {
+            errores.add(sinCriterios());
+        }
+        if (alternativas == 0) {
+            errores.add(sinAlternativas());
+        }
+        if (!errores.isEmpty()) {
+            throw new BusinessValidationException("Request inválido", errores);
+        }
+
+        List<String> modosEvaluados = DecisionModes.resolve(parametros.getModo(), parametros.getModos());
+        boolean pesosAhp = parametros.getComparaciones() != null;
+        List<String> nombresCriterio = validarCriterios(criterios, modosEvaluados, pesosAhp, errores);
+        if (pesosAhp) {
+            validarComparaciones(parametros.getComparaciones(), nombresCriterio, errores);
+        }
+
+        errores.addAll(erroresNombre);
+        addDuplicateErrors("alternativas.nombre", nombresRecortados, errores);
+
+        validarParametros(parametros, modosEvaluados, errores);
+
+        errores.addAll(erroresValores);
+        if (!errores.isEmpty()) {
+            throw new BusinessValidationException("Request inválido", errores);
+        }
+        parametros.setCriterios(criterios);
+    }
+
+    /**
+     * Función de preferencia de PROMETHEE y sus umbrales (la usual no usa umbrales).
+     */
+    private static void validarPreferencia(ConfigDto c, int i, List<BusinessValidationException.FieldError> errores) {
+        String funcion = PreferenceFunctions.normalize(c.getFuncionPreferencia());
+        if (!PreferenceFunctions.PERMITIDAS.contains(funcion)) {
+            errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".funcionPreferencia"),
+                    "Debe ser una de " + PreferenceFunctions.PERMITIDAS));
+            return;
+        }
+        if (PreferenceFunctions.USUAL.equals(funcion)) {
+            return;
+        }
+
+        Double p = c.getUmbralPreferencia();
+        if (p == null || !(p > 0)) {
+            errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".umbralPreferencia"),
+                    "Debe ser mayor que 0 con la función " + funcion));
+        }
+        Double q = c.getUmbralIndiferencia();
+        if (PreferenceFunctions.LINEAL.equals(funcion) && q != null) {
+            if (q < 0) {
+                errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".umbralIndiferencia"),
+                        "No puede ser negativo"));
+            } else if (p != null && q >= p) {
+                errores.add(new BusinessValidationException.FieldError(campoCriterio(i, ".umbralIndiferencia"),
+                        "Debe ser menor que umbralPreferencia"));
+            }
+        }
+    }
+
+    public static BusinessValidationException bodyNulo() {
+        return new BusinessValidationException("Request inválido", List.of(
+                new BusinessValidationException.FieldError("body", "El body no puede ser null")
+        ));
+    }
+
+    public static BusinessValidationException.FieldError sinCriterios() {
+        return new BusinessValidationException.FieldError("criterios", "Debe enviar al menos 1 criterio");
+    }
+
+    public static BusinessValidationException.FieldError sinAlternativas() {
+        return new BusinessValidationException.FieldError("alternativas", "Debe enviar al menos 1 alternativa");
+    }
+
+    public static BusinessValidationException.FieldError alternativaNula(int i) {
+        return new BusinessValidationException.FieldError("alternativas[" + i + "]", "No puede ser null");
+    }
+
+    public static BusinessValidationException.FieldError nombreVacio(int i) {
+        return new BusinessValidationException.FieldError("alternativas[" + i + "].nombre", "No puede ser vacío");
+    }
+
+    public static BusinessValidationException.FieldError valoresVacios(int i) {
+        return new BusinessValidationException.FieldError("alternativas[" + i + "].valores",
+                "Debe incluir valores por criterio");
+    }
 
-            Map<String, Double> valores = a.getValores();
-            String path = "alternativas[" + i + "].valores";
+    public static BusinessValidationException.FieldError faltaValor(int i, String criterio) {
+        return new BusinessValidationException.FieldError("alternativas[" + i + "].valores",
+                "Falta valor para criterio: " + criterio);
+    }
 
-            if (valores == null || valores.isEmpty()) {
-                errores.add(new BusinessValidationException.FieldError(path, "Debe incluir valores por criterio"));
+    public static BusinessValidationException.FieldError valorNulo(int i, String criterio) {
+        return new BusinessValidationException.FieldError("alternativas[" + i + "].valores." + criterio,
+                "No puede ser null");
+    }
+
+    public static BusinessValidationException.FieldError valorNoFinito(int i, String criterio) {
+        return new BusinessValidationException.FieldError("alternativas[" + i + "].valores." + criterio,
+                "Debe ser un número finito");
+    }
+
+    public static BusinessValidationException.FieldError criterioExtra(int i, String clave) {
+        return new BusinessValidationException.FieldError("alternativas[" + i + "].valores",
+                "Criterio extra no definido: " + clave);
+    }
+
+    /**
+     * Jerarquía AHP: en cada nodo, elementos sin repetir y una matriz cuadrada de su tamaño con
+     * 1 en la diagonal y valores positivos (o null si viene la celda transpuesta). Cada criterio
+     * tiene que aparecer como hoja exactamente una vez.
+     */
+    public static void validarComparaciones(ComparacionAhpDto raiz, List<String> criterios,
+                                            List<BusinessValidationException.FieldError> errores) {
+        Set<String> hojas = new HashSet<>();
+        validarNodoAhp(raiz, "comparaciones", new HashSet<>(criterios), hojas, errores);
+
+        List<String> faltantes = new ArrayList<>();
+        for (String c : criterios) {
+            if (!hojas.contains(c) && !faltantes.contains(c)) {
+                faltantes.add(c);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            errores.add(new BusinessValidationException.FieldError("comparaciones",
+                    "Faltan criterios en la jerarquía: " + faltantes));
+        }
+    }
+
+    private static void validarNodoAhp(ComparacionAhpDto nodo, String campo, Set<String> criterios, Set<String> hojas,
+                                       List<BusinessValidationException.FieldError> errores) {
+        List<String> elementos = nodo.getElementos();
+        if (elementos == null || elementos.isEmpty()) {
+            errores.add(new BusinessValidationException.FieldError(campo + ".elementos", "No puede ser vacío"));
+            return;
+        }
+        Map<String, ComparacionAhpDto> grupos = (nodo.getSubcriterios() == null) ? Map.of() : nodo.getSubcriterios();
+
+        List<String> recortados = new ArrayList<>(elementos.size());
+        for (int i = 0; i < elementos.size(); i++) {
+            String elemento = elementos.get(i);
+            if (isBlank(elemento)) {
+                errores.add(new BusinessValidationException.FieldError(campo + ".elementos[" + i + "]", "No puede ser vacío"));
+                continue;
+            }
+            String nombre = elemento.trim();
+            recortados.add(nombre);
+            if (grupos.containsKey(nombre)) {
                 continue;
             }
+            if (!criterios.contains(nombre)) {
+                errores.add(new BusinessValidationException.FieldError(campo + ".elementos[" + i + "]",
+                        "No es un criterio ni un grupo de subcriterios: '" + nombre + "'"));
+            } else if (!hojas.add(nombre)) {
+                errores.add(new BusinessValidationException.FieldError(campo + ".elementos[" + i + "]",
+                        "El criterio ya aparece en otro nodo: '" + nombre + "'"));
+            }
+        }
+        addDuplicateErrors(campo + ".elementos", recortados, errores);
+        validarMatrizAhp(nodo.getMatriz(), elementos.size(), campo + ".matriz", errores);
 
-            // faltantes
-            for (String c : criteriosSet) {
-                if (!valores.containsKey(c)) {
-                    errores.add(new BusinessValidationException.FieldError(path, "Falta valor para criterio: " + c));
-                } else if (valores.get(c) == null) {
-                    errores.add(new BusinessValidationException.FieldError(path + "." + c, "No puede ser null"));
-                }
+        for (Map.Entry<String, ComparacionAhpDto> g : grupos.entrySet()) {
+            String sub = campo + ".subcriterios." + g.getKey();
+            if (!recortados.contains(g.getKey())) {
+                errores.add(new BusinessValidationException.FieldError(sub, "No es un elemento del nodo"));
+            } else if (g.getValue() == null) {
+                errores.add(new BusinessValidationException.FieldError(sub, "No puede ser null"));
+            } else {
+                validarNodoAhp(g.getValue(), sub, criterios, hojas, errores);
             }
+        }
+    }
 
-            // extras
-            for (String k : valores.keySet()) {
-                if (!criteriosSet.contains(k)) {
-                    errores.add(new BusinessValidationException.FieldError(path, "Criterio extra no definido: " + k));
-                }
+    private static void validarMatrizAhp(List<List<Double>> matriz, int k, String campo,
+                                         List<BusinessValidationException.FieldError> errores) {
+        if (matriz == null || matriz.size() != k) {
+            errores.add(new BusinessValidationException.FieldError(campo, "Debe ser de " + k + "x" + k));
+            return;
+        }
+        boolean filasCompletas = true;
+        for (int i = 0; i < k; i++) {
+            if (matriz.get(i) == null || matriz.get(i).size() != k) {
+                errores.add(new BusinessValidationException.FieldError(campo + "[" + i + "]", "Debe tener " + k + " valores"));
+                filasCompletas = false;
             }
         }
+        if (!filasCompletas) {
+            return;
+        }
 
-        // 9. si hay errores, lanza excepción
-        if (!errores.isEmpty()) {
-            throw new BusinessValidationException("Request inválido", errores);
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                Double valor = matriz.get(i).get(j);
+                if (i == j) {
+                    if (valor != null && valor != 1.0) {
+                        errores.add(new BusinessValidationException.FieldError(campoCelda(campo, i, j), "Debe ser 1"));
+                    }
+                } else if (valor == null) {
+                    if (i < j && matriz.get(j).get(i) == null) {
+                        errores.add(new BusinessValidationException.FieldError(campoCelda(campo, i, j),
+                                "Falta la comparación (o su recíproca)"));
+                    }
+                } else if (!(valor > 0) || Double.isInfinite(valor)) {
+                    errores.add(new BusinessValidationException.FieldError(campoCelda(campo, i, j), "Debe ser mayor que 0"));
+                }
+            }
         }
     }
 
-    private static boolean isBlank(String s) {
+    private static String campoCelda(String campo, int i, int j) {
+        return campo + "[" + i + "][" + j + "]";
+    }
+
+    private static String campoCriterio(int i, String sufijo) {
+        return "criterios[" + i + "]" + sufijo;
+    }
+
+    public static boolean isBlank(String s) {
         return s == null || s.trim().isEmpty();
     }
 
-    private static void addDuplicateErrors(String campo, List<String> items,
-                                           List<BusinessValidationException.FieldError> errores) {
-        Map<String, Long> counts = items.stream()
-                .collect(Collectors.groupingBy(s -> s.toLowerCase(Locale.ROOT), LinkedHashMap::new, Collectors.counting()));
+    /**
+     * Un error por cada nombre repetido (sin distinguir mayúsculas), en el orden de su primera
+     * aparición.
+     */
+    public static void addDuplicateErrors(String campo, List<String> items,
+                                          List<BusinessValidationException.FieldError> errores) {
+        // nombre en minúsculas -> ya se vio repetido
+        Map<String, Boolean> repetidos = new LinkedHashMap<>(items.size() * 2);
+        for (String item : items) {
+            repetidos.merge(item.toLowerCase(Locale.ROOT), Boolean.FALSE, (a, b) -> Boolean.TRUE);
+        }
 
-        for (Map.Entry<String, Long> e : counts.entrySet()) {
-            if (e.getValue() > 1) {
+        for (Map.Entry<String, Boolean> e : repetidos.entrySet()) {
+            if (e.getValue()) {
                 errores.add(new BusinessValidationException.FieldError(campo,
                         "Duplicado encontrado: '" + e.getKey() + "'"));
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,268 @@
+package com.decisiontree.backend.controller;
+
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.service.ingest.BinaryDecisionReader;
+import com.decisiontree.backend.service.store.ColumnarMatrixFile;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DecisionControllerTest {
+
+    private static final String PROBLEMA = """
+            {
+              "modo": "saw",
+              "criterios": [
+                {"criterio": "costo", "peso": 0.3, "tipo": "costo"},
+                {"criterio": "calidad", "peso": 0.7, "tipo": "beneficio"}
+              ],
+              "alternativas": [
+                {"nombre": "Opcion A", "valores": {"costo": 100, "calidad": 80}},
+                {"nombre": "Opcion B", "valores": {"costo": 120, "calidad": 95}}
+              ]
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void evaluarDevuelveRankingOrdenado() throws Exception {
+        mockMvc.perform(post("/api/dss/evaluar").contentType(MediaType.APPLICATION_JSON).content(PROBLEMA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ranking[0].alternativa").value("Opcion B"))
+                .andExpect(jsonPath("$.ranking[1].alternativa").value("Opcion A"));
+    }
+
+    @Test
+    void evaluarExcelLeeElMismoFormatoQueElFrontend() throws Exception {
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "PruebaBien.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                Files.readAllBytes(Path.of("..", "ExcelPruebas", "PruebaBien.xlsx")));
+
+        mockMvc.perform(multipart("/api/dss/evaluar-excel").file(archivo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ranking.length()").value(4))
+                .andExpect(jsonPath("$.ranking[0].alternativa").value("Laptop B"))
+                .andExpect(jsonPath("$.ranking[3].alternativa").value("Laptop C"));
+    }
+
+    @Test
+    void loteReportaErroresPorItemSinFallarElResto() throws Exception {
+        String invalido = """
+                {"modo": "inexistente", "criterios": [], "alternativas": []}
+                """;
+
+        mockMvc.perform(post("/api/dss/evaluar-lote").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + PROBLEMA + "," + invalido + "," + PROBLEMA + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.exitosos").value(2))
+                .andExpect(jsonPath("$.fallidos").value(1))
+                .andExpect(jsonPath("$.resultados[0].estado").value("OK"))
+                .andExpect(jsonPath("$.resultados[0].resultado.ranking[0].alternativa").value("Opcion B"))
+                .andExpect(jsonPath("$.resultados[1].estado").value("ERROR"))
+                .andExpect(jsonPath("$.resultados[1].error.error").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.resultados[1].error.errores[0].campo").value("modo"))
+                .andExpect(jsonPath("$.resultados[2].indice").value(2));
+    }
+
+    @Test
+    void simulacionDePesosTransmiteElResultadoPorSse() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/dss/simulacion/pesos?muestras=2000&semilla=1&rangos=2")
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(PROBLEMA))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long limite = System.currentTimeMillis() + 10_000;
+        // el evento está completo cuando llega la línea en blanco que lo cierra
+        while (!(result.getResponse().getContentAsString().contains("event:resultado")
+                && result.getResponse().getContentAsString().endsWith("\n\n"))
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertThat(result.getResponse().getContentAsString())
+                .contains("event:resultado")
+                .contains("\"semilla\":1")
+                .contains("\"alternativa\":\"Opcion B\"");
+    }
+
+    @Test
+    void matrizEnDiscoSeSubeYSeEvaluaSobreElArchivo(@TempDir Path directorio) throws Exception {
+        Path archivo = directorio.resolve("problema.dssm");
+        ColumnarMatrixFile.escribir(archivo, new String[]{"Opcion A", "Opcion B"},
+                List.of(new ConfigDto("costo", 0.3, "costo"), new ConfigDto("calidad", 0.7, "beneficio")),
+                new double[]{100, 80, 120, 95});
+
+        MvcResult subida = mockMvc.perform(post("/api/dss/matrices").contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(Files.readAllBytes(archivo)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.alternativas").value(2))
+                .andExpect(jsonPath("$.criterios[0].tipo").value("costo"))
+                .andReturn();
+        String id = JsonPath.read(subida.getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(post("/api/dss/matrices/" + id + "/evaluar").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"modo\": \"saw\", \"topK\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAlternativas").value(2))
+                .andExpect(jsonPath("$.ranking.length()").value(1))
+                .andExpect(jsonPath("$.ranking[0].alternativa").value("Opcion B"));
+
+        mockMvc.perform(delete("/api/dss/matrices/" + id)).andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/dss/matrices/" + id + "/evaluar").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"modo\": \"saw\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void trabajoSeEvaluaEnSegundoPlanYSeConsultaElResultado() throws Exception {
+        MvcResult envio = mockMvc.perform(post("/api/dss/trabajos").contentType(MediaType.APPLICATION_JSON).content(PROBLEMA))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.alternativas").value(2))
+                .andReturn();
+        String id = JsonPath.read(envio.getResponse().getContentAsString(), "$.id");
+
+        MvcResult resultado = mockMvc.perform(get("/api/dss/trabajos/" + id + "/resultado")).andReturn();
+        for (int k = 0; k < 1000 && resultado.getResponse().getStatus() == 202; k++) {
+            Thread.sleep(10);
+            resultado = mockMvc.perform(get("/api/dss/trabajos/" + id + "/resultado")).andReturn();
+        }
+        assertThat(resultado.getResponse().getStatus()).isEqualTo(200);
+        assertThat((String) JsonPath.read(resultado.getResponse().getContentAsString(), "$.ranking[0].alternativa"))
+                .isEqualTo("Opcion B");
+
+        mockMvc.perform(get("/api/dss/trabajos/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado").value("completado"));
+        mockMvc.perform(delete("/api/dss/trabajos/" + id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/dss/trabajos/" + id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void evaluarEnNdjsonEscribeCabeceraYUnaLineaPorPosicion() throws Exception {
+        MvcResult inicio = mockMvc.perform(post("/api/dss/evaluar").contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON).content(PROBLEMA))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] lineas = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+
+        String json = mockMvc.perform(post("/api/dss/evaluar").contentType(MediaType.APPLICATION_JSON).content(PROBLEMA))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(lineas).hasSize(3);
+        assertThat((String) JsonPath.read(lineas[0], "$.mensaje")).isEqualTo(JsonPath.read(json, "$.mensaje"));
+        for (int p = 0; p < 2; p++) {
+            assertThat((String) JsonPath.read(lineas[p + 1], "$.alternativa"))
+                    .isEqualTo(JsonPath.read(json, "$.ranking[" + p + "].alternativa"));
+            assertThat((Double) JsonPath.read(lineas[p + 1], "$.puntaje"))
+                    .isEqualTo(JsonPath.read(json, "$.ranking[" + p + "].puntaje"));
+        }
+
+        // varios modos con topK: cada línea lleva su modo
+        inicio = mockMvc.perform(post("/api/dss/evaluar").contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(PROBLEMA.replace("\"modo\": \"saw\"", "\"modos\": [\"saw\", \"maximin\"], \"topK\": 1")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        lineas = mockMvc.perform(asyncDispatch(inicio)).andReturn().getResponse()
+                .getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lineas).hasSize(3);
+        assertThat((Integer) JsonPath.read(lineas[0], "$.totalAlternativas")).isEqualTo(2);
+        assertThat((String) JsonPath.read(lineas[1], "$.modo")).isEqualTo("saw");
+        assertThat((String) JsonPath.read(lineas[2], "$.modo")).isEqualTo("maximin");
+    }
+
+    @Test
+    void evaluarBinarioNegociaLaRespuestaPorAccept() throws Exception {
+        ByteBuffer b = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        b.put("DSSQ".getBytes(StandardCharsets.US_ASCII)).putInt(1);
+        texto(b, "saw");
+        b.putInt(-1).putDouble(Double.NaN).putInt(-1).putInt(-1).putInt(-1);
+        b.putInt(2).putInt(2);
+        texto(b, "costo");
+        b.putDouble(0.3);
+        texto(b, "costo");
+        texto(b, "calidad");
+        b.putDouble(0.7);
+        texto(b, "beneficio");
+        texto(b, "Opcion A");
+        texto(b, "Opcion B");
+        b.putDouble(100).putDouble(80).putDouble(120).putDouble(95);
+        byte[] request = new byte[b.position()];
+        b.flip().get(request);
+
+        // sin Accept la respuesta sigue siendo JSON
+        mockMvc.perform(post("/api/dss/evaluar").contentType(BinaryDecisionReader.MEDIA_TYPE).content(request))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.ranking[0].alternativa").value("Opcion B"));
+
+        MvcResult result = mockMvc.perform(post("/api/dss/evaluar").contentType(BinaryDecisionReader.MEDIA_TYPE)
+                        .accept(BinaryDecisionReader.MEDIA_TYPE).content(request))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryDecisionReader.MEDIA_TYPE))
+                .andReturn();
+
+        ByteBuffer r = ByteBuffer.wrap(result.getResponse().getContentAsByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(r.getInt()).isEqualTo(ByteBuffer.wrap("DSSP".getBytes(StandardCharsets.US_ASCII))
+                .order(ByteOrder.LITTLE_ENDIAN).getInt());
+        assertThat(r.getInt()).isEqualTo(1);
+        assertThat(texto(r)).startsWith("Evaluación");
+        assertThat(r.getInt()).isEqualTo(-1); // sin totalAlternativas
+        assertThat(r.getInt()).isEqualTo(1);  // un solo ranking
+        assertThat(texto(r)).isNull();
+        assertThat(r.getInt()).isEqualTo(2);
+        assertThat(texto(r)).isEqualTo("Opcion B");
+        r.getDouble();
+        assertThat(texto(r)).isEqualTo("Opcion A");
+        r.getDouble();
+        assertThat(r.hasRemaining()).isFalse();
+    }
+
+    private static void texto(ByteBuffer b, String s) {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        b.putInt(utf8.length).put(utf8);
+    }
+
+    private static String texto(ByteBuffer b) {
+        int largo = b.getInt();
+        if (largo < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[largo];
+        b.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
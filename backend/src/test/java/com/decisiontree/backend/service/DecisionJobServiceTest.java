@@ -0,0 +1,138 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.TrabajoDto;
+import com.decisiontree.backend.exception.BadRequestException;
+import com.decisiontree.backend.exception.NotFoundException;
+import com.decisiontree.backend.exception.ServiceUnavailableException;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.ingest.DecisionRequestCompiler;
+import com.decisiontree.backend.service.ingest.ValidationLimits;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DecisionJobServiceTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private DecisionJobService servicio;
+
+    @AfterEach
+    void detener() {
+        liberar.countDown();
+        servicio.detener();
+    }
+
+    private static CompiledDecisionRequest problema(String modo) {
+        DecisionRequest r = new DecisionRequest();
+        r.setModo(modo);
+        r.setCriterios(List.of(new ConfigDto("precio", 1.0, "costo")));
+        r.setAlternativas(List.of(new AlternativaDto("A", Map.of("precio", 10.0)),
+                new AlternativaDto("B", Map.of("precio", 5.0))));
+        return new DecisionRequestCompiler(ValidationLimits.SIN_LIMITE).compilar(r);
+    }
+
+    /**
+     * Un hilo y una cola de un lugar; la evaluación espera a liberar (y falla con modo hurwicz,
+     * o con un Error con maximin).
+     */
+    private DecisionJobService servicio(int maximo) {
+        servicio = new DecisionJobService(compilado -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if ("hurwicz".equals(compilado.getParametros().getModo())) {
+                throw new BadRequestException("falla");
+            }
+            if ("maximin".equals(compilado.getParametros().getModo())) {
+                throw new OutOfMemoryError("simulado");
+            }
+            return new DecisionResponse(compilado.getParametros().getModo(), List.of());
+        }, 1, 1, maximo, Duration.ofMinutes(1), reloj::get);
+        return servicio;
+    }
+
+    private TrabajoDto esperar(String id, String estado) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        TrabajoDto dto = servicio.consultar(id);
+        while (!estado.equals(dto.getEstado()) && System.nanoTime() < limite) {
+            Thread.sleep(5);
+            dto = servicio.consultar(id);
+        }
+        assertThat(dto.getEstado()).isEqualTo(estado);
+        return dto;
+    }
+
+    @Test
+    void colaLlenaRechazaYCancelarLiberaElLugar() throws Exception {
+        servicio(10);
+        String enCurso = servicio.enviar(problema("saw")).getId();
+        esperar(enCurso, DecisionJobService.EN_CURSO);
+
+        TrabajoDto enCola = servicio.enviar(problema("maximin"));
+        assertThat(enCola.getEstado()).isEqualTo(DecisionJobService.EN_COLA);
+        assertThat(enCola.getPosicionEnCola()).isZero();
+        assertThat(enCola.getAlternativas()).isEqualTo(2);
+        assertThatThrownBy(() -> servicio.enviar(problema("maximax")))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("cola de trabajos está llena");
+
+        servicio.cancelar(enCola.getId());
+        assertThatThrownBy(() -> servicio.consultar(enCola.getId())).isInstanceOf(NotFoundException.class);
+        String siguiente = servicio.enviar(problema("laplace")).getId();
+        assertThat(servicio.resultado(enCurso)).isNull();
+
+        liberar.countDown();
+        esperar(enCurso, DecisionJobService.COMPLETADO);
+        esperar(siguiente, DecisionJobService.COMPLETADO);
+        assertThat(servicio.resultado(enCurso).getMensaje()).isEqualTo("saw");
+        assertThat(servicio.resultado(siguiente).getMensaje()).isEqualTo("laplace");
+    }
+
+    @Test
+    void errorSeRelanzaYLosTerminadosVencenTrasLaRetencion() throws Exception {
+        servicio(2);
+        liberar.countDown();
+        String fallido = servicio.enviar(problema("hurwicz")).getId();
+        esperar(fallido, DecisionJobService.FALLIDO);
+        assertThatThrownBy(() -> servicio.resultado(fallido)).isInstanceOf(BadRequestException.class);
+
+        String completado = servicio.enviar(problema("saw")).getId();
+        esperar(completado, DecisionJobService.COMPLETADO);
+        // máximo de trabajos guardados alcanzado hasta que vencen
+        assertThatThrownBy(() -> servicio.enviar(problema("saw"))).isInstanceOf(ServiceUnavailableException.class);
+
+        reloj.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThatThrownBy(() -> servicio.consultar(completado)).isInstanceOf(NotFoundException.class);
+        assertThat(servicio.enviar(problema("saw")).getId()).isNotNull();
+    }
+
+    @Test
+    void errorFatalDejaElTrabajoFallidoYElPoolSigue() throws Exception {
+        servicio(10);
+        liberar.countDown();
+        String fallido = servicio.enviar(problema("maximin")).getId();
+        esperar(fallido, DecisionJobService.FALLIDO);
+        assertThatThrownBy(() -> servicio.resultado(fallido))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(OutOfMemoryError.class);
+
+        String siguiente = servicio.enviar(problema("saw")).getId();
+        esperar(siguiente, DecisionJobService.COMPLETADO);
+    }
+}
@@ -0,0 +1,52 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.criteria.DecisionCriteriaCalculator;
+import com.decisiontree.backend.service.metrics.DecisionMetrics;
+import com.decisiontree.backend.service.store.ColumnarMatrixFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DecisionMatrixStoreServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void subidaQuePasaElTamanoMaximoSeRechazaYSeBorra() throws IOException {
+        Path origen = directorio.resolve("origen.dssm");
+        ColumnarMatrixFile.escribir(origen, new String[]{"A", "B"}, List.of(new ConfigDto("precio", 1.0, "costo")),
+                new double[]{1.0, 2.0});
+        byte[] contenido = Files.readAllBytes(origen);
+        Files.delete(origen);
+
+        DecisionMatrixStoreService justo = servicio(contenido.length);
+        assertThat(justo.subir(new ByteArrayInputStream(contenido)).getAlternativas()).isEqualTo(2);
+
+        DecisionMatrixStoreService chico = servicio(contenido.length - 1);
+        assertThatThrownBy(() -> chico.subir(new ByteArrayInputStream(contenido)))
+                .isInstanceOf(BusinessValidationException.class)
+                .satisfies(ex -> assertThat(((BusinessValidationException) ex).getErrores())
+                        .extracting(BusinessValidationException.FieldError::getMensaje)
+                        .containsExactly("El contenido no puede superar " + (contenido.length - 1) + " bytes"));
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertThat(archivos).hasSize(1); // solo la primera subida
+        }
+    }
+
+    private DecisionMatrixStoreService servicio(long tamanoMaximo) {
+        return new DecisionMatrixStoreService(directorio, 20, tamanoMaximo,
+                new DecisionCriteriaCalculator(Long.MAX_VALUE), new DecisionMetrics(null, null));
+    }
+}
@@ -0,0 +1,51 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.ingest.DecisionRequestCompiler;
+import com.decisiontree.backend.service.ingest.ValidationLimits;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class DecisionSessionServiceTest {
+
+    private final DecisionSessionService servicio = new DecisionSessionService(10, Duration.ofMinutes(1), () -> 0L);
+
+    private String crear() {
+        DecisionRequest r = new DecisionRequest("saw", null,
+                List.of(new AlternativaDto("A", Map.of("precio", 10.0, "calidad", 3.0)),
+                        new AlternativaDto("B", Map.of("precio", 5.0, "calidad", 2.0))),
+                List.of(new ConfigDto("precio", 1.0, "costo"), new ConfigDto("calidad", 1.0, "beneficio")));
+        return servicio.crear(new DecisionRequestCompiler(ValidationLimits.SIN_LIMITE).compilar(r)).getId();
+    }
+
+    private static List<String> errores(Runnable accion) {
+        BusinessValidationException ex = catchThrowableOfType(BusinessValidationException.class, accion::run);
+        assertThat(ex).isNotNull();
+        return ex.getErrores().stream().map(e -> e.getCampo() + ": " + e.getMensaje()).toList();
+    }
+
+    @Test
+    void valoresNoFinitosSeRechazanAlAgregarYAlModificar() {
+        String id = crear();
+        long version = servicio.consultar(id).getVersion();
+
+        assertThat(errores(() -> servicio.agregarAlternativa(id,
+                new AlternativaDto("C", Map.of("precio", Double.POSITIVE_INFINITY, "calidad", 1.0)))))
+                .containsExactly("valores.precio: Debe ser un número finito");
+        assertThat(errores(() -> servicio.modificarAlternativa(id, "A",
+                new AlternativaDto(null, Map.of("calidad", Double.NaN)))))
+                .containsExactly("valores.calidad: Debe ser un número finito");
+
+        assertThat(servicio.consultar(id).getVersion()).isEqualTo(version);
+        assertThat(servicio.consultar(id).getResultado().getRanking()).hasSize(2);
+    }
+}
@@ -0,0 +1,57 @@
+package com.decisiontree.backend.service;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.ServiceUnavailableException;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.ingest.DecisionRequestCompiler;
+import com.decisiontree.backend.service.ingest.ValidationLimits;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DecisionSimulationServiceTest {
+
+    private final DecisionSimulationService servicio =
+            new DecisionSimulationService(Long.MAX_VALUE, 100, 4_000_000, 2, 1);
+
+    @AfterEach
+    void detener() {
+        servicio.detener();
+    }
+
+    private static CompiledDecisionRequest problema() {
+        List<AlternativaDto> alternativas = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            alternativas.add(new AlternativaDto("A" + i, Map.of("precio", (double) (i % 37), "calidad", (double) (i % 11))));
+        }
+        DecisionRequest r = new DecisionRequest("saw", null, alternativas,
+                List.of(new ConfigDto("precio", 1.0, "costo"), new ConfigDto("calidad", 1.0, "beneficio")));
+        return new DecisionRequestCompiler(ValidationLimits.SIN_LIMITE).compilar(r);
+    }
+
+    @Test
+    void pasadoElMaximoDeSimultaneasSeRechazaYAlTerminarSeLibera() throws Exception {
+        DecisionSimulationService.Simulacion larga = servicio.preparar(problema(), 1_000_000_000L, 1L, 3);
+        CompletableFuture<?> corrida = CompletableFuture.runAsync(larga::correr, tarea -> Thread.ofVirtual().start(tarea));
+        while (larga.completadas() == 0) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> servicio.simular(problema(), 100, 1L, 3))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        larga.cancelar();
+        assertThatThrownBy(corrida::join).hasCauseInstanceOf(CancellationException.class);
+        assertThat(servicio.simular(problema(), 100, 1L, 3).getAceptabilidad()).isNotEmpty();
+    }
+}
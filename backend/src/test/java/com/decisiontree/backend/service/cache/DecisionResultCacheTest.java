@@ -0,0 +1,100 @@
+package com.decisiontree.backend.service.cache;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.CacheEstadisticasDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.DecisionResponse;
+import com.decisiontree.backend.dto.RankingItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionResultCacheTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final DecisionResultCache cache =
+            new DecisionResultCache(true, 2, Duration.ofSeconds(10), 100, 5, reloj::get);
+
+    private static DecisionResponse respuesta(String mensaje) {
+        return new DecisionResponse(mensaje, List.of());
+    }
+
+    private static DecisionResponse respuesta(String mensaje, int alternativas) {
+        List<RankingItemDto> ranking = new ArrayList<>();
+        for (int i = 0; i < alternativas; i++) {
+            ranking.add(new RankingItemDto("A" + i, 1.0));
+        }
+        return new DecisionResponse(mensaje, ranking);
+    }
+
+    @Test
+    void lruDesalojaLaMenosUsadaYCuentaAciertosYFallos() {
+        cache.guardar("a", respuesta("a"));
+        cache.guardar("b", respuesta("b"));
+        assertThat(cache.obtener("a").getMensaje()).isEqualTo("a"); // "b" queda como la menos usada
+        cache.guardar("c", respuesta("c"));
+
+        assertThat(cache.obtener("b")).isNull();
+        assertThat(cache.obtener("c")).isNotNull();
+
+        CacheEstadisticasDto e = cache.estadisticas();
+        assertThat(e.getEntradas()).isEqualTo(2);
+        assertThat(e.getAciertos()).isEqualTo(2);
+        assertThat(e.getFallos()).isEqualTo(1);
+        assertThat(e.getDesalojos()).isEqualTo(1);
+    }
+
+    @Test
+    void totalDeAlternativasDesalojaLasMenosUsadas() {
+        cache.guardar("a", respuesta("a", 3));
+        cache.guardar("b", respuesta("b", 2));
+        cache.guardar("c", respuesta("c", 2)); // 7 > 5: sale "a"
+        assertThat(cache.obtener("a")).isNull();
+        assertThat(cache.obtener("b")).isNotNull();
+
+        cache.guardar("grande", respuesta("grande", 6)); // sola supera el total: no se guarda
+        assertThat(cache.obtener("grande")).isNull();
+        assertThat(cache.estadisticas().getEntradas()).isEqualTo(2);
+        assertThat(cache.estadisticas().getDesalojos()).isEqualTo(1);
+    }
+
+    @Test
+    void entradaVencidaEsFalloYSeDesaloja() {
+        cache.guardar("a", respuesta("a"));
+        reloj.set(Duration.ofSeconds(10).toNanos());
+
+        assertThat(cache.obtener("a")).isNull();
+        assertThat(cache.estadisticas().getEntradas()).isZero();
+        assertThat(cache.estadisticas().getDesalojos()).isEqualTo(1);
+    }
+
+    @Test
+    void claveCanonicaIgnoraElOrdenDeLosValoresPeroNoElDeLasAlternativas() {
+        Map<String, Double> v1 = new LinkedHashMap<>();
+        v1.put("precio", 10.0);
+        v1.put("calidad", 3.0);
+        Map<String, Double> v2 = new LinkedHashMap<>();
+        v2.put("calidad", 3.0);
+        v2.put("precio", 10.0);
+        List<ConfigDto> criterios = List.of(new ConfigDto("precio", 1.0, "costo"), new ConfigDto("calidad", 1.0, "beneficio"));
+        AlternativaDto otra = new AlternativaDto("B", Map.of("precio", 8.0, "calidad", 2.0));
+
+        String clave = CanonicalRequestHasher.de(new DecisionRequest("saw", null,
+                List.of(new AlternativaDto("A", v1), otra), criterios));
+
+        assertThat(CanonicalRequestHasher.de(new DecisionRequest("SAW ", null,
+                List.of(new AlternativaDto("A", v2), otra), criterios))).isEqualTo(clave);
+        assertThat(CanonicalRequestHasher.de(new DecisionRequest("saw", null,
+                List.of(otra, new AlternativaDto("A", v1)), criterios))).isNotEqualTo(clave);
+        assertThat(CanonicalRequestHasher.de(new DecisionRequest("saw", 0.5,
+                List.of(new AlternativaDto("A", v1), otra), criterios))).isNotEqualTo(clave);
+    }
+}
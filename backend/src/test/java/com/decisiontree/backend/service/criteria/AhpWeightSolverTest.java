@@ -0,0 +1,118 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.ComparacionAhpDto;
+import com.decisiontree.backend.dto.ConsistenciaAhpDto;
+import com.decisiontree.backend.dto.PesosAhpDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AhpWeightSolverTest {
+
+    private static List<List<Double>> matriz(double[][] filas) {
+        List<List<Double>> lista = new ArrayList<>();
+        for (double[] fila : filas) {
+            lista.add(Arrays.stream(fila).boxed().toList());
+        }
+        return lista;
+    }
+
+    /** Matriz perfectamente consistente a_ij = w_i / w_j. */
+    private static List<List<Double>> consistente(double... w) {
+        double[][] a = new double[w.length][w.length];
+        for (int i = 0; i < w.length; i++) {
+            for (int j = 0; j < w.length; j++) {
+                a[i][j] = w[i] / w[j];
+            }
+        }
+        return matriz(a);
+    }
+
+    @Test
+    void matrizConsistenteDevuelveSusPesosYRazonCero() {
+        PesosAhpDto ahp = new AhpWeightSolver().derivar(
+                new ComparacionAhpDto(List.of("a", "b", "c", "d"), consistente(0.4, 0.3, 0.2, 0.1)));
+
+        assertThat(ahp.getPesos()).containsOnlyKeys("a", "b", "c", "d");
+        assertThat(ahp.getPesos().get("a")).isCloseTo(0.4, within(1e-12));
+        assertThat(ahp.getPesos().get("d")).isCloseTo(0.1, within(1e-12));
+        ConsistenciaAhpDto c = ahp.getConsistencia().get(0);
+        assertThat(c.getLambdaMax()).isCloseTo(4.0, within(1e-9));
+        assertThat(c.getRazonConsistencia()).isCloseTo(0.0, within(1e-9));
+        assertThat(c.getConvergio()).isTrue();
+    }
+
+    @Test
+    void ejemploDeSaatyConCeldasReciprocasEnNull() {
+        List<List<Double>> a = new ArrayList<>();
+        a.add(List.of(1.0, 3.0, 5.0));
+        a.add(Arrays.asList(null, 1.0, 3.0));
+        a.add(Arrays.asList(null, null, 1.0));
+        PesosAhpDto ahp = new AhpWeightSolver().derivar(new ComparacionAhpDto(List.of("a", "b", "c"), a));
+
+        assertThat(ahp.getPesos().get("a")).isCloseTo(0.637, within(1e-3));
+        assertThat(ahp.getPesos().get("b")).isCloseTo(0.258, within(1e-3));
+        assertThat(ahp.getPesos().get("c")).isCloseTo(0.105, within(1e-3));
+        ConsistenciaAhpDto c = ahp.getConsistencia().get(0);
+        assertThat(c.getLambdaMax()).isCloseTo(3.0385, within(1e-3));
+        assertThat(c.getRazonConsistencia()).isCloseTo(0.033, within(1e-3));
+        assertThat(c.getConsistente()).isTrue();
+    }
+
+    @Test
+    void jerarquiaMultiplicaLosPesosLocales() {
+        ComparacionAhpDto raiz = new ComparacionAhpDto(List.of("costo", "calidad"), consistente(0.25, 0.75));
+        raiz.setSubcriterios(Map.of("calidad",
+                new ComparacionAhpDto(List.of("durabilidad", "diseno", "soporte"), consistente(0.5, 0.3, 0.2))));
+
+        PesosAhpDto ahp = new AhpWeightSolver().derivar(raiz);
+
+        assertThat(ahp.getPesos()).containsOnlyKeys("costo", "durabilidad", "diseno", "soporte");
+        assertThat(ahp.getPesos().get("costo")).isCloseTo(0.25, within(1e-12));
+        assertThat(ahp.getPesos().get("diseno")).isCloseTo(0.225, within(1e-12));
+        assertThat(ahp.getPesos().values().stream().mapToDouble(Double::doubleValue).sum()).isCloseTo(1.0, within(1e-12));
+        assertThat(ahp.getConsistencia()).extracting(ConsistenciaAhpDto::getNodo)
+                .containsExactly("comparaciones", "comparaciones.subcriterios.calidad");
+    }
+
+    @Test
+    void matricesRepetidasSeResuelvenUnaVez() {
+        AhpWeightSolver solver = new AhpWeightSolver();
+        ComparacionAhpDto raiz = new ComparacionAhpDto(List.of("g1", "g2"), consistente(0.5, 0.5));
+        raiz.setSubcriterios(Map.of(
+                "g1", new ComparacionAhpDto(List.of("a", "b"), matriz(new double[][]{{1, 2}, {0.5, 1}})),
+                "g2", new ComparacionAhpDto(List.of("c", "d"), matriz(new double[][]{{1, 2}, {0.5, 1}}))));
+
+        PesosAhpDto primera = solver.derivar(raiz);
+        PesosAhpDto segunda = solver.derivar(raiz);
+
+        assertThat(solver.calculadas()).isEqualTo(2);
+        assertThat(segunda.getPesos()).isEqualTo(primera.getPesos());
+    }
+
+    @Test
+    void topeDeIteracionesLoReporta() {
+        // a > b > c > a: muy inconsistente
+        List<List<Double>> a = matriz(new double[][]{{1, 9, 1.0 / 9}, {1.0 / 9, 1, 5}, {9, 1.0 / 5, 1}});
+
+        ConsistenciaAhpDto c = new AhpWeightSolver(1e-15, 1, 0)
+                .derivar(new ComparacionAhpDto(List.of("a", "b", "c"), a)).getConsistencia().get(0);
+
+        assertThat(c.getIteraciones()).isEqualTo(1);
+        assertThat(c.getConvergio()).isFalse();
+        assertThat(c.getConsistente()).isFalse();
+    }
+
+    @Test
+    void indiceAleatorioSigueLaTablaYLaAproximacion() {
+        assertThat(AhpWeightSolver.indiceAleatorio(3)).isEqualTo(0.58);
+        assertThat(AhpWeightSolver.indiceAleatorio(15)).isEqualTo(1.59);
+        assertThat(AhpWeightSolver.indiceAleatorio(16)).isCloseTo(1.59, within(0.02));
+    }
+}
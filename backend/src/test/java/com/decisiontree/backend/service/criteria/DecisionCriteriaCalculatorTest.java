@@ -0,0 +1,141 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.RankingItemDto;
+import com.decisiontree.backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DecisionCriteriaCalculatorTest {
+
+    private final DecisionCriteriaCalculator calculator = new DecisionCriteriaCalculator();
+
+    private static DecisionRequest request(String modo, Double alpha) {
+        return new DecisionRequest(modo, alpha,
+                List.of(
+                        new AlternativaDto("A", Map.of("precio", 100.0, "calidad", 8.0, "soporte", 5.0)),
+                        new AlternativaDto("B", Map.of("precio", 80.0, "calidad", 6.0, "soporte", 9.0)),
+                        new AlternativaDto("C", Map.of("precio", 120.0, "calidad", 9.0, "soporte", 4.0))
+                ),
+                List.of(
+                        new ConfigDto("precio", 2.0, "costo"),
+                        new ConfigDto(" calidad ", 1.0, "beneficio"),
+                        new ConfigDto("soporte", 1.0, "beneficio")
+                ));
+    }
+
+    private static void assertRanking(List<RankingItemDto> ranking, Object... esperado) {
+        assertThat(ranking).hasSize(esperado.length / 2);
+        for (int i = 0; i < ranking.size(); i++) {
+            assertThat(ranking.get(i).getAlternativa()).isEqualTo(esperado[2 * i]);
+            assertThat(ranking.get(i).getPuntaje()).isEqualTo(esperado[2 * i + 1]);
+        }
+    }
+
+    @Test
+    void sawNormalizaPorCriterioYRespetaCosto() {
+        assertRanking(calculator.calcularRanking(request("saw", null)),
+                "B", 0.75, "A", 0.466667, "C", 0.25);
+    }
+
+    @Test
+    void valorEsperadoUsaPesosNormalizados() {
+        assertRanking(calculator.calcularRanking(request("valor_esperado", null)),
+                "B", -36.25, "A", -46.75, "C", -56.75);
+    }
+
+    @Test
+    void criteriosDeIncertidumbre() {
+        assertRanking(calculator.calcularRanking(request("maximin", null)),
+                "B", -80.0, "A", -100.0, "C", -120.0);
+        assertRanking(calculator.calcularRanking(request("maximax", null)),
+                "B", 9.0, "C", 9.0, "A", 8.0);
+        assertRanking(calculator.calcularRanking(request("laplace", null)),
+                "B", -21.666667, "A", -29.0, "C", -35.666667);
+        assertRanking(calculator.calcularRanking(request("hurwicz", 0.5)),
+                "B", -35.5, "A", -46.0, "C", -55.5);
+        assertRanking(calculator.calcularRanking(request("minimax_regret", null)),
+                "B", -3.0, "A", -20.0, "C", -40.0);
+    }
+
+    @Test
+    void topsisYVikorOrientanLosCriteriosDeCosto() {
+        // valores de referencia calculados con el ideal de costo como mínimo, sin negar la matriz
+        assertRanking(calculator.calcularRanking(request("topsis", null)),
+                "B", 0.742333, "A", 0.397709, "C", 0.257667);
+        assertRanking(calculator.calcularRanking(request("vikor", null)),
+                "B", 1.0, "A", 0.716667, "C", 0.0);
+
+        DecisionRequest ambos = request(null, null);
+        ambos.setModos(List.of("topsis", "vikor"));
+        Map<String, List<RankingItemDto>> juntos = calculator.calcularRankings(ambos);
+        assertThat(juntos.get("topsis")).usingRecursiveComparison()
+                .isEqualTo(calculator.calcularRanking(request("topsis", null)));
+        assertThat(juntos.get("vikor")).usingRecursiveComparison()
+                .isEqualTo(calculator.calcularRanking(request("vikor", null)));
+    }
+
+    @Test
+    void todosLosModosCoincidenConLaEvaluacionIndividual() {
+        DecisionRequest todos = request("todos", 0.3);
+        Map<String, List<RankingItemDto>> rankings = calculator.calcularRankings(todos);
+
+        assertThat(rankings.keySet()).containsExactly(
+                "ranking", "valor_esperado", "maximin", "maximax", "laplace", "hurwicz", "minimax_regret");
+        for (Map.Entry<String, List<RankingItemDto>> e : rankings.entrySet()) {
+            List<RankingItemDto> individual = calculator.calcularRanking(request(e.getKey(), 0.3));
+            assertThat(e.getValue()).usingRecursiveComparison().isEqualTo(individual);
+        }
+    }
+
+    @Test
+    void ventanaDelRankingCoincideConElRankingCompleto() {
+        List<RankingItemDto> completo = calculator.calcularRanking(request("maximax", null));
+
+        DecisionRequest top = request("maximax", null);
+        top.setTopK(2);
+        assertThat(calculator.calcularRanking(top)).usingRecursiveComparison().isEqualTo(completo.subList(0, 2));
+
+        DecisionRequest pagina = request("maximax", null);
+        pagina.setOffset(1);
+        pagina.setLimit(5);
+        assertThat(calculator.calcularRanking(pagina)).usingRecursiveComparison().isEqualTo(completo.subList(1, 3));
+
+        DecisionRequest fuera = request("maximax", null);
+        fuera.setOffset(3);
+        assertThat(calculator.calcularRanking(fuera)).isEmpty();
+    }
+
+    @Test
+    void matrizQueNoEntraEnUnArregloSeRechazaSinDesbordar() {
+        // 2^30 filas por 3 criterios desbordaría n * m; la lista no guarda nada
+        AlternativaDto alternativa = new AlternativaDto("A",
+                Map.of("precio", 1.0, "calidad", 1.0, "soporte", 1.0));
+        List<AlternativaDto> enormes = new AbstractList<>() {
+            @Override
+            public AlternativaDto get(int index) {
+                return alternativa;
+            }
+
+            @Override
+            public int size() {
+                return 1 << 30;
+            }
+        };
+        DecisionRequest request = request("ranking", null);
+        request.setAlternativas(enormes);
+
+        assertThatThrownBy(() -> calculator.calcularRanking(request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("La matriz de 1073741824 alternativas por 3 criterios supera el máximo de "
+                        + Integer.MAX_VALUE + " valores.");
+    }
+}
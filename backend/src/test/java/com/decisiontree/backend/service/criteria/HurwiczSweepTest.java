@@ -0,0 +1,98 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HurwiczSweepTest {
+
+    private final DecisionCriteriaCalculator calculator = new DecisionCriteriaCalculator();
+
+    private static DecisionMatrix matriz(Random random, int n) {
+        List<AlternativaDto> alternativas = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            alternativas.add(new AlternativaDto("A" + i, Map.of(
+                    "x", (double) random.nextInt(20), "y", (double) random.nextInt(20), "z", (double) random.nextInt(20))));
+        }
+        return DecisionMatrix.compile(new DecisionRequest("hurwicz", null, alternativas, List.of(
+                new ConfigDto("x", 1.0, "beneficio"),
+                new ConfigDto("y", 1.0, "costo"),
+                new ConfigDto("z", 1.0, "beneficio"))));
+    }
+
+    /** Fila con mayor puntaje exacto; a igual puntaje, la primera. */
+    private static int mejor(double[] puntajes) {
+        int mejor = 0;
+        for (int i = 1; i < puntajes.length; i++) {
+            if (puntajes[i] > puntajes[mejor]) {
+                mejor = i;
+            }
+        }
+        return mejor;
+    }
+
+    @Test
+    void puntajesIgualesAlModoHurwicz() {
+        DecisionMatrix matriz = matriz(new Random(7), 50);
+        HurwiczSweep barrido = HurwiczSweep.calcular(matriz);
+
+        for (int k = 0; k <= 100; k++) {
+            double alpha = k / 100.0;
+            assertThat(barrido.puntajes(alpha, new double[matriz.filas()]))
+                    .containsExactly(calculator.calcularPuntajes(matriz, "hurwicz", alpha));
+        }
+    }
+
+    @Test
+    void tramosCubrenCeroAUnoConLaGanadoraCorrecta() {
+        Random random = new Random(11);
+        for (int prueba = 0; prueba < 200; prueba++) {
+            DecisionMatrix matriz = matriz(random, 1 + random.nextInt(30));
+            HurwiczSweep barrido = HurwiczSweep.calcular(matriz);
+            double[] puntajes = new double[matriz.filas()];
+
+            assertThat(barrido.tramos()).isPositive();
+            assertThat(barrido.desde(0)).isZero();
+            assertThat(barrido.hasta(barrido.tramos() - 1)).isEqualTo(1.0);
+
+            for (int k = 0; k < barrido.tramos(); k++) {
+                if (k > 0) {
+                    // en el corte empatan la ganadora anterior y la nueva
+                    double corte = barrido.desde(k);
+                    assertThat(barrido.hasta(k - 1)).isEqualTo(corte);
+                    barrido.puntajes(corte, puntajes);
+                    assertThat(puntajes[barrido.ganador(k)])
+                            .isCloseTo(puntajes[barrido.ganador(k - 1)], within(1e-9));
+                }
+                double medio = (barrido.desde(k) + barrido.hasta(k)) / 2;
+                barrido.puntajes(medio, puntajes);
+                assertThat(puntajes[barrido.ganador(k)]).isEqualTo(puntajes[mejor(puntajes)]);
+            }
+        }
+    }
+
+    @Test
+    void cortesExactosEntreDosRectas() {
+        // A: min 0, max 10 -> 10a ; B: min 4, max 6 -> 4 + 2a ; se cruzan en a = 0.5
+        DecisionMatrix matriz = DecisionMatrix.compile(new DecisionRequest("hurwicz", null, List.of(
+                new AlternativaDto("A", Map.of("x", 0.0, "y", 10.0)),
+                new AlternativaDto("B", Map.of("x", 4.0, "y", 6.0))),
+                List.of(new ConfigDto("x", 1.0, "beneficio"), new ConfigDto("y", 1.0, "beneficio"))));
+
+        HurwiczSweep barrido = HurwiczSweep.calcular(matriz);
+
+        assertThat(barrido.tramos()).isEqualTo(2);
+        assertThat(matriz.alternativa(barrido.ganador(0))).isEqualTo("B");
+        assertThat(barrido.hasta(0)).isEqualTo(0.5);
+        assertThat(matriz.alternativa(barrido.ganador(1))).isEqualTo("A");
+    }
+}
@@ -0,0 +1,110 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.dto.RankingItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalRankingTest {
+
+    private final DecisionCriteriaCalculator calculator = new DecisionCriteriaCalculator();
+
+    private static final List<ConfigDto> CRITERIOS = List.of(
+            new ConfigDto("precio", 2.0, "costo"),
+            new ConfigDto("calidad", 1.0, "beneficio"),
+            new ConfigDto("soporte", 1.0, "beneficio"));
+
+    private static Map<String, Double> valores(Random random) {
+        // Valores chicos para que haya empates y extremos repetidos
+        Map<String, Double> valores = new LinkedHashMap<>();
+        for (ConfigDto c : CRITERIOS) {
+            valores.put(c.getCriterio(), (double) random.nextInt(6));
+        }
+        return valores;
+    }
+
+    private void assertIgualAEvaluarCompleto(IncrementalRanking incremental, List<AlternativaDto> alternativas) {
+        DecisionRequest request = new DecisionRequest("todos", 0.3, alternativas, CRITERIOS);
+        DecisionMatrix matriz = DecisionMatrix.compile(request);
+        int n = alternativas.size();
+        assertThat(incremental.filas()).isEqualTo(n);
+
+        Map<String, List<RankingItemDto>> esperado =
+                calculator.calcularRankings(matriz, DecisionModes.MODOS_BASICOS, 0.3, 0, n);
+        for (Map.Entry<String, List<RankingItemDto>> e : esperado.entrySet()) {
+            assertThat(incremental.ranking(e.getKey(), 0, n))
+                    .as(e.getKey())
+                    .usingRecursiveComparison()
+                    .isEqualTo(e.getValue());
+            assertThat(incremental.ranking(e.getKey(), 1, 3))
+                    .usingRecursiveComparison()
+                    .isEqualTo(e.getValue().subList(Math.min(1, n), Math.min(3, n)));
+        }
+    }
+
+    @Test
+    void edicionesAleatoriasCoincidenConEvaluarLaMatrizCompleta() {
+        Random random = new Random(42);
+        List<AlternativaDto> alternativas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            alternativas.add(new AlternativaDto("A" + i, valores(random)));
+        }
+        int siguiente = alternativas.size();
+
+        IncrementalRanking incremental = new IncrementalRanking(
+                DecisionMatrix.compile(new DecisionRequest("todos", 0.3, alternativas, CRITERIOS)),
+                DecisionModes.MODOS_BASICOS, 0.3);
+        assertIgualAEvaluarCompleto(incremental, alternativas);
+
+        for (int paso = 0; paso < 300; paso++) {
+            int accion = random.nextInt(3);
+            if (accion == 0 || alternativas.size() == 1) {
+                AlternativaDto nueva = new AlternativaDto("A" + siguiente++, valores(random));
+                double[] orden = new double[CRITERIOS.size()];
+                for (int j = 0; j < orden.length; j++) {
+                    orden[j] = nueva.getValores().get(CRITERIOS.get(j).getCriterio());
+                }
+                incremental.agregar(nueva.getNombre(), orden);
+                alternativas.add(nueva);
+            } else if (accion == 1) {
+                int i = random.nextInt(alternativas.size());
+                AlternativaDto actual = alternativas.get(i);
+                int j = random.nextInt(CRITERIOS.size());
+                double v = random.nextInt(6);
+                String nuevoNombre = random.nextBoolean() ? null : "R" + siguiente++;
+
+                incremental.actualizar(actual.getNombre(), nuevoNombre, new int[]{j}, new double[]{v});
+                Map<String, Double> valores = new LinkedHashMap<>(actual.getValores());
+                valores.put(CRITERIOS.get(j).getCriterio(), v);
+                alternativas.set(i, new AlternativaDto(nuevoNombre == null ? actual.getNombre() : nuevoNombre, valores));
+            } else {
+                int i = random.nextInt(alternativas.size());
+                incremental.eliminar(alternativas.remove(i).getNombre());
+            }
+            assertIgualAEvaluarCompleto(incremental, alternativas);
+        }
+    }
+
+    @Test
+    void buscaAlternativasSinDistinguirMayusculasNiEspacios() {
+        IncrementalRanking incremental = new IncrementalRanking(
+                DecisionMatrix.compile(new DecisionRequest("saw", null,
+                        List.of(new AlternativaDto("Proveedor A", Map.of("precio", 1.0, "calidad", 2.0, "soporte", 3.0))),
+                        CRITERIOS)),
+                List.of("saw"), null);
+
+        assertThat(incremental.contiene(" proveedor a ")).isTrue();
+        assertThat(incremental.columna("calidad")).isEqualTo(1);
+        assertThat(incremental.columna("color")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.RankingItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelEvaluationTest {
+
+    private final DecisionCriteriaCalculator secuencial = new DecisionCriteriaCalculator(Long.MAX_VALUE);
+    private final DecisionCriteriaCalculator paralelo = new DecisionCriteriaCalculator(0);
+
+    /** Valores enteros chicos para que haya muchos empates en puntajes y extremos. */
+    private static DecisionMatrix matriz(int n, int m) {
+        Random random = new Random(11);
+        String[] alternativas = new String[n];
+        double[] valores = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            alternativas[i] = "A" + i;
+            for (int j = 0; j < m; j++) {
+                valores[i * m + j] = random.nextInt(5);
+            }
+        }
+        String[] criterios = new String[m];
+        double[] pesos = new double[m];
+        boolean[] costo = new boolean[m];
+        for (int j = 0; j < m; j++) {
+            criterios[j] = "c" + j;
+            pesos[j] = 1.0 / m;
+            costo[j] = (j % 2 == 1);
+            if (costo[j]) {
+                for (int i = 0; i < n; i++) {
+                    valores[i * m + j] = -valores[i * m + j];
+                }
+            }
+        }
+        return new DecisionMatrix(alternativas, criterios, pesos, costo, valores);
+    }
+
+    @Test
+    void mismosPuntajesYRankingQueElCaminoSecuencial() {
+        DecisionMatrix matriz = matriz(20_000, 4);
+        List<String> modos = DecisionModes.resolve(null, List.of("todos", "topsis", "vikor"));
+
+        for (String modo : modos) {
+            assertThat(paralelo.calcularPuntajes(matriz, modo, 0.3))
+                    .containsExactly(secuencial.calcularPuntajes(matriz, modo, 0.3));
+
+            for (int[] ventana : new int[][]{{0, 10}, {95, 105}, {0, 20_000}}) {
+                List<RankingItemDto> esperado = secuencial.calcularRanking(matriz, modo, 0.3, ventana[0], ventana[1]);
+                List<RankingItemDto> obtenido = paralelo.calcularRanking(matriz, modo, 0.3, ventana[0], ventana[1]);
+                assertThat(obtenido).hasSameSizeAs(esperado);
+                for (int p = 0; p < esperado.size(); p++) {
+                    assertThat(obtenido.get(p).getAlternativa()).isEqualTo(esperado.get(p).getAlternativa());
+                    assertThat(obtenido.get(p).getPuntaje()).isEqualTo(esperado.get(p).getPuntaje());
+                }
+            }
+        }
+
+        Map<String, double[]> esperados = secuencial.calcularPuntajes(matriz, modos, 0.3);
+        Map<String, double[]> obtenidos = paralelo.calcularPuntajes(matriz, modos, 0.3);
+        for (String modo : modos) {
+            assertThat(obtenidos.get(modo)).containsExactly(esperados.get(modo));
+        }
+    }
+}
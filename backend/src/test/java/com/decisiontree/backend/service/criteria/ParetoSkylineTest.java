@@ -0,0 +1,110 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.RankingItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParetoSkylineTest {
+
+    private final DecisionCriteriaCalculator calculator = new DecisionCriteriaCalculator(Long.MAX_VALUE);
+
+    /** Valores enteros chicos: muchas filas repetidas y empates en la suma normalizada. */
+    private static DecisionMatrix matriz(int n, int m, int rango, long semilla) {
+        Random random = new Random(semilla);
+        String[] alternativas = new String[n];
+        double[] valores = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            alternativas[i] = "A" + i;
+            for (int j = 0; j < m; j++) {
+                valores[i * m + j] = random.nextInt(rango);
+            }
+        }
+        String[] criterios = new String[m];
+        double[] pesos = new double[m];
+        boolean[] costo = new boolean[m];
+        for (int j = 0; j < m; j++) {
+            criterios[j] = "c" + j;
+            pesos[j] = 1.0 + j;
+            costo[j] = (j % 2 == 1);
+            if (costo[j]) {
+                for (int i = 0; i < n; i++) {
+                    valores[i * m + j] = -valores[i * m + j];
+                }
+            }
+        }
+        return new DecisionMatrix(alternativas, criterios, pesos, costo, valores);
+    }
+
+    /** Comparación de todos los pares, como referencia. */
+    private static int[] fuerzaBruta(DecisionMatrix matriz) {
+        int n = matriz.filas();
+        List<Integer> frente = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            boolean dominada = false;
+            for (int k = 0; k < n && !dominada; k++) {
+                dominada = ParetoSkyline.comparar(matriz.valores(), matriz.columnas(), k, i) > 0;
+            }
+            if (!dominada) {
+                frente.add(i);
+            }
+        }
+        return frente.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void coincideConLaComparacionDeTodosLosPares() {
+        for (int m : new int[]{1, 2, 4}) {
+            DecisionMatrix matriz = matriz(3000, m, 6, 7 + m);
+            int[] esperado = fuerzaBruta(matriz);
+            assertThat(ParetoSkyline.calcular(matriz, false)).containsExactly(esperado);
+            assertThat(ParetoSkyline.calcular(matriz, true)).containsExactly(esperado);
+        }
+    }
+
+    @Test
+    void modoParetoDevuelveLasNoDominadasEnElOrdenDeLaMatriz() {
+        DecisionMatrix matriz = matriz(200, 3, 10, 3);
+        int[] frente = fuerzaBruta(matriz);
+
+        List<RankingItemDto> ranking = calculator.calcularRanking(matriz, DecisionModes.PARETO, null, 0, 200);
+        assertThat(ranking).extracting(RankingItemDto::getAlternativa)
+                .containsExactlyElementsOf(IntStream.of(frente).mapToObj(matriz::alternativa).toList());
+        assertThat(ranking).allSatisfy(item -> assertThat(item.getPuntaje()).isEqualTo(1.0));
+    }
+
+    @Test
+    void prefiltrarConservaPuntajesYQuitaSoloLasDominadas() {
+        DecisionMatrix matriz = matriz(500, 4, 20, 5);
+        Set<String> frente = IntStream.of(fuerzaBruta(matriz)).mapToObj(matriz::alternativa)
+                .collect(Collectors.toSet());
+        assertThat(frente.size()).isBetween(3, 499);
+        List<String> modos = DecisionModes.resolve(DecisionModes.TODOS, null);
+
+        Map<String, List<RankingItemDto>> completos = calculator.calcularRankings(matriz, modos, 0.3, 0, 500);
+        Map<String, List<RankingItemDto>> prefiltrados = calculator.calcularRankings(matriz, modos, 0.3, 0, 500, true);
+        for (String modo : modos) {
+            List<RankingItemDto> esperado = completos.get(modo).stream()
+                    .filter(item -> frente.contains(item.getAlternativa())).toList();
+            List<RankingItemDto> obtenido = prefiltrados.get(modo);
+            assertThat(obtenido).hasSameSizeAs(esperado);
+            for (int p = 0; p < esperado.size(); p++) {
+                assertThat(obtenido.get(p).getAlternativa()).isEqualTo(esperado.get(p).getAlternativa());
+                assertThat(obtenido.get(p).getPuntaje()).isEqualTo(esperado.get(p).getPuntaje());
+            }
+
+            // topK sobre el frente = primeras posiciones del ranking prefiltrado
+            assertThat(calculator.calcularRanking(matriz, modo, 0.3, 0, 3, true)).extracting(RankingItemDto::getAlternativa)
+                    .containsExactlyElementsOf(esperado.subList(0, 3).stream().map(RankingItemDto::getAlternativa).toList());
+        }
+    }
+}
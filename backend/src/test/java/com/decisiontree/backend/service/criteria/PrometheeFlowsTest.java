@@ -0,0 +1,136 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.PreferenceFunctions;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.RankingItemDto;
+import com.decisiontree.backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PrometheeFlowsTest {
+
+    private static ConfigDto criterio(String nombre, double peso, String tipo, String funcion, Double q, Double p) {
+        ConfigDto c = new ConfigDto(nombre, peso, tipo);
+        c.setFuncionPreferencia(funcion);
+        c.setUmbralIndiferencia(q);
+        c.setUmbralPreferencia(p);
+        return c;
+    }
+
+    /** Valores crudos enteros (muchos empates); los de costo se niegan como al compilar. */
+    private static DecisionMatrix matriz(List<ConfigDto> criterios, double[] crudos, int n) {
+        int m = criterios.size();
+        String[] alternativas = new String[n];
+        double[] valores = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            alternativas[i] = "A" + i;
+            for (int j = 0; j < m; j++) {
+                boolean costo = "costo".equals(criterios.get(j).getTipo());
+                valores[i * m + j] = costo ? -crudos[i * m + j] : crudos[i * m + j];
+            }
+        }
+        return DecisionMatrix.desdeValoresOrientados(alternativas, criterios, valores);
+    }
+
+    private static double[] crudos(int n, int m, long semilla) {
+        Random random = new Random(semilla);
+        double[] crudos = new double[n * m];
+        for (int k = 0; k < crudos.length; k++) {
+            crudos[k] = random.nextInt(50);
+        }
+        return crudos;
+    }
+
+    /** Grado de preferencia de libro para una diferencia d a favor. */
+    private static double preferencia(ConfigDto c, double d) {
+        if (d <= 0) {
+            return 0.0;
+        }
+        double p = (c.getUmbralPreferencia() == null) ? 0.0 : c.getUmbralPreferencia();
+        double q = (c.getUmbralIndiferencia() == null) ? 0.0 : c.getUmbralIndiferencia();
+        switch (PreferenceFunctions.normalize(c.getFuncionPreferencia())) {
+            case PreferenceFunctions.V:
+                return Math.min(1.0, d / p);
+            case PreferenceFunctions.LINEAL:
+                return (d <= q) ? 0.0 : Math.min(1.0, (d - q) / (p - q));
+            case PreferenceFunctions.GAUSSIANA:
+                return 1.0 - Math.exp(-(d * d) / (2 * p * p));
+            default:
+                return 1.0;
+        }
+    }
+
+    /** PROMETHEE II comparando todos los pares sobre los valores crudos. */
+    private static double[] deLibro(List<ConfigDto> criterios, double[] crudos, int n) {
+        int m = criterios.size();
+        double suma = criterios.stream().mapToDouble(ConfigDto::getPeso).sum();
+        double[] flujos = new double[n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                for (int j = 0; j < m; j++) {
+                    ConfigDto c = criterios.get(j);
+                    double d = crudos[a * m + j] - crudos[b * m + j];
+                    if ("costo".equals(c.getTipo())) {
+                        d = -d;
+                    }
+                    flujos[a] += (c.getPeso() / suma) * (preferencia(c, d) - preferencia(c, -d));
+                }
+            }
+            flujos[a] /= (n - 1);
+        }
+        return flujos;
+    }
+
+    @Test
+    void flujosPorOrdenCoincidenConLosDeLibro() {
+        List<ConfigDto> criterios = new ArrayList<>(List.of(
+                criterio("usual", 3.0, "beneficio", null, null, null),
+                criterio("v", 2.0, "costo", "v", null, 12.0),
+                criterio("lineal", 1.0, "beneficio", "lineal", 4.0, 15.0),
+                criterio("gaussiana", 1.5, "costo", "gaussiana", null, 8.0)));
+        int n = 400;
+        double[] crudos = crudos(n, criterios.size(), 17);
+
+        double[] esperado = deLibro(criterios, crudos, n);
+        double[] obtenido = PrometheeFlows.calcular(matriz(criterios, crudos, n), false, new double[n]);
+        for (int i = 0; i < n; i++) {
+            assertThat(obtenido[i]).isCloseTo(esperado[i], within(1e-12));
+        }
+    }
+
+    @Test
+    void caminoParaleloEsIdenticoAlSecuencial() {
+        List<ConfigDto> criterios = List.of(
+                criterio("usual", 1.0, "costo", "usual", null, null),
+                criterio("lineal", 1.0, "beneficio", "lineal", 2.0, 9.0),
+                criterio("gaussiana", 1.0, "beneficio", "gaussiana", null, 5.0));
+        int n = 5000;
+        DecisionMatrix matriz = matriz(criterios, crudos(n, 3, 23), n);
+
+        assertThat(PrometheeFlows.calcular(matriz, true, new double[n]))
+                .containsExactly(PrometheeFlows.calcular(matriz, false, new double[n]));
+
+        List<RankingItemDto> secuencial = new DecisionCriteriaCalculator(Long.MAX_VALUE)
+                .calcularRanking(matriz, "promethee", null, 0, 10);
+        List<RankingItemDto> paralelo = new DecisionCriteriaCalculator(0).calcularRanking(matriz, "promethee", null, 0, 10);
+        assertThat(paralelo).usingRecursiveComparison().isEqualTo(secuencial);
+    }
+
+    @Test
+    void gaussianaTieneTopeDeAlternativas() {
+        int n = PrometheeFlows.FILAS_MAXIMAS_POR_PARES + 1;
+        List<ConfigDto> criterios = List.of(criterio("g", 1.0, "beneficio", "gaussiana", null, 1.0));
+        DecisionMatrix matriz = matriz(criterios, new double[n], n);
+
+        assertThatThrownBy(() -> PrometheeFlows.calcular(matriz, false, new double[n]))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("gaussiana");
+    }
+}
@@ -0,0 +1,118 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.dto.SensibilidadCriterioDto;
+import com.decisiontree.backend.dto.SensibilidadParDto;
+import com.decisiontree.backend.dto.SensibilidadSawResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SawSensitivityAnalyzerTest {
+
+    private final DecisionCriteriaCalculator calculator = new DecisionCriteriaCalculator();
+    private final SawSensitivityAnalyzer analyzer = new SawSensitivityAnalyzer(calculator);
+
+    private static DecisionMatrix matriz(Random random, int n, int m) {
+        String[] alternativas = new String[n];
+        double[] valores = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            alternativas[i] = "A" + i;
+            for (int j = 0; j < m; j++) {
+                valores[i * m + j] = random.nextDouble() * 100;
+            }
+        }
+        String[] criterios = new String[m];
+        double[] pesos = new double[m];
+        double suma = 0.0;
+        for (int j = 0; j < m; j++) {
+            criterios[j] = "c" + j;
+            pesos[j] = 0.1 + random.nextDouble();
+            suma += pesos[j];
+        }
+        for (int j = 0; j < m; j++) {
+            pesos[j] /= suma;
+        }
+        return new DecisionMatrix(alternativas, criterios, pesos, new boolean[m], valores);
+    }
+
+    /** Matriz con el peso de c en x y los demás reescalados en proporción. */
+    private static DecisionMatrix conPeso(DecisionMatrix matriz, int c, double x) {
+        double[] pesos = matriz.pesos().clone();
+        double resto = 1.0 - pesos[c];
+        for (int j = 0; j < pesos.length; j++) {
+            pesos[j] = (j == c) ? x : pesos[j] * (1.0 - x) / resto;
+        }
+        String[] alternativas = new String[matriz.filas()];
+        String[] criterios = new String[matriz.columnas()];
+        for (int i = 0; i < alternativas.length; i++) {
+            alternativas[i] = matriz.alternativa(i);
+        }
+        for (int j = 0; j < criterios.length; j++) {
+            criterios[j] = matriz.criterio(j);
+        }
+        return new DecisionMatrix(alternativas, criterios, pesos, new boolean[criterios.length], matriz.valores());
+    }
+
+    private String ganadora(DecisionMatrix matriz) {
+        double[] puntajes = calculator.calcularPuntajes(matriz, "saw", null);
+        int mejor = 0;
+        for (int i = 1; i < puntajes.length; i++) {
+            if (puntajes[i] > puntajes[mejor]) {
+                mejor = i;
+            }
+        }
+        return matriz.alternativa(mejor);
+    }
+
+    @Test
+    void umbralesCoincidenConReevaluarConOtrosPesos() {
+        Random random = new Random(3);
+        double eps = 1e-4;
+        for (int prueba = 0; prueba < 30; prueba++) {
+            DecisionMatrix matriz = matriz(random, 2 + random.nextInt(40), 2 + random.nextInt(6));
+            SensibilidadSawResponse r = analyzer.analizar(matriz, 0);
+            assertThat(r.getGanadora()).isEqualTo(ganadora(matriz));
+            assertThat(r.getPares()).isNull();
+
+            for (int c = 0; c < matriz.columnas(); c++) {
+                SensibilidadCriterioDto s = r.getCriterios().get(c);
+                double min = (s.getPesoMinimo() == null) ? 0.0 : s.getPesoMinimo();
+                double max = (s.getPesoMaximo() == null) ? 1.0 : s.getPesoMaximo();
+                assertThat(min).isLessThanOrEqualTo(s.getPeso());
+                assertThat(max).isGreaterThanOrEqualTo(s.getPeso());
+
+                if (min + eps < s.getPeso()) {
+                    assertThat(ganadora(conPeso(matriz, c, min + eps))).isEqualTo(r.getGanadora());
+                }
+                if (max - eps > s.getPeso()) {
+                    assertThat(ganadora(conPeso(matriz, c, max - eps))).isEqualTo(r.getGanadora());
+                }
+                if (s.getPesoMinimo() != null && min - eps > 0.0) {
+                    assertThat(ganadora(conPeso(matriz, c, min - eps))).isEqualTo(s.getAlternativaAlBajar());
+                }
+                if (s.getPesoMaximo() != null && max + eps < 1.0) {
+                    assertThat(ganadora(conPeso(matriz, c, max + eps))).isEqualTo(s.getAlternativaAlSubir());
+                }
+            }
+        }
+    }
+
+    @Test
+    void paresDelTopSeInviertenEnElPesoCritico() {
+        DecisionMatrix matriz = matriz(new Random(5), 30, 4);
+        SensibilidadSawResponse r = analyzer.analizar(matriz, 5);
+
+        assertThat(r.getPares()).isNotEmpty();
+        for (SensibilidadParDto par : r.getPares()) {
+            int c = Integer.parseInt(par.getCriterio().substring(1));
+            double x = par.getPesoCritico();
+            double[] antes = calculator.calcularPuntajes(conPeso(matriz, c, Math.max(0.0, x - 1e-4)), "saw", null);
+            double[] despues = calculator.calcularPuntajes(conPeso(matriz, c, Math.min(1.0, x + 1e-4)), "saw", null);
+            int a = Integer.parseInt(par.getMejor().substring(1));
+            int b = Integer.parseInt(par.getPeor().substring(1));
+            assertThat(Math.signum(antes[a] - antes[b])).isNotEqualTo(Math.signum(despues[a] - despues[b]));
+        }
+    }
+}
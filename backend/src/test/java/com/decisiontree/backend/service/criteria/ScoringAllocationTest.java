@@ -0,0 +1,78 @@
+package com.decisiontree.backend.service.criteria;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.RankingItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guarda contra regresiones de asignación en el camino de puntuación: con la matriz ya
+ * compilada, una evaluación top-10 solo debe asignar la respuesta (lista, DTOs y Double).
+ */
+class ScoringAllocationTest {
+
+    private static final int ALTERNATIVAS = 2_000;
+    private static final int CRITERIOS = 20;
+    private static final int TOP = 10;
+
+    // lista + 10 DTOs + 10 Double son ~500 bytes; el margen cubre diferencias entre JVMs
+    private static final long MAX_BYTES_POR_EVALUACION = 1_024;
+
+    @Test
+    void puntuarYSeleccionarNoGeneraBasura() {
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(mx.isThreadAllocatedMemorySupported());
+        mx.setThreadAllocatedMemoryEnabled(true);
+
+        DecisionCriteriaCalculator calculator = new DecisionCriteriaCalculator();
+        DecisionMatrix matriz = matrizAleatoria();
+        long hilo = Thread.currentThread().getId();
+
+        for (String modo : DecisionModes.MODOS_BASICOS) {
+            for (int i = 0; i < 2_000; i++) {
+                calculator.calcularRanking(matriz, modo, 0.5, 0, TOP);
+            }
+
+            int iteraciones = 200;
+            long antes = mx.getThreadAllocatedBytes(hilo);
+            List<RankingItemDto> ultimo = null;
+            for (int i = 0; i < iteraciones; i++) {
+                ultimo = calculator.calcularRanking(matriz, modo, 0.5, 0, TOP);
+            }
+            long porEvaluacion = (mx.getThreadAllocatedBytes(hilo) - antes) / iteraciones;
+
+            assertThat(ultimo).hasSize(TOP);
+            assertThat(porEvaluacion)
+                    .as("bytes asignados por evaluación en modo %s", modo)
+                    .isLessThanOrEqualTo(MAX_BYTES_POR_EVALUACION);
+        }
+    }
+
+    private static DecisionMatrix matrizAleatoria() {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] alternativas = new String[ALTERNATIVAS];
+        for (int i = 0; i < ALTERNATIVAS; i++) {
+            alternativas[i] = "alt-" + i;
+        }
+        String[] criterios = new String[CRITERIOS];
+        double[] pesos = new double[CRITERIOS];
+        boolean[] costo = new boolean[CRITERIOS];
+        for (int j = 0; j < CRITERIOS; j++) {
+            criterios[j] = "c" + j;
+            pesos[j] = 1.0 / CRITERIOS;
+            costo[j] = (j % 2 == 0);
+        }
+        double[] valores = new double[ALTERNATIVAS * CRITERIOS];
+        for (int k = 0; k < valores.length; k++) {
+            valores[k] = random.nextDouble(-1000.0, 1000.0);
+        }
+        return new DecisionMatrix(alternativas, criterios, pesos, costo, valores);
+    }
+}
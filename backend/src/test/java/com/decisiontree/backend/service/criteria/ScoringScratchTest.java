@@ -0,0 +1,35 @@
+package com.decisiontree.backend.service.criteria;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringScratchTest {
+
+    @Test
+    void buffersHastaElTopeSeReutilizanYLosMayoresNoSeRetienen() {
+        ScoringScratch scratch = ScoringScratch.actual();
+
+        double[] retenido = scratch.puntajes(ScoringScratch.MAX_RETENIDO);
+        assertThat(scratch.puntajes(ScoringScratch.MAX_RETENIDO)).isSameAs(retenido);
+
+        double[] grande = scratch.puntajes(ScoringScratch.MAX_RETENIDO + 1);
+        assertThat(grande).hasSize(ScoringScratch.MAX_RETENIDO + 1);
+        assertThat(scratch.puntajes(ScoringScratch.MAX_RETENIDO)).isSameAs(retenido);
+    }
+
+    @Test
+    void losHilosVirtualesNoRegistranBuffers() throws InterruptedException {
+        AtomicReference<ScoringScratch> primero = new AtomicReference<>();
+        AtomicReference<ScoringScratch> segundo = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            primero.set(ScoringScratch.actual());
+            segundo.set(ScoringScratch.actual());
+        }).join();
+
+        assertThat(primero.get()).isNotSameAs(segundo.get());
+        assertThat(ScoringScratch.actual()).isSameAs(ScoringScratch.actual());
+    }
+}
@@ -0,0 +1,112 @@
+package com.decisiontree.backend.service.criteria;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightSimulationTest {
+
+    private static DecisionMatrix matriz(int n, int m) {
+        Random random = new Random(1);
+        String[] alternativas = new String[n];
+        double[] valores = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            alternativas[i] = "A" + i;
+            for (int j = 0; j < m; j++) {
+                valores[i * m + j] = random.nextDouble();
+            }
+        }
+        String[] criterios = new String[m];
+        double[] pesos = new double[m];
+        for (int j = 0; j < m; j++) {
+            criterios[j] = "c" + j;
+            pesos[j] = 1.0 / m;
+        }
+        return new DecisionMatrix(alternativas, criterios, pesos, new boolean[m], valores);
+    }
+
+    private static long[] conteos(WeightSimulation simulacion, int n) {
+        long[] conteos = new long[n * simulacion.rangos()];
+        for (int i = 0; i < n; i++) {
+            for (int r = 0; r < simulacion.rangos(); r++) {
+                conteos[i * simulacion.rangos() + r] = simulacion.conteo(i, r);
+            }
+        }
+        return conteos;
+    }
+
+    @Test
+    void mismaSemillaMismoResultadoConCualquierPoolYCadaPosicionSumaLasMuestras() {
+        DecisionMatrix matriz = matriz(200, 5);
+        long muestras = 50_000; // varios bloques de fork/join
+
+        WeightSimulation a = new WeightSimulation(matriz, null, null, 3);
+        WeightSimulation b = new WeightSimulation(matriz, null, null, 3);
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        try {
+            a.simular(unHilo, muestras, 42);
+            b.simular(cuatroHilos, muestras, 42);
+        } finally {
+            unHilo.shutdown();
+            cuatroHilos.shutdown();
+        }
+
+        assertThat(conteos(a, 200)).containsExactly(conteos(b, 200));
+        assertThat(a.completadas()).isEqualTo(muestras);
+        for (int r = 0; r < 3; r++) {
+            long total = 0;
+            for (int i = 0; i < 200; i++) {
+                total += a.conteo(i, r);
+            }
+            assertThat(total).isEqualTo(muestras);
+        }
+    }
+
+    @Test
+    void rangosSinAnchoDanSiempreLaGanadoraDeSaw() {
+        DecisionMatrix matriz = matriz(50, 4);
+        double[] pesos = {1.0, 2.0, 3.0, 4.0};
+        double[] normalizados = DecisionMatrix.normalizarPesos(pesos);
+        DecisionMatrix conPesos = new DecisionMatrix(new String[50], new String[4], normalizados,
+                new boolean[4], matriz.valores());
+
+        double[] puntajes = new DecisionCriteriaCalculator().calcularPuntajes(conPesos, "saw", null);
+        int ganadora = RankingSelector.seleccionar(puntajes, 0, 1)[0];
+
+        WeightSimulation simulacion = new WeightSimulation(matriz, pesos, pesos, 1);
+        simulacion.simular(ForkJoinPool.commonPool(), 1_000, 7);
+
+        assertThat(simulacion.conteo(ganadora, 0)).isEqualTo(1_000);
+    }
+
+    @Test
+    void cancelarCortaLaCorridaEnCurso() throws Exception {
+        WeightSimulation simulacion = new WeightSimulation(matriz(2000, 20), null, null, 3);
+        long muestras = 100_000_000L;
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread corrida = new Thread(() -> {
+            try {
+                simulacion.simular(ForkJoinPool.commonPool(), muestras, 7);
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        corrida.start();
+        while (simulacion.completadas() == 0) {
+            Thread.sleep(5);
+        }
+
+        simulacion.cancelar();
+        corrida.join(10_000);
+
+        assertThat(corrida.isAlive()).isFalse();
+        assertThat(error.get()).isInstanceOf(CancellationException.class);
+        assertThat(simulacion.completadas()).isLessThan(muestras);
+    }
+}
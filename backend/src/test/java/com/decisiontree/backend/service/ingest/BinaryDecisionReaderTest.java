@@ -0,0 +1,222 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.cache.CanonicalRequestHasher;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.criteria.DecisionMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class BinaryDecisionReaderTest {
+
+    private final BinaryDecisionReader reader = new BinaryDecisionReader(
+            new DecisionResultCache(true, 100, Duration.ofMinutes(1), 10_000, 100_000));
+    private final DecisionRequestCompiler compiler = new DecisionRequestCompiler(ValidationLimits.SIN_LIMITE);
+
+    /** Codifica el request en el formato binario; los valores faltantes o null van como NaN. */
+    static byte[] codificar(DecisionRequest r) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entero(out, BinaryDecisionReader.MAGIA);
+        entero(out, BinaryDecisionReader.VERSION);
+        texto(out, r.getModo());
+        entero(out, r.getModos() == null ? -1 : r.getModos().size());
+        if (r.getModos() != null) {
+            r.getModos().forEach(m -> texto(out, m));
+        }
+        doble(out, r.getAlpha() == null ? Double.NaN : r.getAlpha());
+        entero(out, r.getTopK() == null ? -1 : r.getTopK());
+        entero(out, r.getOffset() == null ? -1 : r.getOffset());
+        entero(out, r.getLimit() == null ? -1 : r.getLimit());
+        entero(out, r.getAlternativas().size());
+        entero(out, r.getCriterios().size());
+        for (ConfigDto c : r.getCriterios()) {
+            texto(out, c.getCriterio());
+            doble(out, c.getPeso() == null ? Double.NaN : c.getPeso());
+            texto(out, c.getTipo());
+        }
+        r.getAlternativas().forEach(a -> texto(out, a.getNombre()));
+        for (AlternativaDto a : r.getAlternativas()) {
+            for (ConfigDto c : r.getCriterios()) {
+                Double v = a.getValores().get(c.getCriterio());
+                doble(out, v == null ? Double.NaN : v);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void entero(ByteArrayOutputStream out, int v) {
+        out.writeBytes(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(v).array());
+    }
+
+    private static void doble(ByteArrayOutputStream out, double v) {
+        out.writeBytes(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(v).array());
+    }
+
+    private static void texto(ByteArrayOutputStream out, String s) {
+        if (s == null) {
+            entero(out, -1);
+            return;
+        }
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        entero(out, utf8.length);
+        out.writeBytes(utf8);
+    }
+
+    private static AlternativaDto alternativa(String nombre, Object... pares) {
+        Map<String, Double> valores = new HashMap<>();
+        for (int k = 0; k < pares.length; k += 2) {
+            valores.put((String) pares[k], (Double) pares[k + 1]);
+        }
+        AlternativaDto a = new AlternativaDto();
+        a.setNombre(nombre);
+        a.setValores(valores);
+        return a;
+    }
+
+    private static DecisionRequest request(List<ConfigDto> criterios, List<AlternativaDto> alternativas) {
+        DecisionRequest r = new DecisionRequest();
+        r.setModo("saw");
+        r.setTopK(2);
+        r.setCriterios(criterios);
+        r.setAlternativas(alternativas);
+        return r;
+    }
+
+    private CompiledDecisionRequest leer(byte[] bytes) {
+        return reader.leer(new ByteArrayInputStream(bytes));
+    }
+
+    private static List<String> errores(Runnable accion) {
+        BusinessValidationException ex = catchThrowableOfType(BusinessValidationException.class, accion::run);
+        assertThat(ex).isNotNull();
+        return ex.getErrores().stream().map(e -> e.getCampo() + ": " + e.getMensaje()).toList();
+    }
+
+    @Test
+    void compilaLaMismaMatrizYClaveQueElJson() {
+        DecisionRequest dto = request(
+                List.of(new ConfigDto("precio", 2.0, "costo"), new ConfigDto("calidad", 1.0, "beneficio"),
+                        new ConfigDto("soporte", 1.0, "beneficio")),
+                List.of(alternativa("A", "precio", 100.0, "calidad", 8.0, "soporte", 5.0),
+                        alternativa("B", "precio", 80.0, "calidad", 6.0, "soporte", 9.0),
+                        alternativa("C", "precio", 120.0, "calidad", 9.0, "soporte", 4.0)));
+
+        CompiledDecisionRequest binario = leer(codificar(dto));
+        DecisionMatrix esperada = compiler.compilar(dto).getMatriz();
+
+        assertThat(binario.getParametros().getTopK()).isEqualTo(2);
+        assertThat(binario.getParametros().getAlpha()).isNull();
+        assertThat(binario.getMatriz().filas()).isEqualTo(esperada.filas());
+        assertThat(binario.getMatriz().columnas()).isEqualTo(esperada.columnas());
+        for (int i = 0; i < esperada.filas(); i++) {
+            assertThat(binario.getMatriz().alternativa(i)).isEqualTo(esperada.alternativa(i));
+            for (int j = 0; j < esperada.columnas(); j++) {
+                assertThat(binario.getMatriz().valor(i, j)).isEqualTo(esperada.valor(i, j));
+            }
+        }
+        for (int j = 0; j < esperada.columnas(); j++) {
+            assertThat(binario.getMatriz().peso(j)).isEqualTo(esperada.peso(j));
+            assertThat(binario.getMatriz().esCosto(j)).isEqualTo(esperada.esCosto(j));
+        }
+        // el request JSON equivalente comparte la entrada del caché
+        assertThat(binario.getClave()).isEqualTo(CanonicalRequestHasher.de(dto));
+    }
+
+    @Test
+    void reportaLosMismosErroresQueElValidador() {
+        Map<String, Double> nulo = new LinkedHashMap<>();
+        nulo.put("precio", 1.0);
+        nulo.put("calidad", null);
+        AlternativaDto conNulo = alternativa("A");
+        conNulo.setValores(nulo);
+
+        DecisionRequest dto = request(
+                List.of(new ConfigDto("precio", -1.0, "costo"), new ConfigDto("calidad", null, "otro")),
+                List.of(conNulo, alternativa(" ", "precio", 2.0, "calidad", 3.0), alternativa("a", "precio", 4.0, "calidad", 5.0)));
+        dto.setTopK(0);
+
+        List<String> binario = errores(() -> leer(codificar(dto)));
+        assertThat(binario)
+                .containsExactlyElementsOf(errores(() -> compiler.compilar(dto)))
+                .contains("alternativas[0].valores.calidad: No puede ser null");
+    }
+
+    @Test
+    void rechazaValoresNoFinitosYContenidoMalFormado() {
+        DecisionRequest dto = request(List.of(new ConfigDto("precio", 1.0, "costo")),
+                List.of(alternativa("A", "precio", Double.POSITIVE_INFINITY), alternativa("B", "precio", 1.0)));
+        byte[] bytes = codificar(dto);
+
+        assertThat(errores(() -> leer(bytes))).containsExactly("alternativas[0].valores.precio: Debe ser un número finito");
+        assertThat(errores(() -> leer(Arrays.copyOf(bytes, bytes.length - 3))))
+                .containsExactly("body: El contenido binario está incompleto");
+        assertThat(errores(() -> leer(Arrays.copyOf(bytes, bytes.length + 1))))
+                .containsExactly("body: Hay datos de más después del request");
+        assertThat(errores(() -> leer("{\"modo\": \"saw\"}".getBytes(StandardCharsets.UTF_8))))
+                .containsExactly("body: No es un request binario DSS");
+        assertThat(errores(() -> leer(new byte[0]))).containsExactly("body: El body no puede ser null");
+    }
+
+    @Test
+    void cantidadesEnormesSinDatosNoReservanMemoria() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entero(out, BinaryDecisionReader.MAGIA);
+        entero(out, BinaryDecisionReader.VERSION);
+        texto(out, "saw");
+        entero(out, -1);
+        doble(out, Double.NaN);
+        entero(out, -1);
+        entero(out, -1);
+        entero(out, -1);
+        entero(out, Integer.MAX_VALUE);
+        entero(out, Integer.MAX_VALUE);
+        byte[] bytes = out.toByteArray();
+
+        assertThat(errores(() -> leer(bytes))).containsExactly("body: El contenido binario está incompleto");
+    }
+
+    @Test
+    void muchasFilasYCriteriosSinValoresNoReservanLaMatriz() {
+        // 65536 x 30000 celdas serían unos 15 GB si se reservaran antes de leer los valores
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entero(out, BinaryDecisionReader.MAGIA);
+        entero(out, BinaryDecisionReader.VERSION);
+        texto(out, "saw");
+        entero(out, -1);
+        doble(out, Double.NaN);
+        entero(out, -1);
+        entero(out, -1);
+        entero(out, -1);
+        entero(out, 1 << 16);
+        entero(out, 30_000);
+        for (int j = 0; j < 30_000; j++) {
+            texto(out, Integer.toString(j, 36));
+            doble(out, 1.0);
+            texto(out, null);
+        }
+        for (int i = 0; i < 1 << 16; i++) {
+            texto(out, "a");
+        }
+        byte[] bytes = out.toByteArray();
+
+        assertThat(errores(() -> leer(bytes))).containsExactly("body: El contenido binario está incompleto");
+    }
+}
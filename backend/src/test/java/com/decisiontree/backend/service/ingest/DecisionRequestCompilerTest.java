@@ -0,0 +1,81 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class DecisionRequestCompilerTest {
+
+    /** Request con una alternativa sin valores por cada una de las "alternativas". */
+    private static DecisionRequest conErrores(int alternativas) {
+        List<AlternativaDto> lista = new ArrayList<>();
+        for (int i = 0; i < alternativas; i++) {
+            lista.add(new AlternativaDto("A" + i, Map.of()));
+        }
+        DecisionRequest request = new DecisionRequest();
+        request.setModo("saw");
+        request.setCriterios(List.of(new ConfigDto("precio", 1.0, "costo")));
+        request.setAlternativas(lista);
+        return request;
+    }
+
+    private static BusinessValidationException compilar(ValidationLimits limites, DecisionRequest request) {
+        return catchThrowableOfType(BusinessValidationException.class,
+                () -> new DecisionRequestCompiler(limites).compilar(request));
+    }
+
+    @Test
+    void sinLimiteReportaTodosLosErrores() {
+        BusinessValidationException ex = compilar(ValidationLimits.SIN_LIMITE, conErrores(500));
+
+        assertThat(ex.getErrores()).hasSize(500);
+        assertThat(ex.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void conTopeCortaYLoIndica() {
+        BusinessValidationException ex = compilar(new ValidationLimits(10, false), conErrores(500));
+
+        assertThat(ex.getErrores()).hasSize(11);
+        assertThat(ex.getErrores().get(0).getCampo()).isEqualTo("alternativas[0].valores");
+        assertThat(ex.getErrores().get(10).getCampo()).isEqualTo("errores");
+    }
+
+    @Test
+    void failFastCortaEnElPrimerError() {
+        BusinessValidationException ex = compilar(new ValidationLimits(100, true), conErrores(500));
+
+        assertThat(ex.getErrores()).singleElement()
+                .satisfies(e -> assertThat(e.getCampo()).isEqualTo("alternativas[0].valores"));
+    }
+
+    @Test
+    void prometheeValidaFuncionYUmbralesPorCriterio() {
+        ConfigDto desconocida = new ConfigDto("precio", 1.0, "costo");
+        desconocida.setFuncionPreferencia("escalon");
+        ConfigDto sinUmbral = new ConfigDto("calidad", 1.0, "beneficio");
+        sinUmbral.setFuncionPreferencia("v");
+        ConfigDto invertida = new ConfigDto("plazo", 1.0, "costo");
+        invertida.setFuncionPreferencia("lineal");
+        invertida.setUmbralIndiferencia(5.0);
+        invertida.setUmbralPreferencia(2.0);
+
+        DecisionRequest request = new DecisionRequest();
+        request.setModo("promethee");
+        request.setCriterios(List.of(desconocida, sinUmbral, invertida));
+        request.setAlternativas(List.of(new AlternativaDto("A", Map.of("precio", 1.0, "calidad", 2.0, "plazo", 3.0))));
+        BusinessValidationException ex = compilar(ValidationLimits.SIN_LIMITE, request);
+
+        assertThat(ex.getErrores()).extracting(BusinessValidationException.FieldError::getCampo).containsExactly(
+                "criterios[0].funcionPreferencia", "criterios[1].umbralPreferencia", "criterios[2].umbralIndiferencia");
+    }
+}
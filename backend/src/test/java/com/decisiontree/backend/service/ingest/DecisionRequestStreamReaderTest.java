@@ -0,0 +1,212 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.cache.CanonicalRequestHasher;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.criteria.DecisionMatrix;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.within;
+
+class DecisionRequestStreamReaderTest {
+
+    private final DecisionRequestStreamReader reader = new DecisionRequestStreamReader(
+            new DecisionResultCache(true, 100, Duration.ofMinutes(1), 10_000, 100_000));
+    private final DecisionRequestCompiler compiler = new DecisionRequestCompiler(ValidationLimits.SIN_LIMITE);
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private static final String CRITERIOS = """
+            "criterios": [
+              {"criterio": "precio", "peso": 2, "tipo": "costo"},
+              {"criterio": " calidad ", "peso": 1, "tipo": "beneficio"},
+              {"criterio": "soporte", "peso": 1, "tipo": "beneficio"}
+            ]""";
+
+    private static final String ALTERNATIVAS = """
+            "alternativas": [
+              {"nombre": "A", "valores": {"precio": 100, "calidad": 8, "soporte": 5}},
+              {"nombre": "B", "valores": {"soporte": 9, "precio": 80, "calidad": 6}},
+              {"nombre": "C", "valores": {"precio": 120, "calidad": 9, "soporte": 4}}
+            ]""";
+
+    private CompiledDecisionRequest leer(String json) {
+        return reader.leer(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void assertMismaMatriz(DecisionMatrix a, DecisionMatrix b) {
+        assertThat(a.filas()).isEqualTo(b.filas());
+        assertThat(a.columnas()).isEqualTo(b.columnas());
+        for (int j = 0; j < a.columnas(); j++) {
+            assertThat(a.criterio(j)).isEqualTo(b.criterio(j));
+            assertThat(a.peso(j)).isEqualTo(b.peso(j));
+            assertThat(a.esCosto(j)).isEqualTo(b.esCosto(j));
+        }
+        for (int i = 0; i < a.filas(); i++) {
+            assertThat(a.alternativa(i)).isEqualTo(b.alternativa(i));
+            for (int j = 0; j < a.columnas(); j++) {
+                assertThat(a.valor(i, j)).isEqualTo(b.valor(i, j));
+            }
+        }
+    }
+
+    /** Errores del lector y del compilador del DTO, como "campo: mensaje" en orden. */
+    private List<String> errores(String json) {
+        BusinessValidationException streaming = catchThrowableOfType(BusinessValidationException.class, () -> leer(json));
+        BusinessValidationException dto = catchThrowableOfType(BusinessValidationException.class,
+                () -> compiler.compilar(mapper.readValue(json, DecisionRequest.class)));
+        assertThat(streaming).isNotNull();
+        assertThat(dto).isNotNull();
+
+        List<String> esperado = dto.getErrores().stream().map(e -> e.getCampo() + ": " + e.getMensaje()).toList();
+        List<String> obtenido = streaming.getErrores().stream().map(e -> e.getCampo() + ": " + e.getMensaje()).toList();
+        assertThat(obtenido).containsExactlyElementsOf(esperado);
+        return obtenido;
+    }
+
+    @Test
+    void compilaIgualQueElDtoSinImportarElOrdenDeLosCampos() throws Exception {
+        String claveEsperada = null;
+        for (String json : List.of(
+                "{\"modo\": \"saw\", " + CRITERIOS + ", " + ALTERNATIVAS + "}",
+                "{" + ALTERNATIVAS + ", \"extra\": {\"x\": [1, 2]}, " + CRITERIOS + ", \"modo\": \"saw\"}")) {
+            CompiledDecisionRequest compilado = leer(json);
+            DecisionRequest dto = mapper.readValue(json, DecisionRequest.class);
+            DecisionMatrix desdeDto = compiler.compilar(dto).getMatriz();
+
+            assertThat(compilado.getParametros().getModo()).isEqualTo("saw");
+            assertMismaMatriz(compilado.getMatriz(), DecisionMatrix.compile(dto));
+            assertMismaMatriz(desdeDto, DecisionMatrix.compile(dto));
+
+            // misma clave de caché que el DTO, sin importar el orden de campos ni de valores
+            assertThat(compilado.getClave()).isEqualTo(CanonicalRequestHasher.de(dto));
+            if (claveEsperada != null) {
+                assertThat(compilado.getClave()).isEqualTo(claveEsperada);
+            }
+            claveEsperada = compilado.getClave();
+        }
+    }
+
+    @Test
+    void reportaLosMismosErroresQueElValidador() {
+        String criteriosConErrores = """
+                "criterios": [
+                  {"criterio": "precio", "peso": -1, "tipo": "costo"},
+                  {"criterio": "calidad", "tipo": "otro"},
+                  {"criterio": "Precio", "peso": 1, "tipo": "beneficio"},
+                  null
+                ]""";
+        String alternativasConErrores = """
+                "alternativas": [
+                  {"nombre": "A", "valores": {"precio": 1, "calidad": null, "color": 3}},
+                  null,
+                  {"nombre": " ", "valores": {}},
+                  {"nombre": "a", "valores": {"precio": 1}},
+                  {"nombre": "B"}
+                ]""";
+
+        List<String> directo = errores("{\"modo\": \"ranking\", \"topK\": 0, \"limit\": 2, "
+                + criteriosConErrores + ", " + alternativasConErrores + "}");
+        List<String> diferido = errores("{" + alternativasConErrores + ", \"modo\": \"ranking\", \"topK\": 0, \"limit\": 2, "
+                + criteriosConErrores + "}");
+
+        assertThat(directo).isEqualTo(diferido).contains(
+                "alternativas[0].valores.calidad: No puede ser null",
+                "alternativas[0].valores: Criterio extra no definido: color",
+                "alternativas[3].valores: Falta valor para criterio: calidad");
+    }
+
+    @Test
+    void valoresFueraDeRangoDoubleSonNoFinitos() {
+        String json = """
+                {"modo": "saw", "criterios": [{"criterio": "a", "peso": 1, "tipo": "beneficio"},
+                                              {"criterio": "b", "peso": 1, "tipo": "costo"}],
+                 "alternativas": [{"nombre": "A", "valores": {"a": 1e400, "b": 1}},
+                                  {"nombre": "B", "valores": {"a": 2, "b": -1e400}}]}
+                """;
+
+        assertThat(errores(json)).containsExactly(
+                "alternativas[0].valores.a: Debe ser un número finito",
+                "alternativas[1].valores.b: Debe ser un número finito");
+    }
+
+    @Test
+    void listasFaltantesYBodyNulo() {
+        errores("{\"modo\": \"nada\"}");
+        errores("null");
+    }
+
+    @Test
+    void jsonMalFormadoEsErrorDeValidacion() {
+        BusinessValidationException ex = catchThrowableOfType(BusinessValidationException.class,
+                () -> leer("{\"modo\": \"saw\", \"criterios\": ["));
+
+        assertThat(ex).isNotNull();
+        assertThat(ex.getErrores()).singleElement()
+                .satisfies(e -> assertThat(e.getCampo()).isEqualTo("body"));
+    }
+
+    @Test
+    void comparacionesAhpDanLosMismosPesosYClaveQueElDto() throws Exception {
+        String json = """
+                {"modo": "saw",
+                 "criterios": [
+                   {"criterio": "precio", "tipo": "costo"},
+                   {"criterio": "calidad", "tipo": "beneficio"},
+                   {"criterio": "soporte", "tipo": "beneficio"}
+                 ],
+                 "comparaciones": {
+                   "elementos": ["precio", "servicio"],
+                   "matriz": [[1, 3], [null, 1]],
+                   "subcriterios": {
+                     "servicio": {"elementos": ["calidad", "soporte"], "matriz": [[1, 1], [1, 1]]}
+                   }
+                 },
+                 """ + ALTERNATIVAS + "}";
+        CompiledDecisionRequest compilado = leer(json);
+        DecisionRequest dto = mapper.readValue(json, DecisionRequest.class);
+        CompiledDecisionRequest desdeDto = compiler.compilar(dto);
+
+        assertMismaMatriz(compilado.getMatriz(), desdeDto.getMatriz());
+        assertThat(compilado.getMatriz().peso(0)).isCloseTo(0.75, within(1e-12));
+        assertThat(compilado.getMatriz().peso(1)).isCloseTo(0.125, within(1e-12));
+        assertThat(compilado.getAhp().getConsistencia()).extracting("nodo")
+                .containsExactly("comparaciones", "comparaciones.subcriterios.servicio");
+        assertThat(compilado.getClave()).isEqualTo(CanonicalRequestHasher.de(dto));
+    }
+
+    @Test
+    void reportaLosMismosErroresDeComparacionesQueElValidador() {
+        String json = """
+                {"modo": "saw",
+                 "criterios": [
+                   {"criterio": "precio", "peso": 1, "tipo": "costo"},
+                   {"criterio": "calidad", "tipo": "beneficio"},
+                   {"criterio": "soporte", "tipo": "beneficio"}
+                 ],
+                 "comparaciones": {
+                   "elementos": ["precio", "color", "precio"],
+                   "matriz": [[1, 2, null], [0, 1, 3], [null, 1, 2]]
+                 },
+                 """ + ALTERNATIVAS + "}";
+
+        assertThat(errores(json)).containsExactly(
+                "criterios[0].peso: No se puede combinar con comparaciones",
+                "comparaciones.elementos[1]: No es un criterio ni un grupo de subcriterios: 'color'",
+                "comparaciones.elementos[2]: El criterio ya aparece en otro nodo: 'precio'",
+                "comparaciones.elementos: Duplicado encontrado: 'precio'",
+                "comparaciones.matriz[0][2]: Falta la comparación (o su recíproca)",
+                "comparaciones.matriz[1][0]: Debe ser mayor que 0",
+                "comparaciones.matriz[2][2]: Debe ser 1",
+                "comparaciones: Faltan criterios en la jerarquía: [calidad, soporte]");
+    }
+}
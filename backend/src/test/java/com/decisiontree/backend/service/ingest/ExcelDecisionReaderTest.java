@@ -0,0 +1,88 @@
+package com.decisiontree.backend.service.ingest;
+
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.criteria.CompiledDecisionRequest;
+import com.decisiontree.backend.service.criteria.DecisionMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ExcelDecisionReaderTest {
+
+    private final ExcelDecisionReader reader = new ExcelDecisionReader();
+
+    private static Path prueba(String nombre) {
+        return Path.of("..", "ExcelPruebas", nombre);
+    }
+
+    private BusinessValidationException.FieldError unicoError(String archivo) {
+        BusinessValidationException ex = catchThrowableOfType(BusinessValidationException.class,
+                () -> reader.leer(prueba(archivo)));
+        assertThat(ex).isNotNull();
+        assertThat(ex.getErrores()).hasSize(1);
+        return ex.getErrores().get(0);
+    }
+
+    @Test
+    void pruebaBienCompilaIgualQueElRequestDelFrontend() {
+        CompiledDecisionRequest compilado = reader.leer(prueba("PruebaBien.xlsx"));
+
+        DecisionRequest esperado = new DecisionRequest("ranking", null,
+                List.of(
+                        new AlternativaDto("Laptop A", Map.of("Precio", 1200.0, "Calidad", 8.0, "Garantia", 2.0, "Servicio", 7.0)),
+                        new AlternativaDto("Laptop B", Map.of("Precio", 900.0, "Calidad", 6.0, "Garantia", 3.0, "Servicio", 9.0)),
+                        new AlternativaDto("Laptop C", Map.of("Precio", 1500.0, "Calidad", 9.0, "Garantia", 1.0, "Servicio", 6.0)),
+                        new AlternativaDto("Laptop D", Map.of("Precio", 750.0, "Calidad", 5.0, "Garantia", 2.0, "Servicio", 8.0))
+                ),
+                List.of(
+                        new ConfigDto("Precio", 0.4, "costo"),
+                        new ConfigDto("Calidad", 0.3, "beneficio"),
+                        new ConfigDto("Garantia", 0.2, "beneficio"),
+                        new ConfigDto("Servicio", 0.1, "beneficio")
+                ));
+        DecisionMatrix a = compilado.getMatriz();
+        DecisionMatrix b = DecisionMatrix.compile(esperado);
+
+        assertThat(compilado.getParametros().getModo()).isEqualTo("ranking");
+        assertThat(compilado.getParametros().getAlpha()).isNull();
+        assertThat(a.filas()).isEqualTo(b.filas());
+        assertThat(a.columnas()).isEqualTo(b.columnas());
+        for (int j = 0; j < a.columnas(); j++) {
+            assertThat(a.criterio(j)).isEqualTo(b.criterio(j));
+            assertThat(a.peso(j)).isEqualTo(b.peso(j));
+        }
+        for (int i = 0; i < a.filas(); i++) {
+            assertThat(a.alternativa(i)).isEqualTo(b.alternativa(i));
+            for (int j = 0; j < a.columnas(); j++) {
+                assertThat(a.valor(i, j)).isEqualTo(b.valor(i, j));
+            }
+        }
+    }
+
+    @Test
+    void erroresDelLibroSonLosDelParserDelFrontend() {
+        assertThat(unicoError("SinCriterios.xlsx").getMensaje()).isEqualTo("No se encontraron criterios validos.");
+        assertThat(unicoError("SinAlternativas.xlsx").getMensaje()).isEqualTo("No se encontraron alternativas validas.");
+
+        BusinessValidationException.FieldError modo = unicoError("ModoInvalido.xlsx");
+        assertThat(modo.getCampo()).isEqualTo("modo");
+        assertThat(modo.getMensaje()).startsWith("Modo no soportado: 'loquesea'");
+    }
+
+    @Test
+    void parseFloatComoEnJavaScript() {
+        assertThat(ExcelDecisionReader.parseFloatJs(" 12.5kg")).isEqualTo(12.5);
+        assertThat(ExcelDecisionReader.parseFloatJs("1e3")).isEqualTo(1000.0);
+        assertThat(ExcelDecisionReader.parseFloatJs(".5")).isEqualTo(0.5);
+        assertThat(ExcelDecisionReader.parseFloatJs("abc")).isNull();
+        assertThat(ExcelDecisionReader.parseFloatJs("Infinity")).isNull();
+    }
+}
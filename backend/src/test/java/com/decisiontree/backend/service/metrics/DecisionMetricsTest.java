@@ -0,0 +1,62 @@
+package com.decisiontree.backend.service.metrics;
+
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.cache.DecisionResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DecisionMetrics metricas =
+            new DecisionMetrics(registry, new DecisionResultCache(true, 10, Duration.ofMinutes(1), 100, 1000));
+
+    @Test
+    void campoQuitaIndicesYNombresDeCriterio() {
+        assertThat(DecisionMetrics.campo("alternativas[3].valores.precio")).isEqualTo("alternativas[].valores");
+        assertThat(DecisionMetrics.campo("criterios[12].peso")).isEqualTo("criterios[].peso");
+        assertThat(DecisionMetrics.campo("modos[0]")).isEqualTo("modos[]");
+        assertThat(DecisionMetrics.campo("alpha")).isEqualTo("alpha");
+    }
+
+    @Test
+    void modoDesconocidoNoCreaSeriesNuevas() {
+        DecisionRequest request = new DecisionRequest();
+        request.setModo(" SAW ");
+        assertThat(DecisionMetrics.modo(request)).isEqualTo("saw");
+        request.setModo("inventado");
+        assertThat(DecisionMetrics.modo(request)).isEqualTo("otro");
+        request.setModo("todos");
+        assertThat(DecisionMetrics.modo(request)).isEqualTo(DecisionMetrics.MODO_MULTIPLE);
+    }
+
+    @Test
+    void registraEtapasTamanosYErroresPorCampo() {
+        metricas.etapa("saw", DecisionMetrics.Etapa.PUNTUACION, 1_000);
+        metricas.etapa("saw", DecisionMetrics.Etapa.PUNTUACION, 3_000);
+        metricas.evaluacion("saw", 10_000, 50, 4);
+        metricas.validacionFallida(new BusinessValidationException("Request inválido", List.of(
+                new BusinessValidationException.FieldError("alternativas[0].valores.precio", "falta"),
+                new BusinessValidationException.FieldError("alternativas[7].valores.calidad", "falta"))));
+
+        assertThat(registry.get("dss.evaluacion.etapa").tags("modo", "saw", "etapa", "puntuacion").timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("dss.evaluacion").tag("modo", "saw").timer().count()).isEqualTo(1);
+        assertThat(registry.get("dss.evaluacion.alternativas").summary().totalAmount()).isEqualTo(50);
+        assertThat(registry.get("dss.validacion.errores").tag("campo", "alternativas[].valores").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void sinRegistroNoHaceNada() {
+        DecisionMetrics.SIN_REGISTRO.etapa("saw", DecisionMetrics.Etapa.ORDENAMIENTO, 1);
+        DecisionMetrics.SIN_REGISTRO.evaluacion("saw", 1, 1, 1);
+        DecisionMetrics.SIN_REGISTRO.validacionFallida(new BusinessValidationException("Request inválido", List.of()));
+    }
+}
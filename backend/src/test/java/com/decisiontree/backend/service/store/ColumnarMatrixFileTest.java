@@ -0,0 +1,129 @@
+package com.decisiontree.backend.service.store;
+
+import com.decisiontree.backend.constants.DecisionModes;
+import com.decisiontree.backend.dto.AlternativaDto;
+import com.decisiontree.backend.dto.ConfigDto;
+import com.decisiontree.backend.dto.DecisionRequest;
+import com.decisiontree.backend.exception.BadRequestException;
+import com.decisiontree.backend.exception.BusinessValidationException;
+import com.decisiontree.backend.service.criteria.ColumnarMatrix;
+import com.decisiontree.backend.service.criteria.DecisionCriteriaCalculator;
+import com.decisiontree.backend.service.criteria.DecisionMatrix;
+import com.decisiontree.backend.service.ingest.DecisionRequestCompiler;
+import com.decisiontree.backend.service.ingest.ValidationLimits;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ColumnarMatrixFileTest {
+
+    private static final List<ConfigDto> CRITERIOS = List.of(
+            new ConfigDto("precio", 3.0, "costo"),
+            new ConfigDto("calidad", 5.0, "beneficio"),
+            new ConfigDto("plazo", 0.0, "costo"),
+            new ConfigDto("constante", 2.0, "beneficio") // min == max: SAW normaliza a 1
+    );
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void puntajesIdenticosALaMatrizEnMemoriaEnTodosLosModos() throws IOException {
+        int n = 10_000; // varios tramos de filas
+        int m = CRITERIOS.size();
+        Random random = new Random(3);
+        String[] alternativas = new String[n];
+        double[] crudos = new double[n * m];
+        double[] orientados = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            alternativas[i] = "Opción " + i;
+            for (int j = 0; j < m; j++) {
+                double valor = (j == 3) ? 7.0 : Math.floor(random.nextDouble() * 200) / 4; // con empates
+                crudos[i * m + j] = valor;
+                orientados[i * m + j] = "costo".equals(CRITERIOS.get(j).getTipo()) ? -valor : valor;
+            }
+        }
+        Path archivo = directorio.resolve("m.dssm");
+        ColumnarMatrixFile.escribir(archivo, alternativas, CRITERIOS, crudos);
+
+        ColumnarMatrix columnar = ColumnarMatrixFile.abrir(archivo).matriz();
+        DecisionMatrix enMemoria = DecisionMatrix.desdeValoresOrientados(alternativas, CRITERIOS, orientados);
+        assertThat(columnar.filas()).isEqualTo(n);
+        assertThat(columnar.alternativa(1234)).isEqualTo("Opción 1234");
+
+        for (DecisionCriteriaCalculator calculator : List.of(new DecisionCriteriaCalculator(Long.MAX_VALUE),
+                new DecisionCriteriaCalculator(0))) {
+            for (String modo : DecisionModes.MODOS_BASICOS) {
+                double[] esperado = calculator.calcularPuntajes(enMemoria, modo, 0.3);
+                double[] obtenido = calculator.calcularPuntajes(columnar, modo, 0.3, new double[n]);
+                assertThat(obtenido).as(modo).containsExactly(esperado);
+                assertThat(calculator.calcularRanking(columnar, modo, 0.3, 0, 10))
+                        .usingRecursiveFieldByFieldElementComparator()
+                        .as(modo).containsExactlyElementsOf(calculator.calcularRanking(enMemoria, modo, 0.3, 0, 10));
+            }
+        }
+    }
+
+    @Test
+    void archivoTruncadoOAjenoEsInvalido() throws IOException {
+        Path archivo = directorio.resolve("m.dssm");
+        ColumnarMatrixFile.escribir(archivo, new String[]{"A", "B"}, CRITERIOS, new double[8]);
+        byte[] completo = Files.readAllBytes(archivo);
+
+        Files.write(archivo, Arrays.copyOf(completo, completo.length - 8));
+        assertThatThrownBy(() -> ColumnarMatrixFile.abrir(archivo))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("bytes");
+
+        Files.writeString(archivo, "{\"modo\": \"saw\"}");
+        assertThatThrownBy(() -> ColumnarMatrixFile.abrir(archivo))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("no es un archivo de matriz DSS");
+    }
+
+    @Test
+    void valoresNoFinitosSeRechazanAlAbrirIgualQueEnElBody() throws IOException {
+        Path archivo = directorio.resolve("m.dssm");
+        String[] nombres = {"A", "B", "C"};
+        DecisionRequestCompiler compilador = new DecisionRequestCompiler(ValidationLimits.SIN_LIMITE);
+        for (double valor : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            double[] crudos = new double[nombres.length * CRITERIOS.size()];
+            crudos[2 * CRITERIOS.size() + 1] = valor;
+            ColumnarMatrixFile.escribir(archivo, nombres, CRITERIOS, crudos);
+
+            List<AlternativaDto> alternativas = new ArrayList<>();
+            for (int i = 0; i < nombres.length; i++) {
+                Map<String, Double> valores = new LinkedHashMap<>();
+                for (int j = 0; j < CRITERIOS.size(); j++) {
+                    valores.put(CRITERIOS.get(j).getCriterio(), crudos[i * CRITERIOS.size() + j]);
+                }
+                alternativas.add(new AlternativaDto(nombres[i], valores));
+            }
+            DecisionRequest body = new DecisionRequest("saw", null, alternativas, CRITERIOS);
+
+            for (ThrowingCallable lectura : List.<ThrowingCallable>of(() -> ColumnarMatrixFile.abrir(archivo),
+                    () -> compilador.compilar(body))) {
+                assertThatThrownBy(lectura)
+                        .isInstanceOf(BusinessValidationException.class)
+                        .satisfies(ex -> assertThat(((BusinessValidationException) ex).getErrores())
+                                .extracting(BusinessValidationException.FieldError::getCampo,
+                                        BusinessValidationException.FieldError::getMensaje)
+                                .containsExactly(tuple("alternativas[2].valores.calidad", "Debe ser un número finito")));
+            }
+        }
+    }
+}